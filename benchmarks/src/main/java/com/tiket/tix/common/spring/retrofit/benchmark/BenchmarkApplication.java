@@ -0,0 +1,82 @@
+package com.tiket.tix.common.spring.retrofit.benchmark;
+
+import com.tiket.tix.common.spring.retrofit.annotation.RetrofitServiceScan;
+import com.tiket.tix.common.spring.retrofit.autoconfigure.HttpClientCustomizer;
+import com.tiket.tix.common.spring.retrofit.registry.RetrofitRegistry;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import retrofit2.Retrofit;
+
+/**
+ * Spring boot application bootstrapped by benchmarks, so that measured {@link Retrofit} objects are configured
+ * exactly like in real application.
+ *
+ * @author zakyalvan
+ */
+@SpringBootApplication
+@RetrofitServiceScan
+public class BenchmarkApplication {
+    /**
+     * Property enabling {@link #STUB_INTERCEPTOR} on each retrofit http client, for benchmarks of client pipeline
+     * overhead without network and server time.
+     */
+    public static final String STUB_RESPONSE_PROPERTY = "benchmark.stub-response";
+
+    static final String BOOKING_JSON = "{\"code\":\"BOOKING-1\",\"status\":\"ISSUED\",\"origin\":\"CGK\","
+            + "\"destination\":\"DPS\",\"departureTime\":1546300800000,\"passengers\":2,\"totalPrice\":1250000.5,"
+            + "\"passengerNames\":[\"Passenger One\",\"Passenger Two\"]}";
+
+    private static final MediaType JSON = MediaType.parse("application/json; charset=UTF-8");
+
+    /**
+     * Interceptor short circuiting every request with canned booking response.
+     */
+    static final Interceptor STUB_INTERCEPTOR = chain -> new Response.Builder()
+            .request(chain.request())
+            .protocol(Protocol.HTTP_1_1)
+            .code(200)
+            .message("OK")
+            .body(ResponseBody.create(JSON, BOOKING_JSON))
+            .build();
+
+    @Bean
+    @ConditionalOnProperty(STUB_RESPONSE_PROPERTY)
+    HttpClientCustomizer stubResponseCustomizer() {
+        return (retrofitName, connection, clientBuilder) -> clientBuilder.addInterceptor(STUB_INTERCEPTOR);
+    }
+
+    /**
+     * Start application context with given properties.
+     *
+     * @param properties
+     * @return
+     */
+    public static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(false)
+                .logStartupInfo(false)
+                .properties("logging.level.root=warn", "spring.main.banner-mode=off")
+                .properties(properties)
+                .run();
+    }
+
+    /**
+     * Retrieve {@link Retrofit} with given name from started application context.
+     *
+     * @param applicationContext
+     * @param retrofitName
+     * @return
+     */
+    public static Retrofit retrofit(ConfigurableApplicationContext applicationContext, String retrofitName) {
+        return applicationContext.getBean(RetrofitRegistry.class).get(retrofitName)
+                .orElseThrow(() -> new IllegalStateException("No retrofit named " + retrofitName));
+    }
+}
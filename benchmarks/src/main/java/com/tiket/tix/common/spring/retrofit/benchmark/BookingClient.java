@@ -0,0 +1,31 @@
+package com.tiket.tix.common.spring.retrofit.benchmark;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.tiket.tix.common.spring.retrofit.annotation.RetrofitService;
+import com.tiket.tix.common.spring.retrofit.benchmark.ConversionBenchmark.Booking;
+import io.reactivex.Single;
+import retrofit2.Call;
+import retrofit2.http.GET;
+import retrofit2.http.Path;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Retrofit service of benchmarks, with the same endpoint exposed through each supported call adapter.
+ *
+ * @author zakyalvan
+ */
+@RetrofitService
+public interface BookingClient {
+    @GET("bookings/{code}")
+    Call<Booking> booking(@Path("code") String code);
+
+    @GET("bookings/{code}")
+    Single<Booking> single(@Path("code") String code);
+
+    @GET("bookings/{code}")
+    CompletableFuture<Booking> future(@Path("code") String code);
+
+    @GET("bookings/{code}")
+    ListenableFuture<Booking> listenableFuture(@Path("code") String code);
+}
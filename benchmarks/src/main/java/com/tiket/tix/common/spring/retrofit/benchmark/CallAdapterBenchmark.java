@@ -0,0 +1,58 @@
+package com.tiket.tix.common.spring.retrofit.benchmark;
+
+import com.tiket.tix.common.spring.retrofit.benchmark.ConversionBenchmark.Booking;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare overhead of executing the same call through each supported call adapter, i.e. plain retrofit call,
+ * rxjava {@link io.reactivex.Single}, java 8 {@link java.util.concurrent.CompletableFuture} and guava
+ * {@link com.google.common.util.concurrent.ListenableFuture}. Responses are short circuited by
+ * {@link BenchmarkApplication#STUB_INTERCEPTOR}, so that no network involved.
+ *
+ * @author zakyalvan
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CallAdapterBenchmark {
+    @Param({"CALL", "RX", "JAVA8", "GUAVA"})
+    private String adapter;
+
+    private ConfigurableApplicationContext applicationContext;
+
+    private BookingClient bookingClient;
+
+    @Setup
+    public void setUp() {
+        applicationContext = BenchmarkApplication.start(
+                "tiket.retrofit.default-url=http://localhost/",
+                BenchmarkApplication.STUB_RESPONSE_PROPERTY + "=true");
+        bookingClient = applicationContext.getBean(BookingClient.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public Booking execute() throws Exception {
+        switch (adapter) {
+            case "RX":
+                return bookingClient.single("BOOKING-1").blockingGet();
+            case "JAVA8":
+                return bookingClient.future("BOOKING-1").get();
+            case "GUAVA":
+                return bookingClient.listenableFuture("BOOKING-1").get();
+            default:
+                return bookingClient.booking("BOOKING-1").execute().body();
+        }
+    }
+}
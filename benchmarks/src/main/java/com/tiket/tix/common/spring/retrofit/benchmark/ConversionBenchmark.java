@@ -0,0 +1,129 @@
+package com.tiket.tix.common.spring.retrofit.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.tiket.tix.common.spring.retrofit.conversion.ContentFormat;
+import com.tiket.tix.common.spring.retrofit.streaming.StreamingJacksonConverterFactory;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import org.openjdk.jmh.annotations.*;
+import retrofit2.Converter;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare serialization and deserialization throughput of json and jackson binary formats, converting list of bookings
+ * as typical response payload. Run with {@code -prof gc} to compare allocation rate.
+ *
+ * @author zakyalvan
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ConversionBenchmark {
+    private static final Type BOOKINGS_TYPE = new TypeReference<List<Booking>>() {}.getType();
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    private String format;
+
+    @Param({"100"})
+    private int size;
+
+    private List<Booking> bookings;
+
+    private MediaType mediaType;
+
+    private byte[] encoded;
+
+    private Converter<List<Booking>, RequestBody> requestConverter;
+
+    private Converter<ResponseBody, List<Booking>> responseConverter;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        ContentFormat contentFormat = ContentFormat.valueOf(format);
+        mediaType = contentFormat.getMediaType();
+        StreamingJacksonConverterFactory converterFactory =
+                new StreamingJacksonConverterFactory(new ObjectMapper(jsonFactory(contentFormat)), mediaType);
+        requestConverter = (Converter<List<Booking>, RequestBody>) converterFactory
+                .requestBodyConverter(BOOKINGS_TYPE, new Annotation[0], new Annotation[0], null);
+        responseConverter = (Converter<ResponseBody, List<Booking>>) converterFactory
+                .responseBodyConverter(BOOKINGS_TYPE, new Annotation[0], null);
+
+        bookings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            bookings.add(Booking.sample(i));
+        }
+        encoded = serialize().readByteArray();
+    }
+
+    @Benchmark
+    public Buffer serialize() throws IOException {
+        Buffer buffer = new Buffer();
+        requestConverter.convert(bookings).writeTo(buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public List<Booking> deserialize() throws IOException {
+        return responseConverter.convert(ResponseBody.create(mediaType, encoded));
+    }
+
+    private static JsonFactory jsonFactory(ContentFormat format) {
+        switch (format) {
+            case SMILE:
+                return new SmileFactory();
+            case CBOR:
+                return new CBORFactory();
+            default:
+                return new JsonFactory();
+        }
+    }
+
+    public static class Booking {
+        public String code;
+
+        public String status;
+
+        public String origin;
+
+        public String destination;
+
+        public long departureTime;
+
+        public int passengers;
+
+        public double totalPrice;
+
+        public List<String> passengerNames;
+
+        static Booking sample(int index) {
+            Booking booking = new Booking();
+            booking.code = "BOOKING-" + index;
+            booking.status = index % 2 == 0 ? "ISSUED" : "PENDING";
+            booking.origin = "CGK";
+            booking.destination = "DPS";
+            booking.departureTime = 1_546_300_800_000L + index * 60_000L;
+            booking.passengers = 2;
+            booking.totalPrice = 1_250_000.5 + index;
+            booking.passengerNames = new ArrayList<>();
+            booking.passengerNames.add("Passenger One " + index);
+            booking.passengerNames.add("Passenger Two " + index);
+            return booking;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.tiket.tix.common.spring.retrofit.benchmark;
+
+import com.tiket.tix.common.spring.retrofit.benchmark.ConversionBenchmark.Booking;
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure throughput of complete calls through retrofit service bean, from proxy invocation to response conversion,
+ * against in process mock server responding json booking immediately, at different concurrency.
+ *
+ * @author zakyalvan
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EndToEndBenchmark {
+    @Param({"1", "16", "64"})
+    private int concurrency;
+
+    private MockWebServer server;
+
+    private ConfigurableApplicationContext applicationContext;
+
+    private BookingClient bookingClient;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json; charset=UTF-8")
+                        .setBody(BenchmarkApplication.BOOKING_JSON);
+            }
+        });
+        server.start();
+
+        applicationContext = BenchmarkApplication.start(
+                "tiket.retrofit.default-url=" + server.url("/"),
+                "tiket.retrofit.connection.scheduler.core-poll-size=" + concurrency,
+                "tiket.retrofit.connection.connection-pool.max-idle-connections=" + concurrency,
+                "tiket.retrofit.connection.dispatcher.max-requests=" + concurrency,
+                "tiket.retrofit.connection.dispatcher.max-requests-per-host=" + concurrency);
+        bookingClient = applicationContext.getBean(BookingClient.class);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        applicationContext.close();
+        server.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(100)
+    public List<Booking> concurrentCalls() {
+        List<Single<Booking>> calls = new ArrayList<>(100);
+        for (int i = 0; i < 100; i++) {
+            calls.add(bookingClient.single("BOOKING-" + i));
+        }
+        return Flowable.fromIterable(calls).flatMapSingle(call -> call, false, concurrency).toList().blockingGet();
+    }
+}
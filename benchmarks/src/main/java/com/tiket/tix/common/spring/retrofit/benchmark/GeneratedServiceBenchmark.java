@@ -0,0 +1,65 @@
+package com.tiket.tix.common.spring.retrofit.benchmark;
+
+import com.tiket.tix.common.spring.retrofit.benchmark.ConversionBenchmark.Booking;
+import com.tiket.tix.common.spring.retrofit.generated.GeneratedServices;
+import com.tiket.tix.common.spring.retrofit.registry.RetrofitRegistry;
+import io.reactivex.Single;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import retrofit2.Call;
+import retrofit2.Retrofit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure invocation overhead of retrofit's dynamic proxy against implementation generated by the processor, both
+ * created from the same {@link Retrofit}. Benchmarks are compiled with generation enabled, so that
+ * {@link GeneratedServices} picks the generated implementation of {@link BookingClient}. Calls are only created,
+ * never executed.
+ *
+ * @author zakyalvan
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GeneratedServiceBenchmark {
+    @Param({"PROXY", "GENERATED"})
+    private Implementation implementation;
+
+    private ConfigurableApplicationContext applicationContext;
+
+    private BookingClient bookingClient;
+
+    @Setup
+    public void setUp() {
+        applicationContext = BenchmarkApplication.start(
+                "tiket.retrofit.default-url=http://localhost/",
+                BenchmarkApplication.STUB_RESPONSE_PROPERTY + "=true");
+
+        Retrofit retrofit = BenchmarkApplication.retrofit(applicationContext, RetrofitRegistry.DEFAULT_RETROFIT);
+        bookingClient = implementation == Implementation.PROXY ?
+                retrofit.create(BookingClient.class) : GeneratedServices.create(BookingClient.class, retrofit);
+    }
+
+    @TearDown
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public Call<Booking> call() {
+        return bookingClient.booking("BOOKING-1");
+    }
+
+    @Benchmark
+    public Single<Booking> single() {
+        return bookingClient.single("BOOKING-1");
+    }
+
+    public enum Implementation {
+        PROXY, GENERATED
+    }
+}
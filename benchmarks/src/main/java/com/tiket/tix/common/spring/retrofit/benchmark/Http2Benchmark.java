@@ -0,0 +1,96 @@
+package com.tiket.tix.common.spring.retrofit.benchmark;
+
+import com.tiket.tix.common.spring.retrofit.registry.RetrofitRegistry;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import okhttp3.Protocol;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import retrofit2.http.GET;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare throughput of http/1.1, with one connection per concurrent call, and cleartext http/2 (h2c),
+ * multiplexing concurrent calls over single connection, against downstream with fixed latency.
+ *
+ * @author zakyalvan
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class Http2Benchmark {
+    @Param({"HTTP_1_1", "H2_PRIOR_KNOWLEDGE"})
+    private String protocol;
+
+    @Param({"10", "100"})
+    private int concurrency;
+
+    @Param({"5"})
+    private int latencyMillis;
+
+    private MockWebServer server;
+
+    private ConfigurableApplicationContext applicationContext;
+
+    private PingService pingService;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setProtocols("HTTP_1_1".equals(protocol) ?
+                Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1) :
+                Collections.singletonList(Protocol.H2_PRIOR_KNOWLEDGE));
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setBody("pong").setBodyDelay(latencyMillis, TimeUnit.MILLISECONDS);
+            }
+        });
+        server.start();
+
+        applicationContext = BenchmarkApplication.start(
+                "tiket.retrofit.default-url=" + server.url("/"),
+                "tiket.retrofit.connection.protocols=" + protocol,
+                "tiket.retrofit.connection.scheduler.core-poll-size=" + concurrency,
+                "tiket.retrofit.connection.connection-pool.max-idle-connections=" + concurrency,
+                "tiket.retrofit.connection.dispatcher.max-requests=" + concurrency,
+                "tiket.retrofit.connection.dispatcher.max-requests-per-host=" + concurrency);
+
+        pingService = BenchmarkApplication.retrofit(applicationContext, RetrofitRegistry.DEFAULT_RETROFIT)
+                .create(PingService.class);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        applicationContext.close();
+        server.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(100)
+    public void concurrentCalls() {
+        List<Completable> calls = new ArrayList<>(100);
+        for (int i = 0; i < 100; i++) {
+            calls.add(pingService.ping());
+        }
+        Completable.merge(Flowable.fromIterable(calls), concurrency).blockingAwait();
+    }
+
+    public interface PingService {
+        @GET("ping")
+        Completable ping();
+    }
+}
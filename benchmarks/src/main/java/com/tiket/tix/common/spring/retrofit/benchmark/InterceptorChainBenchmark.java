@@ -0,0 +1,67 @@
+package com.tiket.tix.common.spring.retrofit.benchmark;
+
+import com.tiket.tix.common.spring.retrofit.registry.RetrofitRegistry;
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure overhead of http client interceptor chain configured by the starter, with responses short circuited
+ * by {@link BenchmarkApplication#STUB_INTERCEPTOR}, so that no network involved. Bare client has only the stub
+ * interceptor, default client the starter's default settings, and full client also concurrency limit and compression.
+ *
+ * @author zakyalvan
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class InterceptorChainBenchmark {
+    @Param({"BARE", "DEFAULT", "FULL"})
+    private String client;
+
+    private ConfigurableApplicationContext applicationContext;
+
+    private Call.Factory callFactory;
+
+    private Request request;
+
+    @Setup
+    public void setUp() {
+        request = new Request.Builder().url("http://localhost/bookings/BOOKING-1").build();
+        if ("BARE".equals(client)) {
+            callFactory = new OkHttpClient.Builder().addInterceptor(BenchmarkApplication.STUB_INTERCEPTOR).build();
+            return;
+        }
+
+        boolean full = "FULL".equals(client);
+        applicationContext = BenchmarkApplication.start(
+                "tiket.retrofit.default-url=http://localhost/",
+                BenchmarkApplication.STUB_RESPONSE_PROPERTY + "=true",
+                "tiket.retrofit.concurrency-limit.enabled=" + full,
+                "tiket.retrofit.compression.enabled=" + full);
+        callFactory = BenchmarkApplication.retrofit(applicationContext, RetrofitRegistry.DEFAULT_RETROFIT).callFactory();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (applicationContext != null) {
+            applicationContext.close();
+        }
+    }
+
+    @Benchmark
+    public String execute() throws IOException {
+        try (Response response = callFactory.newCall(request).execute()) {
+            return response.body().string();
+        }
+    }
+}
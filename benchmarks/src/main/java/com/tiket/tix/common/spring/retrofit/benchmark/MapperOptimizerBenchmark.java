@@ -0,0 +1,86 @@
+package com.tiket.tix.common.spring.retrofit.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import com.tiket.tix.common.spring.retrofit.benchmark.ConversionBenchmark.Booking;
+import com.tiket.tix.common.spring.retrofit.streaming.StreamingJacksonConverterFactory;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import org.openjdk.jmh.annotations.*;
+import retrofit2.Converter;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare json conversion throughput of plain object mapper and object mapper optimized by afterburner module,
+ * converting list of bookings as typical response payload.
+ *
+ * @author zakyalvan
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MapperOptimizerBenchmark {
+    private static final Type BOOKINGS_TYPE = new TypeReference<List<Booking>>() {}.getType();
+
+    private static final MediaType JSON = MediaType.parse("application/json; charset=UTF-8");
+
+    @Param({"NONE", "AFTERBURNER"})
+    private String optimizer;
+
+    @Param({"1", "100"})
+    private int size;
+
+    private List<Booking> bookings;
+
+    private byte[] encoded;
+
+    private Converter<List<Booking>, RequestBody> requestConverter;
+
+    private Converter<ResponseBody, List<Booking>> responseConverter;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        if ("AFTERBURNER".equals(optimizer)) {
+            mapper.registerModule(new AfterburnerModule());
+        }
+        StreamingJacksonConverterFactory converterFactory = new StreamingJacksonConverterFactory(mapper);
+        requestConverter = (Converter<List<Booking>, RequestBody>) converterFactory
+                .requestBodyConverter(BOOKINGS_TYPE, new Annotation[0], new Annotation[0], null);
+        responseConverter = (Converter<ResponseBody, List<Booking>>) converterFactory
+                .responseBodyConverter(BOOKINGS_TYPE, new Annotation[0], null);
+
+        bookings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            bookings.add(Booking.sample(i));
+        }
+        encoded = serialize().readByteArray();
+    }
+
+    @Benchmark
+    public Buffer serialize() throws IOException {
+        Buffer buffer = new Buffer();
+        requestConverter.convert(bookings).writeTo(buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public List<Booking> deserialize() throws IOException {
+        return responseConverter.convert(ResponseBody.create(JSON, encoded));
+    }
+}
@@ -0,0 +1,86 @@
+package com.tiket.tix.common.spring.retrofit.benchmark;
+
+import com.tiket.tix.common.spring.retrofit.registry.RetrofitRegistry;
+import io.reactivex.Completable;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import retrofit2.http.GET;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare platform thread pool and virtual thread scheduler, executing many concurrent blocking calls
+ * against downstream with fixed latency. Virtual mode requires Java 21 or later runtime.
+ *
+ * @author zakyalvan
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SchedulerBenchmark {
+    @Param({"PLATFORM", "VIRTUAL"})
+    private String mode;
+
+    @Param({"100", "1000", "5000"})
+    private int concurrency;
+
+    @Param({"20"})
+    private int latencyMillis;
+
+    private MockWebServer server;
+
+    private ConfigurableApplicationContext applicationContext;
+
+    private PingService pingService;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setBodyDelay(latencyMillis, TimeUnit.MILLISECONDS);
+            }
+        });
+        server.start();
+
+        applicationContext = BenchmarkApplication.start(
+                "tiket.retrofit.default-url=" + server.url("/"),
+                "tiket.retrofit.connection.scheduler.mode=" + mode,
+                "tiket.retrofit.connection.scheduler.queue-capacity=" + concurrency,
+                "tiket.retrofit.connection.connection-pool.max-idle-connections=" + concurrency);
+
+        pingService = BenchmarkApplication.retrofit(applicationContext, RetrofitRegistry.DEFAULT_RETROFIT)
+                .create(PingService.class);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        applicationContext.close();
+        server.shutdown();
+    }
+
+    @Benchmark
+    public void concurrentCalls() {
+        List<Completable> calls = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            calls.add(pingService.ping());
+        }
+        Completable.merge(calls).blockingAwait();
+    }
+
+    public interface PingService {
+        @GET("ping")
+        Completable ping();
+    }
+}
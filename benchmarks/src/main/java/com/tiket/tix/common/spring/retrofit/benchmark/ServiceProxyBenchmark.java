@@ -0,0 +1,56 @@
+package com.tiket.tix.common.spring.retrofit.benchmark;
+
+import com.tiket.tix.common.spring.retrofit.benchmark.ConversionBenchmark.Booking;
+import com.tiket.tix.common.spring.retrofit.registry.RetrofitRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import retrofit2.Call;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure invocation overhead of retrofit service proxies, comparing service bean created by the starter, wrapped by
+ * batching proxy, with service created directly from the same {@link retrofit2.Retrofit}. Calls are only created,
+ * never executed.
+ *
+ * @author zakyalvan
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ServiceProxyBenchmark {
+    private ConfigurableApplicationContext applicationContext;
+
+    private BookingClient serviceBean;
+
+    private BookingClient retrofitService;
+
+    @Setup
+    public void setUp() {
+        applicationContext = BenchmarkApplication.start(
+                "tiket.retrofit.default-url=http://localhost/",
+                BenchmarkApplication.STUB_RESPONSE_PROPERTY + "=true");
+
+        serviceBean = applicationContext.getBean(BookingClient.class);
+        retrofitService = BenchmarkApplication.retrofit(applicationContext, RetrofitRegistry.DEFAULT_RETROFIT)
+                .create(BookingClient.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public Call<Booking> serviceBean() {
+        return serviceBean.booking("BOOKING-1");
+    }
+
+    @Benchmark
+    public Call<Booking> retrofitService() {
+        return retrofitService.booking("BOOKING-1");
+    }
+}
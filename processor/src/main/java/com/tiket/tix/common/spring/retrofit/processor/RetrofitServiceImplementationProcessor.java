@@ -0,0 +1,159 @@
+package com.tiket.tix.common.spring.retrofit.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Annotation processor generating implementation of each interface annotated with {@code @RetrofitService}, calling
+ * service methods bound once on construction instead of dispatching through retrofit's dynamic proxy. Generation is
+ * opt-in, enabled with {@code -A}{@value #IMPLEMENTATIONS_OPTION}{@code =true} compiler argument. Generated class is
+ * placed in the package of the service, named by its nested name joined with underscores and
+ * {@value #IMPLEMENTATION_SUFFIX}, then picked automatically by the starter.
+ *
+ * @author zakyalvan
+ */
+@SupportedAnnotationTypes(RetrofitServiceIndexProcessor.RETROFIT_SERVICE)
+@SupportedOptions(RetrofitServiceImplementationProcessor.IMPLEMENTATIONS_OPTION)
+public class RetrofitServiceImplementationProcessor extends AbstractProcessor {
+    /**
+     * Compiler option enabling generation of service implementations.
+     */
+    public static final String IMPLEMENTATIONS_OPTION = "tiket.retrofit.implementations";
+
+    /**
+     * Suffix of generated implementation name, must be kept in sync with the starter.
+     */
+    public static final String IMPLEMENTATION_SUFFIX = "_RetrofitImpl";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (!Boolean.parseBoolean(processingEnv.getOptions().get(IMPLEMENTATIONS_OPTION))) {
+            return false;
+        }
+
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.INTERFACE) {
+                    generate((TypeElement) element);
+                }
+            }
+        }
+        return false;
+    }
+
+    private void generate(TypeElement serviceType) {
+        // Rejected by retrofit anyway, left for its dynamic proxy to report.
+        if (!serviceType.getTypeParameters().isEmpty() || !serviceType.getInterfaces().isEmpty()) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Retrofit service implementation not generated for generic or extending interface", serviceType);
+            return;
+        }
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(serviceType).getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(serviceType).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                .replace('$', '_') + IMPLEMENTATION_SUFFIX;
+
+        List<ExecutableElement> methods = ElementFilter.methodsIn(serviceType.getEnclosedElements()).stream()
+                .filter(method -> method.getModifiers().contains(Modifier.ABSTRACT))
+                .collect(Collectors.toList());
+
+        try {
+            JavaFileObject source = processingEnv.getFiler().createSourceFile(
+                    packageName.isEmpty() ? simpleName : packageName + "." + simpleName, serviceType);
+            try (Writer writer = source.openWriter()) {
+                writer.write(render(packageName, simpleName, serviceType.getQualifiedName().toString(), methods));
+            }
+        }
+        catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to generate retrofit service implementation: " + e.getMessage(), serviceType);
+        }
+    }
+
+    private String render(String packageName, String simpleName, String serviceName, List<ExecutableElement> methods) {
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n * Generated by ").append(getClass().getSimpleName())
+                .append(", do not edit.\n */\n")
+                .append("public final class ").append(simpleName).append(" implements ").append(serviceName).append(" {\n");
+
+        for (int i = 0; i < methods.size(); i++) {
+            source.append("    private final retrofit2.BoundServiceMethod method").append(i).append(";\n\n");
+        }
+
+        source.append("    public ").append(simpleName).append("(retrofit2.Retrofit retrofit) throws NoSuchMethodException {\n");
+        for (int i = 0; i < methods.size(); i++) {
+            ExecutableElement method = methods.get(i);
+            source.append("        method").append(i).append(" = retrofit2.BoundServiceMethod.bind(retrofit, ")
+                    .append(serviceName).append(".class.getMethod(\"").append(method.getSimpleName()).append('"');
+            for (VariableElement parameter : method.getParameters()) {
+                source.append(", ").append(processingEnv.getTypeUtils().erasure(parameter.asType())).append(".class");
+            }
+            source.append("));\n");
+        }
+        source.append("    }\n");
+
+        for (int i = 0; i < methods.size(); i++) {
+            renderMethod(source, methods.get(i), "method" + i);
+        }
+        return source.append("}\n").toString();
+    }
+
+    private void renderMethod(StringBuilder source, ExecutableElement method, String field) {
+        TypeMirror returnType = method.getReturnType();
+        List<String> arguments = new ArrayList<>();
+
+        source.append("\n    @Override\n    @SuppressWarnings(\"unchecked\")\n    public ")
+                .append(returnType).append(' ').append(method.getSimpleName()).append('(');
+        for (VariableElement parameter : method.getParameters()) {
+            String argument = "arg" + arguments.size();
+            source.append(arguments.isEmpty() ? "" : ", ").append(parameter.asType()).append(' ').append(argument);
+            arguments.add(argument);
+        }
+        source.append(')');
+        if (!method.getThrownTypes().isEmpty()) {
+            source.append(" throws ").append(method.getThrownTypes().stream()
+                    .map(TypeMirror::toString)
+                    .collect(Collectors.joining(", ")));
+        }
+
+        String invocation = field + ".invoke(" + (arguments.isEmpty() ? "retrofit2.BoundServiceMethod.NO_ARGUMENTS" :
+                "new Object[]{" + String.join(", ", arguments) + "}") + ")";
+        source.append(" {\n        ");
+        if (returnType.getKind() == TypeKind.VOID) {
+            source.append(invocation).append(";\n");
+        }
+        else {
+            source.append("return (").append(returnType).append(") ").append(invocation).append(";\n");
+        }
+        source.append("    }\n");
+    }
+}
@@ -0,0 +1,157 @@
+package com.tiket.tix.common.spring.retrofit.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Annotation processor writing index of interfaces annotated with {@code @RetrofitService} into
+ * {@value #INDEX_LOCATION}, so that services registered without scanning the classpath on startup. Each entry maps
+ * binary name of service interface into comma separated bean name, retrofit name, scope ({@code singleton} or
+ * {@code prototype}) and initialization of the service, resolved exactly like the registrar does when scanning.
+ * Annotation types are referred by name, so that this processor not depending on the starter.
+ *
+ * @author zakyalvan
+ */
+@SupportedAnnotationTypes(RetrofitServiceIndexProcessor.RETROFIT_SERVICE)
+public class RetrofitServiceIndexProcessor extends AbstractProcessor {
+    /**
+     * Location of the index, must be kept in sync with the starter's index loader.
+     */
+    public static final String INDEX_LOCATION = "META-INF/retrofit-services.properties";
+
+    static final String RETROFIT_SERVICE = "com.tiket.tix.common.spring.retrofit.annotation.RetrofitService";
+
+    private static final String QUALIFIER = "org.springframework.beans.factory.annotation.Qualifier";
+
+    private static final String DEFAULT_RETROFIT = "__defaultRetrofit";
+
+    private final Map<String, String> entries = new TreeMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.INTERFACE) {
+                    index((TypeElement) element);
+                }
+            }
+        }
+
+        if (roundEnv.processingOver() && !entries.isEmpty()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void index(TypeElement serviceType) {
+        String typeName = processingEnv.getElementUtils().getBinaryName(serviceType).toString();
+        AnnotationMirror service = findAnnotation(serviceType, RETROFIT_SERVICE);
+        String value = (String) attribute(service, "value");
+        String name = (String) attribute(service, "name");
+        String retrofit = (String) attribute(service, "retrofit");
+        boolean singleton = !Boolean.FALSE.equals(attribute(service, "singleton"));
+        Object initialization = attribute(service, "initialization");
+
+        String beanName = typeName;
+        AnnotationMirror qualifier = findAnnotation(serviceType, QUALIFIER);
+        if (hasText(value)) {
+            beanName = value;
+        }
+        else if (hasText(name)) {
+            beanName = name;
+        }
+        else if (qualifier != null && hasText((String) attribute(qualifier, "value"))) {
+            beanName = (String) attribute(qualifier, "value");
+        }
+        String retrofitName = hasText(retrofit) ? retrofit : (hasText(value) ? value : DEFAULT_RETROFIT);
+
+        entries.put(typeName, String.join(",", beanName, retrofitName,
+                singleton ? "singleton" : "prototype", initialization != null ? initialization.toString() : "DEFAULT"));
+    }
+
+    private void writeIndex() {
+        Properties index = new Properties();
+        // Keep entries of types not compiled in this round, e.g. on incremental build.
+        try {
+            FileObject existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (InputStream input = existing.openInputStream()) {
+                index.load(input);
+            }
+        }
+        catch (IOException e) {
+            // No existing index.
+        }
+        index.stringPropertyNames().stream()
+                .filter(typeName -> !isRetrofitService(typeName))
+                .forEach(index::remove);
+        index.putAll(entries);
+
+        try {
+            FileObject output = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (OutputStream stream = output.openOutputStream()) {
+                index.store(stream, null);
+            }
+        }
+        catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write retrofit service index " + INDEX_LOCATION + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Whether previously indexed type still exists and annotated, so that removed or renamed services are dropped.
+     *
+     * @param typeName
+     * @return
+     */
+    private boolean isRetrofitService(String typeName) {
+        TypeElement type = processingEnv.getElementUtils().getTypeElement(typeName.replace('$', '.'));
+        return type != null && findAnnotation(type, RETROFIT_SERVICE) != null;
+    }
+
+    private static AnnotationMirror findAnnotation(Element element, String annotationType) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationType)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    private Object attribute(AnnotationMirror annotation, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> attribute :
+                processingEnv.getElementUtils().getElementValuesWithDefaults(annotation).entrySet()) {
+            if (attribute.getKey().getSimpleName().contentEquals(name)) {
+                return attribute.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+}
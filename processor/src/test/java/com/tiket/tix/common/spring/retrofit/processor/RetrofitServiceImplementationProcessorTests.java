@@ -0,0 +1,127 @@
+package com.tiket.tix.common.spring.retrofit.processor;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Test for generating retrofit service implementations by {@link RetrofitServiceImplementationProcessor}, compiling
+ * sources declaring their own copy of the annotations and retrofit types used by generated implementation, so that
+ * neither starter nor retrofit needed.
+ *
+ * @author zakyalvan
+ */
+public class RetrofitServiceImplementationProcessorTests {
+    private static final String RETROFIT_SERVICE = "package com.tiket.tix.common.spring.retrofit.annotation;\n"
+            + "public @interface RetrofitService {\n"
+            + "    String value() default \"\";\n"
+            + "    String retrofit() default \"__defaultRetrofit\";\n"
+            + "}\n";
+
+    private static final String RETROFIT = "package retrofit2;\n"
+            + "public class Retrofit {}\n";
+
+    private static final String BOUND_SERVICE_METHOD = "package retrofit2;\n"
+            + "public final class BoundServiceMethod {\n"
+            + "    public static final Object[] NO_ARGUMENTS = new Object[0];\n"
+            + "    public static BoundServiceMethod bind(Retrofit retrofit, java.lang.reflect.Method method) { return null; }\n"
+            + "    public Object invoke(Object[] args) { return null; }\n"
+            + "}\n";
+
+    private static final String BOOKING_CLIENT = "package com.example;\n"
+            + "import com.tiket.tix.common.spring.retrofit.annotation.RetrofitService;\n"
+            + "import java.util.List;\n"
+            + "import java.util.Map;\n"
+            + "public class Clients {\n"
+            + "    @RetrofitService\n"
+            + "    public interface BookingClient {\n"
+            + "        List<String> bookings(Map<String, String> query, int page) throws java.io.IOException;\n"
+            + "        String ping();\n"
+            + "        default String hello() { return \"hello\"; }\n"
+            + "    }\n"
+            + "}\n";
+
+    private File outputDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        outputDirectory = Files.createTempDirectory("retrofit-service-implementation").toFile();
+        outputDirectory.deleteOnExit();
+    }
+
+    @Test
+    public void givenImplementationsEnabled_whenCompiled_thenImplementationMustBeGenerated() throws Exception {
+        compile(true);
+
+        File generated = new File(outputDirectory, "com/example/Clients_BookingClient_RetrofitImpl.java");
+        assertThat(generated.exists(), is(true));
+        String source = new String(Files.readAllBytes(generated.toPath()), StandardCharsets.UTF_8);
+        assertThat(source, containsString(
+                "public final class Clients_BookingClient_RetrofitImpl implements com.example.Clients.BookingClient"));
+        assertThat(source, containsString("method0 = retrofit2.BoundServiceMethod.bind(retrofit, "
+                + "com.example.Clients.BookingClient.class.getMethod(\"bookings\", java.util.Map.class, int.class));"));
+        assertThat(source, containsString("public java.util.List<java.lang.String> bookings("
+                + "java.util.Map<java.lang.String,java.lang.String> arg0, int arg1) throws java.io.IOException {"));
+        assertThat(source, containsString("return (java.util.List<java.lang.String>) "
+                + "method0.invoke(new Object[]{arg0, arg1});"));
+        assertThat(source, containsString("return (java.lang.String) "
+                + "method1.invoke(retrofit2.BoundServiceMethod.NO_ARGUMENTS);"));
+        assertThat(source.contains("hello"), is(false));
+        assertThat(new File(outputDirectory, "com/example/Clients_BookingClient_RetrofitImpl.class").exists(), is(true));
+    }
+
+    @Test
+    public void givenImplementationsNotEnabled_whenCompiled_thenImplementationMustNotBeGenerated() throws Exception {
+        compile(false);
+
+        assertThat(new File(outputDirectory, "com/example/Clients_BookingClient_RetrofitImpl.java").exists(), is(false));
+    }
+
+    private void compile(boolean enabled) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(outputDirectory));
+            fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, Collections.singletonList(outputDirectory));
+            List<String> options = new ArrayList<>();
+            if (enabled) {
+                options.add("-A" + RetrofitServiceImplementationProcessor.IMPLEMENTATIONS_OPTION + "=true");
+            }
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null,
+                    Arrays.asList(
+                            source("com.tiket.tix.common.spring.retrofit.annotation.RetrofitService", RETROFIT_SERVICE),
+                            source("retrofit2.Retrofit", RETROFIT),
+                            source("retrofit2.BoundServiceMethod", BOUND_SERVICE_METHOD),
+                            source("com.example.Clients", BOOKING_CLIENT)));
+            task.setProcessors(Collections.singletonList(new RetrofitServiceImplementationProcessor()));
+            assertThat(task.call(), is(true));
+        }
+    }
+
+    private static JavaFileObject source(String typeName, String content) {
+        return new SimpleJavaFileObject(URI.create("string:///" + typeName.replace('.', '/') + ".java"),
+                JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return content;
+            }
+        };
+    }
+}
@@ -0,0 +1,121 @@
+package com.tiket.tix.common.spring.retrofit.processor;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Test for indexing retrofit services by {@link RetrofitServiceIndexProcessor}, compiling sources declaring their own
+ * copy of the annotations, so that the starter not needed.
+ *
+ * @author zakyalvan
+ */
+public class RetrofitServiceIndexProcessorTests {
+    private static final String RETROFIT_SERVICE = "package com.tiket.tix.common.spring.retrofit.annotation;\n"
+            + "public @interface RetrofitService {\n"
+            + "    String value() default \"\";\n"
+            + "    String name() default \"\";\n"
+            + "    String retrofit() default \"__defaultRetrofit\";\n"
+            + "    boolean singleton() default true;\n"
+            + "    Initialization initialization() default Initialization.DEFAULT;\n"
+            + "    enum Initialization { DEFAULT, EAGER, LAZY }\n"
+            + "}\n";
+
+    private static final String QUALIFIER = "package org.springframework.beans.factory.annotation;\n"
+            + "public @interface Qualifier {\n"
+            + "    String value() default \"\";\n"
+            + "}\n";
+
+    private File outputDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        outputDirectory = Files.createTempDirectory("retrofit-service-index").toFile();
+        outputDirectory.deleteOnExit();
+    }
+
+    @Test
+    public void givenRetrofitServices_whenCompiled_thenMustBeIndexed() throws Exception {
+        compile(source("com.tiket.tix.common.spring.retrofit.annotation.RetrofitService", RETROFIT_SERVICE),
+                source("org.springframework.beans.factory.annotation.Qualifier", QUALIFIER),
+                source("com.example.BookingClient", "package com.example;\n"
+                        + "import com.tiket.tix.common.spring.retrofit.annotation.RetrofitService;\n"
+                        + "@RetrofitService(retrofit = \"booking\", initialization = RetrofitService.Initialization.LAZY)\n"
+                        + "public interface BookingClient {}\n"),
+                source("com.example.Clients", "package com.example;\n"
+                        + "import com.tiket.tix.common.spring.retrofit.annotation.RetrofitService;\n"
+                        + "import org.springframework.beans.factory.annotation.Qualifier;\n"
+                        + "public class Clients {\n"
+                        + "    @RetrofitService(singleton = false) @Qualifier(\"paymentClient\")\n"
+                        + "    public interface PaymentClient {}\n"
+                        + "    @RetrofitService(\"notRetrofitService\")\n"
+                        + "    public static class NotService {}\n"
+                        + "}\n"));
+
+        Properties index = readIndex();
+        assertThat(index.size(), is(2));
+        assertThat(index.getProperty("com.example.BookingClient"),
+                equalTo("com.example.BookingClient,booking,singleton,LAZY"));
+        assertThat(index.getProperty("com.example.Clients$PaymentClient"),
+                equalTo("paymentClient,__defaultRetrofit,prototype,DEFAULT"));
+        assertThat(index.getProperty("com.example.Clients$NotService"), is(nullValue()));
+    }
+
+    @Test
+    public void givenNoRetrofitService_whenCompiled_thenIndexMustNotBeWritten() throws Exception {
+        compile(source("com.example.Plain", "package com.example;\npublic interface Plain {}\n"));
+
+        assertThat(new File(outputDirectory, RetrofitServiceIndexProcessor.INDEX_LOCATION).exists(), is(false));
+    }
+
+    private void compile(JavaFileObject... sources) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(outputDirectory));
+            List<JavaFileObject> units = new ArrayList<>();
+            Collections.addAll(units, sources);
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                    Collections.singletonList("-proc:only"), null, units);
+            task.setProcessors(Collections.singletonList(new RetrofitServiceIndexProcessor()));
+            assertThat(task.call(), is(true));
+        }
+    }
+
+    private Properties readIndex() throws Exception {
+        Properties index = new Properties();
+        try (InputStream input = Files.newInputStream(
+                new File(outputDirectory, RetrofitServiceIndexProcessor.INDEX_LOCATION).toPath())) {
+            index.load(input);
+        }
+        return index;
+    }
+
+    private static JavaFileObject source(String typeName, String content) {
+        return new SimpleJavaFileObject(URI.create("string:///" + typeName.replace('.', '/') + ".java"),
+                JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return content;
+            }
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package com.tiket.tix.common.spring.retrofit.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Mark single item method of retrofit service interface, so that calls arriving within a window are collected
+ * and sent as one request to the bulk method, then split back to each caller. Marked method must accept the key
+ * as its only parameter and return {@link io.reactivex.Single} or {@link java.util.concurrent.CompletableFuture}.
+ * Bulk method, declared in the same interface, must accept collection of keys as its only parameter and return
+ * {@link io.reactivex.Single}, {@link java.util.concurrent.CompletableFuture} or {@link retrofit2.Call} of
+ * either a {@link java.util.Map} keyed by the keys, or a {@link java.util.List} in the same order as the keys.
+ * Batch of one key is sent to the marked method itself.
+ *
+ * @author zakyalvan
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Documented
+public @interface Batched {
+    /**
+     * Name of the bulk method.
+     *
+     * @return
+     */
+    String value();
+
+    /**
+     * Maximum number of keys in a batch, batch is sent immediately once reached.
+     *
+     * @return
+     */
+    int maxSize() default 100;
+
+    /**
+     * Time to wait for other calls after the first call of a batch arrived, in millis.
+     *
+     * @return
+     */
+    long window() default 10;
+}
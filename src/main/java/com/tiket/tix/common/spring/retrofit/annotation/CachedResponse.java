@@ -0,0 +1,30 @@
+package com.tiket.tix.common.spring.retrofit.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Mark {@link retrofit2.http.GET} method of retrofit service interface, so that successful responses are cached
+ * in memory, keyed by the method and its arguments. Cached response body shared between callers, so it must be
+ * treated as immutable.
+ *
+ * @author zakyalvan
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Documented
+public @interface CachedResponse {
+    /**
+     * Time to live of cached response, in millis. Negative value means using ttl configured for the retrofit object.
+     *
+     * @return
+     */
+    long ttl() default -1;
+
+    /**
+     * Time after ttl elapsed in which stale response still served while being refreshed in background, in millis.
+     * Negative value means using setting configured for the retrofit object.
+     *
+     * @return
+     */
+    long staleWhileRevalidate() default -1;
+}
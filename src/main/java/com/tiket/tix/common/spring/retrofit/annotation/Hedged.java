@@ -0,0 +1,31 @@
+package com.tiket.tix.common.spring.retrofit.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Mark idempotent method of retrofit service interface (GET, HEAD, OPTIONS, PUT or DELETE) to be hedged, i.e. when
+ * no response arrives within a delay, duplicate request is sent and the first response wins, the other one cancelled.
+ * Extra requests are capped by hedging budget of the retrofit object.
+ *
+ * @author zakyalvan
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Documented
+public @interface Hedged {
+    /**
+     * Fixed delay before sending duplicate request, in millis. Negative value means using observed latency
+     * {@link #percentile()} of the method.
+     *
+     * @return
+     */
+    long delay() default -1;
+
+    /**
+     * Percentile of observed latency used as delay when no fixed delay given. Until enough latencies observed,
+     * initial delay configured for the retrofit object is used.
+     *
+     * @return
+     */
+    double percentile() default 95;
+}
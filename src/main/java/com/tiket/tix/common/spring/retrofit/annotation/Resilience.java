@@ -0,0 +1,56 @@
+package com.tiket.tix.common.spring.retrofit.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Guard retrofit service method with its own circuit breaker and bulkhead, instead of the ones shared by all methods
+ * of the retrofit object. Negative value of each setting means using setting configured for the retrofit object.
+ *
+ * @author zakyalvan
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Documented
+public @interface Resilience {
+    /**
+     * Whether to guard the method, false excludes the method from guard of the retrofit object.
+     *
+     * @return
+     */
+    boolean value() default true;
+
+    /**
+     * Percentage of failed calls in sliding window to open the circuit.
+     *
+     * @return
+     */
+    float failureRateThreshold() default -1;
+
+    /**
+     * Percentage of slow calls in sliding window to open the circuit.
+     *
+     * @return
+     */
+    float slowCallRateThreshold() default -1;
+
+    /**
+     * Duration above which a call considered slow, in millis.
+     *
+     * @return
+     */
+    long slowCallDuration() default -1;
+
+    /**
+     * Time to keep the circuit open before probing, in millis.
+     *
+     * @return
+     */
+    long waitDurationInOpenState() default -1;
+
+    /**
+     * Maximum number of concurrent calls, zero is rejected.
+     *
+     * @return
+     */
+    int maxConcurrentCalls() default -1;
+}
@@ -47,4 +47,32 @@ public @interface RetrofitService {
      * @return
      */
     boolean singleton() default true;
+
+    /**
+     * When the service (i.e. its {@link retrofit2.Retrofit} and parsed service methods) is created. Default follows
+     * {@link RetrofitServiceScan#lazy()}.
+     *
+     * @return
+     */
+    Initialization initialization() default Initialization.DEFAULT;
+
+    /**
+     * Service creation time.
+     */
+    enum Initialization {
+        /**
+         * Follow {@link RetrofitServiceScan#lazy()}.
+         */
+        DEFAULT,
+
+        /**
+         * Create the service, parsing all of its methods, while the bean created on context refresh.
+         */
+        EAGER,
+
+        /**
+         * Inject lightweight proxy, creating the service on first invocation.
+         */
+        LAZY
+    }
 }
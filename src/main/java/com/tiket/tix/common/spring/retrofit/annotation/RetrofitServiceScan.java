@@ -46,4 +46,21 @@ public @interface RetrofitServiceScan {
      * @return
      */
     Class<?>[] basePackageClasses() default {};
+
+    /**
+     * Whether scanned services are created lazily by default, i.e. lightweight proxy injected and the service
+     * created on first invocation, cutting startup time of application with many services. Can be overridden
+     * per service by {@link RetrofitService#initialization()}.
+     *
+     * @return
+     */
+    boolean lazy() default false;
+
+    /**
+     * Whether lazy services are created in background once all singletons instantiated, so that invalid service
+     * methods reported early, in log, and first invocations not paying the creation.
+     *
+     * @return
+     */
+    boolean warmUpLazy() default true;
 }
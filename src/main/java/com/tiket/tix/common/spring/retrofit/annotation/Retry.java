@@ -0,0 +1,50 @@
+package com.tiket.tix.common.spring.retrofit.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Retry failed calls of retrofit service method, overriding retry settings of the retrofit object. Annotated method
+ * is retried regardless its http method, so only annotate non idempotent method (e.g. POST) when the server
+ * deduplicates its requests. Negative value of each setting means using setting configured for the retrofit object.
+ *
+ * @author zakyalvan
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Documented
+public @interface Retry {
+    /**
+     * Whether to retry the method, false excludes the method from retry of the retrofit object.
+     *
+     * @return
+     */
+    boolean value() default true;
+
+    /**
+     * Maximum number of attempts, including the first one.
+     *
+     * @return
+     */
+    int maxAttempts() default -1;
+
+    /**
+     * Backoff before the first retry, in millis, grows exponentially on next retries.
+     *
+     * @return
+     */
+    long initialBackoff() default -1;
+
+    /**
+     * Maximum backoff before a retry, in millis.
+     *
+     * @return
+     */
+    long maxBackoff() default -1;
+
+    /**
+     * Response statuses to be retried. Empty means using statuses configured for the retrofit object.
+     *
+     * @return
+     */
+    int[] retryableStatuses() default {};
+}
@@ -0,0 +1,22 @@
+package com.tiket.tix.common.spring.retrofit.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Coalesce concurrent identical calls, i.e. same method with equal arguments, into one http request whose result
+ * shared by all callers. On retrofit service interface, applied to its GET, HEAD and OPTIONS methods. On method,
+ * applied regardless the http method, or excluding the method when {@link #value()} is false.
+ *
+ * @author zakyalvan
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Documented
+public @interface SingleFlight {
+    /**
+     * Whether to coalesce concurrent identical calls.
+     *
+     * @return
+     */
+    boolean value() default true;
+}
@@ -0,0 +1,21 @@
+package com.tiket.tix.common.spring.retrofit.autoconfigure;
+
+import okhttp3.OkHttpClient;
+
+/**
+ * Callback for customizing http client of each {@link retrofit2.Retrofit} object created from {@link RetrofitProperties},
+ * applied after interceptors and timeouts configured. Beans of this type are detected automatically.
+ *
+ * @author zakyalvan
+ */
+@FunctionalInterface
+public interface HttpClientCustomizer {
+    /**
+     * Customize http client builder of retrofit object with given name.
+     *
+     * @param retrofitName
+     * @param connection
+     * @param clientBuilder
+     */
+    void customize(String retrofitName, RetrofitProperties.ConnectionProperties connection, OkHttpClient.Builder clientBuilder);
+}
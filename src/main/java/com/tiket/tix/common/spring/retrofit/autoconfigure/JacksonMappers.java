@@ -0,0 +1,62 @@
+package com.tiket.tix.common.spring.retrofit.autoconfigure;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Create jackson object mappers of retrofit converters, based on {@link RetrofitProperties.JacksonProperties}.
+ *
+ * @author zakyalvan
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class JacksonMappers {
+    /**
+     * Resolve object mapper of retrofit json converter. Application object mapper is copied when converter mapper
+     * optimized or reconfigured, so that its configuration retained while itself kept unchanged.
+     *
+     * @param objectMapper
+     * @param jackson
+     * @return
+     */
+    static ObjectMapper converterMapper(ObjectMapper objectMapper, RetrofitProperties.JacksonProperties jackson) {
+        return jackson.isDedicatedMapper() ? configure(objectMapper.copy(), jackson) : objectMapper;
+    }
+
+    /**
+     * Apply optimizer module and deserialization settings to given mapper, owned by retrofit converter.
+     *
+     * @param mapper
+     * @param jackson
+     * @return
+     */
+    static ObjectMapper configure(ObjectMapper mapper, RetrofitProperties.JacksonProperties jackson) {
+        String moduleClassName = jackson.getOptimizer().getModuleClassName();
+        if (moduleClassName != null) {
+            mapper.registerModule(createModule(moduleClassName));
+        }
+        if (jackson.getFailOnUnknownProperties() != null) {
+            mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, jackson.getFailOnUnknownProperties());
+        }
+        return mapper;
+    }
+
+    /**
+     * Instantiate module reflectively, so that optimizer modules are optional dependencies.
+     *
+     * @param moduleClassName
+     * @return
+     */
+    private static Module createModule(String moduleClassName) {
+        ClassLoader classLoader = JacksonMappers.class.getClassLoader();
+        if (!ClassUtils.isPresent(moduleClassName, classLoader)) {
+            throw new IllegalStateException("Jackson module " + moduleClassName + " not found, make sure its library "
+                    + "available in classpath");
+        }
+        return (Module) BeanUtils.instantiateClass(ClassUtils.resolveClassName(moduleClassName, classLoader));
+    }
+}
@@ -0,0 +1,114 @@
+package com.tiket.tix.common.spring.retrofit.autoconfigure;
+
+import com.tiket.tix.common.spring.retrofit.support.VirtualThreads;
+import io.reactivex.Scheduler;
+import io.reactivex.internal.schedulers.RxThreadFactory;
+import io.reactivex.schedulers.Schedulers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.Assert;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Create and maintain RxJava {@link Scheduler} used by call adapter of configured {@link retrofit2.Retrofit} objects.
+ * Backing executors are either bounded platform thread pool or virtual thread per task executor,
+ * and shut down gracefully when application context closed. Task rejected by saturated thread pool runs in the
+ * subscribing thread, since RxJava only reports rejection to its error handler, leaving the subscriber waiting.
+ *
+ * @author zakyalvan
+ */
+class ReactiveSchedulerFactory implements DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveSchedulerFactory.class);
+
+    static final String SHARED_SCHEDULER = "__sharedScheduler";
+
+    private final RetrofitProperties.ReactiveScheduler sharedSettings;
+
+    private final Map<String, ManagedScheduler> schedulers = new LinkedHashMap<>();
+
+    ReactiveSchedulerFactory(RetrofitProperties.ReactiveScheduler sharedSettings) {
+        Assert.notNull(sharedSettings, "Shared scheduler settings must be provided");
+        this.sharedSettings = sharedSettings;
+    }
+
+    /**
+     * Retrieve scheduler for {@link retrofit2.Retrofit} with given name, creating the backing executor if required.
+     * Shared scheduler is returned when {@link RetrofitProperties.ReactiveScheduler#shared} enabled.
+     *
+     * @param retrofitName
+     * @param settings
+     * @return
+     */
+    synchronized Scheduler getScheduler(String retrofitName, RetrofitProperties.ReactiveScheduler settings) {
+        if (settings.isShared()) {
+            return getScheduler(SHARED_SCHEDULER, sharedSettings, true);
+        }
+        return getScheduler(retrofitName, settings, false);
+    }
+
+    private Scheduler getScheduler(String name, RetrofitProperties.ReactiveScheduler settings, boolean shared) {
+        ManagedScheduler managed = schedulers.get(name);
+        if (managed == null) {
+            LOGGER.debug("Create {} reactive scheduler '{}'", shared ? "shared" : "dedicated", name);
+            ExecutorService executor = createExecutor(settings);
+            managed = new ManagedScheduler(executor, Schedulers.from(executor), settings.getAwaitTermination());
+            schedulers.put(name, managed);
+        }
+        return managed.scheduler;
+    }
+
+    private ExecutorService createExecutor(RetrofitProperties.ReactiveScheduler settings) {
+        if (settings.getMode() == RetrofitProperties.SchedulerMode.VIRTUAL) {
+            return VirtualThreads.newVirtualThreadPerTaskExecutor(settings.getThreadNamePrefix());
+        }
+
+        int corePoolSize = settings.getCorePollSize();
+        int maxPoolSize = settings.getMaxPoolSize() == null ? corePoolSize : Math.max(corePoolSize, settings.getMaxPoolSize());
+
+        BlockingQueue<Runnable> queue = settings.getQueueCapacity() > 0 ?
+                new LinkedBlockingQueue<>(settings.getQueueCapacity()) : new SynchronousQueue<>();
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(corePoolSize, maxPoolSize,
+                settings.getKeepAlive(), TimeUnit.MILLISECONDS, queue,
+                new RxThreadFactory(settings.getThreadNamePrefix()), new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(settings.isAllowCoreThreadTimeout());
+        return executor;
+    }
+
+    /**
+     * Shut down all created executors, waiting for running tasks to complete.
+     */
+    @Override
+    public synchronized void destroy() {
+        schedulers.values().forEach(managed -> managed.executor.shutdown());
+        schedulers.forEach((name, managed) -> {
+            try {
+                if (!managed.executor.awaitTermination(managed.awaitTermination, TimeUnit.MILLISECONDS)) {
+                    LOGGER.warn("Reactive scheduler '{}' not terminated in time, interrupting running tasks", name);
+                    managed.executor.shutdownNow();
+                }
+            }
+            catch (InterruptedException e) {
+                managed.executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        });
+        schedulers.clear();
+    }
+
+    private static class ManagedScheduler {
+        private final ExecutorService executor;
+        private final Scheduler scheduler;
+        private final long awaitTermination;
+
+        private ManagedScheduler(ExecutorService executor, Scheduler scheduler, long awaitTermination) {
+            this.executor = executor;
+            this.scheduler = scheduler;
+            this.awaitTermination = awaitTermination;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.tiket.tix.common.spring.retrofit.autoconfigure;
+
+import com.tiket.tix.common.spring.retrofit.metrics.ConcurrencyLimitMetrics;
+import com.tiket.tix.common.spring.retrofit.metrics.HttpClientMetrics;
+import com.tiket.tix.common.spring.retrofit.metrics.MetricsInterceptor;
+import com.tiket.tix.common.spring.retrofit.metrics.PhaseMetricsEventListener;
+import com.tiket.tix.common.spring.retrofit.metrics.ResponseCacheMetrics;
+import com.tiket.tix.common.spring.retrofit.registry.RetrofitRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configure micrometer metrics of http clients used by {@link retrofit2.Retrofit} objects created from
+ * {@link RetrofitProperties}.
+ *
+ * @author zakyalvan
+ */
+@Configuration
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnBean(MeterRegistry.class)
+@ConditionalOnProperty(prefix = "tiket.retrofit.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+class RetrofitMetricsConfiguration {
+    /**
+     * Register {@link MetricsInterceptor} as the first interceptor of each http client, so that recorded latency
+     * also covers other interceptors. Also register {@link PhaseMetricsEventListener} when phase metrics enabled.
+     *
+     * @param meterRegistry
+     * @return
+     */
+    @Bean
+    HttpClientCustomizer metricsHttpClientCustomizer(MeterRegistry meterRegistry) {
+        return (retrofitName, connection, clientBuilder) -> {
+            clientBuilder.interceptors().add(0, new MetricsInterceptor(meterRegistry, retrofitName));
+            if (connection.isPhaseMetrics()) {
+                clientBuilder.eventListenerFactory(new PhaseMetricsEventListener.Factory(meterRegistry, retrofitName));
+            }
+        };
+    }
+
+    /**
+     * Bind connection pool and dispatcher gauges of registered retrofit objects.
+     *
+     * @param retrofitRegistry
+     * @param meterRegistry
+     * @return
+     */
+    @Bean
+    HttpClientMetrics retrofitHttpClientMetrics(RetrofitRegistry retrofitRegistry, MeterRegistry meterRegistry) {
+        HttpClientMetrics clientMetrics = new HttpClientMetrics(retrofitRegistry);
+        clientMetrics.bindTo(meterRegistry);
+        return clientMetrics;
+    }
+
+    /**
+     * Bind hit and miss counts of response caches of registered retrofit objects.
+     *
+     * @param retrofitRegistry
+     * @param meterRegistry
+     * @return
+     */
+    @Bean
+    ResponseCacheMetrics retrofitResponseCacheMetrics(RetrofitRegistry retrofitRegistry, MeterRegistry meterRegistry) {
+        ResponseCacheMetrics cacheMetrics = new ResponseCacheMetrics(retrofitRegistry);
+        cacheMetrics.bindTo(meterRegistry);
+        return cacheMetrics;
+    }
+
+    /**
+     * Bind limit, in flight and rejected requests of concurrency limiters of registered retrofit objects.
+     *
+     * @param retrofitRegistry
+     * @param meterRegistry
+     * @return
+     */
+    @Bean
+    ConcurrencyLimitMetrics retrofitConcurrencyLimitMetrics(RetrofitRegistry retrofitRegistry, MeterRegistry meterRegistry) {
+        ConcurrencyLimitMetrics limitMetrics = new ConcurrencyLimitMetrics(retrofitRegistry);
+        limitMetrics.bindTo(meterRegistry);
+        return limitMetrics;
+    }
+}
@@ -1,18 +1,35 @@
 package com.tiket.tix.common.spring.retrofit.autoconfigure;
 
+import com.tiket.tix.common.spring.retrofit.conversion.ContentFormat;
+import com.tiket.tix.common.spring.retrofit.limiter.ConcurrencyLimitExceededException;
+import com.tiket.tix.common.spring.retrofit.resilience.BulkheadFullException;
+import com.tiket.tix.common.spring.retrofit.resilience.CallNotPermittedException;
 import lombok.Data;
+import okhttp3.Protocol;
 import org.hibernate.validator.constraints.NotBlank;
+import org.hibernate.validator.constraints.NotEmpty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
 import org.springframework.validation.annotation.Validated;
 
 import javax.validation.Valid;
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
+import java.io.File;
+import java.io.IOException;
 import java.io.Serializable;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * @author zakyalvan
@@ -38,15 +55,580 @@ public class RetrofitProperties implements Serializable {
      */
     private final Map<String, CustomRetrofit> factories = new HashMap<>();
 
+    /**
+     * Whether default retrofit coalesces concurrent identical calls of GET, HEAD and OPTIONS methods.
+     */
+    private boolean singleFlight = false;
+
+    /**
+     * Response cache settings of default retrofit.
+     */
+    @Valid
+    @NestedConfigurationProperty
+    private final ResponseCacheProperties cache = new ResponseCacheProperties();
+
+    /**
+     * Circuit breaker and bulkhead settings of default retrofit.
+     */
+    @Valid
+    @NestedConfigurationProperty
+    private final ResilienceProperties resilience = new ResilienceProperties();
+
+    /**
+     * Retry settings of default retrofit.
+     */
+    @Valid
+    @NestedConfigurationProperty
+    private final RetryProperties retry = new RetryProperties();
+
+    /**
+     * Hedging settings of default retrofit.
+     */
+    @Valid
+    @NestedConfigurationProperty
+    private final HedgingProperties hedging = new HedgingProperties();
+
+    /**
+     * Adaptive concurrency limit settings of default retrofit.
+     */
+    @Valid
+    @NestedConfigurationProperty
+    private final ConcurrencyLimitProperties concurrencyLimit = new ConcurrencyLimitProperties();
+
+    /**
+     * Request and response compression settings of default retrofit.
+     */
+    @Valid
+    @NestedConfigurationProperty
+    private final CompressionProperties compression = new CompressionProperties();
+
+    /**
+     * Content format settings of default retrofit.
+     */
+    @Valid
+    @NestedConfigurationProperty
+    private final ConversionProperties conversion = new ConversionProperties();
+
+    /**
+     * Jackson object mapper settings of retrofit converters.
+     */
+    @Valid
+    @NestedConfigurationProperty
+    private final JacksonProperties jackson = new JacksonProperties();
+
+    /**
+     * Startup warm up settings of default retrofit.
+     */
+    @Valid
+    @NestedConfigurationProperty
+    private final WarmUpProperties warmUp = new WarmUpProperties();
+
+    /**
+     * Http client metrics settings, applied when micrometer {@code MeterRegistry} bean available.
+     */
+    @Valid
+    @NestedConfigurationProperty
+    private final MetricsProperties metrics = new MetricsProperties();
+
     /**
      * Custom retrofit object.
      */
     @Data
     public static class CustomRetrofit implements Serializable {
-        @NotNull
+        /**
+         * Base url of retrofit object, optional when {@link #baseUrls} provided.
+         */
         private URI baseUrl;
 
+        /**
+         * Base urls of replicas serving the same api, among which requests are balanced. Base url, when provided,
+         * is included as one of the replicas, otherwise the first one used as base url of retrofit object.
+         */
+        private List<URI> baseUrls = new ArrayList<>();
+
+        /**
+         * Load balancing settings, applied when more than one base url provided.
+         */
+        @Valid
+        private LoadBalancerProperties loadBalancer = new LoadBalancerProperties();
+
         private ConnectionProperties connection = new ConnectionProperties();
+
+        /**
+         * Whether to coalesce concurrent identical calls of GET, HEAD and OPTIONS methods into one http request.
+         */
+        private boolean singleFlight = false;
+
+        @Valid
+        private ResponseCacheProperties cache = new ResponseCacheProperties();
+
+        /**
+         * Circuit breaker and bulkhead settings.
+         */
+        @Valid
+        private ResilienceProperties resilience = new ResilienceProperties();
+
+        /**
+         * Retry settings.
+         */
+        @Valid
+        private RetryProperties retry = new RetryProperties();
+
+        /**
+         * Hedging settings of methods annotated with {@link com.tiket.tix.common.spring.retrofit.annotation.Hedged}.
+         */
+        @Valid
+        private HedgingProperties hedging = new HedgingProperties();
+
+        /**
+         * Adaptive concurrency limit settings.
+         */
+        @Valid
+        private ConcurrencyLimitProperties concurrencyLimit = new ConcurrencyLimitProperties();
+
+        /**
+         * Request and response compression settings.
+         */
+        @Valid
+        private CompressionProperties compression = new CompressionProperties();
+
+        /**
+         * Content format settings.
+         */
+        @Valid
+        private ConversionProperties conversion = new ConversionProperties();
+
+        /**
+         * Startup warm up settings.
+         */
+        @Valid
+        private WarmUpProperties warmUp = new WarmUpProperties();
+
+        @AssertTrue(message = "Base url or base urls must be provided")
+        public boolean isBaseUrlProvided() {
+            return baseUrl != null || !baseUrls.isEmpty();
+        }
+    }
+
+    /**
+     * Circuit breaker and bulkhead settings, guarding all methods of retrofit object when enabled. Methods annotated
+     * with {@link com.tiket.tix.common.spring.retrofit.annotation.Resilience} have their own circuit breaker
+     * and bulkhead, derived from these settings.
+     */
+    @Data
+    public static class ResilienceProperties implements Serializable {
+        /**
+         * Whether to guard calls of all methods with circuit breaker and bulkhead shared by them.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Number of latest calls of which outcomes are recorded while the circuit is closed.
+         */
+        @Min(1)
+        private int slidingWindowSize = 100;
+
+        /**
+         * Minimum number of recorded calls before failure and slow call rates are evaluated.
+         */
+        @Min(1)
+        private int minimumNumberOfCalls = 20;
+
+        /**
+         * Percentage of failed calls, i.e. io errors and server error responses, to open the circuit.
+         */
+        @Min(0)
+        @Max(100)
+        private float failureRateThreshold = 50;
+
+        /**
+         * Percentage of slow calls to open the circuit.
+         */
+        @Min(0)
+        @Max(100)
+        private float slowCallRateThreshold = 100;
+
+        /**
+         * Duration above which a call considered slow, in millis.
+         */
+        @Min(0)
+        private long slowCallDuration = 60_000;
+
+        /**
+         * Time to keep the circuit open before probing, in millis.
+         */
+        @Min(0)
+        private long waitDurationInOpenState = 60_000;
+
+        /**
+         * Number of probing calls permitted while the circuit is half open.
+         */
+        @Min(1)
+        private int permittedCallsInHalfOpenState = 10;
+
+        /**
+         * Maximum number of concurrent calls, calls above it are rejected immediately.
+         */
+        @Min(1)
+        private int maxConcurrentCalls = 25;
+    }
+
+    /**
+     * Retry settings, applied to idempotent methods (GET, HEAD, OPTIONS, PUT and DELETE) of retrofit object when
+     * enabled, and to methods annotated with {@link com.tiket.tix.common.spring.retrofit.annotation.Retry}.
+     */
+    @Data
+    public static class RetryProperties implements Serializable {
+        /**
+         * Whether to retry failed calls of idempotent methods.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of attempts, including the first one.
+         */
+        @Min(1)
+        private int maxAttempts = 3;
+
+        /**
+         * Backoff before the first retry, in millis. Actual backoff is random between zero and exponential backoff.
+         */
+        @Min(0)
+        private long initialBackoff = 100;
+
+        /**
+         * Maximum backoff before a retry, in millis.
+         */
+        @Min(0)
+        private long maxBackoff = 2_000;
+
+        /**
+         * Multiplier of backoff on each retry.
+         */
+        @Min(1)
+        private double multiplier = 2;
+
+        /**
+         * Response statuses to be retried.
+         */
+        private Set<Integer> retryableStatuses = new LinkedHashSet<>(Arrays.asList(502, 503, 504));
+
+        /**
+         * Errors to be retried, including their subtypes.
+         */
+        private List<Class<? extends Throwable>> retryExceptions = new ArrayList<>(Arrays.asList(IOException.class));
+
+        /**
+         * Errors not to be retried, even when matching retry exceptions. Default to circuit breaker, bulkhead and
+         * concurrency limit rejections.
+         */
+        private List<Class<? extends Throwable>> ignoreExceptions = new ArrayList<>(Arrays.asList(
+                CallNotPermittedException.class, BulkheadFullException.class, ConcurrencyLimitExceededException.class));
+
+        /**
+         * Percentage of requests which can be retried, shared by all methods of retrofit object.
+         */
+        @Min(0)
+        private double budgetPercent = 20;
+
+        /**
+         * Maximum number of retries accumulated by retry budget, i.e. allowed in a burst.
+         */
+        @Min(1)
+        private int budgetBurst = 10;
+    }
+
+    /**
+     * Settings of hedging methods annotated with {@link com.tiket.tix.common.spring.retrofit.annotation.Hedged}.
+     */
+    @Data
+    public static class HedgingProperties implements Serializable {
+        /**
+         * Delay before sending duplicate request of method hedged on latency percentile, until enough latencies
+         * observed, in millis.
+         */
+        @Min(0)
+        private long initialDelay = 100;
+
+        /**
+         * Percentage of requests which can be duplicated, shared by all hedged methods of retrofit object.
+         */
+        @Min(0)
+        private double budgetPercent = 10;
+
+        /**
+         * Maximum number of duplicate requests accumulated by hedging budget, i.e. allowed in a burst.
+         */
+        @Min(1)
+        private int budgetBurst = 5;
+    }
+
+    /**
+     * Request and response compression settings.
+     */
+    @Data
+    public static class CompressionProperties implements Serializable {
+        /**
+         * Whether to compress request bodies and negotiate compressed responses.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Whether to compress request bodies with gzip. Disable for servers not accepting compressed requests.
+         */
+        private boolean compressRequests = true;
+
+        /**
+         * Minimum length of request body to be compressed, in bytes. Bodies of unknown length are not compressed.
+         */
+        @Min(0)
+        private long minRequestSize = 1_024;
+
+        /**
+         * Response content codings advertised in {@code Accept-Encoding} header, in order of preference. Each must
+         * be decoded by built in gzip or deflate decoder, or {@link com.tiket.tix.common.spring.retrofit.compression.ContentDecoder}
+         * bean.
+         */
+        @NotEmpty
+        private List<String> encodings = new ArrayList<>(Arrays.asList("gzip", "deflate"));
+    }
+
+    /**
+     * Content format settings of request and response bodies.
+     */
+    @Data
+    public static class ConversionProperties implements Serializable {
+        /**
+         * Content formats in order of preference, negotiated with {@code Accept} header. Request bodies are written in
+         * the first format supporting body type, responses read in format of their {@code Content-Type}. Empty means
+         * formats are not negotiated, bodies converted by registered converter factories.
+         */
+        @NotNull
+        private List<ContentFormat> formats = new ArrayList<>();
+    }
+
+    /**
+     * Jackson object mapper settings of retrofit json and binary converters.
+     */
+    @Data
+    public static class JacksonProperties implements Serializable {
+        /**
+         * Module optimizing bean serialization and deserialization with generated bytecode, registered to object
+         * mapper dedicated to retrofit converters.
+         */
+        @NotNull
+        private MapperOptimizer optimizer = MapperOptimizer.NONE;
+
+        /**
+         * Whether converters fail on unknown properties, empty to keep application object mapper setting.
+         */
+        private Boolean failOnUnknownProperties;
+
+        /**
+         * Whether json bodies converted by streaming converter, required by {@code Iterator} bodies and
+         * {@code @Streaming} {@code Flowable} methods, instead of retrofit's stock converter.
+         */
+        private boolean streaming = false;
+
+        /**
+         * Whether json converter uses a copy of application object mapper, instead of the application one.
+         *
+         * @return
+         */
+        public boolean isDedicatedMapper() {
+            return optimizer != MapperOptimizer.NONE || failOnUnknownProperties != null;
+        }
+    }
+
+    /**
+     * Startup warm up settings, opening connections to base urls and invoking service methods before the application
+     * starts serving.
+     */
+    @Data
+    public static class WarmUpProperties implements Serializable {
+        /**
+         * Whether to warm up retrofit object on startup.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Number of connections opened to each base url. Connections above max idle connections of the pool are
+         * evicted right away.
+         */
+        @Min(1)
+        private int connections = 1;
+
+        /**
+         * Path relative to base url requested with HEAD method to open connections, e.g. health check path. Empty
+         * means base url itself. Response status is ignored.
+         */
+        @NotNull
+        private String path = "";
+
+        /**
+         * Maximum time to wait for warm up to complete, in millis.
+         */
+        @Min(1)
+        private long timeout = 10_000;
+
+        /**
+         * Service methods without parameter invoked after connections opened, so that their converters and call
+         * adapters loaded and compiled, in {@code fully.qualified.ServiceType#method} format.
+         */
+        @NotNull
+        private List<String> methods = new ArrayList<>();
+    }
+
+    /**
+     * Adaptive concurrency limit settings, limiting requests in flight of retrofit object to the limit adjusted
+     * based on observed latencies and dropped requests.
+     */
+    @Data
+    public static class ConcurrencyLimitProperties implements Serializable {
+        /**
+         * Whether to limit requests in flight, requests above the limit are rejected immediately.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Algorithm adjusting the limit.
+         */
+        @NotNull
+        private LimitAlgorithmType algorithm = LimitAlgorithmType.GRADIENT2;
+
+        /**
+         * Limit before adjusted.
+         */
+        @Min(1)
+        private int initialLimit = 20;
+
+        /**
+         * Minimum limit.
+         */
+        @Min(1)
+        private int minLimit = 1;
+
+        /**
+         * Maximum limit.
+         */
+        @Min(1)
+        private int maxLimit = 200;
+
+        /**
+         * Ratio applied to the limit on dropped request, used by {@link LimitAlgorithmType#AIMD}.
+         */
+        @Min(0)
+        @Max(1)
+        private double backoffRatio = 0.9;
+
+        /**
+         * Weight of new limit estimate, used by {@link LimitAlgorithmType#GRADIENT2}.
+         */
+        @Min(0)
+        @Max(1)
+        private double smoothing = 0.2;
+
+        /**
+         * Ratio of short term to long term latency tolerated before the limit shrinks, used by
+         * {@link LimitAlgorithmType#GRADIENT2}.
+         */
+        @Min(1)
+        private double rttTolerance = 1.5;
+    }
+
+    /**
+     * Client side load balancing settings.
+     */
+    @Data
+    public static class LoadBalancerProperties implements Serializable {
+        /**
+         * Strategy of selecting base url to send a request to.
+         */
+        @NotNull
+        private LoadBalancingStrategy strategy = LoadBalancingStrategy.ROUND_ROBIN;
+
+        /**
+         * Number of consecutive errors or server error responses to eject a base url.
+         */
+        @Min(1)
+        private int failureThreshold = 5;
+
+        /**
+         * Time to eject a failing base url, in millis.
+         */
+        @Min(0)
+        private long ejectionTime = 30_000;
+
+        /**
+         * Decay time constant of latency moving average used by {@link LoadBalancingStrategy#POWER_OF_TWO_CHOICES},
+         * in millis.
+         */
+        @Min(1)
+        private long latencyDecayTime = 10_000;
+    }
+
+    /**
+     * Response cache settings.
+     */
+    @Data
+    public static class ResponseCacheProperties implements Serializable {
+        /**
+         * Whether to cache responses of service methods annotated with
+         * {@link com.tiket.tix.common.spring.retrofit.annotation.CachedResponse} in memory.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of cached responses.
+         */
+        @Min(1)
+        private long maximumSize = 1_000;
+
+        /**
+         * Default time to live of cached response, in millis.
+         */
+        @Min(0)
+        private long ttl = 60_000;
+
+        /**
+         * Default time after ttl elapsed in which stale response still served while being refreshed, in millis.
+         */
+        @Min(0)
+        private long staleWhileRevalidate = 0;
+
+        /**
+         * OkHttp disk {@link okhttp3.Cache} settings, driven by http cache headers.
+         */
+        @Valid
+        private final DiskCacheProperties disk = new DiskCacheProperties();
+    }
+
+    /**
+     * OkHttp disk {@link okhttp3.Cache} settings.
+     */
+    @Data
+    public static class DiskCacheProperties implements Serializable {
+        /**
+         * Cache directory, disk cache disabled when not provided. Must not be shared with other retrofit object.
+         */
+        private File directory;
+
+        /**
+         * Maximum size of the cache, in bytes.
+         */
+        @Min(1)
+        private long maxSize = 10 * 1024 * 1024;
+    }
+
+    /**
+     * Http client metrics settings.
+     */
+    @Data
+    public static class MetricsProperties implements Serializable {
+        /**
+         * Whether to record latency of http requests and gauges of connection pools and dispatchers.
+         */
+        private boolean enabled = true;
     }
 
     /**
@@ -74,15 +656,181 @@ public class RetrofitProperties implements Serializable {
          */
         private boolean debugRequest = false;
 
+        /**
+         * Http exchange debug logging settings, applied when debug request enabled.
+         */
+        @Valid
+        private final ExchangeLoggingProperties logging = new ExchangeLoggingProperties();
+
         /**
          * Whether RxJava call adapter using scheduler or not, default is I/O scheduler.
          */
         private boolean asyncRequest = true;
 
+        /**
+         * Whether to derive http client from shared root client, so that connection pool and dispatcher are reused.
+         * When disabled, dedicated connection pool and dispatcher are created based on these settings. Connection
+         * pool and dispatcher settings of retrofit factory are ignored while enabled, since those of the shared root
+         * client are defined by default connection settings. Disabled on default connection settings, default
+         * retrofit gets dedicated ones created from the same settings.
+         */
+        private boolean sharedClient = true;
+
+        /**
+         * Whether to record duration of each http call phase (dns, connect, tls, time to first byte and body)
+         * and connection reuse, when metrics enabled.
+         */
+        private boolean phaseMetrics = false;
+
+        /**
+         * Protocols to negotiate with the server, in order of preference. Empty means OkHttp default, that is
+         * http/2 over tls (negotiated with alpn) falling back to http/1.1. Use {@link HttpProtocol#H2_PRIOR_KNOWLEDGE}
+         * alone for cleartext http/2 (h2c) services.
+         */
+        @NotNull
+        private List<HttpProtocol> protocols = new ArrayList<>();
+
+        /**
+         * Interval of http/2 and web socket ping frames, in millis. Connection is closed when pong not received in
+         * time, so dead connection detected before being reused. Zero disables pings.
+         */
+        @Min(0)
+        private long pingInterval = 0;
+
         /**
          * Reactive {@link io.reactivex.Scheduler} configuration.
          */
         private final ReactiveScheduler scheduler = new ReactiveScheduler();
+
+        /**
+         * OkHttp {@link okhttp3.ConnectionPool} settings.
+         */
+        @Valid
+        private final ConnectionPoolProperties connectionPool = new ConnectionPoolProperties();
+
+        /**
+         * OkHttp {@link okhttp3.Dispatcher} settings.
+         */
+        @Valid
+        private final DispatcherProperties dispatcher = new DispatcherProperties();
+
+        /**
+         * Caching dns settings.
+         */
+        @Valid
+        private final DnsProperties dns = new DnsProperties();
+
+        @AssertTrue(message = "Protocols must contain http/1.1, or only h2 prior knowledge")
+        public boolean isProtocolsSupported() {
+            if (protocols.contains(HttpProtocol.H2_PRIOR_KNOWLEDGE)) {
+                return protocols.size() == 1;
+            }
+            return protocols.isEmpty() || protocols.contains(HttpProtocol.HTTP_1_1);
+        }
+    }
+
+    /**
+     * Http exchange debug logging settings.
+     */
+    @Data
+    public static class ExchangeLoggingProperties implements Serializable {
+        /**
+         * Ratio of http exchanges to be logged, between 0 and 1.
+         */
+        @DecimalMin("0")
+        @DecimalMax("1")
+        private double sampleRate = 1;
+
+        /**
+         * Maximum number of request and response body bytes to be logged, larger bodies are truncated.
+         * Zero means bodies are not logged.
+         */
+        @Min(0)
+        private long maxBodySize = 4 * 1024;
+
+        /**
+         * Names of headers whose values are masked, case insensitive.
+         */
+        @NotNull
+        private List<String> redactedHeaders = new ArrayList<>(
+                Arrays.asList("Authorization", "Proxy-Authorization", "Cookie", "Set-Cookie"));
+    }
+
+    /**
+     * Caching dns settings, replacing lookups of jvm dns cache.
+     */
+    @Data
+    public static class DnsProperties implements Serializable {
+        /**
+         * Whether to resolve hosts with caching dns.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Time to live of resolved addresses, in millis.
+         */
+        @Min(1)
+        private long ttl = 60_000;
+
+        /**
+         * Period before expiry in which looked up addresses are refreshed in background, in millis. Zero disables
+         * refresh ahead.
+         */
+        @Min(0)
+        private long refreshAhead = 10_000;
+
+        /**
+         * Time to live of unknown host failures, in millis. Zero disables negative caching.
+         */
+        @Min(0)
+        private long negativeTtl = 5_000;
+
+        /**
+         * Ip addresses of hosts served without lookup, keyed by host name.
+         */
+        @NotNull
+        private Map<String, List<String>> overrides = new HashMap<>();
+
+        @AssertTrue(message = "Refresh ahead must be less than ttl")
+        public boolean isRefreshAheadValid() {
+            return refreshAhead < ttl;
+        }
+    }
+
+    /**
+     * OkHttp {@link okhttp3.ConnectionPool} settings.
+     */
+    @Data
+    public static class ConnectionPoolProperties implements Serializable {
+        /**
+         * Maximum number of idle connections kept in the pool.
+         */
+        @Min(0)
+        private int maxIdleConnections = 5;
+
+        /**
+         * Time to keep idle connection alive in the pool, in millis.
+         */
+        @Min(1)
+        private long keepAliveDuration = 300_000;
+    }
+
+    /**
+     * OkHttp {@link okhttp3.Dispatcher} settings.
+     */
+    @Data
+    public static class DispatcherProperties implements Serializable {
+        /**
+         * Maximum number of requests to execute concurrently.
+         */
+        @Min(1)
+        private int maxRequests = 64;
+
+        /**
+         * Maximum number of requests for each host to execute concurrently.
+         */
+        @Min(1)
+        private int maxRequestsPerHost = 5;
     }
 
     /**
@@ -95,6 +843,13 @@ public class RetrofitProperties implements Serializable {
          */
         private boolean overrideDefault = true;
 
+        /**
+         * Type of threads backing the scheduler. Virtual threads require Java 21 or later, pool sizing and queue
+         * settings are ignored in that mode.
+         */
+        @NotNull
+        private SchedulerMode mode = SchedulerMode.PLATFORM;
+
         /**
          * Number of threads core poll size.
          */
@@ -107,5 +862,158 @@ public class RetrofitProperties implements Serializable {
          */
         @NotBlank
         private String threadNamePrefix = "CustomScheduler";
+
+        /**
+         * Whether to use scheduler shared by all retrofit objects, configured by default connection scheduler settings,
+         * instead of creating dedicated one.
+         */
+        private boolean shared = false;
+
+        /**
+         * Maximum number of threads, only created when the queue is full. Default to core poll size.
+         */
+        @Min(1)
+        private Integer maxPoolSize;
+
+        /**
+         * Time to keep idle thread alive, in millis.
+         */
+        @Min(1)
+        private long keepAlive = 60_000;
+
+        /**
+         * Whether core threads also terminated after being idle for {@link #keepAlive}.
+         */
+        private boolean allowCoreThreadTimeout = true;
+
+        /**
+         * Capacity of task queue, zero means tasks are handed off directly to threads.
+         */
+        @Min(0)
+        private int queueCapacity = 1_000;
+
+        /**
+         * Maximum time to wait for running tasks to complete on shutdown, in millis.
+         */
+        @Min(0)
+        private long awaitTermination = 10_000;
+    }
+
+    /**
+     * Type of threads used for executing http requests.
+     */
+    public enum SchedulerMode {
+        /**
+         * Bounded pool of platform threads.
+         */
+        PLATFORM,
+
+        /**
+         * New virtual thread for each task, requires Java 21 or later. Also applied to OkHttp {@link okhttp3.Dispatcher}
+         * of the client owning these settings.
+         */
+        VIRTUAL
+    }
+
+    /**
+     * Http protocol of OkHttp client.
+     */
+    public enum HttpProtocol {
+        /**
+         * Plain http/1.1.
+         */
+        HTTP_1_1(Protocol.HTTP_1_1),
+
+        /**
+         * Http/2 over tls, negotiated with alpn. Requires {@link #HTTP_1_1} as fallback.
+         */
+        HTTP_2(Protocol.HTTP_2),
+
+        /**
+         * Cleartext http/2 (h2c) without upgrade, for services known to support it.
+         */
+        H2_PRIOR_KNOWLEDGE(Protocol.H2_PRIOR_KNOWLEDGE);
+
+        private final Protocol protocol;
+
+        HttpProtocol(Protocol protocol) {
+            this.protocol = protocol;
+        }
+
+        public Protocol getProtocol() {
+            return protocol;
+        }
+    }
+
+    /**
+     * Jackson module optimizing bean serialization and deserialization.
+     */
+    public enum MapperOptimizer {
+        /**
+         * Reflection based bean serialization and deserialization.
+         */
+        NONE(null),
+
+        /**
+         * Afterburner module, requires {@code jackson-module-afterburner}.
+         */
+        AFTERBURNER("com.fasterxml.jackson.module.afterburner.AfterburnerModule"),
+
+        /**
+         * Blackbird module, successor of afterburner for Java 11 or later, requires {@code jackson-module-blackbird}
+         * of jackson 2.12 or later.
+         */
+        BLACKBIRD("com.fasterxml.jackson.module.blackbird.BlackbirdModule");
+
+        private final String moduleClassName;
+
+        MapperOptimizer(String moduleClassName) {
+            this.moduleClassName = moduleClassName;
+        }
+
+        public String getModuleClassName() {
+            return moduleClassName;
+        }
+    }
+
+    /**
+     * Strategy of selecting base url among load balanced ones.
+     */
+    public enum LoadBalancingStrategy {
+        /**
+         * Select base urls in turn.
+         */
+        ROUND_ROBIN,
+
+        /**
+         * Select base url with the least outstanding requests.
+         */
+        LEAST_OUTSTANDING,
+
+        /**
+         * Pick two base urls randomly, then select the one with lower latency moving average weighted by
+         * outstanding requests.
+         */
+        POWER_OF_TWO_CHOICES
+    }
+
+    /**
+     * Algorithm adjusting concurrency limit.
+     */
+    public enum LimitAlgorithmType {
+        /**
+         * Additive increase on successful request, multiplicative decrease on dropped request.
+         */
+        AIMD,
+
+        /**
+         * Adjust the limit based on queue size at the server, estimated from minimum and current latency.
+         */
+        VEGAS,
+
+        /**
+         * Adjust the limit based on gradient of long term to short term latency.
+         */
+        GRADIENT2
     }
 }
@@ -1,18 +1,55 @@
 package com.tiket.tix.common.spring.retrofit.autoconfigure;
 
+import com.tiket.tix.common.spring.retrofit.cache.CachingCallAdapterFactory;
+import com.tiket.tix.common.spring.retrofit.cache.ResponseCache;
+import com.tiket.tix.common.spring.retrofit.coalescing.CoalescingCallAdapterFactory;
+import com.tiket.tix.common.spring.retrofit.compression.CompressionInterceptor;
+import com.tiket.tix.common.spring.retrofit.compression.ContentDecoder;
+import com.tiket.tix.common.spring.retrofit.compression.DeflateDecoder;
+import com.tiket.tix.common.spring.retrofit.compression.GzipDecoder;
+import com.tiket.tix.common.spring.retrofit.conversion.AcceptHeaderInterceptor;
+import com.tiket.tix.common.spring.retrofit.conversion.ContentFormat;
+import com.tiket.tix.common.spring.retrofit.conversion.FormatConverterFactory;
+import com.tiket.tix.common.spring.retrofit.conversion.NegotiatingConverterFactory;
+import com.tiket.tix.common.spring.retrofit.dns.CachingDns;
+import com.tiket.tix.common.spring.retrofit.hedging.HedgingCallAdapterFactory;
+import com.tiket.tix.common.spring.retrofit.limiter.AimdLimit;
+import com.tiket.tix.common.spring.retrofit.limiter.ConcurrencyLimitInterceptor;
+import com.tiket.tix.common.spring.retrofit.limiter.Gradient2Limit;
+import com.tiket.tix.common.spring.retrofit.limiter.LimitAlgorithm;
+import com.tiket.tix.common.spring.retrofit.limiter.VegasLimit;
+import com.tiket.tix.common.spring.retrofit.logging.ExchangeLoggingInterceptor;
+import com.tiket.tix.common.spring.retrofit.loadbalancer.EndpointSelector;
+import com.tiket.tix.common.spring.retrofit.loadbalancer.LeastOutstandingSelector;
+import com.tiket.tix.common.spring.retrofit.loadbalancer.LoadBalancingInterceptor;
+import com.tiket.tix.common.spring.retrofit.loadbalancer.PowerOfTwoChoicesSelector;
+import com.tiket.tix.common.spring.retrofit.loadbalancer.RoundRobinSelector;
 import com.tiket.tix.common.spring.retrofit.registry.DefaultRetrofitRegistry;
+import com.tiket.tix.common.spring.retrofit.resilience.ResilienceCallAdapterFactory;
+import com.tiket.tix.common.spring.retrofit.resilience.ResilienceSettings;
+import com.tiket.tix.common.spring.retrofit.retry.RetryBudget;
+import com.tiket.tix.common.spring.retrofit.retry.RetryCallAdapterFactory;
+import com.tiket.tix.common.spring.retrofit.retry.RetrySettings;
 import com.tiket.tix.common.spring.retrofit.registry.RetrofitRegistry;
+import com.tiket.tix.common.spring.retrofit.streaming.StreamingCallAdapterFactory;
 import com.tiket.tix.common.spring.retrofit.support.HttpLoggingCategory;
-import io.reactivex.internal.schedulers.RxThreadFactory;
+import com.tiket.tix.common.spring.retrofit.support.VirtualThreads;
+import com.tiket.tix.common.spring.retrofit.warmup.RetrofitWarmUp;
+import com.tiket.tix.common.spring.retrofit.warmup.WarmUpSettings;
+import io.reactivex.Scheduler;
 import io.reactivex.schedulers.Schedulers;
+import okhttp3.Cache;
 import okhttp3.Call;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Dns;
 import okhttp3.HttpUrl;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.ApplicationContext;
@@ -20,24 +57,33 @@ import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.Assert;
 import retrofit2.CallAdapter;
 import retrofit2.Converter;
 import retrofit2.Retrofit;
 import retrofit2.adapter.rxjava2.RxJava2CallAdapterFactory;
 
+import java.io.IOException;
+import java.net.InetAddress;
 import java.net.URI;
+import java.net.UnknownHostException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * Configure {@link retrofit2.Retrofit} objects based on {@link RetrofitProperties}.
  */
 @Configuration
-class RetrofitRegistryConfiguration implements ApplicationContextAware {
+class RetrofitRegistryConfiguration implements ApplicationContextAware, DisposableBean {
     private static final Logger LOGGER = LoggerFactory.getLogger(RetrofitRegistryConfiguration.class);
 
     private final RetrofitProperties retrofitProperties;
@@ -48,8 +94,34 @@ class RetrofitRegistryConfiguration implements ApplicationContextAware {
 
     private List<Converter.Factory> converterFactories = new ArrayList<>();
 
+    private List<HttpClientCustomizer> clientCustomizers = new ArrayList<>();
+
+    private List<ContentDecoder> contentDecoders = new ArrayList<>();
+
+    private List<FormatConverterFactory> formatConverterFactories = new ArrayList<>();
+
     private ApplicationContext applicationContext;
 
+    /**
+     * Root http client, shared by all {@link Retrofit} objects created from settings.
+     */
+    private OkHttpClient rootClient;
+
+    /**
+     * Http clients owning their own connection pool and dispatcher, to be released on shutdown.
+     */
+    private final List<OkHttpClient> ownedClients = new ArrayList<>();
+
+    /**
+     * Disk caches of created http clients, to be closed on shutdown.
+     */
+    private final List<Cache> diskCaches = new ArrayList<>();
+
+    /**
+     * Executor refreshing addresses of caching dns, shared by all http clients.
+     */
+    private ExecutorService dnsRefreshExecutor;
+
     public RetrofitRegistryConfiguration(RetrofitProperties retrofitProperties) {
         Assert.notNull(retrofitProperties, "Retrofit properties object must be provided");
         this.retrofitProperties = retrofitProperties;
@@ -73,6 +145,42 @@ class RetrofitRegistryConfiguration implements ApplicationContextAware {
         AnnotationAwareOrderComparator.sort(this.converterFactories);
     }
 
+    @Autowired(required = false)
+    public void setClientCustomizers(List<HttpClientCustomizer> clientCustomizers) {
+        this.clientCustomizers.addAll(clientCustomizers);
+        AnnotationAwareOrderComparator.sort(this.clientCustomizers);
+    }
+
+    @Autowired(required = false)
+    public void setContentDecoders(List<ContentDecoder> contentDecoders) {
+        this.contentDecoders.addAll(contentDecoders);
+    }
+
+    @Autowired(required = false)
+    public void setFormatConverterFactories(List<FormatConverterFactory> formatConverterFactories) {
+        this.formatConverterFactories.addAll(formatConverterFactories);
+    }
+
+    /**
+     * Create factory of RxJava scheduler used by configured {@link Retrofit} objects.
+     *
+     * @return
+     */
+    @Bean
+    ReactiveSchedulerFactory retrofitSchedulerFactory() {
+        return new ReactiveSchedulerFactory(retrofitProperties.getConnection().getScheduler());
+    }
+
+    /**
+     * Create startup warm up of configured {@link Retrofit} objects.
+     *
+     * @return
+     */
+    @Bean
+    RetrofitWarmUp retrofitWarmUp() {
+        return new RetrofitWarmUp();
+    }
+
     /**
      * Create retrofit service retrofit registry, {@link RetrofitRegistry}.
      *
@@ -80,21 +188,21 @@ class RetrofitRegistryConfiguration implements ApplicationContextAware {
      */
     @Bean
     @ConditionalOnMissingBean
-    DefaultRetrofitRegistry retrofitRegistry() {
+    DefaultRetrofitRegistry retrofitRegistry(ReactiveSchedulerFactory schedulerFactory, RetrofitWarmUp retrofitWarmUp) {
         LOGGER.debug("Create Retrofit object registry");
 
         DefaultRetrofitRegistry retrofitRegistry = new DefaultRetrofitRegistry();
 
-        Retrofit defaultRetrofit = createDefaultRetrofit();
-        if (defaultRetrofit != null) {
+        // Create default Retrofit only if default url provided.
+        if (retrofitProperties.getDefaultUrl() != null) {
+            Retrofit defaultRetrofit = createRetrofit(RetrofitRegistry.DEFAULT_RETROFIT, createDefaultSpecs(),
+                    schedulerFactory, retrofitWarmUp);
             retrofitRegistry.register(RetrofitRegistry.DEFAULT_RETROFIT, defaultRetrofit);
         }
 
         retrofitProperties.getFactories().forEach((customName, customSpecs) -> {
-            Retrofit customRetrofit = createCustomRetrofit(customSpecs);
-            if (customRetrofit != null) {
-                retrofitRegistry.register(customName, customRetrofit);
-            }
+            Retrofit customRetrofit = createRetrofit(customName, customSpecs, schedulerFactory, retrofitWarmUp);
+            retrofitRegistry.register(customName, customRetrofit);
         });
 
         // Register custom Retrofit bean created manually by user, so that can be referred from @RetrofitService
@@ -106,87 +214,197 @@ class RetrofitRegistryConfiguration implements ApplicationContextAware {
     }
 
     /**
-     * Create default {@link Retrofit} object. Create if {@link RetrofitProperties#defaultUrl} provided,
-     * otherwise simply return null.
+     * Create specification of default {@link Retrofit} object, based on {@link RetrofitProperties#defaultUrl}
+     * and default connection settings.
+     *
+     * @return
+     */
+    private RetrofitProperties.CustomRetrofit createDefaultSpecs() {
+        RetrofitProperties.CustomRetrofit defaultSpecs = new RetrofitProperties.CustomRetrofit();
+        defaultSpecs.setBaseUrl(retrofitProperties.getDefaultUrl());
+        defaultSpecs.setConnection(retrofitProperties.getConnection());
+        defaultSpecs.setSingleFlight(retrofitProperties.isSingleFlight());
+        defaultSpecs.setCache(retrofitProperties.getCache());
+        defaultSpecs.setResilience(retrofitProperties.getResilience());
+        defaultSpecs.setRetry(retrofitProperties.getRetry());
+        defaultSpecs.setHedging(retrofitProperties.getHedging());
+        defaultSpecs.setConcurrencyLimit(retrofitProperties.getConcurrencyLimit());
+        defaultSpecs.setCompression(retrofitProperties.getCompression());
+        defaultSpecs.setConversion(retrofitProperties.getConversion());
+        defaultSpecs.setWarmUp(retrofitProperties.getWarmUp());
+        return defaultSpecs;
+    }
+
+    /**
+     * Create {@link Retrofit} instance based on given specification.
      *
+     * @param retrofitName
+     * @param specs
+     * @param schedulerFactory
+     * @param retrofitWarmUp
      * @return
      */
-    private Retrofit createDefaultRetrofit() {
-        if (retrofitProperties.getDefaultUrl() == null) {
-            return null;
+    private Retrofit createRetrofit(String retrofitName, RetrofitProperties.CustomRetrofit specs,
+                                    ReactiveSchedulerFactory schedulerFactory, RetrofitWarmUp retrofitWarmUp) {
+        Retrofit.Builder retrofitBuilder = new Retrofit.Builder();
+        retrofitBuilder.validateEagerly(true);
+
+        RetrofitProperties.ConnectionProperties connection = specs.getConnection();
+
+        List<HttpUrl> baseUrls = resolveBaseUrls(specs);
+        HttpUrl baseUrl = specs.getBaseUrl() != null ? HttpUrl.get(normalizeBaseUrl(specs.getBaseUrl())) : baseUrls.get(0);
+
+        OkHttpClient callFactory = createCallFactory(retrofitName, specs, baseUrl, baseUrls);
+        retrofitBuilder.callFactory(callFactory);
+
+        RetrofitProperties.WarmUpProperties warmUp = specs.getWarmUp();
+        if (warmUp.isEnabled()) {
+            retrofitWarmUp.addTarget(retrofitName, callFactory, baseUrls, createWarmUpSettings(warmUp));
+        }
+
+        // Null when calls executed on subscribing thread.
+        Scheduler scheduler = null;
+        if (connection.isAsyncRequest()) {
+            scheduler = connection.getScheduler().isOverrideDefault() ?
+                    schedulerFactory.getScheduler(retrofitName, connection.getScheduler()) : Schedulers.io();
         }
 
-        final Retrofit.Builder defaultBuilder = new Retrofit.Builder();
-        defaultBuilder.validateEagerly(true);
+        // Applied on call level before adapted by next factories, so must be registered first.
+        // Later registered one wraps the former, i.e. cache lookup happens before joining in flight calls,
+        // which in turn happens before retrying attempts. Each attempt hedged, and each hedged request guarded
+        // by circuit breaker.
+        Scheduler timerScheduler = scheduler != null ? scheduler : Schedulers.computation();
 
-        Call.Factory callFactory = createCallFactory(retrofitProperties.getConnection());
-        defaultBuilder.callFactory(callFactory);
+        RetrofitProperties.ResilienceProperties resilience = specs.getResilience();
+        retrofitBuilder.addCallAdapterFactory(new ResilienceCallAdapterFactory(retrofitName,
+                createResilienceSettings(resilience), resilience.isEnabled()));
 
-        if(retrofitProperties.getConnection().isAsyncRequest()) {
+        RetrofitProperties.HedgingProperties hedging = specs.getHedging();
+        retrofitBuilder.addCallAdapterFactory(new HedgingCallAdapterFactory(
+                new RetryBudget(hedging.getBudgetPercent(), hedging.getBudgetBurst()), timerScheduler,
+                hedging.getInitialDelay()));
 
-            if (retrofitProperties.getConnection().getScheduler().isOverrideDefault()) {
-                int corePollSize = retrofitProperties.getConnection().getScheduler().getCorePollSize();
-                String threadNamePrefix = retrofitProperties.getConnection().getScheduler().getThreadNamePrefix();
-                ScheduledExecutorService executor = Executors.newScheduledThreadPool(corePollSize, new RxThreadFactory(threadNamePrefix));
+        RetrofitProperties.RetryProperties retry = specs.getRetry();
+        retrofitBuilder.addCallAdapterFactory(new RetryCallAdapterFactory(createRetrySettings(retry),
+                new RetryBudget(retry.getBudgetPercent(), retry.getBudgetBurst()), timerScheduler, retry.isEnabled()));
 
-                defaultBuilder.addCallAdapterFactory(RxJava2CallAdapterFactory.createWithScheduler(Schedulers.from(executor)));
-            } else {
-                defaultBuilder.addCallAdapterFactory(RxJava2CallAdapterFactory.createWithScheduler(Schedulers.io()));
-            }
+        retrofitBuilder.addCallAdapterFactory(new CoalescingCallAdapterFactory(specs.isSingleFlight()));
+
+        RetrofitProperties.ResponseCacheProperties cache = specs.getCache();
+        if (cache.isEnabled()) {
+            retrofitBuilder.addCallAdapterFactory(new CachingCallAdapterFactory(ResponseCache.create(cache.getMaximumSize()),
+                    cache.getTtl(), cache.getStaleWhileRevalidate()));
         }
-        else {
-            defaultBuilder.addCallAdapterFactory(RxJava2CallAdapterFactory.create());
+
+        // Takes precedence over rxjava adapter for streaming flowable methods, only when json bodies converted by
+        // streaming converter, which is the one reading iterator bodies.
+        if (retrofitProperties.getJackson().isStreaming()) {
+            retrofitBuilder.addCallAdapterFactory(new StreamingCallAdapterFactory(scheduler));
         }
+        retrofitBuilder.addCallAdapterFactory(scheduler != null ?
+                RxJava2CallAdapterFactory.createWithScheduler(scheduler) : RxJava2CallAdapterFactory.create());
 
-        callAdapterFactories.forEach(defaultBuilder::addCallAdapterFactory);
-        converterFactories.forEach(defaultBuilder::addConverterFactory);
+        callAdapterFactories.forEach(retrofitBuilder::addCallAdapterFactory);
 
-        HttpUrl defaultUrl = HttpUrl.get(normalizeBaseUrl(retrofitProperties.getDefaultUrl()));
-        return defaultBuilder.baseUrl(defaultUrl).build();
+        // Registered first, json format delegates to following converter factories.
+        List<ContentFormat> formats = specs.getConversion().getFormats();
+        if (!formats.isEmpty()) {
+            retrofitBuilder.addConverterFactory(new NegotiatingConverterFactory(resolveFormatConverterFactories(formats)));
+        }
+        converterFactories.forEach(retrofitBuilder::addConverterFactory);
+
+        return retrofitBuilder.baseUrl(baseUrl).build();
     }
 
     /**
-     * Create custom {@link Retrofit} instance.
+     * Create {@link ResilienceSettings} based on given properties.
      *
-     * @param customSpecs
+     * @param resilience
      * @return
      */
-    private Retrofit createCustomRetrofit(RetrofitProperties.CustomRetrofit customSpecs) {
-        Retrofit.Builder customBuilder = new Retrofit.Builder();
-        customBuilder.validateEagerly(true);
+    private ResilienceSettings createResilienceSettings(RetrofitProperties.ResilienceProperties resilience) {
+        ResilienceSettings settings = new ResilienceSettings();
+        settings.setSlidingWindowSize(resilience.getSlidingWindowSize());
+        settings.setMinimumNumberOfCalls(resilience.getMinimumNumberOfCalls());
+        settings.setFailureRateThreshold(resilience.getFailureRateThreshold());
+        settings.setSlowCallRateThreshold(resilience.getSlowCallRateThreshold());
+        settings.setSlowCallDuration(resilience.getSlowCallDuration());
+        settings.setWaitDurationInOpenState(resilience.getWaitDurationInOpenState());
+        settings.setPermittedCallsInHalfOpenState(resilience.getPermittedCallsInHalfOpenState());
+        settings.setMaxConcurrentCalls(resilience.getMaxConcurrentCalls());
+        return settings;
+    }
 
-        Call.Factory callFactory = createCallFactory(customSpecs.getConnection());
-        customBuilder.callFactory(callFactory);
+    /**
+     * Create {@link WarmUpSettings} based on given properties.
+     *
+     * @param warmUp
+     * @return
+     */
+    private WarmUpSettings createWarmUpSettings(RetrofitProperties.WarmUpProperties warmUp) {
+        WarmUpSettings settings = new WarmUpSettings();
+        settings.setConnections(warmUp.getConnections());
+        settings.setPath(warmUp.getPath());
+        settings.setTimeout(warmUp.getTimeout());
+        settings.setMethods(warmUp.getMethods());
+        return settings;
+    }
 
-        if(customSpecs.getConnection().isAsyncRequest()) {
-            if (customSpecs.getConnection().getScheduler().isOverrideDefault()) {
-                int corePollSize = customSpecs.getConnection().getScheduler().getCorePollSize();
-                String threadNamePrefix = customSpecs.getConnection().getScheduler().getThreadNamePrefix();
-                ScheduledExecutorService executor = Executors.newScheduledThreadPool(corePollSize, new RxThreadFactory(threadNamePrefix));
+    /**
+     * Create {@link RetrySettings} based on given properties.
+     *
+     * @param retry
+     * @return
+     */
+    private RetrySettings createRetrySettings(RetrofitProperties.RetryProperties retry) {
+        RetrySettings settings = new RetrySettings();
+        settings.setMaxAttempts(retry.getMaxAttempts());
+        settings.setInitialBackoff(retry.getInitialBackoff());
+        settings.setMaxBackoff(retry.getMaxBackoff());
+        settings.setMultiplier(retry.getMultiplier());
+        settings.setRetryableStatuses(retry.getRetryableStatuses());
+        settings.setRetryExceptions(retry.getRetryExceptions());
+        settings.setIgnoreExceptions(retry.getIgnoreExceptions());
+        return settings;
+    }
 
-                customBuilder.addCallAdapterFactory(RxJava2CallAdapterFactory.createWithScheduler(Schedulers.from(executor)));
-            } else {
-                customBuilder.addCallAdapterFactory(RxJava2CallAdapterFactory.createWithScheduler(Schedulers.io()));
-            }
-        }
-        else {
-            customBuilder.addCallAdapterFactory(RxJava2CallAdapterFactory.create());
+    /**
+     * Resolve distinct base urls among which requests are balanced, including {@link RetrofitProperties.CustomRetrofit#baseUrl}.
+     *
+     * @param specs
+     * @return
+     */
+    private List<HttpUrl> resolveBaseUrls(RetrofitProperties.CustomRetrofit specs) {
+        Set<HttpUrl> baseUrls = new LinkedHashSet<>();
+        if (specs.getBaseUrl() != null) {
+            baseUrls.add(HttpUrl.get(normalizeBaseUrl(specs.getBaseUrl())));
         }
-
-        callAdapterFactories.forEach(customBuilder::addCallAdapterFactory);
-        converterFactories.forEach(customBuilder::addConverterFactory);
-
-        HttpUrl customUrl = HttpUrl.get(normalizeBaseUrl(customSpecs.getBaseUrl()));
-        return customBuilder.baseUrl(customUrl).build();
+        specs.getBaseUrls().forEach(baseUrl -> baseUrls.add(HttpUrl.get(normalizeBaseUrl(baseUrl))));
+        Assert.notEmpty(baseUrls, "Base url or base urls must be provided");
+        return new ArrayList<>(baseUrls);
     }
 
     /**
-     * Create OkHttp {@link Call.Factory} to be used on building {@link Retrofit} object.
+     * Create OkHttp {@link Call.Factory} to be used on building {@link Retrofit} object. Created client is derived
+     * from shared root client, unless {@link RetrofitProperties.ConnectionProperties#sharedClient} disabled.
      *
+     * @param retrofitName
+     * @param specs
+     * @param baseUrl
+     * @param baseUrls
      * @return
      */
-    private Call.Factory createCallFactory(RetrofitProperties.ConnectionProperties connection) {
-        OkHttpClient.Builder clientBuilder = new OkHttpClient.Builder();
+    private OkHttpClient createCallFactory(String retrofitName, RetrofitProperties.CustomRetrofit specs,
+                                           HttpUrl baseUrl, List<HttpUrl> baseUrls) {
+        RetrofitProperties.ConnectionProperties connection = specs.getConnection();
+        if (connection.isSharedClient() && connection != retrofitProperties.getConnection()
+                && (!connection.getConnectionPool().equals(new RetrofitProperties.ConnectionPoolProperties())
+                || !connection.getDispatcher().equals(new RetrofitProperties.DispatcherProperties()))) {
+            LOGGER.warn("Connection pool and dispatcher settings of retrofit {} ignored, since its http client "
+                    + "shares those of root client. Disable its shared-client to apply them", retrofitName);
+        }
+        OkHttpClient.Builder clientBuilder = connection.isSharedClient() ?
+                getRootClient().newBuilder() : createClient(connection).newBuilder();
 
         clientInterceptors.forEach(clientBuilder::addInterceptor);
 
@@ -199,16 +417,219 @@ class RetrofitRegistryConfiguration implements ApplicationContextAware {
         if(connection.getWriteTimeout() > 100) {
             clientBuilder.writeTimeout(connection.getWriteTimeout(), TimeUnit.MILLISECONDS);
         }
+        if (!connection.getProtocols().isEmpty()) {
+            clientBuilder.protocols(connection.getProtocols().stream()
+                    .map(RetrofitProperties.HttpProtocol::getProtocol)
+                    .collect(Collectors.toList()));
+        }
+        if (connection.getPingInterval() > 0) {
+            clientBuilder.pingInterval(connection.getPingInterval(), TimeUnit.MILLISECONDS);
+        }
+        if (connection.getDns().isEnabled()) {
+            clientBuilder.dns(createCachingDns(connection.getDns()));
+        }
+
+        RetrofitProperties.ConcurrencyLimitProperties concurrencyLimit = specs.getConcurrencyLimit();
+        if (concurrencyLimit.isEnabled()) {
+            clientBuilder.addInterceptor(new ConcurrencyLimitInterceptor(retrofitName, createLimitAlgorithm(concurrencyLimit)));
+        }
+
+        // Rewrites the target before being logged, so that debug log shows actual base url.
+        if (baseUrls.size() > 1) {
+            RetrofitProperties.LoadBalancerProperties loadBalancer = specs.getLoadBalancer();
+            clientBuilder.addInterceptor(new LoadBalancingInterceptor(baseUrl, baseUrls,
+                    createEndpointSelector(loadBalancer.getStrategy()), loadBalancer.getFailureThreshold(),
+                    loadBalancer.getEjectionTime(), loadBalancer.getLatencyDecayTime()));
+        }
+
+        List<ContentFormat> formats = specs.getConversion().getFormats();
+        if (!formats.isEmpty()) {
+            clientBuilder.addInterceptor(new AcceptHeaderInterceptor(formats));
+        }
 
         if(connection.isDebugRequest()) {
-            HttpLoggingInterceptor interceptor = new HttpLoggingInterceptor(message -> HttpLoggingCategory.LOGGER.debug(message))
-                    .setLevel(HttpLoggingInterceptor.Level.BODY);
-            clientBuilder.addInterceptor(interceptor);
+            RetrofitProperties.ExchangeLoggingProperties logging = connection.getLogging();
+            clientBuilder.addInterceptor(new ExchangeLoggingInterceptor(HttpLoggingCategory.LOGGER,
+                    logging.getSampleRate(), logging.getMaxBodySize(), logging.getRedactedHeaders()));
+        }
+
+        // Added after debug logging, so that plain request and decoded response are logged.
+        RetrofitProperties.CompressionProperties compression = specs.getCompression();
+        if (compression.isEnabled()) {
+            clientBuilder.addInterceptor(new CompressionInterceptor(resolveContentDecoders(compression.getEncodings()),
+                    compression.isCompressRequests(), compression.getMinRequestSize()));
         }
 
+        RetrofitProperties.DiskCacheProperties disk = specs.getCache().getDisk();
+        if (disk.getDirectory() != null) {
+            Cache diskCache = new Cache(disk.getDirectory(), disk.getMaxSize());
+            clientBuilder.cache(diskCache);
+            diskCaches.add(diskCache);
+        }
+
+        clientCustomizers.forEach(customizer -> customizer.customize(retrofitName, connection, clientBuilder));
+
         return clientBuilder.build();
     }
 
+    /**
+     * Create {@link CachingDns} based on given settings, resolving hosts with system dns.
+     *
+     * @param dns
+     * @return
+     */
+    private CachingDns createCachingDns(RetrofitProperties.DnsProperties dns) {
+        Map<String, List<InetAddress>> overrides = new HashMap<>();
+        dns.getOverrides().forEach((hostname, ipAddresses) -> {
+            List<InetAddress> addresses = new ArrayList<>();
+            for (String ipAddress : ipAddresses) {
+                try {
+                    addresses.add(InetAddress.getByAddress(hostname, InetAddress.getByName(ipAddress.trim()).getAddress()));
+                }
+                catch (UnknownHostException e) {
+                    throw new IllegalStateException("Invalid address " + ipAddress + " of overridden host " + hostname, e);
+                }
+            }
+            overrides.put(hostname, addresses);
+        });
+        return new CachingDns(Dns.SYSTEM, dns.getTtl(), dns.getRefreshAhead(), dns.getNegativeTtl(), overrides,
+                getDnsRefreshExecutor());
+    }
+
+    /**
+     * Retrieve executor refreshing addresses of caching dns, created on first access.
+     *
+     * @return
+     */
+    private ExecutorService getDnsRefreshExecutor() {
+        if (dnsRefreshExecutor == null) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("retrofit-dns-refresh-");
+            threadFactory.setDaemon(true);
+            dnsRefreshExecutor = Executors.newCachedThreadPool(threadFactory);
+        }
+        return dnsRefreshExecutor;
+    }
+
+    /**
+     * Resolve {@link FormatConverterFactory} of given content formats, json format falls back to registered converter
+     * factories.
+     *
+     * @param formats
+     * @return
+     */
+    private List<FormatConverterFactory> resolveFormatConverterFactories(List<ContentFormat> formats) {
+        return formats.stream()
+                .map(format -> formatConverterFactories.stream()
+                        .filter(factory -> factory.getFormat() == format)
+                        .findFirst()
+                        .orElseGet(() -> {
+                            if (format != ContentFormat.JSON) {
+                                throw new IllegalStateException("No converter factory of " + format
+                                        + " format, make sure its library available in classpath");
+                            }
+                            return new FormatConverterFactory(format, null);
+                        }))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Resolve {@link ContentDecoder} of given content codings, from decoder beans or built in gzip and deflate decoders.
+     *
+     * @param encodings
+     * @return
+     */
+    private List<ContentDecoder> resolveContentDecoders(List<String> encodings) {
+        List<ContentDecoder> availableDecoders = new ArrayList<>(contentDecoders);
+        availableDecoders.add(new GzipDecoder());
+        availableDecoders.add(new DeflateDecoder());
+
+        return encodings.stream()
+                .map(encoding -> availableDecoders.stream()
+                        .filter(decoder -> decoder.getEncoding().equalsIgnoreCase(encoding.trim()))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalStateException("No content decoder for encoding " + encoding)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Create {@link LimitAlgorithm} based on given settings.
+     *
+     * @param concurrencyLimit
+     * @return
+     */
+    private LimitAlgorithm createLimitAlgorithm(RetrofitProperties.ConcurrencyLimitProperties concurrencyLimit) {
+        int initialLimit = concurrencyLimit.getInitialLimit();
+        int minLimit = concurrencyLimit.getMinLimit();
+        int maxLimit = concurrencyLimit.getMaxLimit();
+        switch (concurrencyLimit.getAlgorithm()) {
+            case AIMD:
+                return new AimdLimit(initialLimit, minLimit, maxLimit, concurrencyLimit.getBackoffRatio());
+            case VEGAS:
+                return new VegasLimit(initialLimit, minLimit, maxLimit);
+            default:
+                return new Gradient2Limit(initialLimit, minLimit, maxLimit, concurrencyLimit.getSmoothing(),
+                        concurrencyLimit.getRttTolerance());
+        }
+    }
+
+    /**
+     * Create {@link EndpointSelector} implementing given load balancing strategy.
+     *
+     * @param strategy
+     * @return
+     */
+    private EndpointSelector createEndpointSelector(RetrofitProperties.LoadBalancingStrategy strategy) {
+        switch (strategy) {
+            case LEAST_OUTSTANDING:
+                return new LeastOutstandingSelector();
+            case POWER_OF_TWO_CHOICES:
+                return new PowerOfTwoChoicesSelector();
+            default:
+                return new RoundRobinSelector();
+        }
+    }
+
+    /**
+     * Retrieve root http client, created on first access based on default connection settings.
+     *
+     * @return
+     */
+    private OkHttpClient getRootClient() {
+        if (rootClient == null) {
+            rootClient = createClient(retrofitProperties.getConnection());
+        }
+        return rootClient;
+    }
+
+    /**
+     * Create http client with its own {@link ConnectionPool} and {@link Dispatcher}, without any interceptor.
+     *
+     * @param connection
+     * @return
+     */
+    private OkHttpClient createClient(RetrofitProperties.ConnectionProperties connection) {
+        LOGGER.debug("Create http client with dedicated connection pool and dispatcher");
+
+        RetrofitProperties.ConnectionPoolProperties poolSettings = connection.getConnectionPool();
+        ConnectionPool connectionPool = new ConnectionPool(poolSettings.getMaxIdleConnections(),
+                poolSettings.getKeepAliveDuration(), TimeUnit.MILLISECONDS);
+
+        RetrofitProperties.ReactiveScheduler scheduler = connection.getScheduler();
+        Dispatcher dispatcher = scheduler.getMode() == RetrofitProperties.SchedulerMode.VIRTUAL ?
+                new Dispatcher(VirtualThreads.newVirtualThreadPerTaskExecutor(scheduler.getThreadNamePrefix() + "-Dispatcher")) :
+                new Dispatcher();
+        dispatcher.setMaxRequests(connection.getDispatcher().getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(connection.getDispatcher().getMaxRequestsPerHost());
+
+        OkHttpClient client = new OkHttpClient.Builder()
+                .connectionPool(connectionPool)
+                .dispatcher(dispatcher)
+                .build();
+
+        ownedClients.add(client);
+        return client;
+    }
+
     /**
      * Normalize {@link Retrofit} base url, i.e. adding '/' in the end if not provided.
      *
@@ -231,4 +652,33 @@ class RetrofitRegistryConfiguration implements ApplicationContextAware {
     public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
         this.applicationContext = applicationContext;
     }
+
+    /**
+     * Release dispatcher threads and pooled connections of created http clients, also close their disk caches
+     * and stop refreshing dns addresses.
+     */
+    @Override
+    public void destroy() {
+        if (dnsRefreshExecutor != null) {
+            dnsRefreshExecutor.shutdownNow();
+            dnsRefreshExecutor = null;
+        }
+
+        ownedClients.forEach(client -> {
+            client.dispatcher().executorService().shutdown();
+            client.connectionPool().evictAll();
+        });
+        ownedClients.clear();
+        rootClient = null;
+
+        diskCaches.forEach(diskCache -> {
+            try {
+                diskCache.close();
+            }
+            catch (IOException e) {
+                LOGGER.warn("Can not close http disk cache", e);
+            }
+        });
+        diskCaches.clear();
+    }
 }
\ No newline at end of file
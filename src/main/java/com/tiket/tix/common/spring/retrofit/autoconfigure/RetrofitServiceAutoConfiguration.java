@@ -2,12 +2,18 @@ package com.tiket.tix.common.spring.retrofit.autoconfigure;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.tiket.tix.common.spring.retrofit.annotation.RetrofitService;
+import com.tiket.tix.common.spring.retrofit.conversion.ContentFormat;
+import com.tiket.tix.common.spring.retrofit.conversion.FormatConverterFactory;
+import com.tiket.tix.common.spring.retrofit.streaming.StreamingJacksonConverterFactory;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnJava;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
 import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -21,6 +27,7 @@ import retrofit2.Retrofit;
 import retrofit2.adapter.guava.GuavaCallAdapterFactory;
 import retrofit2.adapter.java8.Java8CallAdapterFactory;
 import retrofit2.converter.jackson.JacksonConverterFactory;
+import retrofit2.converter.protobuf.ProtoConverterFactory;
 
 /**
  * An {@link org.springframework.boot.autoconfigure.EnableAutoConfiguration} for auto-configuring
@@ -30,14 +37,18 @@ import retrofit2.converter.jackson.JacksonConverterFactory;
  * @author zakyalvan
  */
 @Configuration
-@AutoConfigureAfter({ValidationAutoConfiguration.class, JacksonAutoConfiguration.class})
+@AutoConfigureAfter(value = {ValidationAutoConfiguration.class, JacksonAutoConfiguration.class}, name = {
+        "io.micrometer.spring.autoconfigure.CompositeMeterRegistryAutoConfiguration",
+        "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration"})
 @ConditionalOnClass(Retrofit.class)
 @EnableConfigurationProperties(RetrofitProperties.class)
-@Import(RetrofitRegistryConfiguration.class)
+@Import({RetrofitRegistryConfiguration.class, RetrofitMetricsConfiguration.class})
 public class RetrofitServiceAutoConfiguration {
 
     /**
-     * Configure {@link JacksonConverterFactory}.
+     * Configure {@link JacksonConverterFactory}, or {@link StreamingJacksonConverterFactory} when streaming enabled,
+     * unless either bean defined. Optimized converter uses a copy of application object mapper, leaving the application
+     * one unchanged.
      */
     @Configuration
     @ConditionalOnClass({ObjectMapper.class, JacksonConverterFactory.class})
@@ -51,10 +62,22 @@ public class RetrofitServiceAutoConfiguration {
         }
 
         @Bean
-        @ConditionalOnMissingBean
+        @ConditionalOnMissingBean({JacksonConverterFactory.class, StreamingJacksonConverterFactory.class})
+        @ConditionalOnProperty(prefix = "tiket.retrofit.jackson", name = "streaming", havingValue = "false", matchIfMissing = true)
         @Order(Ordered.HIGHEST_PRECEDENCE)
-        JacksonConverterFactory jacksonConverters(ObjectMapper objectMapper) {
-            return JacksonConverterFactory.create(objectMapper);
+        JacksonConverterFactory jacksonConverters(ObjectMapper objectMapper, RetrofitProperties retrofitProperties) {
+            return JacksonConverterFactory.create(JacksonMappers.converterMapper(objectMapper,
+                    retrofitProperties.getJackson()));
+        }
+
+        @Bean
+        @ConditionalOnMissingBean({JacksonConverterFactory.class, StreamingJacksonConverterFactory.class})
+        @ConditionalOnProperty(prefix = "tiket.retrofit.jackson", name = "streaming", havingValue = "true")
+        @Order(Ordered.HIGHEST_PRECEDENCE)
+        StreamingJacksonConverterFactory streamingJacksonConverters(ObjectMapper objectMapper,
+                                                                    RetrofitProperties retrofitProperties) {
+            return new StreamingJacksonConverterFactory(JacksonMappers.converterMapper(objectMapper,
+                    retrofitProperties.getJackson()));
         }
     }
 
@@ -69,6 +92,53 @@ public class RetrofitServiceAutoConfiguration {
         }
     }
 
+    /**
+     * Configure converter of jackson smile format, used by retrofit objects configured with smile content format.
+     */
+    @Configuration
+    @ConditionalOnClass({ObjectMapper.class, SmileFactory.class})
+    static class SmileConversionConfiguration {
+        @Bean
+        @ConditionalOnMissingBean(name = "smileFormatConverters")
+        FormatConverterFactory smileFormatConverters(RetrofitProperties retrofitProperties) {
+            ObjectMapper mapper = new ObjectMapper(new SmileFactory());
+            mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+            JacksonMappers.configure(mapper, retrofitProperties.getJackson());
+            return new FormatConverterFactory(ContentFormat.SMILE,
+                    new StreamingJacksonConverterFactory(mapper, ContentFormat.SMILE.getMediaType()));
+        }
+    }
+
+    /**
+     * Configure converter of cbor format, used by retrofit objects configured with cbor content format.
+     */
+    @Configuration
+    @ConditionalOnClass({ObjectMapper.class, CBORFactory.class})
+    static class CborConversionConfiguration {
+        @Bean
+        @ConditionalOnMissingBean(name = "cborFormatConverters")
+        FormatConverterFactory cborFormatConverters(RetrofitProperties retrofitProperties) {
+            ObjectMapper mapper = new ObjectMapper(new CBORFactory());
+            mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+            JacksonMappers.configure(mapper, retrofitProperties.getJackson());
+            return new FormatConverterFactory(ContentFormat.CBOR,
+                    new StreamingJacksonConverterFactory(mapper, ContentFormat.CBOR.getMediaType()));
+        }
+    }
+
+    /**
+     * Configure converter of protocol buffers messages, used by retrofit objects configured with protobuf format.
+     */
+    @Configuration
+    @ConditionalOnClass(ProtoConverterFactory.class)
+    static class ProtobufConversionConfiguration {
+        @Bean
+        @ConditionalOnMissingBean(name = "protobufFormatConverters")
+        FormatConverterFactory protobufFormatConverters() {
+            return new FormatConverterFactory(ContentFormat.PROTOBUF, ProtoConverterFactory.create());
+        }
+    }
+
     /**
      * Configure Java8 call adapter retrofit, which enable us to return {@link java.util.concurrent.CompletableFuture}
      * from our retrofit service interface.
@@ -0,0 +1,124 @@
+package com.tiket.tix.common.spring.retrofit.batching;
+
+import com.tiket.tix.common.spring.retrofit.annotation.Batched;
+import io.reactivex.Single;
+import io.reactivex.schedulers.Schedulers;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import retrofit2.Call;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Create proxy of retrofit service, batching calls of methods annotated with {@link Batched} into its bulk method.
+ * Batch windows are timed on RxJava computation scheduler.
+ *
+ * @author zakyalvan
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class BatchingProxies {
+    /**
+     * Wrap given retrofit service with batching proxy, or return it as is when none of its methods is batched.
+     *
+     * @param serviceType
+     * @param service
+     * @param <T>
+     * @return
+     * @throws IllegalArgumentException if batched or bulk method signature is not supported
+     */
+    public static <T> T create(Class<T> serviceType, T service) {
+        Map<Method, MethodBatcher> batchers = new HashMap<>();
+        for (Method method : serviceType.getMethods()) {
+            Batched batched = method.getAnnotation(Batched.class);
+            if (batched != null) {
+                batchers.put(method, new MethodBatcher(service, validateSingleMethod(method),
+                        findBulkMethod(serviceType, method, batched), batched.maxSize(), batched.window(), Schedulers.computation()));
+            }
+        }
+
+        if (batchers.isEmpty()) {
+            return service;
+        }
+        return serviceType.cast(Proxy.newProxyInstance(serviceType.getClassLoader(), new Class<?>[]{serviceType},
+                new BatchingInvocationHandler(service, batchers)));
+    }
+
+    private static Method validateSingleMethod(Method method) {
+        if (method.getParameterCount() != 1) {
+            throw new IllegalArgumentException(String.format("Batched method %s must have exactly one parameter", method));
+        }
+        if (method.getReturnType() != Single.class && method.getReturnType() != CompletableFuture.class) {
+            throw new IllegalArgumentException(String.format("Batched method %s must return Single or CompletableFuture", method));
+        }
+        if (method.getAnnotation(Batched.class).maxSize() < 1 || method.getAnnotation(Batched.class).window() < 0) {
+            throw new IllegalArgumentException(String.format("Batched method %s must have positive max size and non negative window", method));
+        }
+        return method;
+    }
+
+    private static Method findBulkMethod(Class<?> serviceType, Method singleMethod, Batched batched) {
+        List<Method> candidates = Arrays.stream(serviceType.getMethods())
+                .filter(method -> method.getName().equals(batched.value()))
+                .filter(method -> method.getParameterCount() == 1)
+                .filter(method -> method.getParameterTypes()[0].isAssignableFrom(List.class)
+                        || method.getParameterTypes()[0].isAssignableFrom(LinkedHashSet.class))
+                .filter(method -> Collection.class.isAssignableFrom(method.getParameterTypes()[0]))
+                .filter(method -> method.getReturnType() == Single.class || method.getReturnType() == CompletableFuture.class
+                        || method.getReturnType() == Call.class)
+                .collect(Collectors.toList());
+
+        if (candidates.size() != 1) {
+            throw new IllegalArgumentException(String.format("Batched method %s requires exactly one bulk method named '%s', "
+                    + "accepting collection of keys and returning Single, CompletableFuture or Call", singleMethod, batched.value()));
+        }
+        return candidates.get(0);
+    }
+
+    private static final class BatchingInvocationHandler implements InvocationHandler {
+        private final Object service;
+
+        private final Map<Method, MethodBatcher> batchers;
+
+        BatchingInvocationHandler(Object service, Map<Method, MethodBatcher> batchers) {
+            this.service = service;
+            this.batchers = batchers;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            MethodBatcher batcher = batchers.get(method);
+            if (batcher == null) {
+                try {
+                    return method.invoke(service, args);
+                }
+                catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+
+            Object key = args[0];
+            if (method.getReturnType() == CompletableFuture.class) {
+                return batcher.submit(key);
+            }
+            return Single.create(emitter -> batcher.submit(key).whenComplete((value, error) -> {
+                if (error != null) {
+                    emitter.tryOnError(error);
+                }
+                else {
+                    emitter.onSuccess(value);
+                }
+            }));
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.tiket.tix.common.spring.retrofit.batching;
+
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import io.reactivex.disposables.Disposable;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.HttpException;
+import retrofit2.Response;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collect keys submitted to a batched method, then flush them as one call to the bulk method
+ * when the window elapsed or maximum size reached.
+ *
+ * @author zakyalvan
+ */
+final class MethodBatcher {
+    private final Object service;
+
+    private final Method singleMethod;
+
+    private final Method bulkMethod;
+
+    private final int maxSize;
+
+    private final long window;
+
+    private final Scheduler scheduler;
+
+    private List<PendingKey> pendingKeys = new ArrayList<>();
+
+    private Disposable scheduledFlush;
+
+    MethodBatcher(Object service, Method singleMethod, Method bulkMethod, int maxSize, long window, Scheduler scheduler) {
+        this.service = service;
+        this.singleMethod = singleMethod;
+        this.bulkMethod = bulkMethod;
+        this.maxSize = maxSize;
+        this.window = window;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Submit key to current batch.
+     *
+     * @param key
+     * @return future completed with result of the key
+     */
+    CompletableFuture<Object> submit(Object key) {
+        PendingKey pendingKey = new PendingKey(key);
+
+        List<PendingKey> fullBatch = null;
+        synchronized (this) {
+            pendingKeys.add(pendingKey);
+            if (pendingKeys.size() >= maxSize) {
+                fullBatch = drain();
+            }
+            else if (pendingKeys.size() == 1) {
+                scheduledFlush = scheduler.scheduleDirect(this::flush, window, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (fullBatch != null) {
+            dispatch(fullBatch);
+        }
+        return pendingKey.result;
+    }
+
+    private void flush() {
+        List<PendingKey> batch;
+        synchronized (this) {
+            batch = drain();
+        }
+        dispatch(batch);
+    }
+
+    private List<PendingKey> drain() {
+        if (scheduledFlush != null) {
+            scheduledFlush.dispose();
+            scheduledFlush = null;
+        }
+        List<PendingKey> batch = pendingKeys;
+        pendingKeys = new ArrayList<>();
+        return batch;
+    }
+
+    private void dispatch(List<PendingKey> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Set<Object> keys = new LinkedHashSet<>();
+        batch.forEach(pendingKey -> keys.add(pendingKey.key));
+
+        try {
+            if (keys.size() == 1) {
+                toFuture(invoke(singleMethod, keys.iterator().next())).whenComplete((value, error) ->
+                        batch.forEach(pendingKey -> complete(pendingKey, value, error)));
+            }
+            else {
+                Collection<Object> bulkKeys = Set.class.isAssignableFrom(bulkMethod.getParameterTypes()[0]) ?
+                        keys : new ArrayList<>(keys);
+                toFuture(invoke(bulkMethod, bulkKeys)).whenComplete((values, error) ->
+                        split(batch, new ArrayList<>(keys), values, error));
+            }
+        }
+        catch (Throwable e) {
+            batch.forEach(pendingKey -> pendingKey.result.completeExceptionally(e));
+        }
+    }
+
+    private void split(List<PendingKey> batch, List<Object> keys, Object values, Throwable error) {
+        if (error != null) {
+            batch.forEach(pendingKey -> pendingKey.result.completeExceptionally(error));
+        }
+        else if (values instanceof Map) {
+            Map<?, ?> valueMap = (Map<?, ?>) values;
+            batch.forEach(pendingKey -> complete(pendingKey, valueMap.get(pendingKey.key), null));
+        }
+        else if (values instanceof List && ((List<?>) values).size() == keys.size()) {
+            Map<Object, Object> valueMap = new HashMap<>();
+            for (int i = 0; i < keys.size(); i++) {
+                valueMap.put(keys.get(i), ((List<?>) values).get(i));
+            }
+            batch.forEach(pendingKey -> complete(pendingKey, valueMap.get(pendingKey.key), null));
+        }
+        else {
+            IllegalStateException mismatch = new IllegalStateException(String.format(
+                    "Result of bulk method %s must be a map, or a list of %d elements", bulkMethod.getName(), keys.size()));
+            batch.forEach(pendingKey -> pendingKey.result.completeExceptionally(mismatch));
+        }
+    }
+
+    private void complete(PendingKey pendingKey, Object value, Throwable error) {
+        if (error != null) {
+            pendingKey.result.completeExceptionally(error);
+        }
+        else if (value == null) {
+            pendingKey.result.completeExceptionally(new NoSuchElementException("No result for key " + pendingKey.key));
+        }
+        else {
+            pendingKey.result.complete(value);
+        }
+    }
+
+    private Object invoke(Method method, Object argument) throws Throwable {
+        try {
+            return method.invoke(service, argument);
+        }
+        catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Convert result of retrofit service method into future.
+     *
+     * @param result
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<Object> toFuture(Object result) {
+        if (result instanceof CompletionStage) {
+            return ((CompletionStage<Object>) result).toCompletableFuture();
+        }
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        if (result instanceof Single) {
+            ((Single<Object>) result).subscribe(future::complete, future::completeExceptionally);
+        }
+        else {
+            ((Call<Object>) result).enqueue(new Callback<Object>() {
+                @Override
+                public void onResponse(Call<Object> call, Response<Object> response) {
+                    if (response.isSuccessful()) {
+                        future.complete(response.body());
+                    }
+                    else {
+                        future.completeExceptionally(new HttpException(response));
+                    }
+                }
+
+                @Override
+                public void onFailure(Call<Object> call, Throwable error) {
+                    future.completeExceptionally(error);
+                }
+            });
+        }
+        return future;
+    }
+
+    private static final class PendingKey {
+        private final Object key;
+
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        PendingKey(Object key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.tiket.tix.common.spring.retrofit.cache;
+
+import com.tiket.tix.common.spring.retrofit.support.ForwardingCall;
+import com.tiket.tix.common.spring.retrofit.support.InvocationKey;
+import com.tiket.tix.common.spring.retrofit.support.SharedResponse;
+import com.tiket.tix.common.spring.retrofit.support.SingleFlightGroup;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link Call} serving response from {@link ResponseCache} when available. Stale response is served as is
+ * while fresh one requested in background by a clone of the delegate call.
+ *
+ * @param <T>
+ * @author zakyalvan
+ */
+final class CachingCall<T> extends ForwardingCall<T> {
+    private final ResponseCache responseCache;
+
+    private final long ttl;
+
+    private final long staleWhileRevalidate;
+
+    private final AtomicBoolean executed = new AtomicBoolean();
+
+    private InvocationKey cacheKey;
+
+    CachingCall(Call<T> delegate, ResponseCache responseCache, long ttl, long staleWhileRevalidate, InvocationKey cacheKey) {
+        super(delegate);
+        this.responseCache = responseCache;
+        this.ttl = ttl;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        this.cacheKey = cacheKey;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Response<T> execute() throws IOException {
+        markExecuted();
+
+        InvocationKey key = cacheKey();
+        if (key == null) {
+            return delegate().execute();
+        }
+
+        ResponseCache.Entry entry = lookup(key);
+        if (entry != null) {
+            return (Response<T>) entry.response();
+        }
+        return responseCache.load(key, () -> store(key, delegate().execute())).toResponse();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void enqueue(Callback<T> callback) {
+        markExecuted();
+
+        InvocationKey key = cacheKey();
+        if (key == null) {
+            delegate().enqueue(callback);
+            return;
+        }
+
+        ResponseCache.Entry entry = lookup(key);
+        if (entry != null) {
+            callback.onResponse(this, (Response<T>) entry.response());
+            return;
+        }
+        responseCache.loadAsync(key, () -> enqueue(key, delegate())).whenComplete((response, error) -> {
+            if (error != null) {
+                callback.onFailure(this, unwrap(error));
+            }
+            else {
+                callback.onResponse(this, response.<T>toResponse());
+            }
+        });
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return executed.get();
+    }
+
+    @Override
+    public Call<T> clone() {
+        return new CachingCall<>(delegate().clone(), responseCache, ttl, staleWhileRevalidate, cacheKey);
+    }
+
+    private void markExecuted() {
+        if (!executed.compareAndSet(false, true)) {
+            throw new IllegalStateException("Already executed.");
+        }
+    }
+
+    /**
+     * Lookup cached response, triggering background refresh when the response is stale.
+     *
+     * @param key
+     * @return
+     */
+    private ResponseCache.Entry lookup(InvocationKey key) {
+        ResponseCache.Entry entry = responseCache.lookup(key);
+        if (entry != null && !entry.isFresh(System.nanoTime()) && !responseCache.isLoading(key)) {
+            responseCache.loadAsync(key, () -> enqueue(key, delegate().clone()));
+        }
+        return entry;
+    }
+
+    private CompletableFuture<SharedResponse> enqueue(InvocationKey key, Call<T> call) {
+        CompletableFuture<SharedResponse> result = new CompletableFuture<>();
+        call.enqueue(new Callback<T>() {
+            @Override
+            public void onResponse(Call<T> call, Response<T> response) {
+                try {
+                    result.complete(store(key, response));
+                }
+                catch (IOException e) {
+                    result.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<T> call, Throwable error) {
+                result.completeExceptionally(error);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Store successful response, then share it with waiting callers, buffering error body for each of them.
+     *
+     * @param key
+     * @param response
+     * @return
+     * @throws IOException
+     */
+    private SharedResponse store(InvocationKey key, Response<T> response) throws IOException {
+        responseCache.put(key, response, ttl, staleWhileRevalidate);
+        return SharedResponse.of(response);
+    }
+
+    /**
+     * Resolve cache key from the request, null if not invoked through retrofit service.
+     *
+     * @return
+     */
+    private InvocationKey cacheKey() {
+        if (cacheKey == null) {
+            cacheKey = InvocationKey.of(delegate().request());
+        }
+        return cacheKey;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        try {
+            return SingleFlightGroup.rethrow(error);
+        }
+        catch (RuntimeException | Error e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.tiket.tix.common.spring.retrofit.cache;
+
+import com.tiket.tix.common.spring.retrofit.annotation.CachedResponse;
+import com.tiket.tix.common.spring.retrofit.support.MethodAnnotations;
+import org.springframework.util.Assert;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Retrofit;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CallAdapter.Factory} caching responses of service methods annotated with {@link CachedResponse}
+ * into {@link ResponseCache}. Caching applied on {@link Call} level, before being adapted by next call adapter,
+ * so that it works for any return type, except one shot raw, iterated or streamed body which can not be shared. Methods without
+ * the annotation are adapted by next call adapter as is.
+ *
+ * @author zakyalvan
+ */
+public class CachingCallAdapterFactory extends CallAdapter.Factory {
+    private final ResponseCache responseCache;
+
+    private final long ttl;
+
+    private final long staleWhileRevalidate;
+
+    /**
+     * @param responseCache
+     * @param ttl                  default time to live of cached response, in millis
+     * @param staleWhileRevalidate default time stale response still served while refreshed, in millis
+     */
+    public CachingCallAdapterFactory(ResponseCache responseCache, long ttl, long staleWhileRevalidate) {
+        Assert.notNull(responseCache, "Response cache must be provided");
+        this.responseCache = responseCache;
+        this.ttl = ttl;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+    }
+
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    @Override
+    public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations, Retrofit retrofit) {
+        CallAdapter<?, ?> delegate = retrofit.nextCallAdapter(this, returnType, annotations);
+
+        CachedResponse cached = MethodAnnotations.find(annotations, CachedResponse.class);
+        if (cached == null) {
+            return delegate;
+        }
+        if (!"GET".equals(MethodAnnotations.httpMethod(annotations))) {
+            throw new IllegalArgumentException("@CachedResponse only supported on @GET method");
+        }
+        if (MethodAnnotations.isOneShotBody(delegate.responseType(), annotations)) {
+            throw new IllegalArgumentException(
+                    "@CachedResponse not supported on method returning raw, iterated or @Streaming body");
+        }
+
+        long methodTtl = TimeUnit.MILLISECONDS.toNanos(cached.ttl() < 0 ? ttl : cached.ttl());
+        long methodStaleWhileRevalidate = TimeUnit.MILLISECONDS.toNanos(cached.staleWhileRevalidate() < 0 ?
+                staleWhileRevalidate : cached.staleWhileRevalidate());
+        return new CachingCallAdapter<>(delegate, responseCache, methodTtl, methodStaleWhileRevalidate);
+    }
+
+    private static final class CachingCallAdapter<R, T> implements CallAdapter<R, T> {
+        private final CallAdapter<R, T> delegate;
+
+        private final ResponseCache responseCache;
+
+        private final long ttl;
+
+        private final long staleWhileRevalidate;
+
+        @SuppressWarnings("unchecked")
+        CachingCallAdapter(CallAdapter<?, ?> delegate, ResponseCache responseCache, long ttl, long staleWhileRevalidate) {
+            this.delegate = (CallAdapter<R, T>) delegate;
+            this.responseCache = responseCache;
+            this.ttl = ttl;
+            this.staleWhileRevalidate = staleWhileRevalidate;
+        }
+
+        @Override
+        public Type responseType() {
+            return delegate.responseType();
+        }
+
+        @Override
+        public T adapt(Call<R> call) {
+            return delegate.adapt(new CachingCall<>(call, responseCache, ttl, staleWhileRevalidate, null));
+        }
+    }
+}
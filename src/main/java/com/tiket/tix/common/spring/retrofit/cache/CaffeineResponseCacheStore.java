@@ -0,0 +1,39 @@
+package com.tiket.tix.common.spring.retrofit.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * {@link ResponseCacheStore} backed by caffeine, evicting entries based on W-TinyLFU policy.
+ *
+ * @author zakyalvan
+ */
+class CaffeineResponseCacheStore implements ResponseCacheStore {
+    private final Cache<Object, ResponseCache.Entry> cache;
+
+    CaffeineResponseCacheStore(long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    @Override
+    public ResponseCache.Entry get(Object key) {
+        return cache.getIfPresent(key);
+    }
+
+    @Override
+    public void put(Object key, ResponseCache.Entry entry) {
+        cache.put(key, entry);
+    }
+
+    @Override
+    public void remove(Object key, ResponseCache.Entry entry) {
+        cache.asMap().remove(key, entry);
+    }
+
+    @Override
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,42 @@
+package com.tiket.tix.common.spring.retrofit.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link ResponseCacheStore} evicting least recently used entries, used when caffeine not available.
+ *
+ * @author zakyalvan
+ */
+class LruResponseCacheStore implements ResponseCacheStore {
+    private final Map<Object, ResponseCache.Entry> entries;
+
+    LruResponseCacheStore(long maximumSize) {
+        this.entries = new LinkedHashMap<Object, ResponseCache.Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, ResponseCache.Entry> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    @Override
+    public synchronized ResponseCache.Entry get(Object key) {
+        return entries.get(key);
+    }
+
+    @Override
+    public synchronized void put(Object key, ResponseCache.Entry entry) {
+        entries.put(key, entry);
+    }
+
+    @Override
+    public synchronized void remove(Object key, ResponseCache.Entry entry) {
+        entries.remove(key, entry);
+    }
+
+    @Override
+    public synchronized long size() {
+        return entries.size();
+    }
+}
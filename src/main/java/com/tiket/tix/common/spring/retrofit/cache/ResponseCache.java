@@ -0,0 +1,145 @@
+package com.tiket.tix.common.spring.retrofit.cache;
+
+import com.tiket.tix.common.spring.retrofit.support.SharedResponse;
+import com.tiket.tix.common.spring.retrofit.support.SingleFlightGroup;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * In memory cache of successful retrofit {@link Response}s. Backed by caffeine (W-TinyLFU eviction) when available
+ * in classpath, otherwise by simple LRU map. Each entry has its own freshness, after which it still may be served
+ * while stale until being refreshed. Loading of the same key is single flight, concurrent misses wait for one call
+ * and each receives its own readable copy of error body.
+ *
+ * @author zakyalvan
+ */
+public class ResponseCache {
+    private static final boolean CAFFEINE_PRESENT = ClassUtils.isPresent("com.github.benmanes.caffeine.cache.Caffeine",
+            ResponseCache.class.getClassLoader());
+
+    private final ResponseCacheStore store;
+
+    private final SingleFlightGroup<Object, SharedResponse> loads = new SingleFlightGroup<>();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder staleHitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    ResponseCache(ResponseCacheStore store) {
+        Assert.notNull(store, "Response cache store must be provided");
+        this.store = store;
+    }
+
+    /**
+     * Create response cache holding at most given number of entries.
+     *
+     * @param maximumSize
+     * @return
+     */
+    public static ResponseCache create(long maximumSize) {
+        Assert.isTrue(maximumSize > 0, "Maximum size of response cache must be positive");
+        return new ResponseCache(CAFFEINE_PRESENT ? new CaffeineResponseCacheStore(maximumSize) : new LruResponseCacheStore(maximumSize));
+    }
+
+    /**
+     * Lookup fresh or stale entry of given key, counting hit or miss.
+     *
+     * @param key
+     * @return null on miss
+     */
+    Entry lookup(Object key) {
+        Entry entry = store.get(key);
+        if (entry != null) {
+            long now = System.nanoTime();
+            if (entry.isFresh(now)) {
+                hitCount.increment();
+                return entry;
+            }
+            if (now - entry.staleUntil < 0) {
+                staleHitCount.increment();
+                return entry;
+            }
+            store.remove(key, entry);
+        }
+        missCount.increment();
+        return null;
+    }
+
+    /**
+     * Store successful response, with given freshness and stale period in nanos.
+     *
+     * @param key
+     * @param response
+     * @param ttl
+     * @param staleWhileRevalidate
+     */
+    void put(Object key, Response<?> response, long ttl, long staleWhileRevalidate) {
+        if (response.isSuccessful() && ttl > 0) {
+            long now = System.nanoTime();
+            store.put(key, new Entry(response, now + ttl, now + ttl + Math.max(staleWhileRevalidate, 0)));
+        }
+    }
+
+    SharedResponse load(Object key, Callable<SharedResponse> loader) throws IOException {
+        return loads.execute(key, loader);
+    }
+
+    CompletableFuture<SharedResponse> loadAsync(Object key, Supplier<? extends CompletionStage<SharedResponse>> loader) {
+        return loads.executeAsync(key, loader);
+    }
+
+    boolean isLoading(Object key) {
+        return loads.isInFlight(key);
+    }
+
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    public long staleHitCount() {
+        return staleHitCount.sum();
+    }
+
+    public long missCount() {
+        return missCount.sum();
+    }
+
+    public long size() {
+        return store.size();
+    }
+
+    /**
+     * Cached response with its freshness deadline, both deadlines are {@link System#nanoTime()} based.
+     */
+    static final class Entry {
+        private final Response<?> response;
+
+        private final long freshUntil;
+
+        private final long staleUntil;
+
+        Entry(Response<?> response, long freshUntil, long staleUntil) {
+            this.response = response;
+            this.freshUntil = freshUntil;
+            this.staleUntil = staleUntil;
+        }
+
+        Response<?> response() {
+            return response;
+        }
+
+        boolean isFresh(long now) {
+            return now - freshUntil < 0;
+        }
+    }
+}
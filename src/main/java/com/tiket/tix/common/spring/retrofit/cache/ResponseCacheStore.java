@@ -0,0 +1,16 @@
+package com.tiket.tix.common.spring.retrofit.cache;
+
+/**
+ * Size bounded storage of {@link ResponseCache} entries.
+ *
+ * @author zakyalvan
+ */
+interface ResponseCacheStore {
+    ResponseCache.Entry get(Object key);
+
+    void put(Object key, ResponseCache.Entry entry);
+
+    void remove(Object key, ResponseCache.Entry entry);
+
+    long size();
+}
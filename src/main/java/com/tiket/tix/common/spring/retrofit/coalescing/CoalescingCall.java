@@ -0,0 +1,106 @@
+package com.tiket.tix.common.spring.retrofit.coalescing;
+
+import com.tiket.tix.common.spring.retrofit.support.ForwardingCall;
+import com.tiket.tix.common.spring.retrofit.support.InvocationKey;
+import com.tiket.tix.common.spring.retrofit.support.SharedResponse;
+import com.tiket.tix.common.spring.retrofit.support.SingleFlightGroup;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link Call} joining identical call already in flight instead of sending its own request.
+ *
+ * @param <T>
+ * @author zakyalvan
+ */
+final class CoalescingCall<T> extends ForwardingCall<T> {
+    private final SingleFlightGroup<InvocationKey, SharedResponse> inFlight;
+
+    private final AtomicBoolean executed = new AtomicBoolean();
+
+    CoalescingCall(Call<T> delegate, SingleFlightGroup<InvocationKey, SharedResponse> inFlight) {
+        super(delegate);
+        this.inFlight = inFlight;
+    }
+
+    @Override
+    public Response<T> execute() throws IOException {
+        markExecuted();
+
+        InvocationKey key = InvocationKey.of(delegate().request());
+        if (key == null) {
+            return delegate().execute();
+        }
+        return inFlight.execute(key, () -> SharedResponse.of(delegate().execute())).toResponse();
+    }
+
+    @Override
+    public void enqueue(Callback<T> callback) {
+        markExecuted();
+
+        InvocationKey key = InvocationKey.of(delegate().request());
+        if (key == null) {
+            delegate().enqueue(callback);
+            return;
+        }
+        inFlight.executeAsync(key, this::enqueueDelegate).whenComplete((shared, error) -> {
+            if (error != null) {
+                callback.onFailure(this, unwrap(error));
+            }
+            else {
+                callback.onResponse(this, shared.toResponse());
+            }
+        });
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return executed.get();
+    }
+
+    @Override
+    public Call<T> clone() {
+        return new CoalescingCall<>(delegate().clone(), inFlight);
+    }
+
+    private void markExecuted() {
+        if (!executed.compareAndSet(false, true)) {
+            throw new IllegalStateException("Already executed.");
+        }
+    }
+
+    private CompletableFuture<SharedResponse> enqueueDelegate() {
+        CompletableFuture<SharedResponse> result = new CompletableFuture<>();
+        delegate().enqueue(new Callback<T>() {
+            @Override
+            public void onResponse(Call<T> call, Response<T> response) {
+                try {
+                    result.complete(SharedResponse.of(response));
+                }
+                catch (IOException e) {
+                    result.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<T> call, Throwable error) {
+                result.completeExceptionally(error);
+            }
+        });
+        return result;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        try {
+            return SingleFlightGroup.rethrow(error);
+        }
+        catch (RuntimeException | Error e) {
+            return e;
+        }
+    }
+}
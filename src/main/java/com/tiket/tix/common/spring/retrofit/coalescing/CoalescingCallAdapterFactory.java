@@ -0,0 +1,88 @@
+package com.tiket.tix.common.spring.retrofit.coalescing;
+
+import com.tiket.tix.common.spring.retrofit.annotation.SingleFlight;
+import com.tiket.tix.common.spring.retrofit.support.InvocationKey;
+import com.tiket.tix.common.spring.retrofit.support.MethodAnnotations;
+import com.tiket.tix.common.spring.retrofit.support.SharedResponse;
+import com.tiket.tix.common.spring.retrofit.support.SingleFlightGroup;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Retrofit;
+import retrofit2.http.Streaming;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * {@link CallAdapter.Factory} coalescing concurrent identical calls into one http request, applied on {@link Call}
+ * level before being adapted by next call adapter, so that it works for any return type. Applied to methods
+ * annotated with {@link SingleFlight}, and to GET, HEAD and OPTIONS methods when enabled by default, except those
+ * reading one-shot raw, iterated or {@link Streaming} body, which is rejected when explicitly annotated.
+ *
+ * @author zakyalvan
+ */
+public class CoalescingCallAdapterFactory extends CallAdapter.Factory {
+    private final boolean enabledByDefault;
+
+    private final SingleFlightGroup<InvocationKey, SharedResponse> inFlight;
+
+    public CoalescingCallAdapterFactory(boolean enabledByDefault) {
+        this(enabledByDefault, new SingleFlightGroup<>());
+    }
+
+    private CoalescingCallAdapterFactory(boolean enabledByDefault, SingleFlightGroup<InvocationKey, SharedResponse> inFlight) {
+        this.enabledByDefault = enabledByDefault;
+        this.inFlight = inFlight;
+    }
+
+    public boolean isEnabledByDefault() {
+        return enabledByDefault;
+    }
+
+    /**
+     * Create factory with the same in flight calls, but enabled by default.
+     *
+     * @return
+     */
+    public CoalescingCallAdapterFactory enabledByDefault() {
+        return enabledByDefault ? this : new CoalescingCallAdapterFactory(true, inFlight);
+    }
+
+    @Override
+    public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations, Retrofit retrofit) {
+        CallAdapter<?, ?> delegate = retrofit.nextCallAdapter(this, returnType, annotations);
+
+        SingleFlight singleFlight = MethodAnnotations.find(annotations, SingleFlight.class);
+        // Successful body is shared between callers, so one-shot body never coalesced.
+        boolean oneShotBody = MethodAnnotations.isOneShotBody(delegate.responseType(), annotations);
+        if (singleFlight != null && singleFlight.value() && oneShotBody) {
+            throw new IllegalArgumentException(
+                    "@SingleFlight not supported on method returning raw, iterated or @Streaming body");
+        }
+        boolean coalesced = singleFlight != null ? singleFlight.value() : enabledByDefault
+                && MethodAnnotations.isSafe(annotations) && !oneShotBody;
+        return coalesced ? new CoalescingCallAdapter<>(delegate, inFlight) : delegate;
+    }
+
+    private static final class CoalescingCallAdapter<R, T> implements CallAdapter<R, T> {
+        private final CallAdapter<R, T> delegate;
+
+        private final SingleFlightGroup<InvocationKey, SharedResponse> inFlight;
+
+        @SuppressWarnings("unchecked")
+        CoalescingCallAdapter(CallAdapter<?, ?> delegate, SingleFlightGroup<InvocationKey, SharedResponse> inFlight) {
+            this.delegate = (CallAdapter<R, T>) delegate;
+            this.inFlight = inFlight;
+        }
+
+        @Override
+        public Type responseType() {
+            return delegate.responseType();
+        }
+
+        @Override
+        public T adapt(Call<R> call) {
+            return delegate.adapt(new CoalescingCall<>(call, inFlight));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.tiket.tix.common.spring.retrofit.compression;
+
+import com.tiket.tix.common.spring.retrofit.support.HttpResponses;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Interceptor compressing request bodies with gzip and negotiating compressed responses. Request body is compressed
+ * when its length is known and not less than the threshold, unless already encoded by the caller. Response
+ * encodings of given decoders are advertised in {@code Accept-Encoding} header, unless set by the caller, and
+ * response body decoded while being read, without buffering whole body.
+ *
+ * @author zakyalvan
+ */
+public class CompressionInterceptor implements Interceptor {
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+
+    private final Map<String, ContentDecoder> decoders = new LinkedHashMap<>();
+
+    private final String acceptEncoding;
+
+    private final boolean compressRequests;
+
+    private final long minRequestSize;
+
+    public CompressionInterceptor(List<ContentDecoder> decoders, boolean compressRequests, long minRequestSize) {
+        Assert.notEmpty(decoders, "Content decoders must be provided");
+        Assert.isTrue(minRequestSize >= 0, "Minimum request size must not be negative");
+        decoders.forEach(decoder -> this.decoders.put(decoder.getEncoding().toLowerCase(Locale.US), decoder));
+        this.acceptEncoding = String.join(", ", this.decoders.keySet());
+        this.compressRequests = compressRequests;
+        this.minRequestSize = minRequestSize;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Request.Builder requestBuilder = request.newBuilder();
+
+        RequestBody body = request.body();
+        if (compressRequests && body != null && request.header(CONTENT_ENCODING) == null
+                && body.contentLength() >= minRequestSize) {
+            requestBuilder.header(CONTENT_ENCODING, GzipDecoder.ENCODING)
+                    .method(request.method(), gzip(body));
+        }
+
+        boolean negotiated = request.header(ACCEPT_ENCODING) == null;
+        if (negotiated) {
+            requestBuilder.header(ACCEPT_ENCODING, acceptEncoding);
+        }
+
+        Response response = chain.proceed(requestBuilder.build());
+        if (!negotiated || !HttpResponses.hasBody(response)) {
+            return response;
+        }
+
+        String encoding = response.header(CONTENT_ENCODING);
+        ContentDecoder decoder = encoding != null ? decoders.get(encoding.trim().toLowerCase(Locale.US)) : null;
+        if (decoder == null) {
+            return response;
+        }
+
+        ResponseBody encodedBody = response.body();
+        ResponseBody decodedBody = ResponseBody.create(encodedBody.contentType(), -1,
+                Okio.buffer(decoder.decode(encodedBody.source())));
+        return response.newBuilder()
+                .removeHeader(CONTENT_ENCODING)
+                .removeHeader("Content-Length")
+                .body(decodedBody)
+                .build();
+    }
+
+    private static RequestBody gzip(RequestBody body) throws IOException {
+        Buffer compressed = new Buffer();
+        try (BufferedSink sink = Okio.buffer(new GzipSink(compressed))) {
+            body.writeTo(sink);
+        }
+        return new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return body.contentType();
+            }
+
+            @Override
+            public long contentLength() {
+                return compressed.size();
+            }
+
+            @Override
+            public void writeTo(BufferedSink sink) {
+                // Copy, so that the body can be written again on retry or redirect.
+                compressed.copyTo(sink.buffer(), 0, compressed.size());
+            }
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package com.tiket.tix.common.spring.retrofit.compression;
+
+import okio.Source;
+
+import java.io.IOException;
+
+/**
+ * Decoder of response body with given content coding, advertised in {@code Accept-Encoding} request header.
+ * Register implementation as spring bean to support other codings, e.g. brotli or zstd.
+ *
+ * @author zakyalvan
+ */
+public interface ContentDecoder {
+    /**
+     * Content coding decoded by this decoder, e.g. {@code gzip}.
+     *
+     * @return
+     */
+    String getEncoding();
+
+    /**
+     * Wrap encoded source, so that the body decoded while being read.
+     *
+     * @param source
+     * @return
+     * @throws IOException
+     */
+    Source decode(Source source) throws IOException;
+}
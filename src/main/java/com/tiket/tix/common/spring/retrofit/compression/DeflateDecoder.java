@@ -0,0 +1,26 @@
+package com.tiket.tix.common.spring.retrofit.compression;
+
+import okio.InflaterSource;
+import okio.Okio;
+import okio.Source;
+
+import java.util.zip.Inflater;
+
+/**
+ * Decoder of {@code deflate} content coding, that is zlib wrapped deflate stream.
+ *
+ * @author zakyalvan
+ */
+public class DeflateDecoder implements ContentDecoder {
+    public static final String ENCODING = "deflate";
+
+    @Override
+    public String getEncoding() {
+        return ENCODING;
+    }
+
+    @Override
+    public Source decode(Source source) {
+        return new InflaterSource(Okio.buffer(source), new Inflater());
+    }
+}
@@ -0,0 +1,23 @@
+package com.tiket.tix.common.spring.retrofit.compression;
+
+import okio.GzipSource;
+import okio.Source;
+
+/**
+ * Decoder of {@code gzip} content coding.
+ *
+ * @author zakyalvan
+ */
+public class GzipDecoder implements ContentDecoder {
+    public static final String ENCODING = "gzip";
+
+    @Override
+    public String getEncoding() {
+        return ENCODING;
+    }
+
+    @Override
+    public Source decode(Source source) {
+        return new GzipSource(source);
+    }
+}
@@ -0,0 +1,92 @@
+package com.tiket.tix.common.spring.retrofit.config;
+
+import org.springframework.util.Assert;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.function.Supplier;
+
+/**
+ * Handler of lazy retrofit service proxy, creating the actual service on first invocation and delegating to it
+ * afterwards. Creation failure is propagated to the invoker and retried on next invocation. {@link Object} methods
+ * are handled by the proxy itself, without creating the service.
+ *
+ * @author zakyalvan
+ */
+class LazyServiceInvocationHandler<T> implements InvocationHandler {
+    private final Class<T> serviceType;
+
+    private final Supplier<T> serviceSupplier;
+
+    private volatile T service;
+
+    LazyServiceInvocationHandler(Class<T> serviceType, Supplier<T> serviceSupplier) {
+        Assert.notNull(serviceType, "Service type must be provided");
+        Assert.notNull(serviceSupplier, "Service supplier must be provided");
+        this.serviceType = serviceType;
+        this.serviceSupplier = serviceSupplier;
+    }
+
+    /**
+     * Create lazy proxy of given service type.
+     *
+     * @param serviceType
+     * @param serviceSupplier
+     * @param <T>
+     * @return
+     */
+    static <T> T createProxy(Class<T> serviceType, Supplier<T> serviceSupplier) {
+        return serviceType.cast(Proxy.newProxyInstance(serviceType.getClassLoader(), new Class<?>[]{serviceType},
+                new LazyServiceInvocationHandler<>(serviceType, serviceSupplier)));
+    }
+
+    /**
+     * Resolve the actual service, creating it when not created yet.
+     *
+     * @return
+     */
+    T resolve() {
+        T resolved = service;
+        if (resolved == null) {
+            synchronized (this) {
+                resolved = service;
+                if (resolved == null) {
+                    resolved = serviceSupplier.get();
+                    service = resolved;
+                }
+            }
+        }
+        return resolved;
+    }
+
+    boolean isResolved() {
+        return service != null;
+    }
+
+    Class<T> getServiceType() {
+        return serviceType;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return "Lazy retrofit service " + serviceType.getName();
+            }
+        }
+
+        try {
+            return method.invoke(resolve(), args);
+        }
+        catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -62,7 +62,32 @@ public class RetrofitServiceBeanDefinitionRegistrar implements ImportBeanDefinit
      * @param beanRegistry
      */
     private void registerRetrofitServiceBeans(AnnotationMetadata annotationMetadata, BeanDefinitionRegistry beanRegistry) {
-        Set<BeanDefinition> candidateDefinitions = resolveCandidatePackages(annotationMetadata).parallelStream()
+        AnnotationAttributes attributes = AnnotationAttributes
+                .fromMap(annotationMetadata.getAnnotationAttributes(RetrofitServiceScan.class.getName()));
+        boolean lazyByDefault = attributes.getBoolean("lazy");
+        boolean warmUpLazy = attributes.getBoolean("warmUpLazy");
+
+        Set<String> packagesToScan = resolveCandidatePackages(annotationMetadata);
+        RetrofitServiceIndex index = RetrofitServiceIndex.load(classLoader);
+        if (index != null) {
+            LOGGER.debug("Register retrofit services from index instead of scanning");
+            Set<String> indexedPackages = new LinkedHashSet<>();
+            Set<String> unindexedPackages = new LinkedHashSet<>();
+            for (String basePackage : packagesToScan) {
+                if (index.find(basePackage).isEmpty()) {
+                    LOGGER.warn("No retrofit service indexed in package {}, scanning it instead. Compile services " +
+                            "of the package with retrofit-support-starter-processor to avoid scanning", basePackage);
+                    unindexedPackages.add(basePackage);
+                }
+                else {
+                    indexedPackages.add(basePackage);
+                }
+            }
+            registerIndexedServiceBeans(index, indexedPackages, lazyByDefault, warmUpLazy, beanRegistry);
+            packagesToScan = unindexedPackages;
+        }
+
+        Set<BeanDefinition> candidateDefinitions = packagesToScan.parallelStream()
                 .flatMap(basePackage -> clientScanner.findCandidateComponents(basePackage).stream())
                 .map(definition -> {
                     try {
@@ -74,6 +99,8 @@ public class RetrofitServiceBeanDefinitionRegistrar implements ImportBeanDefinit
                         else {
                             definition.setScope(GenericBeanDefinition.SCOPE_PROTOTYPE);
                         }
+
+                        applyInitialization(definition, serviceAnnotation.initialization(), lazyByDefault, warmUpLazy);
                         return definition;
                     }
                     catch (ClassNotFoundException e) {
@@ -87,6 +114,47 @@ public class RetrofitServiceBeanDefinitionRegistrar implements ImportBeanDefinit
         }
     }
 
+    /**
+     * Register indexed {@link RetrofitService} interfaces in given packages, without loading their classes.
+     *
+     * @param index
+     * @param basePackages
+     * @param lazyByDefault
+     * @param warmUpLazy
+     * @param beanRegistry
+     */
+    private void registerIndexedServiceBeans(RetrofitServiceIndex index, Set<String> basePackages, boolean lazyByDefault,
+                                             boolean warmUpLazy, BeanDefinitionRegistry beanRegistry) {
+        basePackages.stream()
+                .flatMap(basePackage -> index.find(basePackage).stream())
+                .distinct()
+                .forEach(entry -> {
+                    GenericBeanDefinition definition = new GenericBeanDefinition();
+                    definition.setBeanClassName(entry.getTypeName());
+                    definition.setScope(entry.isSingleton() ?
+                            GenericBeanDefinition.SCOPE_SINGLETON : GenericBeanDefinition.SCOPE_PROTOTYPE);
+                    applyInitialization(definition, entry.getInitialization(), lazyByDefault, warmUpLazy);
+                    beanRegistry.registerBeanDefinition(entry.getBeanName(), definition);
+                });
+    }
+
+    /**
+     * Flag service definition to be created lazily, when so configured by the service or by default.
+     *
+     * @param definition
+     * @param initialization
+     * @param lazyByDefault
+     * @param warmUpLazy
+     */
+    private static void applyInitialization(BeanDefinition definition, RetrofitService.Initialization initialization,
+                                            boolean lazyByDefault, boolean warmUpLazy) {
+        if (initialization == RetrofitService.Initialization.LAZY
+                || (initialization == RetrofitService.Initialization.DEFAULT && lazyByDefault)) {
+            definition.setAttribute(RetrofitServiceBeanPostProcessor.LAZY_ATTRIBUTE, true);
+            definition.setAttribute(RetrofitServiceBeanPostProcessor.WARM_UP_ATTRIBUTE, warmUpLazy);
+        }
+    }
+
     /**
      * Resolve packages to be scanned, looking for {@link RetrofitService} interface.
      * This is based on attributes of {@link RetrofitServiceScan}.
@@ -2,21 +2,47 @@ package com.tiket.tix.common.spring.retrofit.config;
 
 import com.tiket.tix.common.spring.retrofit.annotation.RetrofitService;
 import com.tiket.tix.common.spring.retrofit.registry.RetrofitRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessorAdapter;
 import org.springframework.util.StringUtils;
 
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Post process detected interface type marked with {@link RetrofitService}, then create the instance.
+ * Services marked as lazy by {@link RetrofitServiceBeanDefinitionRegistrar} are injected as lightweight proxy,
+ * creating the actual service on first invocation, optionally warmed up in background once all singletons instantiated.
  *
  * @author zakyalvan
  */
-public class RetrofitServiceBeanPostProcessor extends InstantiationAwareBeanPostProcessorAdapter implements BeanFactoryAware {
+public class RetrofitServiceBeanPostProcessor extends InstantiationAwareBeanPostProcessorAdapter
+        implements BeanFactoryAware, SmartInitializingSingleton {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RetrofitServiceBeanPostProcessor.class);
+
     public static final String BEAN_NAME = "retrofitServiceBeanPostProcessor";
 
+    /**
+     * Bean definition attribute flagging service to be created lazily.
+     */
+    public static final String LAZY_ATTRIBUTE = RetrofitServiceBeanPostProcessor.class.getName() + ".lazy";
+
+    /**
+     * Bean definition attribute flagging lazy service to be created in background after singletons instantiated.
+     */
+    public static final String WARM_UP_ATTRIBUTE = RetrofitServiceBeanPostProcessor.class.getName() + ".warmUp";
+
+    private final List<LazyServiceInvocationHandler<?>> pendingWarmUps = new ArrayList<>();
+
     private BeanFactory beanFactory;
 
     private RetrofitServiceFactory serviceFactory;
@@ -41,11 +67,70 @@ public class RetrofitServiceBeanPostProcessor extends InstantiationAwareBeanPost
         String retrofitName = !StringUtils.hasText(serviceAnnotation.retrofit()) ?
                 serviceAnnotation.value() : serviceAnnotation.retrofit();
 
+        BeanDefinition beanDefinition = findBeanDefinition(beanName);
+        if (beanDefinition != null && Boolean.TRUE.equals(beanDefinition.getAttribute(LAZY_ATTRIBUTE))) {
+            Object service = createLazyInstance(beanClass, retrofitName);
+            if (Boolean.TRUE.equals(beanDefinition.getAttribute(WARM_UP_ATTRIBUTE))) {
+                synchronized (pendingWarmUps) {
+                    pendingWarmUps.add((LazyServiceInvocationHandler<?>) Proxy.getInvocationHandler(service));
+                }
+            }
+            return service;
+        }
+
+        return getServiceFactory().createInstance(beanClass, retrofitName);
+    }
+
+    private <T> T createLazyInstance(Class<T> serviceType, String retrofitName) {
+        // Only creating the service, i.e. parsing its methods, deferred to first invocation. Retrofit objects and their
+        // http clients are created with the registry on context refresh anyway.
+        return LazyServiceInvocationHandler.createProxy(serviceType,
+                () -> getServiceFactory().createInstance(serviceType, retrofitName));
+    }
+
+    /**
+     * Create lazy services pending warm up in background, logging the ones failed to be created, e.g. due to invalid
+     * service method. Failed services are created again on first invocation, failing the invocation.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<LazyServiceInvocationHandler<?>> warmUps;
+        synchronized (pendingWarmUps) {
+            warmUps = new ArrayList<>(pendingWarmUps);
+            pendingWarmUps.clear();
+        }
+        if (warmUps.isEmpty()) {
+            return;
+        }
+
+        Thread warmUpThread = new Thread(() -> {
+            for (LazyServiceInvocationHandler<?> warmUp : warmUps) {
+                try {
+                    warmUp.resolve();
+                }
+                catch (RuntimeException e) {
+                    LOGGER.error("Failed to create lazy retrofit service {}", warmUp.getServiceType().getName(), e);
+                }
+            }
+            LOGGER.debug("Lazy retrofit services warmed up");
+        }, "retrofit-service-warm-up");
+        warmUpThread.setDaemon(true);
+        warmUpThread.start();
+    }
+
+    private BeanDefinition findBeanDefinition(String beanName) {
+        if (!(beanFactory instanceof ConfigurableListableBeanFactory) || beanName == null
+                || !((ConfigurableListableBeanFactory) beanFactory).containsBeanDefinition(beanName)) {
+            return null;
+        }
+        return ((ConfigurableListableBeanFactory) beanFactory).getBeanDefinition(beanName);
+    }
+
+    private synchronized RetrofitServiceFactory getServiceFactory() {
         if(serviceFactory == null) {
             serviceFactory = createServiceFactory();
         }
-
-        return serviceFactory.createInstance(beanClass, retrofitName);
+        return serviceFactory;
     }
 
     /**
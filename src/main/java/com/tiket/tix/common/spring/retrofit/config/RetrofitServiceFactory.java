@@ -1,9 +1,17 @@
 package com.tiket.tix.common.spring.retrofit.config;
 
+import com.tiket.tix.common.spring.retrofit.annotation.SingleFlight;
+import com.tiket.tix.common.spring.retrofit.batching.BatchingProxies;
+import com.tiket.tix.common.spring.retrofit.coalescing.CoalescingCallAdapterFactory;
+import com.tiket.tix.common.spring.retrofit.generated.GeneratedServices;
 import com.tiket.tix.common.spring.retrofit.registry.RetrofitRegistry;
+import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.util.Assert;
+import retrofit2.CallAdapter;
 import retrofit2.Retrofit;
 
+import java.util.List;
+
 /**
  * Utility type for creating retrofit service objects. In background, service creation is delegated
  * to registered {@link Retrofit} found in {@link RetrofitRegistry}.
@@ -22,6 +30,36 @@ class RetrofitServiceFactory {
         Retrofit retrofit = retrofitRegistry.get(retrofitName)
                 .orElseThrow(() -> new InvalidRetrofitNameException(retrofitName));
 
-        return retrofit.create(serviceType);
+        SingleFlight singleFlight = AnnotationUtils.findAnnotation(serviceType, SingleFlight.class);
+        if (singleFlight != null && singleFlight.value()) {
+            retrofit = coalescingRetrofit(retrofit);
+        }
+
+        return BatchingProxies.create(serviceType, GeneratedServices.create(serviceType, retrofit));
+    }
+
+    /**
+     * Derive {@link Retrofit} coalescing identical calls of safe methods by default, for service annotated with
+     * {@link SingleFlight}. Existing {@link CoalescingCallAdapterFactory} replaced in place, to keep the order
+     * of call adapter factories, otherwise added as the first one.
+     *
+     * @param retrofit
+     * @return
+     */
+    private Retrofit coalescingRetrofit(Retrofit retrofit) {
+        Retrofit.Builder retrofitBuilder = retrofit.newBuilder();
+        List<CallAdapter.Factory> callAdapterFactories = retrofitBuilder.callAdapterFactories();
+
+        boolean replaced = false;
+        for (int i = 0; i < callAdapterFactories.size(); i++) {
+            if (callAdapterFactories.get(i) instanceof CoalescingCallAdapterFactory) {
+                callAdapterFactories.set(i, ((CoalescingCallAdapterFactory) callAdapterFactories.get(i)).enabledByDefault());
+                replaced = true;
+            }
+        }
+        if (!replaced) {
+            callAdapterFactories.add(0, new CoalescingCallAdapterFactory(true));
+        }
+        return retrofitBuilder.build();
     }
 }
@@ -0,0 +1,124 @@
+package com.tiket.tix.common.spring.retrofit.config;
+
+import com.tiket.tix.common.spring.retrofit.annotation.RetrofitService;
+import org.springframework.core.SpringProperties;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * Index of {@link RetrofitService} interfaces written on compile time by {@code retrofit-support-starter-processor}
+ * into {@value #INDEX_LOCATION}, merged from all jars on the classpath. When present, services are registered from
+ * the index instead of scanning the classpath. Only base packages without any indexed service are still scanned, so
+ * all jars containing services in the same base package must be compiled with the processor.
+ * Index can be ignored by setting {@value #IGNORE_INDEX_PROPERTY} system or {@code spring.properties} property.
+ *
+ * @author zakyalvan
+ */
+final class RetrofitServiceIndex {
+    static final String INDEX_LOCATION = "META-INF/retrofit-services.properties";
+
+    static final String IGNORE_INDEX_PROPERTY = "tiket.retrofit.index.ignore";
+
+    private final List<Entry> entries;
+
+    private RetrofitServiceIndex(List<Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Load the index from all resources on the classpath.
+     *
+     * @param classLoader
+     * @return index, or null when no index found or ignored
+     */
+    static RetrofitServiceIndex load(ClassLoader classLoader) {
+        if (SpringProperties.getFlag(IGNORE_INDEX_PROPERTY)) {
+            return null;
+        }
+
+        Properties properties;
+        try {
+            properties = PropertiesLoaderUtils.loadAllProperties(INDEX_LOCATION, classLoader);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Unable to load retrofit service index " + INDEX_LOCATION, e);
+        }
+        if (properties.isEmpty()) {
+            return null;
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        for (String typeName : properties.stringPropertyNames()) {
+            String[] values = properties.getProperty(typeName).split(",", -1);
+            if (values.length != 4) {
+                throw new IllegalStateException("Invalid retrofit service index entry of " + typeName);
+            }
+            entries.add(new Entry(typeName, values[0], values[1], "singleton".equals(values[2]),
+                    RetrofitService.Initialization.valueOf(values[3])));
+        }
+        return new RetrofitServiceIndex(entries);
+    }
+
+    /**
+     * Find indexed services in given package or its sub packages.
+     *
+     * @param basePackage
+     * @return
+     */
+    List<Entry> find(String basePackage) {
+        String prefix = basePackage + ".";
+        return entries.stream()
+                .filter(entry -> entry.getTypeName().startsWith(prefix))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Indexed {@link RetrofitService} interface.
+     */
+    static final class Entry {
+        private final String typeName;
+
+        private final String beanName;
+
+        private final String retrofitName;
+
+        private final boolean singleton;
+
+        private final RetrofitService.Initialization initialization;
+
+        Entry(String typeName, String beanName, String retrofitName, boolean singleton,
+              RetrofitService.Initialization initialization) {
+            this.typeName = typeName;
+            this.beanName = beanName;
+            this.retrofitName = retrofitName;
+            this.singleton = singleton;
+            this.initialization = initialization;
+        }
+
+        String getTypeName() {
+            return typeName;
+        }
+
+        String getBeanName() {
+            return beanName;
+        }
+
+        String getRetrofitName() {
+            return retrofitName;
+        }
+
+        boolean isSingleton() {
+            return singleton;
+        }
+
+        RetrofitService.Initialization getInitialization() {
+            return initialization;
+        }
+    }
+}
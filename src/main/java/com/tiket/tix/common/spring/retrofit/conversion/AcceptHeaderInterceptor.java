@@ -0,0 +1,48 @@
+package com.tiket.tix.common.spring.retrofit.conversion;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Interceptor advertising media types of accepted {@link ContentFormat}s in order of preference, with decreasing
+ * quality values, unless {@code Accept} header set by the caller.
+ *
+ * @author zakyalvan
+ */
+public class AcceptHeaderInterceptor implements Interceptor {
+    private static final String ACCEPT = "Accept";
+
+    private final String accept;
+
+    public AcceptHeaderInterceptor(List<ContentFormat> formats) {
+        Assert.notEmpty(formats, "Content formats must be provided");
+        StringBuilder accept = new StringBuilder();
+        for (int i = 0; i < formats.size(); i++) {
+            MediaType mediaType = formats.get(i).getMediaType();
+            if (i > 0) {
+                accept.append(", ");
+            }
+            accept.append(mediaType.type()).append('/').append(mediaType.subtype());
+            if (i > 0) {
+                accept.append(String.format(Locale.US, ";q=%.1f", Math.max(10 - i, 1) / 10d));
+            }
+        }
+        this.accept = accept.toString();
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (request.header(ACCEPT) != null) {
+            return chain.proceed(request);
+        }
+        return chain.proceed(request.newBuilder().header(ACCEPT, accept).build());
+    }
+}
@@ -0,0 +1,51 @@
+package com.tiket.tix.common.spring.retrofit.conversion;
+
+import okhttp3.MediaType;
+
+/**
+ * Content format of request and response bodies.
+ *
+ * @author zakyalvan
+ */
+public enum ContentFormat {
+    /**
+     * Json text.
+     */
+    JSON("application/json"),
+
+    /**
+     * Jackson binary json, requires {@code jackson-dataformat-smile}.
+     */
+    SMILE("application/x-jackson-smile"),
+
+    /**
+     * Concise binary object representation, requires {@code jackson-dataformat-cbor}.
+     */
+    CBOR("application/cbor"),
+
+    /**
+     * Protocol buffers messages, requires retrofit {@code converter-protobuf}.
+     */
+    PROTOBUF("application/x-protobuf");
+
+    private final MediaType mediaType;
+
+    ContentFormat(String mediaType) {
+        this.mediaType = MediaType.parse(mediaType);
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Check whether given media type denotes this format, ignoring parameters.
+     *
+     * @param other
+     * @return
+     */
+    public boolean matches(MediaType other) {
+        return other != null && mediaType.type().equalsIgnoreCase(other.type())
+                && mediaType.subtype().equalsIgnoreCase(other.subtype());
+    }
+}
@@ -0,0 +1,35 @@
+package com.tiket.tix.common.spring.retrofit.conversion;
+
+import org.springframework.util.Assert;
+import retrofit2.Converter;
+
+/**
+ * {@link Converter.Factory} of a {@link ContentFormat}, selected by {@link NegotiatingConverterFactory} based on
+ * configured formats and negotiated media type. Unlike plain converter factory beans, these are not registered to every
+ * retrofit object, so that binary formats only used where configured.
+ *
+ * @author zakyalvan
+ */
+public class FormatConverterFactory {
+    private final ContentFormat format;
+
+    private final Converter.Factory converterFactory;
+
+    /**
+     * @param format           content format
+     * @param converterFactory converter factory of the format, null to use next converter factories of retrofit object
+     */
+    public FormatConverterFactory(ContentFormat format, Converter.Factory converterFactory) {
+        Assert.notNull(format, "Content format must be provided");
+        this.format = format;
+        this.converterFactory = converterFactory;
+    }
+
+    public ContentFormat getFormat() {
+        return format;
+    }
+
+    public Converter.Factory getConverterFactory() {
+        return converterFactory;
+    }
+}
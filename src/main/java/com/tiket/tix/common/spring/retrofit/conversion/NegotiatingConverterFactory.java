@@ -0,0 +1,130 @@
+package com.tiket.tix.common.spring.retrofit.conversion;
+
+import com.tiket.tix.common.spring.retrofit.support.MethodAnnotations;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import org.springframework.util.Assert;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+import retrofit2.http.Headers;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * {@link Converter.Factory} selecting converter of content format among configured ones. Request body is written in
+ * the first format supporting body type, or in format of {@code Content-Type} declared by {@link Headers} of the method.
+ * Response body is read in format of its {@code Content-Type}, falling back to the first format supporting body type.
+ *
+ * @author zakyalvan
+ */
+public class NegotiatingConverterFactory extends Converter.Factory {
+    private static final String CONTENT_TYPE = "content-type:";
+
+    private final List<FormatConverterFactory> formats;
+
+    /**
+     * @param formats formats in order of preference
+     */
+    public NegotiatingConverterFactory(List<FormatConverterFactory> formats) {
+        Assert.notEmpty(formats, "Formats must be provided");
+        this.formats = new ArrayList<>(formats);
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        Map<FormatConverterFactory, Converter<ResponseBody, ?>> converters = new LinkedHashMap<>();
+        for (FormatConverterFactory format : formats) {
+            Converter<ResponseBody, ?> converter = responseBodyConverter(format, type, annotations, retrofit);
+            if (converter != null) {
+                converters.put(format, converter);
+            }
+        }
+        if (converters.isEmpty()) {
+            return null;
+        }
+
+        Converter<ResponseBody, ?> preferred = converters.values().iterator().next();
+        if (converters.size() == 1) {
+            return preferred;
+        }
+        return body -> {
+            MediaType contentType = body.contentType();
+            for (Map.Entry<FormatConverterFactory, Converter<ResponseBody, ?>> candidate : converters.entrySet()) {
+                if (candidate.getKey().getFormat().matches(contentType)) {
+                    return candidate.getValue().convert(body);
+                }
+            }
+            return preferred.convert(body);
+        };
+    }
+
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(Type type, Annotation[] parameterAnnotations,
+                                                          Annotation[] methodAnnotations, Retrofit retrofit) {
+        MediaType declaredType = declaredContentType(methodAnnotations);
+        if (declaredType != null) {
+            for (FormatConverterFactory format : formats) {
+                if (format.getFormat().matches(declaredType)) {
+                    return requestBodyConverter(format, type, parameterAnnotations, methodAnnotations, retrofit);
+                }
+            }
+        }
+        for (FormatConverterFactory format : formats) {
+            Converter<?, RequestBody> converter = requestBodyConverter(format, type, parameterAnnotations,
+                    methodAnnotations, retrofit);
+            if (converter != null) {
+                return converter;
+            }
+        }
+        return null;
+    }
+
+    private Converter<ResponseBody, ?> responseBodyConverter(FormatConverterFactory format, Type type,
+                                                             Annotation[] annotations, Retrofit retrofit) {
+        if (format.getConverterFactory() != null) {
+            return format.getConverterFactory().responseBodyConverter(type, annotations, retrofit);
+        }
+        try {
+            return retrofit.nextResponseBodyConverter(this, type, annotations);
+        }
+        catch (IllegalArgumentException e) {
+            // No next converter supporting the type.
+            return null;
+        }
+    }
+
+    private Converter<?, RequestBody> requestBodyConverter(FormatConverterFactory format, Type type,
+                                                           Annotation[] parameterAnnotations,
+                                                           Annotation[] methodAnnotations, Retrofit retrofit) {
+        if (format.getConverterFactory() != null) {
+            return format.getConverterFactory().requestBodyConverter(type, parameterAnnotations, methodAnnotations, retrofit);
+        }
+        try {
+            return retrofit.nextRequestBodyConverter(this, type, parameterAnnotations, methodAnnotations);
+        }
+        catch (IllegalArgumentException e) {
+            // No next converter supporting the type.
+            return null;
+        }
+    }
+
+    private static MediaType declaredContentType(Annotation[] methodAnnotations) {
+        Headers headers = MethodAnnotations.find(methodAnnotations, Headers.class);
+        if (headers == null) {
+            return null;
+        }
+        for (String header : headers.value()) {
+            if (header.toLowerCase(Locale.US).startsWith(CONTENT_TYPE)) {
+                return MediaType.parse(header.substring(CONTENT_TYPE.length()).trim());
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,187 @@
+package com.tiket.tix.common.spring.retrofit.dns;
+
+import com.tiket.tix.common.spring.retrofit.support.SingleFlightGroup;
+import okhttp3.Dns;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Dns} caching addresses resolved by delegate for its own time to live, independent of jvm dns cache, so that
+ * lookups not blocking calling threads on every cache expiry. Entry looked up within refresh ahead period before its
+ * expiry is refreshed in background while still being served, failed refresh keeps the entry until expired. Unknown
+ * hosts are cached for negative time to live. Lookups of the same host are single flight, concurrent misses wait for
+ * one lookup. Static overrides are served as is, without lookup.
+ *
+ * Cache is not bounded, meant for limited set of hosts of retrofit base urls.
+ *
+ * @author zakyalvan
+ */
+public class CachingDns implements Dns {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachingDns.class);
+
+    private final Dns delegate;
+
+    private final long ttl;
+
+    private final long refreshAhead;
+
+    private final long negativeTtl;
+
+    private final Map<String, List<InetAddress>> overrides = new HashMap<>();
+
+    private final Executor refreshExecutor;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final SingleFlightGroup<String, List<InetAddress>> lookups = new SingleFlightGroup<>();
+
+    /**
+     * Create caching dns, with durations in millis.
+     *
+     * @param delegate
+     * @param ttl
+     * @param refreshAhead zero disables refresh ahead
+     * @param negativeTtl zero disables negative caching
+     * @param overrides addresses of hosts served without lookup
+     * @param refreshExecutor
+     */
+    public CachingDns(Dns delegate, long ttl, long refreshAhead, long negativeTtl,
+                      Map<String, List<InetAddress>> overrides, Executor refreshExecutor) {
+        Assert.notNull(delegate, "Delegate dns must be provided");
+        Assert.isTrue(ttl > 0, "Time to live must be positive");
+        Assert.isTrue(refreshAhead >= 0 && refreshAhead < ttl, "Refresh ahead must be between zero and time to live");
+        Assert.isTrue(negativeTtl >= 0, "Negative time to live must not be negative");
+        Assert.notNull(overrides, "Overrides must be provided");
+        Assert.notNull(refreshExecutor, "Refresh executor must be provided");
+
+        this.delegate = delegate;
+        this.ttl = TimeUnit.MILLISECONDS.toNanos(ttl);
+        this.refreshAhead = TimeUnit.MILLISECONDS.toNanos(refreshAhead);
+        this.negativeTtl = TimeUnit.MILLISECONDS.toNanos(negativeTtl);
+        overrides.forEach((hostname, addresses) -> {
+            Assert.notEmpty(addresses, "Addresses of overridden host " + hostname + " must be provided");
+            this.overrides.put(hostname.toLowerCase(Locale.US), Collections.unmodifiableList(new ArrayList<>(addresses)));
+        });
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    @Override
+    public List<InetAddress> lookup(String hostname) throws UnknownHostException {
+        Assert.notNull(hostname, "Host name must be provided");
+
+        List<InetAddress> overridden = overrides.get(hostname.toLowerCase(Locale.US));
+        if (overridden != null) {
+            return overridden;
+        }
+
+        Entry entry = entries.get(hostname);
+        long now = System.nanoTime();
+        if (entry != null && entry.isFresh(now)) {
+            if (entry.failure != null) {
+                throw new UnknownHostException(entry.failure);
+            }
+            if (refreshAhead > 0 && now - (entry.expiresAt - refreshAhead) >= 0 && !lookups.isInFlight(hostname)) {
+                refreshAsync(hostname);
+            }
+            return entry.addresses;
+        }
+
+        try {
+            return lookups.execute(hostname, () -> resolve(hostname, true));
+        }
+        catch (UnknownHostException e) {
+            throw e;
+        }
+        catch (IOException e) {
+            UnknownHostException failure = new UnknownHostException("Can not resolve " + hostname);
+            failure.initCause(e);
+            throw failure;
+        }
+    }
+
+    /**
+     * Refresh entry of given host in background, keeping the current one when failed.
+     *
+     * @param hostname
+     */
+    private void refreshAsync(String hostname) {
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    lookups.execute(hostname, () -> resolve(hostname, false));
+                }
+                catch (Exception e) {
+                    LOGGER.debug("Can not refresh addresses of {}, keep serving cached ones until expired", hostname, e);
+                }
+            });
+        }
+        catch (RejectedExecutionException e) {
+            LOGGER.debug("Refresh of {} addresses rejected", hostname, e);
+        }
+    }
+
+    /**
+     * Resolve given host with delegate, caching resolved addresses or unknown host failure.
+     *
+     * @param hostname
+     * @param cacheFailure
+     * @return
+     * @throws UnknownHostException
+     */
+    private List<InetAddress> resolve(String hostname, boolean cacheFailure) throws UnknownHostException {
+        try {
+            List<InetAddress> addresses = Collections.unmodifiableList(new ArrayList<>(delegate.lookup(hostname)));
+            entries.put(hostname, new Entry(addresses, null, System.nanoTime() + ttl));
+            return addresses;
+        }
+        catch (UnknownHostException e) {
+            if (cacheFailure) {
+                if (negativeTtl > 0) {
+                    entries.put(hostname, new Entry(null, e.getMessage() != null ? e.getMessage() : hostname,
+                            System.nanoTime() + negativeTtl));
+                }
+                else {
+                    entries.remove(hostname);
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Resolved addresses or failure of a host, with {@link System#nanoTime()} based expiry.
+     */
+    private static final class Entry {
+        private final List<InetAddress> addresses;
+
+        private final String failure;
+
+        private final long expiresAt;
+
+        private Entry(List<InetAddress> addresses, String failure, long expiresAt) {
+            this.addresses = addresses;
+            this.failure = failure;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isFresh(long now) {
+            return now - expiresAt < 0;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.tiket.tix.common.spring.retrofit.generated;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import retrofit2.Retrofit;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * Create retrofit services from implementations generated on compile time by
+ * {@code retrofit-support-starter-processor}, when enabled with {@code -Atiket.retrofit.implementations=true}.
+ * Generated implementation calls service methods bound on construction through {@link retrofit2.BoundServiceMethod},
+ * without dynamic proxy, reflective invocation and service method lookup on each call. Services without generated
+ * implementation are created by {@link Retrofit#create(Class)} as usual, so are services whose implementation can not
+ * be linked against retrofit on the classpath, e.g. of other version than the starter built against.
+ *
+ * @author zakyalvan
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class GeneratedServices {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GeneratedServices.class);
+
+    /**
+     * Suffix of generated implementation name, must be kept in sync with the processor.
+     */
+    public static final String IMPLEMENTATION_SUFFIX = "_RetrofitImpl";
+
+    /**
+     * Create service of given type from generated implementation if any, otherwise from retrofit's dynamic proxy.
+     *
+     * @param serviceType
+     * @param retrofit
+     * @param <T>
+     * @return
+     */
+    public static <T> T create(Class<T> serviceType, Retrofit retrofit) {
+        Assert.notNull(serviceType, "Service type must be provided");
+        Assert.notNull(retrofit, "Retrofit must be provided");
+
+        String implementationName = implementationName(serviceType);
+        if (!ClassUtils.isPresent(implementationName, serviceType.getClassLoader())) {
+            return retrofit.create(serviceType);
+        }
+
+        try {
+            Class<?> implementationType = ClassUtils.forName(implementationName, serviceType.getClassLoader());
+            Assert.state(serviceType.isAssignableFrom(implementationType),
+                    "Generated " + implementationName + " does not implement " + serviceType.getName());
+            Constructor<?> constructor = ClassUtils.getConstructorIfAvailable(implementationType, Retrofit.class);
+            Assert.state(constructor != null, "Generated " + implementationName + " has no retrofit constructor");
+            return serviceType.cast(BeanUtils.instantiateClass(constructor, retrofit));
+        }
+        catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Generated " + implementationName + " can not be loaded", e);
+        }
+        catch (LinkageError e) {
+            return createProxy(serviceType, retrofit, implementationName, e);
+        }
+        catch (BeanInstantiationException e) {
+            if (e.getCause() instanceof LinkageError) {
+                return createProxy(serviceType, retrofit, implementationName, e.getCause());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Fall back to retrofit's dynamic proxy when generated implementation is not compatible with retrofit on the
+     * classpath, i.e. {@link retrofit2.BoundServiceMethod} can not be linked.
+     *
+     * @param serviceType
+     * @param retrofit
+     * @param implementationName
+     * @param error
+     * @param <T>
+     * @return
+     */
+    private static <T> T createProxy(Class<T> serviceType, Retrofit retrofit, String implementationName, Throwable error) {
+        LOGGER.warn("Generated {} can not be linked against retrofit on the classpath, create the service by dynamic " +
+                "proxy instead. Use retrofit version the starter built against to use generated implementations",
+                implementationName, error);
+        return retrofit.create(serviceType);
+    }
+
+    /**
+     * Name of generated implementation of given service type, i.e. in the same package, named by its (nested) name
+     * joined with underscores and {@link #IMPLEMENTATION_SUFFIX}.
+     *
+     * @param serviceType
+     * @return
+     */
+    public static String implementationName(Class<?> serviceType) {
+        String packageName = ClassUtils.getPackageName(serviceType);
+        String nestedName = packageName.isEmpty() ?
+                serviceType.getName() : serviceType.getName().substring(packageName.length() + 1);
+        return (packageName.isEmpty() ? "" : packageName + ".") + nestedName.replace('$', '_') + IMPLEMENTATION_SUFFIX;
+    }
+}
@@ -0,0 +1,214 @@
+package com.tiket.tix.common.spring.retrofit.hedging;
+
+import com.tiket.tix.common.spring.retrofit.support.ForwardingCall;
+import com.tiket.tix.common.spring.retrofit.support.SingleFlightGroup;
+import io.reactivex.disposables.Disposable;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link Call} racing the delegate call with its clone sent after a delay, the first response wins and the other
+ * attempt cancelled. Failed attempt does not end the race while the other one still running. The primary attempt
+ * is executed the same way as this call, i.e. synchronously or enqueued, the hedge is always enqueued. Response of
+ * losing attempt completed before being cancelled is discarded, releasing its connection.
+ *
+ * @param <T>
+ * @author zakyalvan
+ */
+final class HedgingCall<T> extends ForwardingCall<T> {
+    private final HedgingPolicy policy;
+
+    private final AtomicBoolean executed = new AtomicBoolean();
+
+    private final CompletableFuture<Response<T>> result = new CompletableFuture<>();
+
+    private final List<Call<T>> attempts = new ArrayList<>(2);
+
+    private int running;
+
+    private boolean completed;
+
+    private Disposable hedgeTimer;
+
+    private volatile boolean canceled;
+
+    HedgingCall(Call<T> delegate, HedgingPolicy policy) {
+        super(delegate);
+        this.policy = policy;
+    }
+
+    @Override
+    public Response<T> execute() throws IOException {
+        markExecuted();
+
+        Call<T> primary = start();
+        long startedAt = System.nanoTime();
+        try {
+            onResponse(primary, primary.execute(), startedAt);
+        }
+        catch (IOException | RuntimeException e) {
+            onFailure(e);
+        }
+
+        try {
+            return result.get();
+        }
+        catch (InterruptedException e) {
+            cancel();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for hedged response");
+        }
+        catch (ExecutionException e) {
+            throw SingleFlightGroup.rethrow(e.getCause());
+        }
+    }
+
+    @Override
+    public void enqueue(Callback<T> callback) {
+        markExecuted();
+
+        result.whenComplete((response, error) -> {
+            if (error != null) {
+                callback.onFailure(this, error);
+            }
+            else {
+                callback.onResponse(this, response);
+            }
+        });
+
+        Call<T> primary = start();
+        primary.enqueue(attemptCallback(System.nanoTime()));
+    }
+
+    private synchronized Call<T> start() {
+        policy.onRequest();
+        Call<T> primary = delegate();
+        attempts.add(primary);
+        running++;
+        hedgeTimer = policy.scheduler().scheduleDirect(this::hedge, policy.delay(), TimeUnit.MILLISECONDS);
+        return primary;
+    }
+
+    private void hedge() {
+        Call<T> hedge;
+        synchronized (this) {
+            if (completed || canceled || !policy.tryHedge()) {
+                return;
+            }
+            hedge = delegate().clone();
+            attempts.add(hedge);
+            running++;
+        }
+        hedge.enqueue(attemptCallback(System.nanoTime()));
+    }
+
+    private Callback<T> attemptCallback(long startedAt) {
+        return new Callback<T>() {
+            @Override
+            public void onResponse(Call<T> call, Response<T> response) {
+                HedgingCall.this.onResponse(call, response, startedAt);
+            }
+
+            @Override
+            public void onFailure(Call<T> call, Throwable t) {
+                HedgingCall.this.onFailure(t);
+            }
+        };
+    }
+
+    private void onResponse(Call<T> winner, Response<T> response, long startedAt) {
+        List<Call<T>> losers = new ArrayList<>(1);
+        synchronized (this) {
+            if (completed) {
+                discard(response);
+                return;
+            }
+            completed = true;
+            hedgeTimer.dispose();
+            attempts.stream().filter(attempt -> attempt != winner).forEach(losers::add);
+        }
+
+        policy.record(System.nanoTime() - startedAt);
+        losers.forEach(Call::cancel);
+        result.complete(response);
+    }
+
+    /**
+     * Close body and error body of losing response, so that its connection returned to the pool.
+     *
+     * @param response
+     */
+    private static void discard(Response<?> response) {
+        Object body = response.body();
+        if (body instanceof Closeable) {
+            try {
+                ((Closeable) body).close();
+            }
+            catch (IOException | RuntimeException e) {
+                // Nothing to do with failure of closing discarded body.
+            }
+        }
+        if (response.errorBody() != null) {
+            response.errorBody().close();
+        }
+    }
+
+    private void onFailure(Throwable error) {
+        synchronized (this) {
+            if (completed || --running > 0) {
+                return;
+            }
+            completed = true;
+            hedgeTimer.dispose();
+        }
+        result.completeExceptionally(error);
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return executed.get();
+    }
+
+    @Override
+    public void cancel() {
+        canceled = true;
+        List<Call<T>> started;
+        synchronized (this) {
+            if (hedgeTimer != null) {
+                hedgeTimer.dispose();
+            }
+            started = new ArrayList<>(attempts);
+        }
+        if (started.isEmpty()) {
+            delegate().cancel();
+        }
+        started.forEach(Call::cancel);
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return canceled || delegate().isCanceled();
+    }
+
+    @Override
+    public Call<T> clone() {
+        return new HedgingCall<>(delegate().clone(), policy);
+    }
+
+    private void markExecuted() {
+        if (!executed.compareAndSet(false, true)) {
+            throw new IllegalStateException("Already executed.");
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.tiket.tix.common.spring.retrofit.hedging;
+
+import com.tiket.tix.common.spring.retrofit.annotation.Hedged;
+import com.tiket.tix.common.spring.retrofit.retry.RetryBudget;
+import com.tiket.tix.common.spring.retrofit.support.MethodAnnotations;
+import io.reactivex.Scheduler;
+import org.springframework.util.Assert;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Retrofit;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * {@link CallAdapter.Factory} hedging calls of methods annotated with {@link Hedged}, applied on {@link Call} level
+ * before being adapted by next call adapter, so that it works for any return type. Duplicate requests are capped
+ * by budget shared by all hedged methods, and scheduled on the given scheduler.
+ *
+ * @author zakyalvan
+ */
+public class HedgingCallAdapterFactory extends CallAdapter.Factory {
+    private final RetryBudget budget;
+
+    private final Scheduler scheduler;
+
+    private final long initialDelay;
+
+    /**
+     * @param budget       budget of duplicate requests, shared by all hedged methods
+     * @param scheduler    scheduler of sending duplicate requests
+     * @param initialDelay delay in millis used by methods hedged on latency percentile until enough latencies observed
+     */
+    public HedgingCallAdapterFactory(RetryBudget budget, Scheduler scheduler, long initialDelay) {
+        Assert.notNull(budget, "Hedging budget must be provided");
+        Assert.notNull(scheduler, "Scheduler must be provided");
+        this.budget = budget;
+        this.scheduler = scheduler;
+        this.initialDelay = initialDelay;
+    }
+
+    @Override
+    public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations, Retrofit retrofit) {
+        CallAdapter<?, ?> delegate = retrofit.nextCallAdapter(this, returnType, annotations);
+
+        Hedged hedged = MethodAnnotations.find(annotations, Hedged.class);
+        if (hedged == null) {
+            return delegate;
+        }
+        if (!MethodAnnotations.isIdempotent(annotations)) {
+            throw new IllegalArgumentException("@Hedged only supported on idempotent method (GET, HEAD, OPTIONS, PUT or DELETE)");
+        }
+        if (hedged.percentile() <= 0 || hedged.percentile() > 100) {
+            throw new IllegalArgumentException("@Hedged percentile must be greater than 0 and not greater than 100");
+        }
+
+        HedgingPolicy policy = new HedgingPolicy(hedged.delay(), hedged.percentile(), initialDelay, budget, scheduler);
+        return new HedgingCallAdapter<>(delegate, policy);
+    }
+
+    private static final class HedgingCallAdapter<R, T> implements CallAdapter<R, T> {
+        private final CallAdapter<R, T> delegate;
+
+        private final HedgingPolicy policy;
+
+        @SuppressWarnings("unchecked")
+        HedgingCallAdapter(CallAdapter<?, ?> delegate, HedgingPolicy policy) {
+            this.delegate = (CallAdapter<R, T>) delegate;
+            this.policy = policy;
+        }
+
+        @Override
+        public Type responseType() {
+            return delegate.responseType();
+        }
+
+        @Override
+        public T adapt(Call<R> call) {
+            return delegate.adapt(new HedgingCall<>(call, policy));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.tiket.tix.common.spring.retrofit.hedging;
+
+import com.tiket.tix.common.spring.retrofit.retry.RetryBudget;
+import io.reactivex.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decide when a hedged method sends duplicate request, based on fixed delay or observed latency percentile.
+ *
+ * @author zakyalvan
+ */
+final class HedgingPolicy {
+    private final long delay;
+
+    private final double percentile;
+
+    private final long initialDelay;
+
+    private final LatencyTracker latencyTracker;
+
+    private final RetryBudget budget;
+
+    private final Scheduler scheduler;
+
+    /**
+     * @param delay        fixed delay in millis, negative for using latency percentile
+     * @param percentile
+     * @param initialDelay delay in millis until enough latencies observed
+     * @param budget
+     * @param scheduler
+     */
+    HedgingPolicy(long delay, double percentile, long initialDelay, RetryBudget budget, Scheduler scheduler) {
+        this.delay = delay;
+        this.percentile = percentile;
+        this.initialDelay = initialDelay;
+        this.latencyTracker = delay < 0 ? new LatencyTracker(512, 32) : null;
+        this.budget = budget;
+        this.scheduler = scheduler;
+    }
+
+    Scheduler scheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Resolve delay before sending duplicate request.
+     *
+     * @return delay in millis
+     */
+    long delay() {
+        if (latencyTracker == null) {
+            return delay;
+        }
+        long observed = latencyTracker.percentile(percentile);
+        return observed < 0 ? initialDelay : TimeUnit.NANOSECONDS.toMillis(observed);
+    }
+
+    void onRequest() {
+        budget.onRequest();
+    }
+
+    boolean tryHedge() {
+        return budget.tryAcquireRetry();
+    }
+
+    /**
+     * Record latency of winning attempt.
+     *
+     * @param latency in nanos
+     */
+    void record(long latency) {
+        if (latencyTracker != null) {
+            latencyTracker.record(latency);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.tiket.tix.common.spring.retrofit.hedging;
+
+import org.springframework.util.Assert;
+
+import java.util.Arrays;
+
+/**
+ * Track latencies of recent calls, in a ring buffer of samples. Percentiles are computed from sorted snapshot of
+ * the samples, refreshed periodically instead of on each query.
+ *
+ * @author zakyalvan
+ */
+public class LatencyTracker {
+    private static final int REFRESH_INTERVAL = 32;
+
+    private final long[] samples;
+
+    private final int minimumSamples;
+
+    private int nextIndex;
+
+    private int count;
+
+    private int recordedSinceSnapshot;
+
+    private long[] snapshot;
+
+    /**
+     * @param capacity       number of recent latencies kept
+     * @param minimumSamples minimum number of latencies recorded before percentile computed
+     */
+    public LatencyTracker(int capacity, int minimumSamples) {
+        Assert.isTrue(capacity > 0, "Capacity must be positive");
+        this.samples = new long[capacity];
+        this.minimumSamples = Math.max(1, Math.min(minimumSamples, capacity));
+    }
+
+    /**
+     * @param latency in nanos
+     */
+    public synchronized void record(long latency) {
+        samples[nextIndex] = latency;
+        nextIndex = (nextIndex + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+        recordedSinceSnapshot++;
+    }
+
+    /**
+     * Compute latency percentile.
+     *
+     * @param percentile between 0 and 100
+     * @return latency in nanos, negative when not enough latencies recorded
+     */
+    public synchronized long percentile(double percentile) {
+        if (count < minimumSamples) {
+            return -1;
+        }
+        if (snapshot == null || recordedSinceSnapshot >= REFRESH_INTERVAL) {
+            snapshot = Arrays.copyOf(samples, count);
+            Arrays.sort(snapshot);
+            recordedSinceSnapshot = 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * snapshot.length) - 1;
+        return snapshot[Math.max(0, Math.min(index, snapshot.length - 1))];
+    }
+}
@@ -0,0 +1,43 @@
+package com.tiket.tix.common.spring.retrofit.limiter;
+
+import org.springframework.util.Assert;
+
+/**
+ * Additive increase multiplicative decrease limit. Limit grows by one on successful request while the limit is
+ * being utilized, and shrinks by backoff ratio on dropped request.
+ *
+ * @author zakyalvan
+ */
+public class AimdLimit implements LimitAlgorithm {
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double backoffRatio;
+
+    private volatile int limit;
+
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio) {
+        Assert.isTrue(minLimit > 0 && minLimit <= maxLimit, "Minimum limit must be positive and not greater than maximum limit");
+        Assert.isTrue(backoffRatio > 0 && backoffRatio < 1, "Backoff ratio must be between 0 and 1");
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public synchronized void onSample(long rtt, int inFlight, boolean dropped) {
+        if (dropped) {
+            limit = Math.max(minLimit, (int) (limit * backoffRatio));
+        }
+        else if (LimitAlgorithm.isUtilized(inFlight, limit)) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+}
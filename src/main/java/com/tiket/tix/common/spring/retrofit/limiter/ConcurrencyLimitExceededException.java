@@ -0,0 +1,14 @@
+package com.tiket.tix.common.spring.retrofit.limiter;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a request rejected because requests in flight reach concurrency limit.
+ *
+ * @author zakyalvan
+ */
+public class ConcurrencyLimitExceededException extends IOException {
+    public ConcurrencyLimitExceededException(String name, int limit) {
+        super("Concurrency limit of '" + name + "' exceeded, limit is " + limit);
+    }
+}
@@ -0,0 +1,73 @@
+package com.tiket.tix.common.spring.retrofit.limiter;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Interceptor limiting number of requests in flight to the limit adjusted by {@link LimitAlgorithm}. Requests above
+ * the limit are rejected immediately with {@link ConcurrencyLimitExceededException}. Io errors and 429 or 503
+ * responses are sampled as dropped, cancelled requests are not sampled.
+ *
+ * @author zakyalvan
+ */
+public class ConcurrencyLimitInterceptor implements Interceptor {
+    private final String name;
+
+    private final LimitAlgorithm algorithm;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    public ConcurrencyLimitInterceptor(String name, LimitAlgorithm algorithm) {
+        Assert.hasText(name, "Name must be provided");
+        Assert.notNull(algorithm, "Limit algorithm must be provided");
+        this.name = name;
+        this.algorithm = algorithm;
+    }
+
+    public int getLimit() {
+        return algorithm.getLimit();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        int limit = algorithm.getLimit();
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                rejected.incrementAndGet();
+                throw new ConcurrencyLimitExceededException(name, limit);
+            }
+        }
+        while (!inFlight.compareAndSet(current, current + 1));
+
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            Response response = chain.proceed(chain.request());
+            dropped = response.code() == 429 || response.code() == 503;
+            return response;
+        }
+        finally {
+            inFlight.decrementAndGet();
+            if (!chain.call().isCanceled()) {
+                algorithm.onSample(System.nanoTime() - start, current + 1, dropped);
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.tiket.tix.common.spring.retrofit.limiter;
+
+import org.springframework.util.Assert;
+
+/**
+ * Limit adjusted by gradient of long term to short term round trip time, both exponential moving averages. Gradient
+ * below one, i.e. latency rising, shrinks the limit, while queue allowance of square root of the limit lets it grow
+ * when latency is steady. Changes are smoothed to avoid oscillation.
+ *
+ * @author zakyalvan
+ */
+public class Gradient2Limit implements LimitAlgorithm {
+    private static final int LONG_WINDOW = 600;
+
+    private static final int SHORT_WINDOW = 10;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double smoothing;
+
+    private final double rttTolerance;
+
+    private volatile int limit;
+
+    private double estimatedLimit;
+
+    private double longRtt;
+
+    private double shortRtt;
+
+    private int samples;
+
+    /**
+     * @param initialLimit
+     * @param minLimit
+     * @param maxLimit
+     * @param smoothing    weight of new estimate, between 0 and 1
+     * @param rttTolerance ratio of short term to long term round trip time tolerated before the limit shrinks
+     */
+    public Gradient2Limit(int initialLimit, int minLimit, int maxLimit, double smoothing, double rttTolerance) {
+        Assert.isTrue(minLimit > 0 && minLimit <= maxLimit, "Minimum limit must be positive and not greater than maximum limit");
+        Assert.isTrue(smoothing > 0 && smoothing <= 1, "Smoothing must be between 0 and 1");
+        Assert.isTrue(rttTolerance >= 1, "Round trip time tolerance must not be less than 1");
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+        this.limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+        this.estimatedLimit = limit;
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public synchronized void onSample(long rtt, int inFlight, boolean dropped) {
+        // Round trip time of failure, often a fast one, says nothing about latency of the server.
+        if (!dropped) {
+            samples++;
+            shortRtt = average(shortRtt, rtt, Math.min(samples, SHORT_WINDOW));
+            longRtt = average(longRtt, rtt, Math.min(samples, LONG_WINDOW));
+
+            // Long term average drifts towards short term one on sustained latency increase, pull it back faster
+            // so that recovery is not delayed once latency returns to normal.
+            if (longRtt / shortRtt > 2) {
+                longRtt *= 0.95;
+            }
+        }
+
+        if (!LimitAlgorithm.isUtilized(inFlight, estimatedLimit)) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+        double queueSize = Math.sqrt(estimatedLimit);
+        double newLimit = dropped ? estimatedLimit * 0.5 : estimatedLimit * gradient + queueSize;
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    private static double average(double average, long sample, int window) {
+        return window <= 1 ? sample : average + (sample - average) / window;
+    }
+}
@@ -0,0 +1,36 @@
+package com.tiket.tix.common.spring.retrofit.limiter;
+
+/**
+ * Algorithm adjusting concurrency limit based on samples of completed requests.
+ *
+ * @author zakyalvan
+ */
+public interface LimitAlgorithm {
+    /**
+     * Current concurrency limit.
+     *
+     * @return
+     */
+    int getLimit();
+
+    /**
+     * Update the limit based on sample of completed request.
+     *
+     * @param rtt      round trip time of the request, in nanos
+     * @param inFlight number of requests in flight when the request started
+     * @param dropped  whether the request dropped, i.e. failed, timed out or rejected by overloaded server
+     */
+    void onSample(long rtt, int inFlight, boolean dropped);
+
+    /**
+     * Check whether the limit was utilized by sampled request, i.e. at least half of it in flight when the request
+     * started. Latency of request sent under much lower concurrency says nothing about the limit, so must not grow it.
+     *
+     * @param inFlight number of requests in flight when the request started
+     * @param limit
+     * @return
+     */
+    static boolean isUtilized(int inFlight, double limit) {
+        return inFlight * 2 >= limit;
+    }
+}
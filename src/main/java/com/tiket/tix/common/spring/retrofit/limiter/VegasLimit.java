@@ -0,0 +1,68 @@
+package com.tiket.tix.common.spring.retrofit.limiter;
+
+import org.springframework.util.Assert;
+
+/**
+ * Limit based on TCP Vegas, estimating queue size at the server from ratio of no load round trip time, i.e. minimum
+ * observed one, to current round trip time. Limit grows while estimated queue is small and shrinks once it is large.
+ * No load round trip time is reset periodically, so that it follows changes of the server.
+ *
+ * @author zakyalvan
+ */
+public class VegasLimit implements LimitAlgorithm {
+    private static final int PROBE_INTERVAL = 1_000;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private volatile int limit;
+
+    private long rttNoLoad;
+
+    private int samplesSinceProbe;
+
+    public VegasLimit(int initialLimit, int minLimit, int maxLimit) {
+        Assert.isTrue(minLimit > 0 && minLimit <= maxLimit, "Minimum limit must be positive and not greater than maximum limit");
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public synchronized void onSample(long rtt, int inFlight, boolean dropped) {
+        double logLimit = Math.max(1, Math.log10(limit));
+        if (dropped) {
+            // Fast failure is not a measure of no load round trip time, never take it as one.
+            limit = Math.max(minLimit, (int) (limit - logLimit));
+            return;
+        }
+
+        if (++samplesSinceProbe >= PROBE_INTERVAL) {
+            samplesSinceProbe = 0;
+            rttNoLoad = rtt;
+            return;
+        }
+        if (rttNoLoad == 0 || rtt < rttNoLoad) {
+            rttNoLoad = rtt;
+            return;
+        }
+
+        if (!LimitAlgorithm.isUtilized(inFlight, limit)) {
+            return;
+        }
+
+        double queueSize = Math.ceil(limit * (1 - (double) rttNoLoad / rtt));
+        if (queueSize <= 3 * logLimit) {
+            limit = Math.min(maxLimit, (int) (limit + logLimit));
+        }
+        else if (queueSize > 6 * logLimit) {
+            limit = Math.max(minLimit, (int) (limit - logLimit));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.tiket.tix.common.spring.retrofit.loadbalancer;
+
+import okhttp3.HttpUrl;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Base url among which requests are balanced, with statistics observed from its responses.
+ *
+ * @author zakyalvan
+ */
+public final class Endpoint {
+    private final HttpUrl baseUrl;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private volatile long ejectedUntil;
+
+    private volatile boolean ejected;
+
+    /**
+     * Exponentially weighted moving average of latency, in nanos.
+     */
+    private double latencyEwma;
+
+    private long lastLatencyUpdate;
+
+    public Endpoint(HttpUrl baseUrl) {
+        Assert.notNull(baseUrl, "Base url must be provided");
+        this.baseUrl = baseUrl;
+    }
+
+    public HttpUrl getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Number of requests sent to this endpoint which response not received yet.
+     *
+     * @return
+     */
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * Latency moving average, in nanos.
+     *
+     * @return
+     */
+    public synchronized double getLatencyEwma() {
+        return latencyEwma;
+    }
+
+    /**
+     * Check whether endpoint is ejected at the given {@link System#nanoTime()}.
+     *
+     * @param now
+     * @return
+     */
+    public boolean isEjected(long now) {
+        if (ejected && now - ejectedUntil >= 0) {
+            ejected = false;
+        }
+        return ejected;
+    }
+
+    void requestStarted() {
+        outstanding.incrementAndGet();
+    }
+
+    /**
+     * Record completed request.
+     *
+     * @param latency          in nanos
+     * @param failed           whether request failed, i.e. error or server error response
+     * @param failureThreshold number of consecutive failures to eject the endpoint
+     * @param ejectionTime     time to eject the endpoint, in nanos
+     * @param decayTime        decay time constant of latency moving average, in nanos
+     * @return whether the endpoint ejected due to this request
+     */
+    boolean requestCompleted(long latency, boolean failed, int failureThreshold, long ejectionTime, long decayTime) {
+        outstanding.decrementAndGet();
+        updateLatency(latency, decayTime);
+
+        if (!failed) {
+            consecutiveFailures.set(0);
+            return false;
+        }
+        if (consecutiveFailures.incrementAndGet() < failureThreshold) {
+            return false;
+        }
+        consecutiveFailures.set(0);
+        ejectedUntil = System.nanoTime() + ejectionTime;
+        ejected = true;
+        return true;
+    }
+
+    private synchronized void updateLatency(long latency, long decayTime) {
+        long now = System.nanoTime();
+        if (lastLatencyUpdate == 0) {
+            latencyEwma = latency;
+        }
+        else {
+            double weight = Math.exp(-(double) Math.max(now - lastLatencyUpdate, 0) / decayTime);
+            latencyEwma = latencyEwma * weight + latency * (1 - weight);
+        }
+        lastLatencyUpdate = now;
+    }
+
+    @Override
+    public String toString() {
+        return "Endpoint(" + baseUrl + ", outstanding=" + outstanding.get() + ", latencyEwma="
+                + TimeUnit.NANOSECONDS.toMillis((long) getLatencyEwma()) + "ms, ejected=" + ejected + ")";
+    }
+}
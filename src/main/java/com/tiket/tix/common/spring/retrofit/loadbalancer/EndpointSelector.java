@@ -0,0 +1,19 @@
+package com.tiket.tix.common.spring.retrofit.loadbalancer;
+
+import java.util.List;
+
+/**
+ * Strategy of selecting endpoint to send a request to.
+ *
+ * @author zakyalvan
+ */
+@FunctionalInterface
+public interface EndpointSelector {
+    /**
+     * Select one of given healthy endpoints.
+     *
+     * @param endpoints never empty
+     * @return
+     */
+    Endpoint select(List<Endpoint> endpoints);
+}
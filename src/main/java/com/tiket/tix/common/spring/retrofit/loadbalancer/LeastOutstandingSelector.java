@@ -0,0 +1,25 @@
+package com.tiket.tix.common.spring.retrofit.loadbalancer;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Select endpoint with the least outstanding requests, ties broken randomly.
+ *
+ * @author zakyalvan
+ */
+public class LeastOutstandingSelector implements EndpointSelector {
+    @Override
+    public Endpoint select(List<Endpoint> endpoints) {
+        int offset = ThreadLocalRandom.current().nextInt(endpoints.size());
+
+        Endpoint selected = null;
+        for (int i = 0; i < endpoints.size(); i++) {
+            Endpoint candidate = endpoints.get((offset + i) % endpoints.size());
+            if (selected == null || candidate.getOutstanding() < selected.getOutstanding()) {
+                selected = candidate;
+            }
+        }
+        return selected;
+    }
+}
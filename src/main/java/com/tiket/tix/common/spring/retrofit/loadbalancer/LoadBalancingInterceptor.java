@@ -0,0 +1,138 @@
+package com.tiket.tix.common.spring.retrofit.loadbalancer;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interceptor balancing requests among endpoints serving the same api, by rewriting scheme, host, port and base path
+ * of requests targeting the primary base url, i.e. base url of the {@link retrofit2.Retrofit} object. Requests to
+ * other urls, e.g. absolute {@link retrofit2.http.Url}, are sent untouched.
+ * <p>
+ * Endpoint responding with consecutive errors or server error statuses is ejected for a while, unless all endpoints
+ * ejected, in which case requests are spread among all of them.
+ *
+ * @author zakyalvan
+ */
+public class LoadBalancingInterceptor implements Interceptor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadBalancingInterceptor.class);
+
+    private final HttpUrl primaryUrl;
+
+    private final List<Endpoint> endpoints;
+
+    private final EndpointSelector selector;
+
+    private final int failureThreshold;
+
+    private final long ejectionTime;
+
+    private final long decayTime;
+
+    /**
+     * @param primaryUrl       base url of requests to be balanced
+     * @param endpointUrls     base urls among which requests balanced
+     * @param selector
+     * @param failureThreshold number of consecutive failures to eject an endpoint
+     * @param ejectionTime     time to eject an endpoint, in millis
+     * @param decayTime        decay time constant of endpoint latency moving average, in millis
+     */
+    public LoadBalancingInterceptor(HttpUrl primaryUrl, List<HttpUrl> endpointUrls, EndpointSelector selector,
+                                    int failureThreshold, long ejectionTime, long decayTime) {
+        Assert.notNull(primaryUrl, "Primary url must be provided");
+        Assert.notEmpty(endpointUrls, "Endpoint urls must be provided");
+        Assert.notNull(selector, "Endpoint selector must be provided");
+        Assert.isTrue(failureThreshold > 0, "Failure threshold must be positive");
+        Assert.isTrue(decayTime > 0, "Decay time must be positive");
+
+        this.primaryUrl = primaryUrl;
+        List<Endpoint> endpoints = new ArrayList<>(endpointUrls.size());
+        endpointUrls.forEach(endpointUrl -> endpoints.add(new Endpoint(endpointUrl)));
+        this.endpoints = Collections.unmodifiableList(endpoints);
+        this.selector = selector;
+        this.failureThreshold = failureThreshold;
+        this.ejectionTime = TimeUnit.MILLISECONDS.toNanos(ejectionTime);
+        this.decayTime = TimeUnit.MILLISECONDS.toNanos(decayTime);
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        HttpUrl url = request.url();
+        if (!isBalanced(url)) {
+            return chain.proceed(request);
+        }
+
+        Endpoint endpoint = selector.select(healthyEndpoints());
+        Request balanced = request.newBuilder().url(rewrite(url, endpoint.getBaseUrl())).build();
+
+        endpoint.requestStarted();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Response response = chain.proceed(balanced);
+            failed = response.code() >= 500;
+            return response;
+        }
+        finally {
+            if (endpoint.requestCompleted(System.nanoTime() - start, failed, failureThreshold, ejectionTime, decayTime)) {
+                LOGGER.warn("Endpoint {} ejected from load balancing after {} consecutive failures",
+                        endpoint.getBaseUrl(), failureThreshold);
+            }
+        }
+    }
+
+    private boolean isBalanced(HttpUrl url) {
+        return url.port() == primaryUrl.port() && url.host().equals(primaryUrl.host())
+                && url.scheme().equals(primaryUrl.scheme()) && url.encodedPath().startsWith(primaryUrl.encodedPath());
+    }
+
+    private List<Endpoint> healthyEndpoints() {
+        long now = System.nanoTime();
+        List<Endpoint> healthy = null;
+        for (int i = 0; i < endpoints.size(); i++) {
+            Endpoint endpoint = endpoints.get(i);
+            if (endpoint.isEjected(now)) {
+                if (healthy == null) {
+                    healthy = new ArrayList<>(endpoints.subList(0, i));
+                }
+            }
+            else if (healthy != null) {
+                healthy.add(endpoint);
+            }
+        }
+
+        if (healthy == null) {
+            return endpoints;
+        }
+        return healthy.isEmpty() ? endpoints : healthy;
+    }
+
+    private HttpUrl rewrite(HttpUrl url, HttpUrl endpointUrl) {
+        HttpUrl.Builder builder = url.newBuilder()
+                .scheme(endpointUrl.scheme())
+                .host(endpointUrl.host())
+                .port(endpointUrl.port());
+
+        String primaryPath = primaryUrl.encodedPath();
+        String endpointPath = endpointUrl.encodedPath();
+        if (!primaryPath.equals(endpointPath)) {
+            builder.encodedPath(endpointPath + url.encodedPath().substring(primaryPath.length()));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.tiket.tix.common.spring.retrofit.loadbalancer;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Pick two endpoints randomly, then select the one with lower cost, i.e. latency moving average weighted by
+ * outstanding requests. Cheaper than scanning all endpoints, while avoiding herding onto the single best one.
+ *
+ * @author zakyalvan
+ */
+public class PowerOfTwoChoicesSelector implements EndpointSelector {
+    @Override
+    public Endpoint select(List<Endpoint> endpoints) {
+        if (endpoints.size() == 1) {
+            return endpoints.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(endpoints.size());
+        int second = random.nextInt(endpoints.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        Endpoint firstEndpoint = endpoints.get(first);
+        Endpoint secondEndpoint = endpoints.get(second);
+        return cost(firstEndpoint) <= cost(secondEndpoint) ? firstEndpoint : secondEndpoint;
+    }
+
+    private static double cost(Endpoint endpoint) {
+        return endpoint.getLatencyEwma() * (endpoint.getOutstanding() + 1);
+    }
+}
@@ -0,0 +1,18 @@
+package com.tiket.tix.common.spring.retrofit.loadbalancer;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Select endpoints in turn.
+ *
+ * @author zakyalvan
+ */
+public class RoundRobinSelector implements EndpointSelector {
+    private final AtomicInteger counter = new AtomicInteger();
+
+    @Override
+    public Endpoint select(List<Endpoint> endpoints) {
+        return endpoints.get((counter.getAndIncrement() & Integer.MAX_VALUE) % endpoints.size());
+    }
+}
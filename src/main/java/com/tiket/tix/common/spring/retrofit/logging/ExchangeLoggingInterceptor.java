@@ -0,0 +1,177 @@
+package com.tiket.tix.common.spring.retrofit.logging;
+
+import com.tiket.tix.common.spring.retrofit.support.HttpResponses;
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import org.slf4j.Logger;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interceptor logging each sampled http exchange as single structured debug event, i.e. method, url, status, duration,
+ * headers and bodies as {@code key=value} pairs. Logger level is checked before any other work, so that nothing is
+ * allocated when debug disabled. Values of redacted headers are masked, and only text bodies logged, up to the size
+ * cap. Response body is peeked, never consumed, and request body captured only when its length is within the cap.
+ *
+ * @author zakyalvan
+ */
+public class ExchangeLoggingInterceptor implements Interceptor {
+    private static final String REDACTED = "***";
+
+    private final Logger logger;
+
+    private final double sampleRate;
+
+    private final long maxBodySize;
+
+    private final Set<String> redactedHeaders = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    /**
+     * @param logger          logger of exchange events, logged in debug level
+     * @param sampleRate      ratio of exchanges to be logged, between 0 and 1
+     * @param maxBodySize     maximum number of body bytes logged, zero to log no body
+     * @param redactedHeaders names of headers whose values are masked, case insensitive
+     */
+    public ExchangeLoggingInterceptor(Logger logger, double sampleRate, long maxBodySize,
+                                      Collection<String> redactedHeaders) {
+        Assert.notNull(logger, "Logger must be provided");
+        Assert.isTrue(sampleRate >= 0 && sampleRate <= 1, "Sample rate must be between 0 and 1");
+        Assert.isTrue(maxBodySize >= 0, "Maximum body size must not be negative");
+        Assert.notNull(redactedHeaders, "Redacted headers must be provided");
+        this.logger = logger;
+        this.sampleRate = sampleRate;
+        this.maxBodySize = maxBodySize;
+        this.redactedHeaders.addAll(redactedHeaders);
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!logger.isDebugEnabled() || !sampled()) {
+            return chain.proceed(request);
+        }
+
+        long startNanos = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(request);
+        }
+        catch (IOException | RuntimeException e) {
+            StringBuilder event = startEvent(request, startNanos);
+            event.append(" error=\"").append(e).append('"');
+            appendRequest(event, request);
+            logger.debug(event.toString());
+            throw e;
+        }
+
+        StringBuilder event = startEvent(request, startNanos);
+        event.append(" status=").append(response.code());
+        appendRequest(event, request);
+        appendHeaders(event, "response.headers", response.headers());
+        if (maxBodySize > 0 && HttpResponses.hasBody(response)) {
+            appendResponseBody(event, response);
+        }
+        logger.debug(event.toString());
+        return response;
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private static StringBuilder startEvent(Request request, long startNanos) {
+        long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        return new StringBuilder(512)
+                .append("http exchange method=").append(request.method())
+                .append(" url=").append(request.url())
+                .append(" duration=").append(duration).append("ms");
+    }
+
+    private void appendRequest(StringBuilder event, Request request) throws IOException {
+        appendHeaders(event, "request.headers", request.headers());
+        RequestBody body = request.body();
+        if (maxBodySize == 0 || body == null) {
+            return;
+        }
+
+        long contentLength = body.contentLength();
+        if (contentLength < 0 || contentLength > maxBodySize || !isText(body.contentType())
+                || request.header("Content-Encoding") != null) {
+            appendOmittedBody(event, "request.body", contentLength);
+            return;
+        }
+        Buffer buffer = new Buffer();
+        body.writeTo(buffer);
+        appendBody(event, "request.body", buffer, buffer.size(), body.contentType(), false);
+    }
+
+    private void appendResponseBody(StringBuilder event, Response response) throws IOException {
+        ResponseBody body = response.body();
+        String encoding = response.header("Content-Encoding");
+        if (!isText(body.contentType()) || (encoding != null && !"identity".equalsIgnoreCase(encoding))) {
+            appendOmittedBody(event, "response.body", body.contentLength());
+            return;
+        }
+
+        // One more byte than the cap peeked, only to tell whether the body is truncated.
+        ResponseBody peeked = response.peekBody(maxBodySize + 1);
+        boolean truncated = peeked.contentLength() > maxBodySize;
+        appendBody(event, "response.body", peeked.source(), Math.min(peeked.contentLength(), maxBodySize),
+                body.contentType(), truncated);
+    }
+
+    private void appendHeaders(StringBuilder event, String key, Headers headers) {
+        event.append(' ').append(key).append("={");
+        for (int i = 0; i < headers.size(); i++) {
+            if (i > 0) {
+                event.append(", ");
+            }
+            String name = headers.name(i);
+            event.append(name).append(": ").append(redactedHeaders.contains(name) ? REDACTED : headers.value(i));
+        }
+        event.append('}');
+    }
+
+    private static void appendBody(StringBuilder event, String key, BufferedSource source, long byteCount,
+                                   MediaType contentType, boolean truncated) throws IOException {
+        Charset charset = contentType != null ? contentType.charset(StandardCharsets.UTF_8) : StandardCharsets.UTF_8;
+        event.append(' ').append(key).append("=\"").append(source.readString(byteCount, charset));
+        event.append(truncated ? "...\" " + key + ".truncated=true" : "\"");
+    }
+
+    private static void appendOmittedBody(StringBuilder event, String key, long contentLength) {
+        event.append(' ').append(key).append(".omitted=true");
+        if (contentLength >= 0) {
+            event.append(' ').append(key).append(".size=").append(contentLength);
+        }
+    }
+
+    /**
+     * Whether body of given content type is readable text, body of unknown content type is considered as text.
+     *
+     * @param contentType
+     * @return
+     */
+    private static boolean isText(MediaType contentType) {
+        if (contentType == null || "text".equals(contentType.type())) {
+            return true;
+        }
+        String subtype = contentType.subtype();
+        return subtype.contains("json") || subtype.contains("xml") || subtype.equals("x-www-form-urlencoded");
+    }
+}
@@ -0,0 +1,56 @@
+package com.tiket.tix.common.spring.retrofit.metrics;
+
+import com.tiket.tix.common.spring.retrofit.limiter.ConcurrencyLimitInterceptor;
+import com.tiket.tix.common.spring.retrofit.registry.RetrofitRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import okhttp3.OkHttpClient;
+import org.springframework.util.Assert;
+import retrofit2.Retrofit;
+
+/**
+ * {@link MeterBinder} exposing limit, requests in flight and rejected requests of {@link ConcurrencyLimitInterceptor}
+ * used by {@link Retrofit} objects in {@link RetrofitRegistry}.
+ *
+ * @author zakyalvan
+ */
+public class ConcurrencyLimitMetrics implements MeterBinder {
+    public static final String LIMIT_METRIC = "retrofit.client.concurrency.limit";
+    public static final String IN_FLIGHT_METRIC = "retrofit.client.concurrency.in-flight";
+    public static final String REJECTED_METRIC = "retrofit.client.concurrency.rejected";
+
+    private final RetrofitRegistry retrofitRegistry;
+
+    public ConcurrencyLimitMetrics(RetrofitRegistry retrofitRegistry) {
+        Assert.notNull(retrofitRegistry, "Retrofit registry must be provided");
+        this.retrofitRegistry = retrofitRegistry;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        retrofitRegistry.names().forEach(retrofitName -> retrofitRegistry.get(retrofitName)
+                .map(Retrofit::callFactory)
+                .filter(OkHttpClient.class::isInstance)
+                .ifPresent(client -> ((OkHttpClient) client).interceptors().stream()
+                        .filter(ConcurrencyLimitInterceptor.class::isInstance)
+                        .map(ConcurrencyLimitInterceptor.class::cast)
+                        .forEach(limiter -> bindLimiter(meterRegistry, retrofitName, limiter))));
+    }
+
+    private void bindLimiter(MeterRegistry meterRegistry, String retrofitName, ConcurrencyLimitInterceptor limiter) {
+        Gauge.builder(LIMIT_METRIC, limiter, ConcurrencyLimitInterceptor::getLimit)
+                .description("Current concurrency limit")
+                .tag("retrofit", retrofitName)
+                .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_METRIC, limiter, ConcurrencyLimitInterceptor::getInFlight)
+                .description("Number of requests in flight")
+                .tag("retrofit", retrofitName)
+                .register(meterRegistry);
+        FunctionCounter.builder(REJECTED_METRIC, limiter, ConcurrencyLimitInterceptor::getRejected)
+                .description("Number of requests rejected due to concurrency limit")
+                .tag("retrofit", retrofitName)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,83 @@
+package com.tiket.tix.common.spring.retrofit.metrics;
+
+import com.tiket.tix.common.spring.retrofit.registry.RetrofitRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import org.springframework.util.Assert;
+import retrofit2.Retrofit;
+
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link MeterBinder} exposing gauges of OkHttp {@link ConnectionPool} and {@link Dispatcher} used by
+ * {@link Retrofit} objects in {@link RetrofitRegistry}. Pool or dispatcher used by more than one retrofit object,
+ * i.e. belong to shared root client, tagged with {@link #SHARED_CLIENT} retrofit name.
+ *
+ * @author zakyalvan
+ */
+public class HttpClientMetrics implements MeterBinder {
+    public static final String CONNECTIONS_METRIC = "retrofit.client.connections";
+    public static final String CALLS_METRIC = "retrofit.client.calls";
+    public static final String SHARED_CLIENT = "shared";
+
+    private final RetrofitRegistry retrofitRegistry;
+
+    public HttpClientMetrics(RetrofitRegistry retrofitRegistry) {
+        Assert.notNull(retrofitRegistry, "Retrofit registry must be provided");
+        this.retrofitRegistry = retrofitRegistry;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        Map<ConnectionPool, Set<String>> connectionPools = new IdentityHashMap<>();
+        Map<Dispatcher, Set<String>> dispatchers = new IdentityHashMap<>();
+
+        retrofitRegistry.names().forEach(retrofitName -> retrofitRegistry.get(retrofitName)
+                .map(Retrofit::callFactory)
+                .filter(OkHttpClient.class::isInstance)
+                .map(OkHttpClient.class::cast)
+                .ifPresent(client -> {
+                    connectionPools.computeIfAbsent(client.connectionPool(), pool -> new LinkedHashSet<>()).add(retrofitName);
+                    dispatchers.computeIfAbsent(client.dispatcher(), dispatcher -> new LinkedHashSet<>()).add(retrofitName);
+                }));
+
+        connectionPools.forEach((pool, retrofitNames) -> {
+            String retrofitName = tagValue(retrofitNames);
+            Gauge.builder(CONNECTIONS_METRIC, pool, ConnectionPool::idleConnectionCount)
+                    .description("Number of idle connections in the pool")
+                    .tag("retrofit", retrofitName)
+                    .tag("state", "idle")
+                    .register(meterRegistry);
+            Gauge.builder(CONNECTIONS_METRIC, pool, target -> target.connectionCount() - target.idleConnectionCount())
+                    .description("Number of connections in use")
+                    .tag("retrofit", retrofitName)
+                    .tag("state", "active")
+                    .register(meterRegistry);
+        });
+
+        dispatchers.forEach((dispatcher, retrofitNames) -> {
+            String retrofitName = tagValue(retrofitNames);
+            Gauge.builder(CALLS_METRIC, dispatcher, Dispatcher::queuedCallsCount)
+                    .description("Number of asynchronous calls waiting to be executed")
+                    .tag("retrofit", retrofitName)
+                    .tag("state", "queued")
+                    .register(meterRegistry);
+            Gauge.builder(CALLS_METRIC, dispatcher, Dispatcher::runningCallsCount)
+                    .description("Number of calls currently executing")
+                    .tag("retrofit", retrofitName)
+                    .tag("state", "running")
+                    .register(meterRegistry);
+        });
+    }
+
+    private String tagValue(Set<String> retrofitNames) {
+        return retrofitNames.size() > 1 ? SHARED_CLIENT : retrofitNames.iterator().next();
+    }
+}
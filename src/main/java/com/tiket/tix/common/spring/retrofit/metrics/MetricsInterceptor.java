@@ -0,0 +1,134 @@
+package com.tiket.tix.common.spring.retrofit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.springframework.util.Assert;
+import retrofit2.Invocation;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * OkHttp {@link Interceptor} recording latency of http calls into {@link #REQUESTS_METRIC} timer, tagged by
+ * retrofit name, service interface, service method, http status and exception. Service method is resolved from
+ * {@link Invocation} tag of the request, meters are resolved once and cached for each method so that recording
+ * does not build any tag on each call.
+ *
+ * @author zakyalvan
+ */
+public class MetricsInterceptor implements Interceptor {
+    public static final String REQUESTS_METRIC = "retrofit.client.requests";
+
+    static final String NONE = "None";
+    static final String CLIENT_ERROR = "CLIENT_ERROR";
+
+    private static final int MAX_STATUS = 600;
+
+    private final MeterRegistry meterRegistry;
+
+    private final String retrofitName;
+
+    private final Map<Method, MethodMeters> methodMeters = new ConcurrentHashMap<>();
+
+    /**
+     * Meters of request not created by retrofit service, i.e. without {@link Invocation} tag.
+     */
+    private final MethodMeters unknownMeters;
+
+    public MetricsInterceptor(MeterRegistry meterRegistry, String retrofitName) {
+        Assert.notNull(meterRegistry, "Meter registry must be provided");
+        Assert.hasText(retrofitName, "Retrofit name must be provided");
+        this.meterRegistry = meterRegistry;
+        this.retrofitName = retrofitName;
+        this.unknownMeters = new MethodMeters(Tags.of("retrofit", retrofitName, "service", NONE, "method", NONE));
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        MethodMeters meters = metersOf(request);
+
+        long startTime = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(request);
+        }
+        catch (IOException | RuntimeException e) {
+            meters.exceptionTimer(e).record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        meters.statusTimer(response.code()).record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        return response;
+    }
+
+    private MethodMeters metersOf(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation == null) {
+            return unknownMeters;
+        }
+
+        MethodMeters meters = methodMeters.get(invocation.method());
+        if (meters == null) {
+            meters = methodMeters.computeIfAbsent(invocation.method(), method -> new MethodMeters(Tags.of("retrofit", retrofitName,
+                    "service", method.getDeclaringClass().getSimpleName(), "method", method.getName())));
+        }
+        return meters;
+    }
+
+    /**
+     * Timers of a service method, created lazily for each status code or exception type.
+     */
+    private class MethodMeters {
+        private final Tags methodTags;
+
+        private final AtomicReferenceArray<Timer> statusTimers = new AtomicReferenceArray<>(MAX_STATUS);
+
+        private final Map<Integer, Timer> otherStatusTimers = new ConcurrentHashMap<>();
+
+        private final Map<Class<?>, Timer> exceptionTimers = new ConcurrentHashMap<>();
+
+        MethodMeters(Tags methodTags) {
+            this.methodTags = methodTags;
+        }
+
+        Timer statusTimer(int status) {
+            if (status < 0 || status >= MAX_STATUS) {
+                return otherStatusTimers.computeIfAbsent(status, code -> createTimer(String.valueOf(code), NONE));
+            }
+
+            Timer timer = statusTimers.get(status);
+            if (timer == null) {
+                // Racing threads register the same meter, registry returns the existing one.
+                timer = createTimer(String.valueOf(status), NONE);
+                statusTimers.set(status, timer);
+            }
+            return timer;
+        }
+
+        Timer exceptionTimer(Exception exception) {
+            Timer timer = exceptionTimers.get(exception.getClass());
+            if (timer == null) {
+                timer = exceptionTimers.computeIfAbsent(exception.getClass(),
+                        type -> createTimer(CLIENT_ERROR, type.getSimpleName()));
+            }
+            return timer;
+        }
+
+        private Timer createTimer(String status, String exception) {
+            return Timer.builder(REQUESTS_METRIC)
+                    .description("Latency of http requests sent by retrofit services")
+                    .tags(methodTags)
+                    .tag("status", status)
+                    .tag("exception", exception)
+                    .register(meterRegistry);
+        }
+    }
+}
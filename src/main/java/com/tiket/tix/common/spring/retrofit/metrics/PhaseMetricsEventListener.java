@@ -0,0 +1,170 @@
+package com.tiket.tix.common.spring.retrofit.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.springframework.util.Assert;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OkHttp {@link EventListener} recording duration of each phase of http call into {@link #PHASES_METRIC} histogram,
+ * i.e. {@code dns} lookup, tcp {@code connect}, {@code tls} handshake, time to first byte ({@code ttfb}, from request
+ * sent until response headers start) and response {@code body} transfer. Also count acquired connections into
+ * {@link #ACQUIRED_CONNECTIONS_METRIC}, tagged whether the connection {@code reused} from the pool or newly connected.
+ * All meters are resolved once by {@link Factory}, listener itself only holds timestamps of a call.
+ *
+ * @author zakyalvan
+ */
+public class PhaseMetricsEventListener extends EventListener {
+    public static final String PHASES_METRIC = "retrofit.client.phases";
+    public static final String ACQUIRED_CONNECTIONS_METRIC = "retrofit.client.connections.acquired";
+
+    private final Factory factory;
+
+    private long dnsStart;
+    private long connectStart;
+    private long secureConnectStart;
+    private long requestSent;
+    private long responseBodyStart;
+
+    /**
+     * Whether new connection being established for current connection acquisition.
+     */
+    private boolean connecting;
+
+    PhaseMetricsEventListener(Factory factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        record(factory.dnsTimer, dnsStart);
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connecting = true;
+        connectStart = System.nanoTime();
+        secureConnectStart = 0;
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        secureConnectStart = System.nanoTime();
+        record(factory.connectTimer, connectStart);
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        record(factory.tlsTimer, secureConnectStart);
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        if (secureConnectStart == 0) {
+            record(factory.connectTimer, connectStart);
+        }
+    }
+
+    @Override
+    public void connectionAcquired(Call call, Connection connection) {
+        (connecting ? factory.newConnections : factory.reusedConnections).increment();
+        connecting = false;
+    }
+
+    @Override
+    public void requestHeadersEnd(Call call, Request request) {
+        requestSent = System.nanoTime();
+    }
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount) {
+        requestSent = System.nanoTime();
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        record(factory.ttfbTimer, requestSent);
+    }
+
+    @Override
+    public void responseBodyStart(Call call) {
+        responseBodyStart = System.nanoTime();
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        record(factory.bodyTimer, responseBodyStart);
+    }
+
+    private static void record(Timer timer, long startTime) {
+        if (startTime != 0) {
+            timer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Factory of {@link PhaseMetricsEventListener}, creating new listener for each call.
+     */
+    public static class Factory implements EventListener.Factory {
+        private final Timer dnsTimer;
+        private final Timer connectTimer;
+        private final Timer tlsTimer;
+        private final Timer ttfbTimer;
+        private final Timer bodyTimer;
+        private final Counter newConnections;
+        private final Counter reusedConnections;
+
+        public Factory(MeterRegistry meterRegistry, String retrofitName) {
+            Assert.notNull(meterRegistry, "Meter registry must be provided");
+            Assert.hasText(retrofitName, "Retrofit name must be provided");
+
+            this.dnsTimer = phaseTimer(meterRegistry, retrofitName, "dns");
+            this.connectTimer = phaseTimer(meterRegistry, retrofitName, "connect");
+            this.tlsTimer = phaseTimer(meterRegistry, retrofitName, "tls");
+            this.ttfbTimer = phaseTimer(meterRegistry, retrofitName, "ttfb");
+            this.bodyTimer = phaseTimer(meterRegistry, retrofitName, "body");
+            this.newConnections = acquiredCounter(meterRegistry, retrofitName, false);
+            this.reusedConnections = acquiredCounter(meterRegistry, retrofitName, true);
+        }
+
+        @Override
+        public EventListener create(Call call) {
+            return new PhaseMetricsEventListener(this);
+        }
+
+        private static Timer phaseTimer(MeterRegistry meterRegistry, String retrofitName, String phase) {
+            return Timer.builder(PHASES_METRIC)
+                    .description("Duration of http call phases")
+                    .tag("retrofit", retrofitName)
+                    .tag("phase", phase)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+
+        private static Counter acquiredCounter(MeterRegistry meterRegistry, String retrofitName, boolean reused) {
+            return Counter.builder(ACQUIRED_CONNECTIONS_METRIC)
+                    .description("Number of connections acquired by http calls")
+                    .tag("retrofit", retrofitName)
+                    .tag("reused", String.valueOf(reused))
+                    .register(meterRegistry);
+        }
+    }
+}
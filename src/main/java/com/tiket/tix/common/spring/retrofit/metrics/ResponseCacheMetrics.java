@@ -0,0 +1,72 @@
+package com.tiket.tix.common.spring.retrofit.metrics;
+
+import com.tiket.tix.common.spring.retrofit.cache.CachingCallAdapterFactory;
+import com.tiket.tix.common.spring.retrofit.cache.ResponseCache;
+import com.tiket.tix.common.spring.retrofit.registry.RetrofitRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
+import org.springframework.util.Assert;
+import retrofit2.Retrofit;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * {@link MeterBinder} exposing hit and miss counts of in memory {@link ResponseCache} and OkHttp disk {@link Cache}
+ * used by {@link Retrofit} objects in {@link RetrofitRegistry}.
+ *
+ * @author zakyalvan
+ */
+public class ResponseCacheMetrics implements MeterBinder {
+    public static final String CACHE_REQUESTS_METRIC = "retrofit.client.cache.requests";
+    public static final String CACHE_SIZE_METRIC = "retrofit.client.cache.size";
+    public static final String DISK_CACHE_REQUESTS_METRIC = "retrofit.client.disk-cache.requests";
+
+    private final RetrofitRegistry retrofitRegistry;
+
+    public ResponseCacheMetrics(RetrofitRegistry retrofitRegistry) {
+        Assert.notNull(retrofitRegistry, "Retrofit registry must be provided");
+        this.retrofitRegistry = retrofitRegistry;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        retrofitRegistry.names().forEach(retrofitName -> retrofitRegistry.get(retrofitName).ifPresent(retrofit -> {
+            retrofit.callAdapterFactories().stream()
+                    .filter(CachingCallAdapterFactory.class::isInstance)
+                    .map(factory -> ((CachingCallAdapterFactory) factory).getResponseCache())
+                    .forEach(responseCache -> bindResponseCache(meterRegistry, retrofitName, responseCache));
+
+            if (retrofit.callFactory() instanceof OkHttpClient && ((OkHttpClient) retrofit.callFactory()).cache() != null) {
+                bindDiskCache(meterRegistry, retrofitName, ((OkHttpClient) retrofit.callFactory()).cache());
+            }
+        }));
+    }
+
+    private void bindResponseCache(MeterRegistry meterRegistry, String retrofitName, ResponseCache responseCache) {
+        cacheCounter(meterRegistry, CACHE_REQUESTS_METRIC, retrofitName, "hit", responseCache, ResponseCache::hitCount);
+        cacheCounter(meterRegistry, CACHE_REQUESTS_METRIC, retrofitName, "stale", responseCache, ResponseCache::staleHitCount);
+        cacheCounter(meterRegistry, CACHE_REQUESTS_METRIC, retrofitName, "miss", responseCache, ResponseCache::missCount);
+        Gauge.builder(CACHE_SIZE_METRIC, responseCache, ResponseCache::size)
+                .description("Number of cached responses")
+                .tag("retrofit", retrofitName)
+                .register(meterRegistry);
+    }
+
+    private void bindDiskCache(MeterRegistry meterRegistry, String retrofitName, Cache diskCache) {
+        cacheCounter(meterRegistry, DISK_CACHE_REQUESTS_METRIC, retrofitName, "hit", diskCache, Cache::hitCount);
+        cacheCounter(meterRegistry, DISK_CACHE_REQUESTS_METRIC, retrofitName, "network", diskCache, Cache::networkCount);
+    }
+
+    private <T> void cacheCounter(MeterRegistry meterRegistry, String name, String retrofitName, String result,
+                                  T cache, ToDoubleFunction<T> count) {
+        FunctionCounter.builder(name, cache, count)
+                .description("Number of requests looked up in the cache")
+                .tag("retrofit", retrofitName)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
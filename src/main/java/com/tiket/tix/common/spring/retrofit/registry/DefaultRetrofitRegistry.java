@@ -3,8 +3,10 @@ package com.tiket.tix.common.spring.retrofit.registry;
 import org.springframework.validation.annotation.Validated;
 import retrofit2.Retrofit;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -35,4 +37,9 @@ public class DefaultRetrofitRegistry implements MutableRetrofitRegistry {
     public Optional<Retrofit> get(String name) {
         return Optional.ofNullable(instances.get(name));
     }
+
+    @Override
+    public Set<String> names() {
+        return Collections.unmodifiableSet(instances.keySet());
+    }
 }
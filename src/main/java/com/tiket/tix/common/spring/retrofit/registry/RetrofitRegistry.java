@@ -3,7 +3,9 @@ package com.tiket.tix.common.spring.retrofit.registry;
 import org.hibernate.validator.constraints.NotBlank;
 import retrofit2.Retrofit;
 
+import java.util.Collections;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Contract for type responsible for maintaining {@link Retrofit} object.
@@ -28,4 +30,14 @@ public interface RetrofitRegistry {
      * @return
      */
     Optional<Retrofit> get(@NotBlank String name);
+
+    /**
+     * Retrieve names of all {@link Retrofit} instances in this registry. Default to empty set, for registry not able
+     * to enumerate its instances, so that those are not covered by features iterating the registry, e.g. metrics.
+     *
+     * @return
+     */
+    default Set<String> names() {
+        return Collections.emptySet();
+    }
 }
@@ -0,0 +1,38 @@
+package com.tiket.tix.common.spring.retrofit.resilience;
+
+import org.springframework.util.Assert;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Semaphore based bulkhead, limiting number of concurrent calls without waiting for a free slot.
+ *
+ * @author zakyalvan
+ */
+public class Bulkhead {
+    private final int maxConcurrentCalls;
+
+    private final Semaphore semaphore;
+
+    public Bulkhead(int maxConcurrentCalls) {
+        Assert.isTrue(maxConcurrentCalls > 0, "Maximum concurrent calls must be positive");
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.semaphore = new Semaphore(maxConcurrentCalls);
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public int getAvailableConcurrentCalls() {
+        return semaphore.availablePermits();
+    }
+
+    public boolean tryAcquirePermission() {
+        return semaphore.tryAcquire();
+    }
+
+    public void releasePermission() {
+        semaphore.release();
+    }
+}
@@ -0,0 +1,14 @@
+package com.tiket.tix.common.spring.retrofit.resilience;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a call rejected because its bulkhead has no free slot.
+ *
+ * @author zakyalvan
+ */
+public class BulkheadFullException extends IOException {
+    public BulkheadFullException(String name, int maxConcurrentCalls) {
+        super("Bulkhead of '" + name + "' is full, maximum " + maxConcurrentCalls + " concurrent calls");
+    }
+}
@@ -0,0 +1,14 @@
+package com.tiket.tix.common.spring.retrofit.resilience;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a call rejected because its circuit breaker is open.
+ *
+ * @author zakyalvan
+ */
+public class CallNotPermittedException extends IOException {
+    public CallNotPermittedException(String name) {
+        super("Circuit breaker of '" + name + "' is open, call not permitted");
+    }
+}
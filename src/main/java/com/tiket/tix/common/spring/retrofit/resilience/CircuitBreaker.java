@@ -0,0 +1,156 @@
+package com.tiket.tix.common.spring.retrofit.resilience;
+
+import org.springframework.util.Assert;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Count based circuit breaker. Outcomes of latest calls are recorded in a sliding window while closed, the circuit
+ * opens once failure or slow call rate reaches its threshold. After waiting in open state, limited number of probing
+ * calls are permitted in half open state, of which outcomes decide whether to close or reopen the circuit.
+ *
+ * @author zakyalvan
+ */
+public class CircuitBreaker {
+    private static final byte FAILED = 1;
+
+    private static final byte SLOW = 2;
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int minimumNumberOfCalls;
+
+    private final float failureRateThreshold;
+
+    private final float slowCallRateThreshold;
+
+    private final long slowCallDuration;
+
+    private final long waitDurationInOpenState;
+
+    private final int permittedCallsInHalfOpenState;
+
+    /**
+     * Ring buffer of recorded outcomes, combination of {@link #FAILED} and {@link #SLOW} flags.
+     */
+    private final byte[] outcomes;
+
+    private State state = State.CLOSED;
+
+    private int nextIndex;
+
+    private int recordedCalls;
+
+    private int failedCalls;
+
+    private int slowCalls;
+
+    private long openedAt;
+
+    private int permittedProbes;
+
+    public CircuitBreaker(ResilienceSettings settings) {
+        Assert.notNull(settings, "Resilience settings must be provided");
+        Assert.isTrue(settings.getSlidingWindowSize() > 0, "Sliding window size must be positive");
+        Assert.isTrue(settings.getPermittedCallsInHalfOpenState() > 0, "Permitted calls in half open state must be positive");
+
+        this.minimumNumberOfCalls = Math.max(1, Math.min(settings.getMinimumNumberOfCalls(), settings.getSlidingWindowSize()));
+        this.failureRateThreshold = settings.getFailureRateThreshold();
+        this.slowCallRateThreshold = settings.getSlowCallRateThreshold();
+        this.slowCallDuration = TimeUnit.MILLISECONDS.toNanos(settings.getSlowCallDuration());
+        this.waitDurationInOpenState = TimeUnit.MILLISECONDS.toNanos(settings.getWaitDurationInOpenState());
+        this.permittedCallsInHalfOpenState = settings.getPermittedCallsInHalfOpenState();
+        this.outcomes = new byte[Math.max(settings.getSlidingWindowSize(), permittedCallsInHalfOpenState)];
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Try to obtain permission to execute a call. Transition to half open state once wait duration elapsed.
+     *
+     * @return
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < waitDurationInOpenState) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (permittedProbes < permittedCallsInHalfOpenState) {
+            permittedProbes++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Release permission acquired by call which outcome not recorded, e.g. cancelled call.
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && permittedProbes > 0) {
+            permittedProbes--;
+        }
+    }
+
+    /**
+     * Record outcome of permitted call.
+     *
+     * @param duration in nanos
+     * @param failed
+     */
+    public synchronized void onResult(long duration, boolean failed) {
+        if (state == State.OPEN) {
+            // Call permitted before the circuit opened.
+            return;
+        }
+
+        byte outcome = (byte) ((failed ? FAILED : 0) | (duration >= slowCallDuration ? SLOW : 0));
+        int capacity = state == State.CLOSED ? outcomes.length : permittedCallsInHalfOpenState;
+        if (recordedCalls == capacity) {
+            byte evicted = outcomes[nextIndex];
+            failedCalls -= evicted & FAILED;
+            slowCalls -= (evicted & SLOW) >> 1;
+        }
+        else {
+            recordedCalls++;
+        }
+        outcomes[nextIndex] = outcome;
+        nextIndex = (nextIndex + 1) % capacity;
+        failedCalls += outcome & FAILED;
+        slowCalls += (outcome & SLOW) >> 1;
+
+        if (state == State.CLOSED) {
+            if (recordedCalls >= minimumNumberOfCalls && isThresholdExceeded()) {
+                transitionTo(State.OPEN);
+            }
+        }
+        else if (recordedCalls >= permittedCallsInHalfOpenState) {
+            transitionTo(isThresholdExceeded() ? State.OPEN : State.CLOSED);
+        }
+    }
+
+    private boolean isThresholdExceeded() {
+        return failedCalls * 100f / recordedCalls >= failureRateThreshold
+                || slowCalls * 100f / recordedCalls >= slowCallRateThreshold;
+    }
+
+    private void transitionTo(State newState) {
+        state = newState;
+        nextIndex = 0;
+        recordedCalls = 0;
+        failedCalls = 0;
+        slowCalls = 0;
+        permittedProbes = 0;
+        if (newState == State.OPEN) {
+            openedAt = System.nanoTime();
+        }
+    }
+}
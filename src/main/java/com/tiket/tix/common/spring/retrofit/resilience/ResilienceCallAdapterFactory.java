@@ -0,0 +1,99 @@
+package com.tiket.tix.common.spring.retrofit.resilience;
+
+import com.tiket.tix.common.spring.retrofit.annotation.Resilience;
+import com.tiket.tix.common.spring.retrofit.support.MethodAnnotations;
+import org.springframework.util.Assert;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Retrofit;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * {@link CallAdapter.Factory} guarding calls with {@link CircuitBreaker} and {@link Bulkhead}, applied on
+ * {@link Call} level before being adapted by next call adapter, so that it works for any return type. When enabled
+ * by default, all methods share one guard. Methods annotated with {@link Resilience} have their own guard.
+ *
+ * @author zakyalvan
+ */
+public class ResilienceCallAdapterFactory extends CallAdapter.Factory {
+    private final String name;
+
+    private final ResilienceSettings settings;
+
+    private final ResilienceGuard sharedGuard;
+
+    /**
+     * @param name             name of guarded retrofit object, used in rejection messages
+     * @param settings
+     * @param enabledByDefault whether to guard methods not annotated with {@link Resilience}
+     */
+    public ResilienceCallAdapterFactory(String name, ResilienceSettings settings, boolean enabledByDefault) {
+        Assert.hasText(name, "Name must be provided");
+        Assert.notNull(settings, "Resilience settings must be provided");
+        this.name = name;
+        this.settings = settings;
+        this.sharedGuard = enabledByDefault ? new ResilienceGuard(name, settings) : null;
+    }
+
+    /**
+     * Retrieve circuit breaker shared by methods not annotated with {@link Resilience}.
+     *
+     * @return null when not enabled by default
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return sharedGuard != null ? sharedGuard.getCircuitBreaker() : null;
+    }
+
+    /**
+     * Retrieve bulkhead shared by methods not annotated with {@link Resilience}.
+     *
+     * @return null when not enabled by default
+     */
+    public Bulkhead getBulkhead() {
+        return sharedGuard != null ? sharedGuard.getBulkhead() : null;
+    }
+
+    @Override
+    public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations, Retrofit retrofit) {
+        CallAdapter<?, ?> delegate = retrofit.nextCallAdapter(this, returnType, annotations);
+
+        Resilience resilience = MethodAnnotations.find(annotations, Resilience.class);
+        ResilienceGuard guard;
+        if (resilience == null) {
+            guard = sharedGuard;
+        }
+        else {
+            // Rejected here, so that retrofit reports the method, instead of failing on bulkhead creation.
+            if (resilience.maxConcurrentCalls() == 0) {
+                throw new IllegalArgumentException("@Resilience maxConcurrentCalls must be positive, " +
+                        "or negative to use setting of the retrofit object");
+            }
+            guard = resilience.value() ? new ResilienceGuard(name, settings.override(resilience)) : null;
+        }
+        return guard != null ? new ResilienceCallAdapter<>(delegate, guard) : delegate;
+    }
+
+    private static final class ResilienceCallAdapter<R, T> implements CallAdapter<R, T> {
+        private final CallAdapter<R, T> delegate;
+
+        private final ResilienceGuard guard;
+
+        @SuppressWarnings("unchecked")
+        ResilienceCallAdapter(CallAdapter<?, ?> delegate, ResilienceGuard guard) {
+            this.delegate = (CallAdapter<R, T>) delegate;
+            this.guard = guard;
+        }
+
+        @Override
+        public Type responseType() {
+            return delegate.responseType();
+        }
+
+        @Override
+        public T adapt(Call<R> call) {
+            return delegate.adapt(new ResilientCall<>(call, guard));
+        }
+    }
+}
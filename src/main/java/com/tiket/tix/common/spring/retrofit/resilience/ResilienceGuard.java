@@ -0,0 +1,56 @@
+package com.tiket.tix.common.spring.retrofit.resilience;
+
+import java.io.IOException;
+
+/**
+ * Pair of {@link CircuitBreaker} and {@link Bulkhead} guarding calls.
+ *
+ * @author zakyalvan
+ */
+final class ResilienceGuard {
+    private final String name;
+
+    private final CircuitBreaker circuitBreaker;
+
+    private final Bulkhead bulkhead;
+
+    ResilienceGuard(String name, ResilienceSettings settings) {
+        this.name = name;
+        this.circuitBreaker = new CircuitBreaker(settings);
+        this.bulkhead = new Bulkhead(settings.getMaxConcurrentCalls());
+    }
+
+    CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    /**
+     * Acquire permission of both circuit breaker and bulkhead, to be released by {@link #onResult(long, boolean)}
+     * or {@link #onCancel()}.
+     *
+     * @throws IOException when call not permitted
+     */
+    void acquire() throws IOException {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw new CallNotPermittedException(name);
+        }
+        if (!bulkhead.tryAcquirePermission()) {
+            circuitBreaker.releasePermission();
+            throw new BulkheadFullException(name, bulkhead.getMaxConcurrentCalls());
+        }
+    }
+
+    void onResult(long duration, boolean failed) {
+        bulkhead.releasePermission();
+        circuitBreaker.onResult(duration, failed);
+    }
+
+    void onCancel() {
+        bulkhead.releasePermission();
+        circuitBreaker.releasePermission();
+    }
+}
@@ -0,0 +1,73 @@
+package com.tiket.tix.common.spring.retrofit.resilience;
+
+import com.tiket.tix.common.spring.retrofit.annotation.Resilience;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * Settings of {@link CircuitBreaker} and {@link Bulkhead} guarding retrofit calls.
+ *
+ * @author zakyalvan
+ */
+@Data
+public class ResilienceSettings implements Serializable {
+    /**
+     * Number of latest calls of which outcomes are recorded while the circuit is closed.
+     */
+    private int slidingWindowSize = 100;
+
+    /**
+     * Minimum number of recorded calls before failure and slow call rates are evaluated.
+     */
+    private int minimumNumberOfCalls = 20;
+
+    /**
+     * Percentage of failed calls, i.e. io errors and server error responses, to open the circuit.
+     */
+    private float failureRateThreshold = 50;
+
+    /**
+     * Percentage of slow calls to open the circuit.
+     */
+    private float slowCallRateThreshold = 100;
+
+    /**
+     * Duration above which a call considered slow, in millis.
+     */
+    private long slowCallDuration = 60_000;
+
+    /**
+     * Time to keep the circuit open before probing, in millis.
+     */
+    private long waitDurationInOpenState = 60_000;
+
+    /**
+     * Number of probing calls permitted while the circuit is half open.
+     */
+    private int permittedCallsInHalfOpenState = 10;
+
+    /**
+     * Maximum number of concurrent calls.
+     */
+    private int maxConcurrentCalls = 25;
+
+    /**
+     * Create copy of these settings, overridden by non negative values of given annotation.
+     *
+     * @param resilience
+     * @return
+     */
+    public ResilienceSettings override(Resilience resilience) {
+        ResilienceSettings settings = new ResilienceSettings();
+        settings.setSlidingWindowSize(slidingWindowSize);
+        settings.setMinimumNumberOfCalls(minimumNumberOfCalls);
+        settings.setPermittedCallsInHalfOpenState(permittedCallsInHalfOpenState);
+        settings.setFailureRateThreshold(resilience.failureRateThreshold() >= 0 ? resilience.failureRateThreshold() : failureRateThreshold);
+        settings.setSlowCallRateThreshold(resilience.slowCallRateThreshold() >= 0 ? resilience.slowCallRateThreshold() : slowCallRateThreshold);
+        settings.setSlowCallDuration(resilience.slowCallDuration() >= 0 ? resilience.slowCallDuration() : slowCallDuration);
+        settings.setWaitDurationInOpenState(resilience.waitDurationInOpenState() >= 0 ? resilience.waitDurationInOpenState() : waitDurationInOpenState);
+        settings.setMaxConcurrentCalls(resilience.maxConcurrentCalls() >= 0 ? resilience.maxConcurrentCalls() : maxConcurrentCalls);
+        return settings;
+    }
+}
@@ -0,0 +1,94 @@
+package com.tiket.tix.common.spring.retrofit.resilience;
+
+import com.tiket.tix.common.spring.retrofit.support.ForwardingCall;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+
+/**
+ * {@link Call} guarded by {@link ResilienceGuard}. Rejected call fails before delegate call executed, so that no
+ * request sent. Raw okhttp call is not created either, unless the request already resolved by outer call, e.g.
+ * coalescing or caching call keying the invocation. Io errors and server error responses recorded as failures,
+ * cancelled calls are not recorded.
+ *
+ * @param <T>
+ * @author zakyalvan
+ */
+final class ResilientCall<T> extends ForwardingCall<T> {
+    private final ResilienceGuard guard;
+
+    ResilientCall(Call<T> delegate, ResilienceGuard guard) {
+        super(delegate);
+        this.guard = guard;
+    }
+
+    @Override
+    public Response<T> execute() throws IOException {
+        if (isExecuted()) {
+            throw new IllegalStateException("Already executed.");
+        }
+
+        guard.acquire();
+        long start = System.nanoTime();
+        Response<T> response = null;
+        try {
+            response = delegate().execute();
+            return response;
+        }
+        finally {
+            complete(start, response);
+        }
+    }
+
+    @Override
+    public void enqueue(Callback<T> callback) {
+        if (isExecuted()) {
+            throw new IllegalStateException("Already executed.");
+        }
+
+        try {
+            guard.acquire();
+        }
+        catch (IOException e) {
+            callback.onFailure(this, e);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            delegate().enqueue(new Callback<T>() {
+                @Override
+                public void onResponse(Call<T> call, Response<T> response) {
+                    complete(start, response);
+                    callback.onResponse(ResilientCall.this, response);
+                }
+
+                @Override
+                public void onFailure(Call<T> call, Throwable t) {
+                    complete(start, null);
+                    callback.onFailure(ResilientCall.this, t);
+                }
+            });
+        }
+        catch (RuntimeException e) {
+            guard.onCancel();
+            throw e;
+        }
+    }
+
+    private void complete(long start, Response<T> response) {
+        if (response == null && isCanceled()) {
+            guard.onCancel();
+        }
+        else {
+            guard.onResult(System.nanoTime() - start, response == null || response.code() >= 500);
+        }
+    }
+
+    @Override
+    public Call<T> clone() {
+        return new ResilientCall<>(delegate().clone(), guard);
+    }
+}
@@ -0,0 +1,69 @@
+package com.tiket.tix.common.spring.retrofit.retry;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link Call} completed with given response, used to emit response of the last attempt through the call adapter.
+ *
+ * @param <T>
+ * @author zakyalvan
+ */
+final class CompletedCall<T> implements Call<T> {
+    private final Response<T> response;
+
+    private final AtomicBoolean executed = new AtomicBoolean();
+
+    private volatile boolean canceled;
+
+    CompletedCall(Response<T> response) {
+        this.response = response;
+    }
+
+    @Override
+    public Response<T> execute() {
+        markExecuted();
+        return response;
+    }
+
+    @Override
+    public void enqueue(Callback<T> callback) {
+        markExecuted();
+        callback.onResponse(this, response);
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return executed.get();
+    }
+
+    @Override
+    public void cancel() {
+        canceled = true;
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return canceled;
+    }
+
+    @Override
+    public Call<T> clone() {
+        return new CompletedCall<>(response);
+    }
+
+    @Override
+    public Request request() {
+        return response.raw().request();
+    }
+
+    private void markExecuted() {
+        if (!executed.compareAndSet(false, true)) {
+            throw new IllegalStateException("Already executed.");
+        }
+    }
+}
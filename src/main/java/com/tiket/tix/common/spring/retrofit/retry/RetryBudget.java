@@ -0,0 +1,54 @@
+package com.tiket.tix.common.spring.retrofit.retry;
+
+import org.springframework.util.Assert;
+
+/**
+ * Token bucket capping retries to a percentage of requests, so that retries can not amplify an outage into a retry
+ * storm. Each request deposits a fraction of token, each retry withdraws one token. The bucket starts full, allowing
+ * a burst of retries before traffic observed.
+ *
+ * @author zakyalvan
+ */
+public class RetryBudget {
+    private final double depositPerRequest;
+
+    private final double maxTokens;
+
+    private double tokens;
+
+    /**
+     * @param percent percentage of requests which can be retried
+     * @param burst   maximum number of retries accumulated in the bucket
+     */
+    public RetryBudget(double percent, int burst) {
+        Assert.isTrue(percent >= 0, "Retry budget percentage must not be negative");
+        Assert.isTrue(burst > 0, "Retry budget burst must be positive");
+        this.depositPerRequest = percent / 100;
+        this.maxTokens = burst;
+        this.tokens = burst;
+    }
+
+    /**
+     * Record a request, i.e. first attempt of a call.
+     */
+    public synchronized void onRequest() {
+        tokens = Math.min(maxTokens, tokens + depositPerRequest);
+    }
+
+    /**
+     * Try to withdraw a token for a retry.
+     *
+     * @return whether retry allowed
+     */
+    public synchronized boolean tryAcquireRetry() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    public synchronized double getAvailableRetries() {
+        return tokens;
+    }
+}
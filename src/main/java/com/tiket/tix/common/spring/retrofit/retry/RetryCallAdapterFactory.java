@@ -0,0 +1,215 @@
+package com.tiket.tix.common.spring.retrofit.retry;
+
+import com.tiket.tix.common.spring.retrofit.annotation.Retry;
+import com.tiket.tix.common.spring.retrofit.support.MethodAnnotations;
+import io.reactivex.BackpressureStrategy;
+import io.reactivex.Completable;
+import io.reactivex.CompletableSource;
+import io.reactivex.Flowable;
+import io.reactivex.Maybe;
+import io.reactivex.MaybeSource;
+import io.reactivex.Observable;
+import io.reactivex.ObservableSource;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import io.reactivex.SingleSource;
+import io.reactivex.functions.Function;
+import org.reactivestreams.Publisher;
+import org.springframework.util.Assert;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava2.Result;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link CallAdapter.Factory} retrying failed calls with exponential backoff and full jitter, capped by shared
+ * {@link RetryBudget}. When enabled by default, applied to idempotent methods (GET, HEAD, OPTIONS, PUT and DELETE),
+ * methods annotated with {@link Retry} are retried regardless their http method.
+ * <p>
+ * Reactive return types are retried by resubscription, with backoff timer on the scheduler, so that no thread blocked
+ * while waiting. Other return types are retried on {@link Call} level, asynchronous calls (e.g. {@code CompletableFuture})
+ * schedule next attempt on the scheduler, synchronous {@link Call#execute()} sleeps the calling thread.
+ *
+ * @author zakyalvan
+ */
+public class RetryCallAdapterFactory extends CallAdapter.Factory {
+    private final RetrySettings settings;
+
+    private final RetryBudget budget;
+
+    private final Scheduler scheduler;
+
+    private final RetryPolicy defaultPolicy;
+
+    /**
+     * @param settings
+     * @param budget           retry budget shared by all methods
+     * @param scheduler        scheduler of backoff timers and retries
+     * @param enabledByDefault whether to retry idempotent methods not annotated with {@link Retry}
+     */
+    public RetryCallAdapterFactory(RetrySettings settings, RetryBudget budget, Scheduler scheduler, boolean enabledByDefault) {
+        Assert.notNull(settings, "Retry settings must be provided");
+        Assert.notNull(budget, "Retry budget must be provided");
+        Assert.notNull(scheduler, "Scheduler must be provided");
+        this.settings = settings;
+        this.budget = budget;
+        this.scheduler = scheduler;
+        this.defaultPolicy = enabledByDefault ? new RetryPolicy(settings, budget) : null;
+    }
+
+    @Override
+    public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations, Retrofit retrofit) {
+        CallAdapter<?, ?> delegate = retrofit.nextCallAdapter(this, returnType, annotations);
+
+        Retry retry = MethodAnnotations.find(annotations, Retry.class);
+        RetryPolicy policy;
+        if (retry != null) {
+            policy = retry.value() ? new RetryPolicy(settings.override(retry), budget) : null;
+        }
+        else {
+            policy = MethodAnnotations.isIdempotent(annotations) ? defaultPolicy : null;
+        }
+
+        if (policy == null) {
+            return delegate;
+        }
+        return isReactive(returnType) ?
+                new ReactiveRetryCallAdapter<>(delegate, policy, scheduler) :
+                new RetryCallAdapter<>(delegate, policy, scheduler);
+    }
+
+    /**
+     * Check whether return type is reactive type which errors can be observed for retry, i.e. not wrapped in
+     * {@link Result}.
+     *
+     * @param returnType
+     * @return
+     */
+    private static boolean isReactive(Type returnType) {
+        Class<?> rawType = getRawType(returnType);
+        if (rawType == Completable.class) {
+            return true;
+        }
+        if (rawType != Observable.class && rawType != Flowable.class && rawType != Single.class && rawType != Maybe.class) {
+            return false;
+        }
+        return !(returnType instanceof ParameterizedType)
+                || getRawType(getParameterUpperBound(0, (ParameterizedType) returnType)) != Result.class;
+    }
+
+    private static final class RetryCallAdapter<R, T> implements CallAdapter<R, T> {
+        private final CallAdapter<R, T> delegate;
+
+        private final RetryPolicy policy;
+
+        private final Scheduler scheduler;
+
+        @SuppressWarnings("unchecked")
+        RetryCallAdapter(CallAdapter<?, ?> delegate, RetryPolicy policy, Scheduler scheduler) {
+            this.delegate = (CallAdapter<R, T>) delegate;
+            this.policy = policy;
+            this.scheduler = scheduler;
+        }
+
+        @Override
+        public Type responseType() {
+            return delegate.responseType();
+        }
+
+        @Override
+        public T adapt(Call<R> call) {
+            return delegate.adapt(new RetryingCall<>(call, policy, scheduler));
+        }
+    }
+
+    private static final class ReactiveRetryCallAdapter<R, T> implements CallAdapter<R, T> {
+        private final CallAdapter<R, T> delegate;
+
+        private final RetryPolicy policy;
+
+        private final Scheduler scheduler;
+
+        @SuppressWarnings("unchecked")
+        ReactiveRetryCallAdapter(CallAdapter<?, ?> delegate, RetryPolicy policy, Scheduler scheduler) {
+            this.delegate = (CallAdapter<R, T>) delegate;
+            this.policy = policy;
+            this.scheduler = scheduler;
+        }
+
+        @Override
+        public Type responseType() {
+            return delegate.responseType();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T adapt(Call<R> call) {
+            Object adapted = delegate.adapt(new RetryableCall<>(call, policy));
+
+            if (adapted instanceof Single) {
+                return (T) ((Single<Object>) adapted).retryWhen(retryHandler())
+                        .onErrorResumeNext(error -> (SingleSource<Object>) resume(error, Single.error(error)));
+            }
+            if (adapted instanceof Observable) {
+                return (T) ((Observable<Object>) adapted)
+                        .retryWhen(errors -> Observable.fromPublisher(retryHandler().apply(errors.toFlowable(BackpressureStrategy.BUFFER))))
+                        .onErrorResumeNext((Function<Throwable, ObservableSource<Object>>) error ->
+                                (ObservableSource<Object>) resume(error, Observable.error(error)));
+            }
+            if (adapted instanceof Flowable) {
+                return (T) ((Flowable<Object>) adapted).retryWhen(retryHandler())
+                        .onErrorResumeNext((Function<Throwable, Publisher<Object>>) error ->
+                                (Publisher<Object>) resume(error, Flowable.error(error)));
+            }
+            if (adapted instanceof Maybe) {
+                return (T) ((Maybe<Object>) adapted).retryWhen(retryHandler())
+                        .onErrorResumeNext((Function<Throwable, MaybeSource<Object>>) error ->
+                                (MaybeSource<Object>) resume(error, Maybe.error(error)));
+            }
+            return (T) ((Completable) adapted).retryWhen(retryHandler())
+                    .onErrorResumeNext(error -> (CompletableSource) resume(error, Completable.error(error)));
+        }
+
+        /**
+         * Create handler of errors of a subscription, resubscribing after backoff while retry allowed.
+         *
+         * @return
+         */
+        private Function<Flowable<Throwable>, Publisher<?>> retryHandler() {
+            return errors -> {
+                policy.onRequest();
+                AtomicInteger attempts = new AtomicInteger();
+                return errors.flatMap(error -> {
+                    int attempt = attempts.incrementAndGet();
+                    if (policy.isRetryable(error) && policy.tryRetry(attempt)) {
+                        return Flowable.timer(policy.backoff(attempt), TimeUnit.MILLISECONDS, scheduler);
+                    }
+                    return Flowable.error(error);
+                });
+            };
+        }
+
+        /**
+         * Emit response of the last attempt, which status retryable but no retry left, through delegate adapter.
+         *
+         * @param error
+         * @param fallback
+         * @return
+         */
+        @SuppressWarnings("unchecked")
+        private Object resume(Throwable error, Object fallback) {
+            if (error instanceof RetryableResponseException) {
+                Response<R> response = (Response<R>) ((RetryableResponseException) error).response();
+                return delegate.adapt(new CompletedCall<>(response));
+            }
+            return fallback;
+        }
+    }
+}
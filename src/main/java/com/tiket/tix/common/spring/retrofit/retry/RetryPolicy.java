@@ -0,0 +1,92 @@
+package com.tiket.tix.common.spring.retrofit.retry;
+
+import org.springframework.util.Assert;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decide whether and when a failed attempt retried, based on {@link RetrySettings} and shared {@link RetryBudget}.
+ *
+ * @author zakyalvan
+ */
+final class RetryPolicy {
+    private final int maxAttempts;
+
+    private final long initialBackoff;
+
+    private final long maxBackoff;
+
+    private final double multiplier;
+
+    private final Set<Integer> retryableStatuses;
+
+    private final List<Class<? extends Throwable>> retryExceptions;
+
+    private final List<Class<? extends Throwable>> ignoreExceptions;
+
+    private final RetryBudget budget;
+
+    RetryPolicy(RetrySettings settings, RetryBudget budget) {
+        Assert.isTrue(settings.getMaxAttempts() > 0, "Maximum attempts must be positive");
+        Assert.isTrue(settings.getMultiplier() >= 1, "Backoff multiplier must not be less than one");
+        this.maxAttempts = settings.getMaxAttempts();
+        this.initialBackoff = settings.getInitialBackoff();
+        this.maxBackoff = Math.max(settings.getMaxBackoff(), settings.getInitialBackoff());
+        this.multiplier = settings.getMultiplier();
+        this.retryableStatuses = settings.getRetryableStatuses();
+        this.retryExceptions = settings.getRetryExceptions();
+        this.ignoreExceptions = settings.getIgnoreExceptions();
+        this.budget = budget;
+    }
+
+    /**
+     * Record first attempt of a call, depositing into retry budget.
+     */
+    void onRequest() {
+        budget.onRequest();
+    }
+
+    boolean isRetryable(int status) {
+        return retryableStatuses.contains(status);
+    }
+
+    boolean isRetryable(Throwable error) {
+        if (error instanceof RetryableResponseException) {
+            return true;
+        }
+        for (Class<? extends Throwable> ignored : ignoreExceptions) {
+            if (ignored.isInstance(error)) {
+                return false;
+            }
+        }
+        for (Class<? extends Throwable> retried : retryExceptions) {
+            if (retried.isInstance(error)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check whether given failed attempt can be followed by a retry, withdrawing retry budget if so.
+     *
+     * @param attempt number of the failed attempt, starting from one
+     * @return
+     */
+    boolean tryRetry(int attempt) {
+        return attempt < maxAttempts && budget.tryAcquireRetry();
+    }
+
+    /**
+     * Compute backoff after given failed attempt, with full jitter, i.e. random between zero and exponential backoff.
+     *
+     * @param attempt number of the failed attempt, starting from one
+     * @return backoff in millis
+     */
+    long backoff(int attempt) {
+        double exponential = Math.min(maxBackoff, initialBackoff * Math.pow(multiplier, attempt - 1));
+        return ThreadLocalRandom.current().nextLong((long) exponential + 1);
+    }
+}
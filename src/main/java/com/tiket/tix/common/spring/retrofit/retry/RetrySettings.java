@@ -0,0 +1,84 @@
+package com.tiket.tix.common.spring.retrofit.retry;
+
+import com.tiket.tix.common.spring.retrofit.annotation.Retry;
+import com.tiket.tix.common.spring.retrofit.limiter.ConcurrencyLimitExceededException;
+import com.tiket.tix.common.spring.retrofit.resilience.BulkheadFullException;
+import com.tiket.tix.common.spring.retrofit.resilience.CallNotPermittedException;
+import lombok.Data;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Settings of retrying failed retrofit calls.
+ *
+ * @author zakyalvan
+ */
+@Data
+public class RetrySettings implements Serializable {
+    /**
+     * Maximum number of attempts, including the first one.
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * Backoff before the first retry, in millis.
+     */
+    private long initialBackoff = 100;
+
+    /**
+     * Maximum backoff before a retry, in millis.
+     */
+    private long maxBackoff = 2_000;
+
+    /**
+     * Multiplier of backoff on each retry.
+     */
+    private double multiplier = 2;
+
+    /**
+     * Response statuses to be retried.
+     */
+    private Set<Integer> retryableStatuses = new LinkedHashSet<>(Arrays.asList(502, 503, 504));
+
+    /**
+     * Errors to be retried, including their subtypes.
+     */
+    private List<Class<? extends Throwable>> retryExceptions = new ArrayList<>(Arrays.asList(IOException.class));
+
+    /**
+     * Errors not to be retried, even when matching {@link #retryExceptions}.
+     */
+    private List<Class<? extends Throwable>> ignoreExceptions = new ArrayList<>(Arrays.asList(
+            CallNotPermittedException.class, BulkheadFullException.class, ConcurrencyLimitExceededException.class));
+
+    /**
+     * Create copy of these settings, overridden by non negative values of given annotation.
+     *
+     * @param retry
+     * @return
+     */
+    public RetrySettings override(Retry retry) {
+        RetrySettings settings = new RetrySettings();
+        settings.setMaxAttempts(retry.maxAttempts() >= 0 ? retry.maxAttempts() : maxAttempts);
+        settings.setInitialBackoff(retry.initialBackoff() >= 0 ? retry.initialBackoff() : initialBackoff);
+        settings.setMaxBackoff(retry.maxBackoff() >= 0 ? retry.maxBackoff() : maxBackoff);
+        settings.setMultiplier(multiplier);
+        if (retry.retryableStatuses().length > 0) {
+            Set<Integer> statuses = new LinkedHashSet<>();
+            Arrays.stream(retry.retryableStatuses()).forEach(statuses::add);
+            settings.setRetryableStatuses(statuses);
+        }
+        else {
+            settings.setRetryableStatuses(new LinkedHashSet<>(retryableStatuses));
+        }
+        settings.setRetryExceptions(new ArrayList<>(retryExceptions));
+        settings.setIgnoreExceptions(new ArrayList<>(ignoreExceptions));
+        return settings;
+    }
+}
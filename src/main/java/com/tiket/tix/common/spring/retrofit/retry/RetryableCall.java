@@ -0,0 +1,58 @@
+package com.tiket.tix.common.spring.retrofit.retry;
+
+import com.tiket.tix.common.spring.retrofit.support.ForwardingCall;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+
+/**
+ * {@link Call} executing single attempt, failing with {@link RetryableResponseException} on retryable response
+ * status so that reactive retry kicks in.
+ *
+ * @param <T>
+ * @author zakyalvan
+ */
+final class RetryableCall<T> extends ForwardingCall<T> {
+    private final RetryPolicy policy;
+
+    RetryableCall(Call<T> delegate, RetryPolicy policy) {
+        super(delegate);
+        this.policy = policy;
+    }
+
+    @Override
+    public Response<T> execute() throws IOException {
+        Response<T> response = delegate().execute();
+        if (policy.isRetryable(response.code())) {
+            throw new RetryableResponseException(response);
+        }
+        return response;
+    }
+
+    @Override
+    public void enqueue(Callback<T> callback) {
+        delegate().enqueue(new Callback<T>() {
+            @Override
+            public void onResponse(Call<T> call, Response<T> response) {
+                if (policy.isRetryable(response.code())) {
+                    callback.onFailure(RetryableCall.this, new RetryableResponseException(response));
+                }
+                else {
+                    callback.onResponse(RetryableCall.this, response);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<T> call, Throwable t) {
+                callback.onFailure(RetryableCall.this, t);
+            }
+        });
+    }
+
+    @Override
+    public Call<T> clone() {
+        return new RetryableCall<>(delegate().clone(), policy);
+    }
+}
@@ -0,0 +1,28 @@
+package com.tiket.tix.common.spring.retrofit.retry;
+
+import retrofit2.Response;
+
+import java.io.IOException;
+
+/**
+ * Signal response with retryable status to reactive retry, carrying the response to be emitted once no retry left.
+ *
+ * @author zakyalvan
+ */
+final class RetryableResponseException extends IOException {
+    private final transient Response<?> response;
+
+    RetryableResponseException(Response<?> response) {
+        super("Retryable response status " + response.code(), null);
+        this.response = response;
+    }
+
+    Response<?> response() {
+        return response;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
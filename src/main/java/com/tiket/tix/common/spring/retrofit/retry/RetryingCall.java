@@ -0,0 +1,158 @@
+package com.tiket.tix.common.spring.retrofit.retry;
+
+import com.tiket.tix.common.spring.retrofit.support.ForwardingCall;
+import io.reactivex.Scheduler;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link Call} retrying failed attempts by clones of the delegate call. Asynchronous call schedules next attempt on
+ * the scheduler after backoff, while synchronous one has no choice but sleeping the calling thread.
+ *
+ * @param <T>
+ * @author zakyalvan
+ */
+final class RetryingCall<T> extends ForwardingCall<T> {
+    private final RetryPolicy policy;
+
+    private final Scheduler scheduler;
+
+    private final AtomicBoolean executed = new AtomicBoolean();
+
+    private volatile boolean canceled;
+
+    private volatile Call<T> current;
+
+    RetryingCall(Call<T> delegate, RetryPolicy policy, Scheduler scheduler) {
+        super(delegate);
+        this.policy = policy;
+        this.scheduler = scheduler;
+        this.current = delegate;
+    }
+
+    @Override
+    public Response<T> execute() throws IOException {
+        markExecuted();
+        policy.onRequest();
+
+        Call<T> call = delegate();
+        for (int attempt = 1; ; attempt++) {
+            current = call;
+            Response<T> response = null;
+            IOException error = null;
+            try {
+                response = call.execute();
+            }
+            catch (IOException e) {
+                error = e;
+            }
+
+            if (!shouldRetry(attempt, response, error)) {
+                if (error != null) {
+                    throw error;
+                }
+                return response;
+            }
+
+            try {
+                TimeUnit.MILLISECONDS.sleep(policy.backoff(attempt));
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for retry");
+            }
+            if (canceled) {
+                throw new IOException("Canceled");
+            }
+            call = call.clone();
+        }
+    }
+
+    @Override
+    public void enqueue(Callback<T> callback) {
+        markExecuted();
+        policy.onRequest();
+        attempt(delegate(), 1, callback);
+    }
+
+    private void attempt(Call<T> call, int attempt, Callback<T> callback) {
+        current = call;
+        if (canceled) {
+            call.cancel();
+        }
+
+        call.enqueue(new Callback<T>() {
+            @Override
+            public void onResponse(Call<T> ignored, Response<T> response) {
+                if (shouldRetry(attempt, response, null)) {
+                    scheduleRetry(call, attempt, callback);
+                }
+                else {
+                    callback.onResponse(RetryingCall.this, response);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<T> ignored, Throwable t) {
+                if (shouldRetry(attempt, null, t)) {
+                    scheduleRetry(call, attempt, callback);
+                }
+                else {
+                    callback.onFailure(RetryingCall.this, t);
+                }
+            }
+        });
+    }
+
+    private void scheduleRetry(Call<T> call, int attempt, Callback<T> callback) {
+        scheduler.scheduleDirect(() -> {
+            if (canceled) {
+                callback.onFailure(this, new IOException("Canceled"));
+            }
+            else {
+                attempt(call.clone(), attempt + 1, callback);
+            }
+        }, policy.backoff(attempt), TimeUnit.MILLISECONDS);
+    }
+
+    private boolean shouldRetry(int attempt, Response<T> response, Throwable error) {
+        if (canceled) {
+            return false;
+        }
+        boolean retryable = error != null ? policy.isRetryable(error) : policy.isRetryable(response.code());
+        return retryable && policy.tryRetry(attempt);
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return executed.get();
+    }
+
+    @Override
+    public void cancel() {
+        canceled = true;
+        current.cancel();
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return canceled || current.isCanceled();
+    }
+
+    @Override
+    public Call<T> clone() {
+        return new RetryingCall<>(delegate().clone(), policy, scheduler);
+    }
+
+    private void markExecuted() {
+        if (!executed.compareAndSet(false, true)) {
+            throw new IllegalStateException("Already executed.");
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.tiket.tix.common.spring.retrofit.streaming;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import okhttp3.ResponseBody;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link Iterator} over elements of json array response body, binding each element only when iterated. Response body
+ * is closed once the array fully iterated, otherwise it must be closed explicitly. Io and parsing errors while iterating
+ * are thrown as {@link UncheckedIOException}.
+ *
+ * @param <T>
+ * @author zakyalvan
+ */
+public class JsonArrayIterator<T> implements Iterator<T>, Closeable {
+    private final ResponseBody body;
+
+    private final JsonParser parser;
+
+    private final ObjectReader elementReader;
+
+    private JsonToken nextToken;
+
+    private boolean closed;
+
+    JsonArrayIterator(ResponseBody body, JsonParser parser, ObjectReader elementReader) throws IOException {
+        this.body = body;
+        this.parser = parser;
+        this.elementReader = elementReader;
+        try {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                close();
+            }
+            else if (token != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Expected json array, but found " + token);
+            }
+        }
+        catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (nextToken == null) {
+            try {
+                nextToken = parser.nextToken();
+            }
+            catch (IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            }
+            if (nextToken == null || nextToken == JsonToken.END_ARRAY) {
+                close();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        nextToken = null;
+        try {
+            return elementReader.readValue(parser);
+        }
+        catch (IOException e) {
+            close();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            parser.close();
+        }
+        catch (IOException e) {
+            // Body closed anyway.
+        }
+        finally {
+            body.close();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.tiket.tix.common.spring.retrofit.streaming;
+
+import com.tiket.tix.common.spring.retrofit.support.MethodAnnotations;
+import io.reactivex.Emitter;
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.HttpException;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.http.Streaming;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+
+/**
+ * {@link CallAdapter.Factory} of methods annotated with {@link Streaming} returning {@link Flowable}, emitting elements
+ * of json array response body one by one as requested by subscriber, instead of emitting whole body. Response body
+ * is read as {@link Iterator} of elements, so that must be supported by converter, e.g.
+ * {@link StreamingJacksonConverterFactory}. Non successful response is emitted as {@link HttpException}. Flowable of
+ * {@link ResponseBody} is not streamed by elements, but left for next factories to emit the raw body.
+ *
+ * @author zakyalvan
+ */
+public class StreamingCallAdapterFactory extends CallAdapter.Factory {
+    private final Scheduler scheduler;
+
+    /**
+     * @param scheduler subscribing scheduler, null to execute calls on subscribing thread
+     */
+    public StreamingCallAdapterFactory(Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations, Retrofit retrofit) {
+        if (getRawType(returnType) != Flowable.class || MethodAnnotations.find(annotations, Streaming.class) == null) {
+            return null;
+        }
+        if (!(returnType instanceof ParameterizedType)) {
+            throw new IllegalArgumentException("Streaming flowable return type must be parameterized as Flowable<Foo>");
+        }
+        Type elementType = getParameterUpperBound(0, (ParameterizedType) returnType);
+        Class<?> rawElementType = getRawType(elementType);
+        // Raw body, e.g. download, left for rxjava adapter to emit as is.
+        if (rawElementType == ResponseBody.class) {
+            return null;
+        }
+        if (rawElementType == Response.class || rawElementType == retrofit2.adapter.rxjava2.Result.class) {
+            throw new IllegalArgumentException("Streaming flowable must emit elements of response body, not "
+                    + rawElementType.getSimpleName());
+        }
+        return new StreamingCallAdapter<>(new IteratorType(elementType), scheduler);
+    }
+
+    private static final class StreamingCallAdapter<T> implements CallAdapter<Iterator<T>, Flowable<T>> {
+        private final Type responseType;
+
+        private final Scheduler scheduler;
+
+        StreamingCallAdapter(Type responseType, Scheduler scheduler) {
+            this.responseType = responseType;
+            this.scheduler = scheduler;
+        }
+
+        @Override
+        public Type responseType() {
+            return responseType;
+        }
+
+        @Override
+        public Flowable<T> adapt(Call<Iterator<T>> call) {
+            Flowable<T> flowable = Flowable.generate(() -> open(call.clone()),
+                    (Iterator<T> elements, Emitter<T> emitter) -> {
+                        emitNext(elements, emitter);
+                    }, StreamingCallAdapter::close);
+            return scheduler != null ? flowable.subscribeOn(scheduler) : flowable;
+        }
+
+        private static <T> Iterator<T> open(Call<Iterator<T>> call) throws IOException {
+            Response<Iterator<T>> response = call.execute();
+            if (!response.isSuccessful()) {
+                throw new HttpException(response);
+            }
+            return response.body() != null ? response.body() : Collections.emptyIterator();
+        }
+
+        private static <T> void emitNext(Iterator<T> elements, Emitter<T> emitter) {
+            try {
+                if (elements.hasNext()) {
+                    emitter.onNext(elements.next());
+                }
+                else {
+                    emitter.onComplete();
+                }
+            }
+            catch (UncheckedIOException e) {
+                emitter.onError(e.getCause());
+            }
+        }
+
+        private static void close(Iterator<?> elements) throws IOException {
+            if (elements instanceof Closeable) {
+                ((Closeable) elements).close();
+            }
+        }
+    }
+
+    /**
+     * Parameterized {@link Iterator} type of streamed elements, read by response body converter.
+     */
+    private static final class IteratorType implements ParameterizedType {
+        private final Type elementType;
+
+        IteratorType(Type elementType) {
+            this.elementType = elementType;
+        }
+
+        @Override
+        public Type[] getActualTypeArguments() {
+            return new Type[]{elementType};
+        }
+
+        @Override
+        public Type getRawType() {
+            return Iterator.class;
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return null;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof ParameterizedType)) {
+                return false;
+            }
+            ParameterizedType that = (ParameterizedType) other;
+            return Iterator.class.equals(that.getRawType()) && that.getOwnerType() == null
+                    && Arrays.equals(getActualTypeArguments(), that.getActualTypeArguments());
+        }
+
+        @Override
+        public int hashCode() {
+            // Consistent with jdk parameterized type implementation.
+            return Arrays.hashCode(getActualTypeArguments()) ^ Iterator.class.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return Iterator.class.getName() + "<" + elementType.getTypeName() + ">";
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.tiket.tix.common.spring.retrofit.streaming;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import org.springframework.util.Assert;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Jackson {@link Converter.Factory} parsing response directly from body byte stream, with {@link ObjectReader} and
+ * {@link ObjectWriter} resolved once and cached per type. Response body of {@link Iterator} type is read as json array
+ * by {@link JsonArrayIterator}, binding each element only when iterated, so that whole array never held in memory.
+ *
+ * @author zakyalvan
+ */
+public class StreamingJacksonConverterFactory extends Converter.Factory {
+    private static final MediaType JSON_MEDIA_TYPE = MediaType.parse("application/json; charset=UTF-8");
+
+    private final ObjectMapper mapper;
+
+    private final MediaType mediaType;
+
+    private final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public StreamingJacksonConverterFactory(ObjectMapper mapper) {
+        this(mapper, JSON_MEDIA_TYPE);
+    }
+
+    /**
+     * Create converter factory of other format supported by jackson, e.g. smile or cbor.
+     *
+     * @param mapper    object mapper created with json factory of the format
+     * @param mediaType media type of request bodies
+     */
+    public StreamingJacksonConverterFactory(ObjectMapper mapper, MediaType mediaType) {
+        Assert.notNull(mapper, "Object mapper must be provided");
+        Assert.notNull(mediaType, "Media type must be provided");
+        this.mapper = mapper;
+        this.mediaType = mediaType;
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        JsonFactory jsonFactory = mapper.getFactory();
+        if (getRawType(type) == Iterator.class) {
+            Type elementType = type instanceof ParameterizedType ?
+                    getParameterUpperBound(0, (ParameterizedType) type) : Object.class;
+            ObjectReader elementReader = reader(elementType);
+            return body -> new JsonArrayIterator<>(body, createParser(jsonFactory, body), elementReader);
+        }
+
+        ObjectReader reader = reader(type);
+        return body -> {
+            try (JsonParser parser = createParser(jsonFactory, body)) {
+                return reader.readValue(parser);
+            }
+            finally {
+                body.close();
+            }
+        };
+    }
+
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(Type type, Annotation[] parameterAnnotations,
+                                                          Annotation[] methodAnnotations, Retrofit retrofit) {
+        ObjectWriter writer = writer(type);
+        return value -> RequestBody.create(mediaType, writer.writeValueAsBytes(value));
+    }
+
+    private ObjectReader reader(Type type) {
+        return readers.computeIfAbsent(type, key -> mapper.readerFor(mapper.getTypeFactory().constructType(key)));
+    }
+
+    private ObjectWriter writer(Type type) {
+        return writers.computeIfAbsent(type, key -> mapper.writerFor(mapper.getTypeFactory().constructType(key)));
+    }
+
+    /**
+     * Create parser reading raw bytes, letting jackson detect unicode encoding, unless body declares other charset.
+     * Binary formats declare no charset.
+     *
+     * @param jsonFactory
+     * @param body
+     * @return
+     * @throws IOException
+     */
+    private static JsonParser createParser(JsonFactory jsonFactory, ResponseBody body) throws IOException {
+        MediaType contentType = body.contentType();
+        Charset charset = contentType != null ? contentType.charset() : null;
+        if (charset == null || charset.name().startsWith("UTF-")) {
+            return jsonFactory.createParser(body.byteStream());
+        }
+        return jsonFactory.createParser(body.charStream());
+    }
+}
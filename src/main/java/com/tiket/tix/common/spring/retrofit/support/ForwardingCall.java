@@ -0,0 +1,61 @@
+package com.tiket.tix.common.spring.retrofit.support;
+
+import okhttp3.Request;
+import org.springframework.util.Assert;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+
+/**
+ * Base {@link Call} which forwards all operations to delegate call. Subclasses override operations to be decorated.
+ *
+ * @param <T>
+ * @author zakyalvan
+ */
+public abstract class ForwardingCall<T> implements Call<T> {
+    private final Call<T> delegate;
+
+    protected ForwardingCall(Call<T> delegate) {
+        Assert.notNull(delegate, "Delegate call must be provided");
+        this.delegate = delegate;
+    }
+
+    protected Call<T> delegate() {
+        return delegate;
+    }
+
+    @Override
+    public Response<T> execute() throws IOException {
+        return delegate.execute();
+    }
+
+    @Override
+    public void enqueue(Callback<T> callback) {
+        delegate.enqueue(callback);
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return delegate.isExecuted();
+    }
+
+    @Override
+    public void cancel() {
+        delegate.cancel();
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return delegate.isCanceled();
+    }
+
+    @Override
+    public Request request() {
+        return delegate.request();
+    }
+
+    @Override
+    public abstract Call<T> clone();
+}
@@ -0,0 +1,26 @@
+package com.tiket.tix.common.spring.retrofit.support;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import okhttp3.Response;
+
+/**
+ * Inspect okhttp {@link Response}, as seen by interceptors.
+ *
+ * @author zakyalvan
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class HttpResponses {
+    /**
+     * Check whether given response may carry body, i.e. not a reply to HEAD request, and neither informational,
+     * 204 (no content) nor 304 (not modified) one.
+     *
+     * @param response
+     * @return
+     */
+    public static boolean hasBody(Response response) {
+        int code = response.code();
+        return response.body() != null && !"HEAD".equals(response.request().method())
+                && code != 204 && code != 304 && (code < 100 || code >= 200);
+    }
+}
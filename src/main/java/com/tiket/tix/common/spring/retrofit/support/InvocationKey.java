@@ -0,0 +1,59 @@
+package com.tiket.tix.common.spring.retrofit.support;
+
+import okhttp3.Request;
+import retrofit2.Invocation;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Key identifying identical service invocations, i.e. invoked service method and its arguments.
+ *
+ * @author zakyalvan
+ */
+public final class InvocationKey {
+    private final Method method;
+
+    private final List<?> arguments;
+
+    private final int hash;
+
+    private InvocationKey(Invocation invocation) {
+        this.method = invocation.method();
+        this.arguments = invocation.arguments();
+        this.hash = 31 * method.hashCode() + arguments.hashCode();
+    }
+
+    /**
+     * Resolve key from {@link Invocation} tag of given request, null if the request not created by retrofit service.
+     *
+     * @param request
+     * @return
+     */
+    public static InvocationKey of(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        return invocation != null ? new InvocationKey(invocation) : null;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof InvocationKey)) {
+            return false;
+        }
+        InvocationKey that = (InvocationKey) other;
+        return hash == that.hash && method.equals(that.method) && arguments.equals(that.arguments);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return method.getDeclaringClass().getSimpleName() + "#" + method.getName() + arguments;
+    }
+}
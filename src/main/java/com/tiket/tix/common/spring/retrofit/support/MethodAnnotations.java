@@ -0,0 +1,100 @@
+package com.tiket.tix.common.spring.retrofit.support;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import okhttp3.ResponseBody;
+import retrofit2.http.DELETE;
+import retrofit2.http.GET;
+import retrofit2.http.HEAD;
+import retrofit2.http.HTTP;
+import retrofit2.http.OPTIONS;
+import retrofit2.http.PATCH;
+import retrofit2.http.POST;
+import retrofit2.http.PUT;
+import retrofit2.http.Streaming;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+
+/**
+ * Inspect annotations of retrofit service method, as given to {@link retrofit2.CallAdapter.Factory}.
+ *
+ * @author zakyalvan
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class MethodAnnotations {
+    /**
+     * Find annotation of given type.
+     *
+     * @param annotations
+     * @param annotationType
+     * @param <A>
+     * @return null if not found
+     */
+    public static <A extends Annotation> A find(Annotation[] annotations, Class<A> annotationType) {
+        for (Annotation annotation : annotations) {
+            if (annotationType.isInstance(annotation)) {
+                return annotationType.cast(annotation);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resolve http method of service method.
+     *
+     * @param annotations
+     * @return null if not annotated with any http method annotation
+     */
+    public static String httpMethod(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof HTTP) {
+                return ((HTTP) annotation).method().toUpperCase();
+            }
+            if (annotation instanceof GET || annotation instanceof POST || annotation instanceof PUT
+                    || annotation instanceof DELETE || annotation instanceof PATCH || annotation instanceof HEAD
+                    || annotation instanceof OPTIONS) {
+                return annotation.annotationType().getSimpleName();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Check whether service method is safe, i.e. only retrieving data (GET, HEAD or OPTIONS).
+     *
+     * @param annotations
+     * @return
+     */
+    public static boolean isSafe(Annotation[] annotations) {
+        String httpMethod = httpMethod(annotations);
+        return "GET".equals(httpMethod) || "HEAD".equals(httpMethod) || "OPTIONS".equals(httpMethod);
+    }
+
+    /**
+     * Check whether service method is idempotent, i.e. safe, PUT or DELETE.
+     *
+     * @param annotations
+     * @return
+     */
+    public static boolean isIdempotent(Annotation[] annotations) {
+        String httpMethod = httpMethod(annotations);
+        return isSafe(annotations) || "PUT".equals(httpMethod) || "DELETE".equals(httpMethod);
+    }
+
+    /**
+     * Check whether service method reads one-shot body, i.e. raw {@link ResponseBody}, {@link Iterator} or
+     * {@link Streaming} one, which can only be consumed once so must never be shared between callers.
+     *
+     * @param responseType body type read by call adapter of the method
+     * @param annotations
+     * @return
+     */
+    public static boolean isOneShotBody(Type responseType, Annotation[] annotations) {
+        Type rawType = responseType instanceof ParameterizedType ?
+                ((ParameterizedType) responseType).getRawType() : responseType;
+        return rawType == ResponseBody.class || rawType == Iterator.class || find(annotations, Streaming.class) != null;
+    }
+}
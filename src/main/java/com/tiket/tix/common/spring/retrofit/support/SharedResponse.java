@@ -0,0 +1,44 @@
+package com.tiket.tix.common.spring.retrofit.support;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import retrofit2.Response;
+
+import java.io.IOException;
+
+/**
+ * Response shared by coalesced or single flight cached calls. Error body is buffered, so that each caller receives its
+ * own readable copy.
+ *
+ * @author zakyalvan
+ */
+public final class SharedResponse {
+    private final Response<?> response;
+
+    private final MediaType errorType;
+
+    private final byte[] errorContent;
+
+    private SharedResponse(Response<?> response, MediaType errorType, byte[] errorContent) {
+        this.response = response;
+        this.errorType = errorType;
+        this.errorContent = errorContent;
+    }
+
+    public static SharedResponse of(Response<?> response) throws IOException {
+        if (response.isSuccessful() || response.errorBody() == null) {
+            return new SharedResponse(response, null, null);
+        }
+        try (ResponseBody errorBody = response.errorBody()) {
+            return new SharedResponse(response, errorBody.contentType(), errorBody.bytes());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Response<T> toResponse() {
+        if (errorContent == null) {
+            return (Response<T>) response;
+        }
+        return Response.error(ResponseBody.create(errorType, errorContent), response.raw());
+    }
+}
@@ -0,0 +1,127 @@
+package com.tiket.tix.common.spring.retrofit.support;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicate concurrent loads of the same key, so that only the first caller (the leader) runs the loader while
+ * others wait for and share its result. Key is released as soon as the load completes, results are not retained.
+ *
+ * @param <K>
+ * @param <V>
+ * @author zakyalvan
+ */
+public class SingleFlightGroup<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Run given loader in caller thread, or wait for result of load already in flight for the same key.
+     *
+     * @param key
+     * @param loader
+     * @return
+     * @throws IOException
+     */
+    public V execute(K key, Callable<V> loader) throws IOException {
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            V value = loader.call();
+            promise.complete(value);
+            return value;
+        }
+        catch (Throwable e) {
+            promise.completeExceptionally(e);
+            throw rethrow(e);
+        }
+        finally {
+            inFlight.remove(key, promise);
+        }
+    }
+
+    /**
+     * Start given asynchronous loader, or join the load already in flight for the same key.
+     *
+     * @param key
+     * @param loader
+     * @return
+     */
+    public CompletableFuture<V> executeAsync(K key, Supplier<? extends CompletionStage<V>> loader) {
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            return existing;
+        }
+
+        try {
+            loader.get().whenComplete((value, error) -> {
+                inFlight.remove(key, promise);
+                if (error != null) {
+                    promise.completeExceptionally(error);
+                }
+                else {
+                    promise.complete(value);
+                }
+            });
+        }
+        catch (Throwable e) {
+            inFlight.remove(key, promise);
+            promise.completeExceptionally(e);
+        }
+        return promise;
+    }
+
+    /**
+     * Check whether load of given key is in flight.
+     *
+     * @param key
+     * @return
+     */
+    public boolean isInFlight(K key) {
+        return inFlight.containsKey(key);
+    }
+
+    private V await(CompletableFuture<V> future) throws IOException {
+        try {
+            return future.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for in flight call", e);
+        }
+        catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    /**
+     * Unwrap failure of a load, rethrowing unchecked failure as is and wrapping checked one other than {@link IOException}.
+     *
+     * @param error
+     * @return
+     */
+    public static IOException rethrow(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof IOException) {
+            return (IOException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IOException(cause);
+    }
+}
@@ -0,0 +1,379 @@
+package com.tiket.tix.common.spring.retrofit.warmup;
+
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Maybe;
+import io.reactivex.Observable;
+import io.reactivex.Single;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Warm up {@link retrofit2.Retrofit} objects on startup, so that first requests after deployment not paying dns lookups,
+ * tcp and tls handshakes to every downstream, nor loading of converters and call adapters. For each added retrofit
+ * object, hosts of base urls are resolved and connections opened to each base url with HEAD request, then configured
+ * service methods invoked and their results awaited.
+ *
+ * Started in phase {@value #PHASE}, after all singletons created and before embedded web server started, blocking until
+ * warm up of each retrofit object completed or timed out. Failures are only logged, so that unavailable downstream not
+ * preventing the application from starting.
+ *
+ * @author zakyalvan
+ */
+public class RetrofitWarmUp implements SmartLifecycle, BeanFactoryAware {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RetrofitWarmUp.class);
+
+    public static final int PHASE = 0;
+
+    private static final String METHOD_SEPARATOR = "#";
+
+    private final List<WarmUpTarget> targets = new ArrayList<>();
+
+    private ListableBeanFactory beanFactory;
+
+    private volatile boolean running = false;
+
+    /**
+     * Add retrofit object to be warmed up on start.
+     *
+     * @param retrofitName
+     * @param client
+     * @param baseUrls
+     * @param settings
+     */
+    public void addTarget(String retrofitName, OkHttpClient client, List<HttpUrl> baseUrls, WarmUpSettings settings) {
+        Assert.hasText(retrofitName, "Retrofit name must be provided");
+        Assert.notNull(client, "Http client must be provided");
+        Assert.notEmpty(baseUrls, "Base urls must be provided");
+        Assert.notNull(settings, "Warm up settings must be provided");
+        targets.add(new WarmUpTarget(retrofitName, client, baseUrls, settings));
+    }
+
+    @Override
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        // Resolved up front, so that invalid settings reported before any request sent.
+        List<List<Method>> targetMethods = new ArrayList<>();
+        targets.forEach(target -> targetMethods.add(resolveMethods(target.settings.getMethods())));
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("retrofit-warm-up-");
+        threadFactory.setDaemon(true);
+        ExecutorService executor = Executors.newCachedThreadPool(threadFactory);
+        try {
+            long startTime = System.nanoTime();
+
+            List<List<Future<?>>> connecting = new ArrayList<>();
+            targets.forEach(target -> connecting.add(openConnections(target, startTime, executor)));
+            for (int i = 0; i < targets.size(); i++) {
+                awaitAll(targets.get(i), connecting.get(i), startTime);
+            }
+
+            // Invoked once connections opened, so that service methods use them.
+            List<List<Future<?>>> invoking = new ArrayList<>();
+            for (int i = 0; i < targets.size(); i++) {
+                invoking.add(invokeMethods(targets.get(i), targetMethods.get(i), executor));
+            }
+            for (int i = 0; i < targets.size(); i++) {
+                awaitAll(targets.get(i), invoking.get(i), startTime);
+            }
+
+            LOGGER.debug("Retrofit objects warmed up in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Resolve service methods from given {@code fully.qualified.ServiceType#method} names.
+     *
+     * @param methodNames
+     * @return
+     */
+    private List<Method> resolveMethods(List<String> methodNames) {
+        List<Method> methods = new ArrayList<>();
+        for (String methodName : methodNames) {
+            int separator = methodName.lastIndexOf(METHOD_SEPARATOR);
+            Assert.state(separator > 0, "Warm up method " + methodName + " must be in ServiceType#method format");
+
+            Class<?> serviceType = ClassUtils.resolveClassName(methodName.substring(0, separator).trim(),
+                    ClassUtils.getDefaultClassLoader());
+            Method method = ReflectionUtils.findMethod(serviceType, methodName.substring(separator + 1).trim());
+            Assert.state(method != null, "Warm up method " + methodName + " not found or declares parameters");
+            methods.add(method);
+        }
+        return methods;
+    }
+
+    /**
+     * Resolve hosts of base urls and open connections to each of them.
+     *
+     * @param target
+     * @param startTime
+     * @param executor
+     * @return
+     */
+    private List<Future<?>> openConnections(WarmUpTarget target, long startTime, ExecutorService executor) {
+        List<Future<?>> futures = new ArrayList<>();
+
+        Set<String> hosts = new LinkedHashSet<>();
+        target.baseUrls.forEach(baseUrl -> hosts.add(baseUrl.host()));
+        hosts.forEach(host -> futures.add(executor.submit(() -> {
+            try {
+                target.client.dns().lookup(host);
+            }
+            catch (UnknownHostException e) {
+                LOGGER.warn("Can not resolve host {} on warm up of retrofit {}", host, target.retrofitName, e);
+            }
+        })));
+
+        int connections = target.settings.getConnections();
+        long deadline = startTime + TimeUnit.MILLISECONDS.toNanos(target.settings.getTimeout());
+        CountDownLatch opened = new CountDownLatch(target.baseUrls.size() * connections);
+
+        // Bypass load balancing, limiting and logging interceptors, so that each base url reached directly.
+        // Derived client shares connection pool of the retrofit object.
+        OkHttpClient.Builder clientBuilder = target.client.newBuilder();
+        clientBuilder.interceptors().clear();
+        OkHttpClient client = clientBuilder
+                .addNetworkInterceptor(chain -> {
+                    ConnectionArrival arrival = chain.request().tag(ConnectionArrival.class);
+                    if (arrival != null) {
+                        arrival.arrive();
+                        arrival.awaitOthers(deadline);
+                    }
+                    return chain.proceed(chain.request());
+                })
+                .callTimeout(target.settings.getTimeout(), TimeUnit.MILLISECONDS)
+                .build();
+
+        for (HttpUrl baseUrl : target.baseUrls) {
+            HttpUrl url = baseUrl.resolve(target.settings.getPath());
+            Assert.state(url != null, "Invalid warm up path " + target.settings.getPath());
+            for (int i = 0; i < connections; i++) {
+                futures.add(executor.submit(() -> {
+                    ConnectionArrival arrival = new ConnectionArrival(opened);
+                    Request request = new Request.Builder().head().url(url).tag(ConnectionArrival.class, arrival).build();
+                    try (Response response = client.newCall(request).execute()) {
+                        LOGGER.trace("Connection to {} opened on warm up of retrofit {}, response status {}",
+                                url, target.retrofitName, response.code());
+                    }
+                    catch (Exception e) {
+                        LOGGER.warn("Can not open connection to {} on warm up of retrofit {}", url, target.retrofitName, e);
+                    }
+                    finally {
+                        arrival.arrive();
+                    }
+                }));
+            }
+        }
+        return futures;
+    }
+
+    /**
+     * Invoke given service methods on each service bean of their type, awaiting their results.
+     *
+     * @param target
+     * @param methods
+     * @param executor
+     * @return
+     */
+    private List<Future<?>> invokeMethods(WarmUpTarget target, List<Method> methods, ExecutorService executor) {
+        List<Future<?>> futures = new ArrayList<>();
+        for (Method method : methods) {
+            for (Object service : beanFactory.getBeansOfType(method.getDeclaringClass()).values()) {
+                futures.add(executor.submit(() -> {
+                    try {
+                        awaitResult(method.invoke(service));
+                    }
+                    catch (InvocationTargetException e) {
+                        LOGGER.warn("Warm up method {} of retrofit {} failed", method, target.retrofitName, e.getTargetException());
+                    }
+                    catch (Exception e) {
+                        LOGGER.warn("Warm up method {} of retrofit {} failed", method, target.retrofitName, e);
+                    }
+                }));
+            }
+        }
+        return futures;
+    }
+
+    /**
+     * Await result of service method, i.e. execute plain call or block on reactive type or future.
+     *
+     * @param result
+     * @throws Exception
+     */
+    private static void awaitResult(Object result) throws Exception {
+        if (result instanceof retrofit2.Call) {
+            ((retrofit2.Call<?>) result).execute();
+        }
+        else if (result instanceof Single) {
+            ((Single<?>) result).ignoreElement().blockingAwait();
+        }
+        else if (result instanceof Maybe) {
+            ((Maybe<?>) result).ignoreElement().blockingAwait();
+        }
+        else if (result instanceof Completable) {
+            ((Completable) result).blockingAwait();
+        }
+        else if (result instanceof Observable) {
+            ((Observable<?>) result).ignoreElements().blockingAwait();
+        }
+        else if (result instanceof Flowable) {
+            ((Flowable<?>) result).ignoreElements().blockingAwait();
+        }
+        else if (result instanceof Future) {
+            ((Future<?>) result).get();
+        }
+    }
+
+    /**
+     * Await given warm up tasks of target until its timeout elapsed, cancelling the rest.
+     *
+     * @param target
+     * @param futures
+     * @param startTime
+     */
+    private void awaitAll(WarmUpTarget target, List<Future<?>> futures, long startTime) {
+        long deadline = startTime + TimeUnit.MILLISECONDS.toNanos(target.settings.getTimeout());
+        boolean timedOut = false;
+        for (Future<?> future : futures) {
+            try {
+                future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+            catch (TimeoutException e) {
+                timedOut = true;
+                future.cancel(true);
+            }
+            catch (ExecutionException e) {
+                LOGGER.warn("Warm up of retrofit {} failed", target.retrofitName, e.getCause());
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(pending -> pending.cancel(true));
+                return;
+            }
+        }
+        if (timedOut) {
+            LOGGER.warn("Warm up of retrofit {} not completed in {} ms", target.retrofitName, target.settings.getTimeout());
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        stop();
+        callback.run();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return true;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        Assert.isInstanceOf(ListableBeanFactory.class, beanFactory, "Listable bean factory required");
+        this.beanFactory = (ListableBeanFactory) beanFactory;
+    }
+
+    /**
+     * Retrofit object to be warmed up.
+     */
+    private static final class WarmUpTarget {
+        private final String retrofitName;
+
+        private final OkHttpClient client;
+
+        private final List<HttpUrl> baseUrls;
+
+        private final WarmUpSettings settings;
+
+        private WarmUpTarget(String retrofitName, OkHttpClient client, List<HttpUrl> baseUrls, WarmUpSettings settings) {
+            this.retrofitName = retrofitName;
+            this.client = client;
+            this.baseUrls = new ArrayList<>(baseUrls);
+            this.settings = settings;
+        }
+    }
+
+    /**
+     * Arrival of warm up request on its connection. Connection is held until all other requests arrived, or failed,
+     * so that each request opens its own connection instead of reusing the one released by another.
+     */
+    private static final class ConnectionArrival {
+        private final CountDownLatch opened;
+
+        private final AtomicBoolean arrived = new AtomicBoolean(false);
+
+        private ConnectionArrival(CountDownLatch opened) {
+            this.opened = opened;
+        }
+
+        void arrive() {
+            if (arrived.compareAndSet(false, true)) {
+                opened.countDown();
+            }
+        }
+
+        void awaitOthers(long deadline) {
+            try {
+                opened.await(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.tiket.tix.common.spring.retrofit.warmup;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings of warming up retrofit object on startup.
+ *
+ * @author zakyalvan
+ */
+@Data
+public class WarmUpSettings implements Serializable {
+    /**
+     * Number of connections opened to each base url.
+     */
+    private int connections = 1;
+
+    /**
+     * Path relative to base url requested with HEAD method to open connections.
+     */
+    private String path = "";
+
+    /**
+     * Maximum time to wait for warm up to complete, in millis.
+     */
+    private long timeout = 10_000;
+
+    /**
+     * Service methods to be invoked, in {@code fully.qualified.ServiceType#method} format.
+     */
+    private List<String> methods = new ArrayList<>();
+}
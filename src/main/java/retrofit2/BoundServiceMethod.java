@@ -0,0 +1,50 @@
+package retrofit2;
+
+import org.springframework.util.Assert;
+
+import java.lang.reflect.Method;
+
+/**
+ * Service method of {@link Retrofit} bound once, invoked directly by generated retrofit service implementations
+ * instead of through dynamic proxy. Declared in retrofit package, since parsed service method is not exposed
+ * by retrofit api, so this must be kept in sync with the retrofit version used by the starter.
+ *
+ * @author zakyalvan
+ * @see com.tiket.tix.common.spring.retrofit.generated.GeneratedServices
+ */
+public final class BoundServiceMethod {
+    /**
+     * Arguments of service method without parameter.
+     */
+    public static final Object[] NO_ARGUMENTS = new Object[0];
+
+    private final ServiceMethod<?> serviceMethod;
+
+    private BoundServiceMethod(ServiceMethod<?> serviceMethod) {
+        this.serviceMethod = serviceMethod;
+    }
+
+    /**
+     * Parse (or reuse parsed) service method of given retrofit.
+     *
+     * @param retrofit
+     * @param method
+     * @return
+     * @throws IllegalArgumentException if the method is not valid service method
+     */
+    public static BoundServiceMethod bind(Retrofit retrofit, Method method) {
+        Assert.notNull(retrofit, "Retrofit must be provided");
+        Assert.notNull(method, "Service method must be provided");
+        return new BoundServiceMethod(retrofit.loadServiceMethod(method));
+    }
+
+    /**
+     * Invoke the service method, returning adapted call.
+     *
+     * @param args
+     * @return
+     */
+    public Object invoke(Object[] args) {
+        return serviceMethod.invoke(args);
+    }
+}
@@ -9,6 +9,7 @@ import io.reactivex.Single;
 import io.reactivex.observers.TestObserver;
 import lombok.Builder;
 import lombok.Getter;
+import okhttp3.mockwebserver.MockResponse;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -47,7 +48,7 @@ import static org.hamcrest.Matchers.is;
 @RunWith(SpringRunner.class)
 public class BaseUrlRetrofitServiceTests {
     @Rule
-    public MockHttpServerRule serverRule = new MockHttpServerRule(first -> first.defaultServer().portNumber(10080));
+    public MockHttpServerRule serverRule = new MockHttpServerRule(10080);
 
     public final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -59,15 +60,18 @@ public class BaseUrlRetrofitServiceTests {
 
     @Test
     public void givenClientInterface_whenRunning_mustRegisteredAsBean() {
-        serverRule.mockServer().expect().post().withPath("/ping").andReply(200, request -> {
+        serverRule.dispatch(request -> {
+            if (!"/ping".equals(request.getPath())) {
+                return new MockResponse().setResponseCode(404);
+            }
             try {
                 Ping ping = objectMapper.readValue(request.getBody().inputStream(), Ping.class);
-                return Pong.reply(ping);
+                return new MockResponse().setBody(objectMapper.writeValueAsString(Pong.reply(ping)));
             }
             catch (Exception e) {
                 throw new RuntimeException(e);
             }
-        }).once();
+        });
 
         TestObserver<Pong> firstObserver = new TestObserver<>();
 
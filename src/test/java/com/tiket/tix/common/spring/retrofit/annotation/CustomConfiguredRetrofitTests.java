@@ -13,6 +13,7 @@ import lombok.Builder;
 import lombok.Getter;
 import okhttp3.OkHttpClient;
 import okhttp3.logging.HttpLoggingInterceptor;
+import okhttp3.mockwebserver.MockResponse;
 import org.awaitility.Awaitility;
 import org.hamcrest.Matchers;
 import org.junit.Rule;
@@ -50,7 +51,7 @@ import java.util.concurrent.TimeUnit;
 @RunWith(SpringRunner.class)
 public class CustomConfiguredRetrofitTests {
     @Rule
-    public MockHttpServerRule serverRule = new MockHttpServerRule(first -> first.portNumber(19091).defaultServer());
+    public MockHttpServerRule serverRule = new MockHttpServerRule(19091);
 
     @Autowired
     private CalculatorClient calculatorClient;
@@ -61,16 +62,20 @@ public class CustomConfiguredRetrofitTests {
     @Test
     public void givenUserDefinedRetrofit_whenRunning_thenOverrideConfiguredInSettings() {
 
-        serverRule.mockServer().expect().get().withPath("/test/calculate/add?first=5&second=12").andReply(200, request -> {
+        serverRule.dispatch(request -> {
+            if (!"/test/calculate/add?first=5&second=12".equals(request.getPath())) {
+                return new MockResponse().setResponseCode(404);
+            }
             try {
                 int first = Integer.parseInt(request.getRequestUrl().queryParameter("first"));
                 int second = Integer.parseInt(request.getRequestUrl().queryParameter("second"));
-                return objectMapper.writeValueAsString(AddResult.builder().first(first).second(second).build());
+                return new MockResponse().setBody(objectMapper.writeValueAsString(
+                        AddResult.builder().first(first).second(second).build()));
             }
             catch (Exception e) {
                 throw new RuntimeException(e);
             }
-        }).once();
+        });
 
         TestObserver<AddResult> testObserver = new TestObserver<>();
         calculatorClient.add(5, 12).subscribe(testObserver);
@@ -0,0 +1,83 @@
+package com.tiket.tix.common.spring.retrofit.autoconfigure;
+
+import com.tiket.tix.common.spring.retrofit.registry.RetrofitRegistry;
+import com.tiket.tix.common.spring.retrofit.support.MockHttpServerRule;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test for configuring http/2 protocols and ping interval of http clients.
+ *
+ * @author zakyalvan
+ */
+@SpringBootTest(classes = Http2ProtocolTests.TestApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "tiket.retrofit.default-url=http://localhost:8080/",
+                "tiket.retrofit.factories.h2c.base-url=http://localhost:9090/",
+                "tiket.retrofit.factories.h2c.connection.protocols=h2-prior-knowledge",
+                "tiket.retrofit.factories.h2c.connection.ping-interval=15000"
+        })
+@RunWith(SpringRunner.class)
+public class Http2ProtocolTests {
+    @Autowired
+    private RetrofitRegistry retrofitRegistry;
+
+    @Rule
+    public final MockHttpServerRule mockServer =
+            new MockHttpServerRule(server -> server.setProtocols(Collections.singletonList(Protocol.H2_PRIOR_KNOWLEDGE)));
+
+    @Test
+    public void givenDefaultProtocols_whenRunning_thenMustUseOkHttpDefaults() {
+        OkHttpClient defaultClient = httpClient(RetrofitRegistry.DEFAULT_RETROFIT);
+
+        assertThat(defaultClient.protocols(), equalTo(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1)));
+        assertThat(defaultClient.pingIntervalMillis(), equalTo(0));
+    }
+
+    @Test
+    public void givenH2PriorKnowledge_whenSendRequests_thenMustBeMultiplexedOnCleartextHttp2() throws Exception {
+        OkHttpClient h2cClient = httpClient("h2c");
+        assertThat(h2cClient.protocols(), contains(Protocol.H2_PRIOR_KNOWLEDGE));
+        assertThat(h2cClient.pingIntervalMillis(), equalTo(15000));
+
+        for (int i = 0; i < 3; i++) {
+            mockServer.enqueue(new MockResponse().setBody("pong"));
+        }
+        for (int i = 0; i < 3; i++) {
+            Request request = new Request.Builder().url(mockServer.url("/ping")).build();
+            try (Response response = h2cClient.newCall(request).execute()) {
+                assertThat(response.protocol(), is(Protocol.H2_PRIOR_KNOWLEDGE));
+                assertThat(response.body().string(), equalTo("pong"));
+            }
+        }
+
+        assertThat(mockServer.takeRequest().getSequenceNumber(), equalTo(0));
+        assertThat(mockServer.takeRequest().getSequenceNumber(), equalTo(1));
+        assertThat(mockServer.takeRequest().getSequenceNumber(), equalTo(2));
+    }
+
+    private OkHttpClient httpClient(String retrofitName) {
+        return (OkHttpClient) retrofitRegistry.get(retrofitName).get().callFactory();
+    }
+
+    @SpringBootApplication
+    static class TestApplication {
+    }
+}
@@ -0,0 +1,71 @@
+package com.tiket.tix.common.spring.retrofit.autoconfigure;
+
+import com.tiket.tix.common.spring.retrofit.registry.RetrofitRegistry;
+import com.tiket.tix.common.spring.retrofit.streaming.StreamingCallAdapterFactory;
+import com.tiket.tix.common.spring.retrofit.streaming.StreamingJacksonConverterFactory;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import retrofit2.Retrofit;
+import retrofit2.converter.jackson.JacksonConverterFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Test for choosing json converter by {@link RetrofitServiceAutoConfiguration.JacksonConversionConfiguration}, and
+ * registering streaming call adapter along with streaming converter.
+ *
+ * @author zakyalvan
+ */
+public class JacksonConversionConfigurationTests {
+    private ConfigurableApplicationContext applicationContext;
+
+    @After
+    public void tearDown() {
+        if (applicationContext != null) {
+            applicationContext.close();
+        }
+    }
+
+    @Test
+    public void givenDefaultSettings_whenRunning_thenStockConverterMustBeConfigured() {
+        applicationContext = run();
+
+        assertThat(applicationContext.getBeansOfType(JacksonConverterFactory.class).size(), is(1));
+        assertThat(applicationContext.getBeansOfType(StreamingJacksonConverterFactory.class).isEmpty(), is(true));
+        assertThat(hasStreamingCallAdapter(), is(false));
+    }
+
+    @Test
+    public void givenStreamingEnabled_whenRunning_thenStreamingConverterMustBeConfigured() {
+        applicationContext = run("tiket.retrofit.jackson.streaming=true");
+
+        assertThat(applicationContext.getBeansOfType(StreamingJacksonConverterFactory.class).size(), is(1));
+        assertThat(applicationContext.getBeansOfType(JacksonConverterFactory.class).isEmpty(), is(true));
+        assertThat(hasStreamingCallAdapter(), is(true));
+    }
+
+    private boolean hasStreamingCallAdapter() {
+        Retrofit defaultRetrofit = applicationContext.getBean(RetrofitRegistry.class)
+                .get(RetrofitRegistry.DEFAULT_RETROFIT).get();
+        return defaultRetrofit.callAdapterFactories().stream()
+                .anyMatch(factory -> factory instanceof StreamingCallAdapterFactory);
+    }
+
+    private ConfigurableApplicationContext run(String... properties) {
+        return new SpringApplicationBuilder(TestApplication.class)
+                .web(false)
+                .properties("tiket.retrofit.default-url=http://localhost:8080/")
+                .properties(properties)
+                .run();
+    }
+
+    @Configuration
+    @EnableAutoConfiguration
+    static class TestApplication {
+    }
+}
@@ -0,0 +1,75 @@
+package com.tiket.tix.common.spring.retrofit.autoconfigure;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Test for creating object mapper of retrofit converters by {@link JacksonMappers}.
+ *
+ * @author zakyalvan
+ */
+public class JacksonMappersTests {
+    @Test
+    public void givenDefaultSettings_whenResolveConverterMapper_thenMustUseApplicationMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        ObjectMapper converterMapper = JacksonMappers.converterMapper(objectMapper, new RetrofitProperties.JacksonProperties());
+
+        assertThat(converterMapper, is(sameInstance(objectMapper)));
+    }
+
+    @Test
+    public void givenOptimizer_whenResolveConverterMapper_thenMustUseOptimizedCopy() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        RetrofitProperties.JacksonProperties jackson = new RetrofitProperties.JacksonProperties();
+        jackson.setOptimizer(RetrofitProperties.MapperOptimizer.AFTERBURNER);
+        jackson.setFailOnUnknownProperties(false);
+
+        ObjectMapper converterMapper = JacksonMappers.converterMapper(objectMapper, jackson);
+
+        assertThat(converterMapper, is(not(sameInstance(objectMapper))));
+        assertThat(objectMapper.isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES), is(true));
+        assertThat(converterMapper.isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES), is(false));
+
+        Booking booking = converterMapper.readValue("{\"code\":\"B-1\",\"status\":\"ISSUED\",\"unknown\":1}", Booking.class);
+        assertThat(booking.getCode(), equalTo("B-1"));
+        assertThat(converterMapper.writeValueAsString(booking), equalTo("{\"code\":\"B-1\",\"status\":\"ISSUED\"}"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void givenUnavailableOptimizer_whenResolveConverterMapper_thenMustFail() {
+        RetrofitProperties.JacksonProperties jackson = new RetrofitProperties.JacksonProperties();
+        jackson.setOptimizer(RetrofitProperties.MapperOptimizer.BLACKBIRD);
+
+        JacksonMappers.converterMapper(new ObjectMapper(), jackson);
+    }
+
+    public static class Booking {
+        private String code;
+
+        private String status;
+
+        public String getCode() {
+            return code;
+        }
+
+        public void setCode(String code) {
+            this.code = code;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+    }
+}
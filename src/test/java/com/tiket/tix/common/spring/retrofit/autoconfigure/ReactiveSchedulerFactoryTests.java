@@ -0,0 +1,139 @@
+package com.tiket.tix.common.spring.retrofit.autoconfigure;
+
+import com.tiket.tix.common.spring.retrofit.support.VirtualThreads;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test for {@link ReactiveSchedulerFactory}.
+ *
+ * @author zakyalvan
+ */
+public class ReactiveSchedulerFactoryTests {
+    private final RetrofitProperties.ReactiveScheduler sharedSettings = new RetrofitProperties.ReactiveScheduler();
+
+    private final ReactiveSchedulerFactory schedulerFactory = new ReactiveSchedulerFactory(sharedSettings);
+
+    @After
+    public void tearDown() {
+        schedulerFactory.destroy();
+    }
+
+    @Test
+    public void givenSharedSettings_whenRequestingScheduler_thenSameSchedulerMustBeReturned() {
+        RetrofitProperties.ReactiveScheduler settings = new RetrofitProperties.ReactiveScheduler();
+        settings.setShared(true);
+
+        Scheduler first = schedulerFactory.getScheduler("first", settings);
+        Scheduler second = schedulerFactory.getScheduler("second", settings);
+
+        assertThat(first, is(sameInstance(second)));
+    }
+
+    @Test
+    public void givenDedicatedSettings_whenRequestingScheduler_thenSchedulerMustBeCreatedPerRetrofit() {
+        RetrofitProperties.ReactiveScheduler settings = new RetrofitProperties.ReactiveScheduler();
+        settings.setThreadNamePrefix("DedicatedScheduler");
+
+        Scheduler first = schedulerFactory.getScheduler("first", settings);
+        Scheduler second = schedulerFactory.getScheduler("second", settings);
+
+        assertThat(first, is(not(sameInstance(second))));
+        assertThat(first, is(sameInstance(schedulerFactory.getScheduler("first", settings))));
+
+        String threadName = Single.fromCallable(() -> Thread.currentThread().getName())
+                .subscribeOn(first)
+                .blockingGet();
+        assertThat(threadName, startsWith("DedicatedScheduler"));
+    }
+
+    @Test
+    public void givenRunningTask_whenDestroyed_thenTaskMustBeCompletedBeforeShutdown() {
+        RetrofitProperties.ReactiveScheduler settings = new RetrofitProperties.ReactiveScheduler();
+        Scheduler scheduler = schedulerFactory.getScheduler("first", settings);
+
+        boolean[] completed = new boolean[1];
+        scheduler.scheduleDirect(() -> {
+            try {
+                TimeUnit.MILLISECONDS.sleep(200);
+                completed[0] = true;
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        schedulerFactory.destroy();
+        assertThat(completed[0], is(true));
+    }
+
+    @Test
+    public void givenSaturatedExecutor_whenSubscribed_thenSubscriptionMustRunInSubscribingThread() throws Exception {
+        RetrofitProperties.ReactiveScheduler settings = new RetrofitProperties.ReactiveScheduler();
+        settings.setCorePollSize(1);
+        settings.setMaxPoolSize(1);
+        settings.setQueueCapacity(0);
+        Scheduler scheduler = schedulerFactory.getScheduler("saturated", settings);
+
+        CountDownLatch busyLatch = new CountDownLatch(1);
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        scheduler.scheduleDirect(() -> {
+            busyLatch.countDown();
+            try {
+                releaseLatch.await();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        try {
+            assertThat(busyLatch.await(1, TimeUnit.SECONDS), is(true));
+
+            Thread thread = Single.fromCallable(Thread::currentThread)
+                    .subscribeOn(scheduler)
+                    .timeout(1, TimeUnit.SECONDS)
+                    .blockingGet();
+
+            assertThat(thread, is(sameInstance(Thread.currentThread())));
+        }
+        finally {
+            releaseLatch.countDown();
+        }
+    }
+
+    @Test
+    public void givenVirtualMode_whenRunningOnSupportedRuntime_thenTaskMustRunOnVirtualThread() {
+        Assume.assumeTrue(VirtualThreads.isSupported());
+
+        RetrofitProperties.ReactiveScheduler settings = new RetrofitProperties.ReactiveScheduler();
+        settings.setMode(RetrofitProperties.SchedulerMode.VIRTUAL);
+        settings.setThreadNamePrefix("VirtualScheduler");
+
+        Scheduler scheduler = schedulerFactory.getScheduler("virtual", settings);
+        Thread thread = Single.fromCallable(Thread::currentThread)
+                .subscribeOn(scheduler)
+                .blockingGet();
+
+        assertThat(thread.getName(), startsWith("VirtualScheduler"));
+        assertThat(thread.isDaemon(), is(true));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void givenVirtualMode_whenRunningOnUnsupportedRuntime_thenCreatingSchedulerMustFail() {
+        Assume.assumeFalse(VirtualThreads.isSupported());
+
+        RetrofitProperties.ReactiveScheduler settings = new RetrofitProperties.ReactiveScheduler();
+        settings.setMode(RetrofitProperties.SchedulerMode.VIRTUAL);
+
+        schedulerFactory.getScheduler("virtual", settings);
+    }
+}
@@ -0,0 +1,107 @@
+package com.tiket.tix.common.spring.retrofit.autoconfigure;
+
+import com.tiket.tix.common.spring.retrofit.metrics.HttpClientMetrics;
+import com.tiket.tix.common.spring.retrofit.metrics.MetricsInterceptor;
+import com.tiket.tix.common.spring.retrofit.registry.RetrofitRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.OkHttpClient;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import retrofit2.Retrofit;
+
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test for registering metrics of configured {@link Retrofit} objects by {@link RetrofitMetricsConfiguration}, only
+ * when {@link MeterRegistry} bean available.
+ *
+ * @author zakyalvan
+ */
+public class RetrofitMetricsConfigurationTests {
+    private ConfigurableApplicationContext applicationContext;
+
+    @After
+    public void tearDown() {
+        if (applicationContext != null) {
+            applicationContext.close();
+        }
+    }
+
+    @Test
+    public void givenMeterRegistryBean_whenRunning_thenInterceptorAndClientGaugesMustBeRegistered() {
+        applicationContext = run(TestApplication.class, MeterRegistryConfiguration.class);
+
+        assertThat(httpClient().interceptors().get(0), instanceOf(MetricsInterceptor.class));
+        assertThat(applicationContext.getBeansOfType(HttpClientMetrics.class).size(), equalTo(1));
+
+        MeterRegistry meterRegistry = applicationContext.getBean(MeterRegistry.class);
+        assertThat(meterRegistry.get(HttpClientMetrics.CONNECTIONS_METRIC).tag("state", "idle").gauge(),
+                is(notNullValue()));
+        assertThat(meterRegistry.get(HttpClientMetrics.CALLS_METRIC).tag("state", "running").gauge(),
+                is(notNullValue()));
+    }
+
+    @Test
+    public void givenNoMeterRegistryBean_whenRunning_thenMetricsMustNotBeRegistered() {
+        applicationContext = run(TestApplication.class);
+
+        assertThat(httpClient().interceptors().stream().anyMatch(MetricsInterceptor.class::isInstance), is(false));
+        assertThat(applicationContext.getBeansOfType(HttpClientMetrics.class).isEmpty(), is(true));
+    }
+
+    @Test
+    public void givenRegistryWithoutNames_whenBinding_thenNothingMustBeBound() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        new HttpClientMetrics(new RetrofitRegistry() {
+            @Override
+            public boolean contains(String name) {
+                return false;
+            }
+
+            @Override
+            public Optional<Retrofit> get(String name) {
+                return Optional.empty();
+            }
+        }).bindTo(meterRegistry);
+
+        assertThat(meterRegistry.getMeters(), is(empty()));
+    }
+
+    private ConfigurableApplicationContext run(Class<?>... sources) {
+        return new SpringApplicationBuilder(sources)
+                .web(false)
+                .properties("tiket.retrofit.default-url=http://localhost:8080/")
+                .run();
+    }
+
+    private OkHttpClient httpClient() {
+        return (OkHttpClient) applicationContext.getBean(RetrofitRegistry.class)
+                .get(RetrofitRegistry.DEFAULT_RETROFIT).get().callFactory();
+    }
+
+    /**
+     * Not scanning this package, so that conditions of auto configuration evaluated after user configuration.
+     */
+    @Configuration
+    @EnableAutoConfiguration
+    static class TestApplication {
+    }
+
+    @Configuration
+    static class MeterRegistryConfiguration {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
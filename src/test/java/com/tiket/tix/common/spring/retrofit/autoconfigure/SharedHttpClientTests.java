@@ -0,0 +1,67 @@
+package com.tiket.tix.common.spring.retrofit.autoconfigure;
+
+import com.tiket.tix.common.spring.retrofit.registry.RetrofitRegistry;
+import okhttp3.OkHttpClient;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test for sharing connection pool and dispatcher between configured {@link retrofit2.Retrofit} objects.
+ *
+ * @author zakyalvan
+ */
+@SpringBootTest(classes = SharedHttpClientTests.TestApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "tiket.retrofit.default-url=http://localhost:8080/",
+                "tiket.retrofit.connection.dispatcher.max-requests=128",
+                "tiket.retrofit.connection.dispatcher.max-requests-per-host=32",
+                "tiket.retrofit.factories.shared.base-url=http://localhost:9090/",
+                "tiket.retrofit.factories.shared.connection.read-timeout=5000",
+                "tiket.retrofit.factories.dedicated.base-url=http://localhost:9091/",
+                "tiket.retrofit.factories.dedicated.connection.shared-client=false",
+                "tiket.retrofit.factories.dedicated.connection.dispatcher.max-requests-per-host=8"
+        })
+@RunWith(SpringRunner.class)
+public class SharedHttpClientTests {
+    @Autowired
+    private RetrofitRegistry retrofitRegistry;
+
+    @Test
+    public void givenSharedClient_whenRunning_thenConnectionPoolAndDispatcherMustBeReused() {
+        OkHttpClient defaultClient = httpClient(RetrofitRegistry.DEFAULT_RETROFIT);
+        OkHttpClient sharedClient = httpClient("shared");
+
+        assertThat(sharedClient, is(not(sameInstance(defaultClient))));
+        assertThat(sharedClient.connectionPool(), is(sameInstance(defaultClient.connectionPool())));
+        assertThat(sharedClient.dispatcher(), is(sameInstance(defaultClient.dispatcher())));
+        assertThat(sharedClient.dispatcher().getMaxRequests(), equalTo(128));
+        assertThat(sharedClient.dispatcher().getMaxRequestsPerHost(), equalTo(32));
+        assertThat(sharedClient.readTimeoutMillis(), equalTo(5000));
+    }
+
+    @Test
+    public void givenDedicatedClient_whenRunning_thenConnectionPoolAndDispatcherMustNotBeShared() {
+        OkHttpClient defaultClient = httpClient(RetrofitRegistry.DEFAULT_RETROFIT);
+        OkHttpClient dedicatedClient = httpClient("dedicated");
+
+        assertThat(dedicatedClient.connectionPool(), is(not(sameInstance(defaultClient.connectionPool()))));
+        assertThat(dedicatedClient.dispatcher(), is(not(sameInstance(defaultClient.dispatcher()))));
+        assertThat(dedicatedClient.dispatcher().getMaxRequestsPerHost(), equalTo(8));
+    }
+
+    private OkHttpClient httpClient(String retrofitName) {
+        return (OkHttpClient) retrofitRegistry.get(retrofitName).get().callFactory();
+    }
+
+    @SpringBootApplication
+    static class TestApplication {
+    }
+}
@@ -0,0 +1,115 @@
+package com.tiket.tix.common.spring.retrofit.batching;
+
+import com.tiket.tix.common.spring.retrofit.annotation.Batched;
+import com.tiket.tix.common.spring.retrofit.support.MockHttpServerRule;
+import io.reactivex.Single;
+import okhttp3.mockwebserver.MockResponse;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+import retrofit2.http.Path;
+import retrofit2.http.Query;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Test for batching calls into bulk method by proxy created by {@link BatchingProxies}.
+ *
+ * @author zakyalvan
+ */
+public class BatchingProxiesTests {
+    @Rule
+    public final MockHttpServerRule mockServer = new MockHttpServerRule();
+
+    private List<String> requestedPaths;
+
+    private Retrofit retrofit;
+
+    @Before
+    public void setUp() throws Exception {
+        requestedPaths = new CopyOnWriteArrayList<>();
+
+        mockServer.dispatch(request -> {
+            requestedPaths.add(request.getPath());
+            List<String> codes = request.getRequestUrl().queryParameterValues("codes");
+            if (codes.isEmpty()) {
+                String code = request.getRequestUrl().pathSegments().get(1);
+                return new MockResponse().setBody("\"" + code.toUpperCase() + "\"");
+            }
+            return new MockResponse().setBody(codes.stream()
+                    .map(code -> "\"" + code + "\":\"" + code.toUpperCase() + "\"")
+                    .collect(Collectors.joining(",", "{", "}")));
+        });
+
+        retrofit = mockServer.retrofitBuilder().build();
+    }
+
+    @Test
+    public void givenCallsWithinWindow_whenSubscribed_thenMustBeSentAsOneBulkRequest() {
+        AirportService airportService = BatchingProxies.create(AirportService.class, retrofit.create(AirportService.class));
+
+        List<String> names = Single.merge(Arrays.asList(airportService.airport("cgk"), airportService.airport("dps"),
+                airportService.airport("cgk"), airportService.airport("sub")))
+                .toList()
+                .blockingGet();
+
+        assertThat(names, containsInAnyOrder("CGK", "DPS", "CGK", "SUB"));
+        assertThat(requestedPaths, contains("/airports?codes=cgk&codes=dps&codes=sub"));
+    }
+
+    @Test
+    public void givenSingleKeyBatch_whenSubscribed_thenMustUseSingleMethod() {
+        AirportService airportService = BatchingProxies.create(AirportService.class, retrofit.create(AirportService.class));
+
+        assertThat(airportService.airport("cgk").blockingGet(), equalTo("CGK"));
+        assertThat(requestedPaths, contains("/airports/cgk"));
+    }
+
+    @Test
+    public void givenMaximumSizeReached_whenSubscribed_thenMustFlushImmediately() {
+        AirportService airportService = BatchingProxies.create(AirportService.class, retrofit.create(AirportService.class));
+
+        List<String> names = Single.merge(Arrays.asList(airportService.limitedAirport("cgk"), airportService.limitedAirport("dps"),
+                airportService.limitedAirport("sub"), airportService.limitedAirport("kno")))
+                .toList()
+                .blockingGet();
+
+        assertThat(names, containsInAnyOrder("CGK", "DPS", "SUB", "KNO"));
+        assertThat(requestedPaths, containsInAnyOrder("/airports?codes=cgk&codes=dps", "/airports?codes=sub&codes=kno"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenMissingBulkMethod_whenCreatingProxy_thenMustBeRejected() {
+        BatchingProxies.create(InvalidService.class, retrofit.create(InvalidService.class));
+    }
+
+    interface AirportService {
+        @Batched("airports")
+        @GET("airports/{code}")
+        Single<String> airport(@Path("code") String code);
+
+        @Batched(value = "airports", maxSize = 2, window = 10_000)
+        @GET("airports/{code}")
+        Single<String> limitedAirport(@Path("code") String code);
+
+        @GET("airports")
+        Single<Map<String, String>> airports(@Query("codes") List<String> codes);
+    }
+
+    interface InvalidService {
+        @Batched("airports")
+        @GET("airports/{code}")
+        Single<String> airport(@Path("code") String code);
+    }
+}
@@ -0,0 +1,185 @@
+package com.tiket.tix.common.spring.retrofit.cache;
+
+import com.tiket.tix.common.spring.retrofit.annotation.CachedResponse;
+import com.tiket.tix.common.spring.retrofit.support.MockHttpServerRule;
+import io.reactivex.Single;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+import retrofit2.http.POST;
+import retrofit2.http.Query;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+/**
+ * Test for response caching of {@link CachingCallAdapterFactory}.
+ *
+ * @author zakyalvan
+ */
+public class CachingCallAdapterFactoryTests {
+    @Rule
+    public final MockHttpServerRule mockServer = new MockHttpServerRule();
+
+    private ResponseCache responseCache;
+
+    private ReferenceService referenceService;
+
+    @Before
+    public void setUp() throws Exception {
+        responseCache = ResponseCache.create(100);
+        referenceService = createRetrofit(new CachingCallAdapterFactory(responseCache, 60_000, 0))
+                .create(ReferenceService.class);
+    }
+
+    @Test
+    public void givenCachedMethod_whenCalledRepeatedly_thenMustBeServedFromCache() {
+        mockServer.enqueue(new MockResponse().setBody("\"IDR\""));
+        mockServer.enqueue(new MockResponse().setBody("\"USD\""));
+
+        assertThat(referenceService.currency("id").blockingGet(), equalTo("IDR"));
+        assertThat(referenceService.currency("id").blockingGet(), equalTo("IDR"));
+        assertThat(referenceService.currency("us").blockingGet(), equalTo("USD"));
+
+        assertThat(mockServer.getRequestCount(), equalTo(2));
+        assertThat(responseCache.hitCount(), equalTo(1L));
+        assertThat(responseCache.missCount(), equalTo(2L));
+    }
+
+    @Test
+    public void givenStaleResponse_whenCalled_thenMustServeStaleAndRefreshInBackground() throws Exception {
+        mockServer.enqueue(new MockResponse().setBody("\"CGK\""));
+        mockServer.enqueue(new MockResponse().setBody("\"HLP\""));
+
+        assertThat(referenceService.airport().blockingGet(), equalTo("CGK"));
+        Thread.sleep(100);
+        assertThat(referenceService.airport().blockingGet(), equalTo("CGK"));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> referenceService.airport().blockingGet(), equalTo("HLP"));
+        assertThat(responseCache.staleHitCount(), greaterThanOrEqualTo(1L));
+    }
+
+    @Test
+    public void givenConcurrentMisses_whenCalled_thenMustSendSingleRequest() throws Exception {
+        mockServer.enqueue(new MockResponse().setBody("\"IDR\"").setHeadersDelay(200, TimeUnit.MILLISECONDS));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch startLatch = new CountDownLatch(1);
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    startLatch.await();
+                    return referenceService.currency("id").blockingGet();
+                }));
+            }
+            startLatch.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS), equalTo("IDR"));
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+        assertThat(mockServer.getRequestCount(), equalTo(1));
+    }
+
+    @Test
+    public void givenConcurrentMissesFailed_whenCalled_thenEachCallerMustReadErrorBody() throws Exception {
+        mockServer.enqueue(new MockResponse().setResponseCode(404).setBody("not found")
+                .setHeadersDelay(200, TimeUnit.MILLISECONDS));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            CountDownLatch startLatch = new CountDownLatch(1);
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> {
+                    startLatch.await();
+                    Response<String> response = referenceService.fare().blockingGet();
+                    return response.errorBody().string();
+                }));
+            }
+            startLatch.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS), equalTo("not found"));
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+        assertThat(mockServer.getRequestCount(), equalTo(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenCachedRawBodyMethod_whenCreatingService_thenMustBeRejected() {
+        createRetrofit(new CachingCallAdapterFactory(responseCache, 60_000, 0)).create(RawBodyService.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenCachedIteratorBodyMethod_whenCreatingService_thenMustBeRejected() {
+        createRetrofit(new CachingCallAdapterFactory(responseCache, 60_000, 0)).create(IteratorBodyService.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenCachedNonGetMethod_whenCreatingService_thenMustBeRejected() {
+        createRetrofit(new CachingCallAdapterFactory(responseCache, 60_000, 0)).create(InvalidService.class);
+    }
+
+    private Retrofit createRetrofit(CachingCallAdapterFactory cachingFactory) {
+        return mockServer.retrofitBuilder(cachingFactory)
+                .validateEagerly(true)
+                .build();
+    }
+
+    interface ReferenceService {
+        @CachedResponse
+        @GET("currencies")
+        Single<String> currency(@Query("country") String country);
+
+        @CachedResponse(ttl = 50, staleWhileRevalidate = 10_000)
+        @GET("airports")
+        Single<String> airport();
+
+        @CachedResponse
+        @GET("fares")
+        Single<Response<String>> fare();
+    }
+
+    interface RawBodyService {
+        @CachedResponse
+        @GET("files")
+        Call<ResponseBody> file();
+    }
+
+    interface IteratorBodyService {
+        @CachedResponse
+        @GET("airports")
+        Call<Iterator<String>> airports();
+    }
+
+    interface InvalidService {
+        @CachedResponse
+        @POST("currencies")
+        Single<String> currency();
+    }
+}
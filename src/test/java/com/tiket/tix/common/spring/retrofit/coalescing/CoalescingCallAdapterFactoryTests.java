@@ -0,0 +1,157 @@
+package com.tiket.tix.common.spring.retrofit.coalescing;
+
+import com.tiket.tix.common.spring.retrofit.annotation.SingleFlight;
+import com.tiket.tix.common.spring.retrofit.support.MockHttpServerRule;
+import io.reactivex.Single;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.Response;
+import retrofit2.http.GET;
+import retrofit2.http.POST;
+import retrofit2.http.Query;
+import retrofit2.http.Streaming;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Test for coalescing concurrent identical calls by {@link CoalescingCallAdapterFactory}.
+ *
+ * @author zakyalvan
+ */
+public class CoalescingCallAdapterFactoryTests {
+    private static final int CONCURRENCY = 8;
+
+    @Rule
+    public final MockHttpServerRule mockServer = new MockHttpServerRule();
+
+    private ExecutorService executor;
+
+    private ConfigService configService;
+
+    @Before
+    public void setUp() throws Exception {
+        executor = Executors.newFixedThreadPool(CONCURRENCY);
+
+        configService = mockServer.retrofitBuilder(new CoalescingCallAdapterFactory(true))
+                .build()
+                .create(ConfigService.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void givenConcurrentIdenticalCalls_whenExecuted_thenMustShareOneRequest() throws Exception {
+        mockServer.enqueue(new MockResponse().setBody("\"on\"").setHeadersDelay(200, TimeUnit.MILLISECONDS));
+
+        for (String value : concurrently(() -> configService.config("feature").blockingGet())) {
+            assertThat(value, equalTo("on"));
+        }
+        assertThat(mockServer.getRequestCount(), equalTo(1));
+    }
+
+    @Test
+    public void givenSharedErrorResponse_whenExecuted_thenEachCallerMustReadErrorBody() throws Exception {
+        mockServer.enqueue(new MockResponse().setResponseCode(503).setBody("unavailable")
+                .setHeadersDelay(200, TimeUnit.MILLISECONDS));
+
+        for (String errorBody : concurrently(() -> {
+            Response<String> response = configService.rawConfig("feature").execute();
+            return response.errorBody().string();
+        })) {
+            assertThat(errorBody, equalTo("unavailable"));
+        }
+        assertThat(mockServer.getRequestCount(), equalTo(1));
+    }
+
+    @Test
+    public void givenExcludedOrUnsafeMethod_whenExecuted_thenMustNotBeCoalesced() throws Exception {
+        for (int i = 0; i < 2 * CONCURRENCY; i++) {
+            mockServer.enqueue(new MockResponse().setBody("\"on\"").setHeadersDelay(100, TimeUnit.MILLISECONDS));
+        }
+
+        concurrently(() -> configService.uncoalescedConfig("feature").blockingGet());
+        concurrently(() -> configService.updateConfig("feature").blockingGet());
+        assertThat(mockServer.getRequestCount(), equalTo(2 * CONCURRENCY));
+    }
+
+    @Test
+    public void givenRawBodyMethod_whenExecutedConcurrently_thenEachCallerMustReadOwnBody() throws Exception {
+        for (int i = 0; i < CONCURRENCY; i++) {
+            mockServer.enqueue(new MockResponse().setBody("content").setHeadersDelay(100, TimeUnit.MILLISECONDS));
+        }
+
+        for (String content : concurrently(() -> configService.download("feature").execute().body().string())) {
+            assertThat(content, equalTo("content"));
+        }
+        assertThat(mockServer.getRequestCount(), equalTo(CONCURRENCY));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenSingleFlightRawBodyMethod_whenCreatingService_thenMustBeRejected() {
+        mockServer.retrofitBuilder(new CoalescingCallAdapterFactory(false))
+                .validateEagerly(true)
+                .build()
+                .create(DownloadService.class);
+    }
+
+    private <T> List<T> concurrently(Callable<T> task) throws Exception {
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            futures.add(executor.submit(() -> {
+                startLatch.await();
+                return task.call();
+            }));
+        }
+        startLatch.countDown();
+
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : futures) {
+            results.add(future.get(5, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+
+    interface ConfigService {
+        @GET("configs")
+        Single<String> config(@Query("key") String key);
+
+        @GET("configs")
+        Call<String> rawConfig(@Query("key") String key);
+
+        @SingleFlight(false)
+        @GET("configs")
+        Single<String> uncoalescedConfig(@Query("key") String key);
+
+        @POST("configs")
+        Single<String> updateConfig(@Query("key") String key);
+
+        @GET("files")
+        Call<ResponseBody> download(@Query("key") String key);
+    }
+
+    interface DownloadService {
+        @SingleFlight
+        @Streaming
+        @GET("files")
+        Call<ResponseBody> download(@Query("key") String key);
+    }
+}
@@ -0,0 +1,148 @@
+package com.tiket.tix.common.spring.retrofit.compression;
+
+import com.tiket.tix.common.spring.retrofit.support.MockHttpServerRule;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.GzipSource;
+import okio.Okio;
+import okio.Source;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Test for compressing requests and decoding responses by {@link CompressionInterceptor}.
+ *
+ * @author zakyalvan
+ */
+public class CompressionInterceptorTests {
+    private static final MediaType JSON = MediaType.parse("application/json");
+
+    @Rule
+    public final MockHttpServerRule mockServer = new MockHttpServerRule();
+
+    @Test
+    public void givenLargeRequestBody_whenSendRequest_thenBodyMustBeGzipped() throws Exception {
+        OkHttpClient client = createClient(new GzipDecoder());
+        mockServer.enqueue(new MockResponse());
+        String payload = repeat("{\"bookingId\":\"B-001\"}", 200);
+
+        execute(client, RequestBody.create(JSON, payload)).close();
+
+        RecordedRequest recorded = mockServer.takeRequest(1, TimeUnit.SECONDS);
+        assertThat(recorded.getHeader("Content-Encoding"), equalTo("gzip"));
+        assertThat(recorded.getBodySize(), lessThan((long) payload.length()));
+        assertThat(Okio.buffer(new GzipSource(recorded.getBody())).readUtf8(), equalTo(payload));
+    }
+
+    @Test
+    public void givenSmallRequestBody_whenSendRequest_thenBodyMustNotBeCompressed() throws Exception {
+        OkHttpClient client = createClient(new GzipDecoder());
+        mockServer.enqueue(new MockResponse());
+
+        execute(client, RequestBody.create(JSON, "{\"bookingId\":\"B-001\"}")).close();
+
+        RecordedRequest recorded = mockServer.takeRequest(1, TimeUnit.SECONDS);
+        assertThat(recorded.getHeader("Content-Encoding"), is(nullValue()));
+        assertThat(recorded.getBody().readUtf8(), equalTo("{\"bookingId\":\"B-001\"}"));
+    }
+
+    @Test
+    public void givenGzippedResponse_whenSendRequest_thenBodyMustBeDecoded() throws Exception {
+        OkHttpClient client = createClient(new GzipDecoder(), new DeflateDecoder());
+        String payload = repeat("{\"bookingId\":\"B-001\"}", 200);
+        mockServer.enqueue(new MockResponse().setHeader("Content-Encoding", "gzip").setBody(gzip(payload)));
+
+        try (Response response = execute(client, null)) {
+            assertThat(response.header("Content-Encoding"), is(nullValue()));
+            assertThat(response.body().string(), equalTo(payload));
+        }
+        assertThat(mockServer.takeRequest(1, TimeUnit.SECONDS).getHeader("Accept-Encoding"), equalTo("gzip, deflate"));
+    }
+
+    @Test
+    public void givenCustomDecoder_whenSendRequest_thenMustBeAdvertisedAndUsed() throws Exception {
+        OkHttpClient client = createClient(new ReversingDecoder(), new GzipDecoder());
+        mockServer.enqueue(new MockResponse().setHeader("Content-Encoding", "reversed").setBody("gnop"));
+
+        try (Response response = execute(client, null)) {
+            assertThat(response.body().string(), equalTo("pong"));
+        }
+        assertThat(mockServer.takeRequest(1, TimeUnit.SECONDS).getHeader("Accept-Encoding"), equalTo("reversed, gzip"));
+    }
+
+    @Test
+    public void givenCallerAcceptEncoding_whenSendRequest_thenResponseMustNotBeDecoded() throws Exception {
+        OkHttpClient client = createClient(new GzipDecoder());
+        Buffer encoded = gzip("pong");
+        long encodedSize = encoded.size();
+        mockServer.enqueue(new MockResponse().setHeader("Content-Encoding", "gzip").setBody(encoded));
+
+        Request request = new Request.Builder().url(mockServer.url("/bookings"))
+                .header("Accept-Encoding", "gzip").build();
+        try (Response response = client.newCall(request).execute()) {
+            assertThat(response.header("Content-Encoding"), equalTo("gzip"));
+            assertThat(response.body().bytes().length, equalTo((int) encodedSize));
+        }
+    }
+
+    private OkHttpClient createClient(ContentDecoder... decoders) {
+        return new OkHttpClient.Builder()
+                .addInterceptor(new CompressionInterceptor(Arrays.asList(decoders), true, 1_024))
+                .build();
+    }
+
+    private Response execute(OkHttpClient client, RequestBody body) throws IOException {
+        Request.Builder request = new Request.Builder().url(mockServer.url("/bookings"));
+        if (body != null) {
+            request.post(body);
+        }
+        return client.newCall(request.build()).execute();
+    }
+
+    private static Buffer gzip(String payload) throws IOException {
+        Buffer compressed = new Buffer();
+        try (BufferedSink sink = Okio.buffer(new GzipSink(compressed))) {
+            sink.writeUtf8(payload);
+        }
+        return compressed;
+    }
+
+    private static String repeat(String value, int times) {
+        return String.join("", Collections.nCopies(times, value));
+    }
+
+    /**
+     * Decoder of made up coding, reversing the body.
+     */
+    private static class ReversingDecoder implements ContentDecoder {
+        @Override
+        public String getEncoding() {
+            return "reversed";
+        }
+
+        @Override
+        public Source decode(Source source) throws IOException {
+            String reversed = new StringBuilder(Okio.buffer(source).readUtf8()).reverse().toString();
+            return new Buffer().writeUtf8(reversed);
+        }
+    }
+}
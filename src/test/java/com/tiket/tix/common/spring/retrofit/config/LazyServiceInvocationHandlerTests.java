@@ -0,0 +1,82 @@
+package com.tiket.tix.common.spring.retrofit.config;
+
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+import retrofit2.http.Path;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Test for lazy retrofit service proxy created with {@link LazyServiceInvocationHandler}.
+ *
+ * @author zakyalvan
+ */
+public class LazyServiceInvocationHandlerTests {
+    private final Retrofit retrofit = new Retrofit.Builder()
+            .baseUrl("http://localhost/")
+            .validateEagerly(true)
+            .build();
+
+    @Test
+    public void givenLazyProxy_whenInvoked_thenServiceMustBeCreatedOnceOnFirstInvocation() throws Exception {
+        AtomicInteger creations = new AtomicInteger();
+        BookingService bookingService = LazyServiceInvocationHandler.createProxy(BookingService.class, () -> {
+            creations.incrementAndGet();
+            return retrofit.create(BookingService.class);
+        });
+
+        assertThat(bookingService.toString(), containsString(BookingService.class.getName()));
+        assertThat(bookingService.equals(bookingService), is(true));
+        assertThat(creations.get(), is(0));
+
+        Call<Void> first = bookingService.booking("B-1");
+        Call<Void> second = bookingService.booking("B-2");
+
+        assertThat(first.request().url().encodedPath(), equalTo("/bookings/B-1"));
+        assertThat(second.request().url().encodedPath(), equalTo("/bookings/B-2"));
+        assertThat(creations.get(), is(1));
+        assertThat(handlerOf(bookingService).isResolved(), is(true));
+    }
+
+    @Test
+    public void givenInvalidService_whenInvoked_thenCreationFailureMustBeThrownAndRetried() {
+        AtomicInteger creations = new AtomicInteger();
+        InvalidService invalidService = LazyServiceInvocationHandler.createProxy(InvalidService.class, () -> {
+            creations.incrementAndGet();
+            return retrofit.create(InvalidService.class);
+        });
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                invalidService.booking();
+                throw new AssertionError("Invalid service method must fail");
+            }
+            catch (IllegalArgumentException e) {
+                assertThat(handlerOf(invalidService).isResolved(), is(false));
+            }
+        }
+        assertThat(creations.get(), is(2));
+    }
+
+    private static LazyServiceInvocationHandler<?> handlerOf(Object proxy) {
+        return (LazyServiceInvocationHandler<?>) Proxy.getInvocationHandler(proxy);
+    }
+
+    interface BookingService {
+        @GET("bookings/{code}")
+        Call<Void> booking(@Path("code") String code);
+    }
+
+    interface InvalidService {
+        @GET("bookings")
+        String booking();
+    }
+}
@@ -0,0 +1,45 @@
+package com.tiket.tix.common.spring.retrofit.config;
+
+import com.tiket.tix.common.spring.retrofit.annotation.RetrofitService;
+import com.tiket.tix.common.spring.retrofit.annotation.RetrofitServiceScan;
+import org.junit.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.classreading.SimpleMetadataReaderFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Test for registering retrofit services from index and scanning by {@link RetrofitServiceBeanDefinitionRegistrar}.
+ *
+ * @author zakyalvan
+ */
+public class RetrofitServiceBeanDefinitionRegistrarTests {
+    @Test
+    public void givenIndexWithoutServiceOfPackage_whenRegistering_thenPackageMustBeScanned() throws Exception {
+        RetrofitServiceBeanDefinitionRegistrar registrar = new RetrofitServiceBeanDefinitionRegistrar();
+        registrar.setBeanClassLoader(RetrofitServiceIndexTests.classLoaderWithIndex(getClass().getClassLoader(),
+                "com.tiket.tix.common.spring.retrofit.annotation.BookingClient=bookingClient,booking,singleton,LAZY"));
+        DefaultListableBeanFactory beanRegistry = new DefaultListableBeanFactory();
+
+        AnnotationMetadata annotationMetadata = new SimpleMetadataReaderFactory()
+                .getMetadataReader(MixedServiceConfiguration.class.getName()).getAnnotationMetadata();
+        registrar.registerBeanDefinitions(annotationMetadata, beanRegistry);
+
+        assertThat(beanRegistry.getBeanDefinition("bookingClient").getBeanClassName(),
+                equalTo("com.tiket.tix.common.spring.retrofit.annotation.BookingClient"));
+        assertThat(beanRegistry.getBeanDefinition("unindexedClient").getBeanClassName(),
+                equalTo(UnindexedClient.class.getName()));
+        assertThat(beanRegistry.containsBeanDefinition(RetrofitServiceBeanPostProcessor.BEAN_NAME), is(true));
+    }
+
+    @RetrofitServiceScan(basePackageClasses = {RetrofitService.class, RetrofitServiceBeanDefinitionRegistrarTests.class})
+    static class MixedServiceConfiguration {
+    }
+
+    @RetrofitService("unindexedClient")
+    interface UnindexedClient {
+    }
+}
@@ -0,0 +1,67 @@
+package com.tiket.tix.common.spring.retrofit.config;
+
+import com.tiket.tix.common.spring.retrofit.annotation.RetrofitService;
+import org.junit.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Test for loading compile time index of retrofit services by {@link RetrofitServiceIndex}.
+ *
+ * @author zakyalvan
+ */
+public class RetrofitServiceIndexTests {
+    @Test
+    public void givenIndex_whenLoaded_thenServicesMustBeFoundByPackage() throws Exception {
+        ClassLoader classLoader = classLoaderWithIndex(null,
+                "com.example.booking.BookingClient=bookingClient,booking,singleton,LAZY",
+                "com.example.payment.Clients$PaymentClient=com.example.payment.Clients$PaymentClient,__defaultRetrofit,prototype,DEFAULT",
+                "com.examples.OtherClient=otherClient,__defaultRetrofit,singleton,EAGER");
+
+        RetrofitServiceIndex index = RetrofitServiceIndex.load(classLoader);
+
+        List<RetrofitServiceIndex.Entry> entries = index.find("com.example");
+        assertThat(entries, hasSize(2));
+        RetrofitServiceIndex.Entry booking = index.find("com.example.booking").get(0);
+        assertThat(booking.getBeanName(), equalTo("bookingClient"));
+        assertThat(booking.getRetrofitName(), equalTo("booking"));
+        assertThat(booking.isSingleton(), is(true));
+        assertThat(booking.getInitialization(), is(RetrofitService.Initialization.LAZY));
+        assertThat(index.find("com.example.payment").get(0).isSingleton(), is(false));
+    }
+
+    @Test
+    public void givenNoIndex_whenLoaded_thenMustReturnNull() throws Exception {
+        ClassLoader classLoader = new URLClassLoader(new URL[0], null);
+
+        assertThat(RetrofitServiceIndex.load(classLoader), is(nullValue()));
+    }
+
+    /**
+     * Create class loader with index of given lines.
+     *
+     * @param parent
+     * @param lines
+     * @return
+     * @throws Exception
+     */
+    static ClassLoader classLoaderWithIndex(ClassLoader parent, String... lines) throws Exception {
+        Path directory = Files.createTempDirectory("retrofit-service-index");
+        Path index = directory.resolve(RetrofitServiceIndex.INDEX_LOCATION);
+        Files.createDirectories(index.getParent());
+        Files.write(index, String.join("\n", lines).getBytes(StandardCharsets.ISO_8859_1));
+        index.toFile().deleteOnExit();
+        return new URLClassLoader(new URL[]{directory.toUri().toURL()}, parent);
+    }
+}
@@ -0,0 +1,117 @@
+package com.tiket.tix.common.spring.retrofit.conversion;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.tiket.tix.common.spring.retrofit.streaming.StreamingJacksonConverterFactory;
+import com.tiket.tix.common.spring.retrofit.support.MockHttpServerRule;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.Retrofit;
+import retrofit2.http.Body;
+import retrofit2.http.Headers;
+import retrofit2.http.POST;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.startsWith;
+
+/**
+ * Test for negotiating content format of request and response bodies by {@link NegotiatingConverterFactory}.
+ *
+ * @author zakyalvan
+ */
+public class NegotiatingConverterFactoryTests {
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+    @Rule
+    public final MockHttpServerRule mockServer = new MockHttpServerRule();
+
+    private BookingService bookingService;
+
+    @Before
+    public void setUp() throws Exception {
+        FormatConverterFactory smile = new FormatConverterFactory(ContentFormat.SMILE,
+                new StreamingJacksonConverterFactory(smileMapper, ContentFormat.SMILE.getMediaType()));
+        FormatConverterFactory json = new FormatConverterFactory(ContentFormat.JSON, null);
+        bookingService = new Retrofit.Builder()
+                .baseUrl(mockServer.url("/"))
+                .client(new OkHttpClient.Builder()
+                        .addInterceptor(new AcceptHeaderInterceptor(Arrays.asList(ContentFormat.SMILE, ContentFormat.JSON)))
+                        .build())
+                .addConverterFactory(new NegotiatingConverterFactory(Arrays.asList(smile, json)))
+                .addConverterFactory(new StreamingJacksonConverterFactory(new ObjectMapper()))
+                .build()
+                .create(BookingService.class);
+    }
+
+    @Test
+    public void givenPreferredFormat_whenSendRequest_thenMustBeWrittenAndReadInThatFormat() throws Exception {
+        mockServer.enqueue(new MockResponse()
+                .setHeader("Content-Type", "application/x-jackson-smile")
+                .setBody(new Buffer().write(smileMapper.writeValueAsBytes(new Booking("B-1", "ISSUED")))));
+
+        Booking booking = bookingService.book(new Booking("B-1", "NEW")).execute().body();
+
+        assertThat(booking.status, equalTo("ISSUED"));
+        RecordedRequest recorded = mockServer.takeRequest(1, TimeUnit.SECONDS);
+        assertThat(recorded.getHeader("Accept"), equalTo("application/x-jackson-smile, application/json;q=0.9"));
+        assertThat(recorded.getHeader("Content-Type"), startsWith("application/x-jackson-smile"));
+        assertThat(smileMapper.readValue(recorded.getBody().readByteArray(), Booking.class).status, equalTo("NEW"));
+    }
+
+    @Test
+    public void givenJsonResponse_whenOtherFormatPreferred_thenMustBeReadAsJson() throws Exception {
+        mockServer.enqueue(new MockResponse()
+                .setHeader("Content-Type", "application/json; charset=utf-8")
+                .setBody("{\"code\":\"B-1\",\"status\":\"ISSUED\"}"));
+
+        Booking booking = bookingService.book(new Booking("B-1", "NEW")).execute().body();
+
+        assertThat(booking.status, equalTo("ISSUED"));
+    }
+
+    @Test
+    public void givenDeclaredContentType_whenSendRequest_thenMustBeWrittenInDeclaredFormat() throws Exception {
+        mockServer.enqueue(new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"code\":\"B-1\",\"status\":\"ISSUED\"}"));
+
+        bookingService.bookJson(new Booking("B-1", "NEW")).execute();
+
+        RecordedRequest recorded = mockServer.takeRequest(1, TimeUnit.SECONDS);
+        assertThat(recorded.getHeader("Content-Type"), startsWith("application/json"));
+        assertThat(recorded.getBody().readUtf8(), equalTo("{\"code\":\"B-1\",\"status\":\"NEW\"}"));
+    }
+
+    interface BookingService {
+        @POST("/bookings")
+        Call<Booking> book(@Body Booking booking);
+
+        @Headers("Content-Type: application/json")
+        @POST("/bookings")
+        Call<Booking> bookJson(@Body Booking booking);
+    }
+
+    public static class Booking {
+        public String code;
+
+        public String status;
+
+        public Booking() {
+        }
+
+        Booking(String code, String status) {
+            this.code = code;
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.tiket.tix.common.spring.retrofit.dns;
+
+import okhttp3.Dns;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Test for caching resolved addresses by {@link CachingDns}, resolving with fake dns instead of the real one.
+ *
+ * @author zakyalvan
+ */
+public class CachingDnsTests {
+    private static final String HOSTNAME = "booking.tiket.local";
+
+    private FakeDns fakeDns;
+
+    @Before
+    public void setUp() throws Exception {
+        fakeDns = new FakeDns();
+        fakeDns.answer("10.0.0.1");
+    }
+
+    @Test
+    public void givenResolvedHost_whenLookedUpWithinTtl_thenMustBeServedFromCache() throws Exception {
+        CachingDns cachingDns = new CachingDns(fakeDns, 60_000, 0, 0, Collections.emptyMap(), Runnable::run);
+
+        cachingDns.lookup(HOSTNAME);
+        List<InetAddress> addresses = cachingDns.lookup(HOSTNAME);
+
+        assertThat(addresses, contains(address("10.0.0.1")));
+        assertThat(fakeDns.lookupCount.get(), equalTo(1));
+    }
+
+    @Test
+    public void givenExpiredEntry_whenLookedUp_thenMustBeResolvedAgain() throws Exception {
+        CachingDns cachingDns = new CachingDns(fakeDns, 50, 0, 0, Collections.emptyMap(), Runnable::run);
+
+        cachingDns.lookup(HOSTNAME);
+        fakeDns.answer("10.0.0.2");
+        Thread.sleep(100);
+
+        assertThat(cachingDns.lookup(HOSTNAME), contains(address("10.0.0.2")));
+        assertThat(fakeDns.lookupCount.get(), equalTo(2));
+    }
+
+    @Test
+    public void givenEntryWithinRefreshAhead_whenLookedUp_thenMustBeServedWhileRefreshed() throws Exception {
+        CachingDns cachingDns = new CachingDns(fakeDns, 1_000, 950, 0, Collections.emptyMap(), Runnable::run);
+
+        cachingDns.lookup(HOSTNAME);
+        fakeDns.answer("10.0.0.2");
+        Thread.sleep(100);
+
+        assertThat(cachingDns.lookup(HOSTNAME), contains(address("10.0.0.1")));
+        assertThat(cachingDns.lookup(HOSTNAME), contains(address("10.0.0.2")));
+        assertThat(fakeDns.lookupCount.get(), equalTo(2));
+    }
+
+    @Test
+    public void givenFailedRefresh_whenLookedUp_thenCachedAddressesMustBeKept() throws Exception {
+        CachingDns cachingDns = new CachingDns(fakeDns, 1_000, 950, 5_000, Collections.emptyMap(), Runnable::run);
+
+        cachingDns.lookup(HOSTNAME);
+        fakeDns.fail();
+        Thread.sleep(100);
+        cachingDns.lookup(HOSTNAME);
+
+        assertThat(cachingDns.lookup(HOSTNAME), contains(address("10.0.0.1")));
+    }
+
+    @Test
+    public void givenUnknownHost_whenLookedUpAgain_thenFailureMustBeServedFromCache() throws Exception {
+        CachingDns cachingDns = new CachingDns(fakeDns, 60_000, 0, 5_000, Collections.emptyMap(), Runnable::run);
+        fakeDns.fail();
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                cachingDns.lookup(HOSTNAME);
+                throw new AssertionError("Unknown host must be reported");
+            }
+            catch (UnknownHostException e) {
+                assertThat(e.getMessage(), equalTo(HOSTNAME));
+            }
+        }
+        assertThat(fakeDns.lookupCount.get(), equalTo(1));
+    }
+
+    @Test
+    public void givenOverriddenHost_whenLookedUp_thenMustNotBeResolved() throws Exception {
+        CachingDns cachingDns = new CachingDns(fakeDns, 60_000, 0, 0,
+                Collections.singletonMap("Booking.Tiket.Local", Collections.singletonList(address("10.0.0.9"))),
+                Runnable::run);
+
+        assertThat(cachingDns.lookup(HOSTNAME), contains(address("10.0.0.9")));
+        assertThat(fakeDns.lookupCount.get(), equalTo(0));
+    }
+
+    private static InetAddress address(String ipAddress) throws UnknownHostException {
+        return InetAddress.getByAddress(HOSTNAME, InetAddress.getByName(ipAddress).getAddress());
+    }
+
+    /**
+     * Fake dns answering configured address, or failing as unknown host.
+     */
+    private static class FakeDns implements Dns {
+        private final AtomicInteger lookupCount = new AtomicInteger();
+
+        private volatile InetAddress answer;
+
+        void answer(String ipAddress) throws UnknownHostException {
+            answer = address(ipAddress);
+        }
+
+        void fail() {
+            answer = null;
+        }
+
+        @Override
+        public List<InetAddress> lookup(String hostname) throws UnknownHostException {
+            lookupCount.incrementAndGet();
+            if (answer == null) {
+                throw new UnknownHostException(hostname);
+            }
+            return Collections.singletonList(answer);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.tiket.tix.common.spring.retrofit.generated;
+
+import com.tiket.tix.common.spring.retrofit.support.MockHttpServerRule;
+import io.reactivex.Single;
+import okhttp3.mockwebserver.MockResponse;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+import retrofit2.http.Path;
+
+import java.lang.reflect.Proxy;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Test for creating retrofit services from generated implementations by {@link GeneratedServices}.
+ *
+ * @author zakyalvan
+ */
+public class GeneratedServicesTests {
+    @Rule
+    public final MockHttpServerRule mockServer = new MockHttpServerRule();
+
+    private Retrofit retrofit;
+
+    @Before
+    public void setUp() throws Exception {
+        retrofit = mockServer.retrofitBuilder().build();
+    }
+
+    @Test
+    public void givenGeneratedImplementation_whenCreated_thenMustCallThroughBoundServiceMethods() throws Exception {
+        mockServer.enqueue(new MockResponse().setBody("\"confirmed\""));
+        mockServer.enqueue(new MockResponse().setBody("\"pong\""));
+
+        BookingService bookingService = GeneratedServices.create(BookingService.class, retrofit);
+
+        assertThat(bookingService, instanceOf(GeneratedServicesTests_BookingService_RetrofitImpl.class));
+        assertThat(bookingService.booking("BK-1").execute().body(), equalTo("confirmed"));
+        assertThat(mockServer.takeRequest().getPath(), equalTo("/bookings/BK-1"));
+        assertThat(bookingService.ping().blockingGet(), equalTo("pong"));
+        assertThat(mockServer.takeRequest().getPath(), equalTo("/ping"));
+    }
+
+    @Test
+    public void givenNoGeneratedImplementation_whenCreated_thenMustFallbackToDynamicProxy() {
+        PlainService plainService = GeneratedServices.create(PlainService.class, retrofit);
+
+        assertThat(Proxy.isProxyClass(plainService.getClass()), is(true));
+        assertThat(GeneratedServices.implementationName(PlainService.class),
+                equalTo("com.tiket.tix.common.spring.retrofit.generated.GeneratedServicesTests_PlainService_RetrofitImpl"));
+    }
+
+    public interface BookingService {
+        @GET("bookings/{id}")
+        Call<String> booking(@Path("id") String id);
+
+        @GET("ping")
+        Single<String> ping();
+    }
+
+    @Test
+    public void givenUnlinkableGeneratedImplementation_whenCreated_thenMustFallbackToDynamicProxy() {
+        UnlinkableService unlinkableService = GeneratedServices.create(UnlinkableService.class, retrofit);
+
+        assertThat(Proxy.isProxyClass(unlinkableService.getClass()), is(true));
+    }
+
+    public interface UnlinkableService {
+        @GET("ping")
+        Call<String> ping();
+    }
+
+    public interface PlainService {
+        @GET("ping")
+        Call<String> ping();
+    }
+}
@@ -0,0 +1,31 @@
+package com.tiket.tix.common.spring.retrofit.generated;
+
+/**
+ * Implementation of {@link GeneratedServicesTests.BookingService} as generated by the processor.
+ *
+ * @author zakyalvan
+ */
+public final class GeneratedServicesTests_BookingService_RetrofitImpl implements GeneratedServicesTests.BookingService {
+    private final retrofit2.BoundServiceMethod method0;
+
+    private final retrofit2.BoundServiceMethod method1;
+
+    public GeneratedServicesTests_BookingService_RetrofitImpl(retrofit2.Retrofit retrofit) throws NoSuchMethodException {
+        method0 = retrofit2.BoundServiceMethod.bind(retrofit,
+                GeneratedServicesTests.BookingService.class.getMethod("booking", java.lang.String.class));
+        method1 = retrofit2.BoundServiceMethod.bind(retrofit,
+                GeneratedServicesTests.BookingService.class.getMethod("ping"));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public retrofit2.Call<java.lang.String> booking(java.lang.String arg0) {
+        return (retrofit2.Call<java.lang.String>) method0.invoke(new Object[]{arg0});
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public io.reactivex.Single<java.lang.String> ping() {
+        return (io.reactivex.Single<java.lang.String>) method1.invoke(retrofit2.BoundServiceMethod.NO_ARGUMENTS);
+    }
+}
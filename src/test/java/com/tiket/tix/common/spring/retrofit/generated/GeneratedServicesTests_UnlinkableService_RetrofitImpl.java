@@ -0,0 +1,18 @@
+package com.tiket.tix.common.spring.retrofit.generated;
+
+/**
+ * Implementation of {@link GeneratedServicesTests.UnlinkableService} failing to link as if generated against other
+ * retrofit version.
+ *
+ * @author zakyalvan
+ */
+public final class GeneratedServicesTests_UnlinkableService_RetrofitImpl implements GeneratedServicesTests.UnlinkableService {
+    public GeneratedServicesTests_UnlinkableService_RetrofitImpl(retrofit2.Retrofit retrofit) {
+        throw new NoSuchMethodError("retrofit2.ServiceMethod.parseAnnotations");
+    }
+
+    @Override
+    public retrofit2.Call<java.lang.String> ping() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,112 @@
+package com.tiket.tix.common.spring.retrofit.hedging;
+
+import com.tiket.tix.common.spring.retrofit.annotation.Hedged;
+import com.tiket.tix.common.spring.retrofit.retry.RetryBudget;
+import com.tiket.tix.common.spring.retrofit.support.MockHttpServerRule;
+import io.reactivex.Single;
+import io.reactivex.schedulers.Schedulers;
+import okhttp3.mockwebserver.MockResponse;
+import org.junit.Rule;
+import org.junit.Test;
+import retrofit2.adapter.rxjava2.RxJava2CallAdapterFactory;
+import retrofit2.http.Body;
+import retrofit2.http.GET;
+import retrofit2.http.POST;
+import retrofit2.http.Path;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Test for hedging slow calls by {@link HedgingCallAdapterFactory}.
+ *
+ * @author zakyalvan
+ */
+public class HedgingCallAdapterFactoryTests {
+    @Rule
+    public final MockHttpServerRule mockServer = new MockHttpServerRule();
+
+    @Test
+    public void givenSlowResponse_whenSubscribed_thenHedgedResponseMustWin() throws Exception {
+        PriceService priceService = createService(new RetryBudget(10, 5));
+        mockServer.enqueue(new MockResponse().setBody("\"SLOW\"").setHeadersDelay(2, TimeUnit.SECONDS));
+        mockServer.enqueue(new MockResponse().setBody("\"FAST\""));
+
+        long start = System.nanoTime();
+        String price = priceService.price("CGK-DPS").blockingGet();
+
+        assertThat(price, equalTo("FAST"));
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), lessThan(1_500L));
+        assertThat(mockServer.getRequestCount(), is(2));
+    }
+
+    @Test
+    public void givenSlowResponse_whenFutureCalled_thenHedgedResponseMustWin() throws Exception {
+        PriceService priceService = createService(new RetryBudget(10, 5));
+        mockServer.enqueue(new MockResponse().setBody("\"SLOW\"").setHeadersDelay(2, TimeUnit.SECONDS));
+        mockServer.enqueue(new MockResponse().setBody("\"FAST\""));
+
+        CompletableFuture<String> price = priceService.priceFuture("CGK-DPS");
+
+        assertThat(price.get(1_500, TimeUnit.MILLISECONDS), equalTo("FAST"));
+    }
+
+    @Test
+    public void givenFastResponse_whenSubscribed_thenNoDuplicateRequestSent() throws Exception {
+        PriceService priceService = createService(new RetryBudget(10, 5));
+        mockServer.enqueue(new MockResponse().setBody("\"FAST\""));
+
+        assertThat(priceService.price("CGK-DPS").blockingGet(), equalTo("FAST"));
+        Thread.sleep(150);
+
+        assertThat(mockServer.getRequestCount(), is(1));
+    }
+
+    @Test
+    public void givenBudgetExhausted_whenSubscribed_thenMustWaitPrimaryResponse() throws Exception {
+        PriceService priceService = createService(new RetryBudget(0, 1));
+        mockServer.enqueue(new MockResponse().setBody("\"SLOW\"").setHeadersDelay(300, TimeUnit.MILLISECONDS));
+        mockServer.enqueue(new MockResponse().setBody("\"FAST\""));
+        mockServer.enqueue(new MockResponse().setBody("\"SLOW\"").setHeadersDelay(300, TimeUnit.MILLISECONDS));
+
+        assertThat(priceService.price("CGK-DPS").blockingGet(), equalTo("FAST"));
+        assertThat(priceService.price("CGK-DPS").blockingGet(), equalTo("SLOW"));
+        assertThat(mockServer.getRequestCount(), is(3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenHedgedNonIdempotentMethod_whenCreatingService_thenMustBeRejected() {
+        mockServer.retrofitBuilder(new HedgingCallAdapterFactory(new RetryBudget(10, 5), Schedulers.io(), 100))
+                .validateEagerly(true)
+                .build()
+                .create(BookingService.class);
+    }
+
+    private PriceService createService(RetryBudget budget) {
+        return mockServer.retrofitBuilder(new HedgingCallAdapterFactory(budget, Schedulers.io(), 100),
+                RxJava2CallAdapterFactory.createWithScheduler(Schedulers.io()))
+                .build()
+                .create(PriceService.class);
+    }
+
+    interface PriceService {
+        @Hedged(delay = 50)
+        @GET("/prices/{route}")
+        Single<String> price(@Path("route") String route);
+
+        @Hedged
+        @GET("/prices/{route}")
+        CompletableFuture<String> priceFuture(@Path("route") String route);
+    }
+
+    interface BookingService {
+        @Hedged
+        @POST("/bookings")
+        Single<String> book(@Body String code);
+    }
+}
@@ -0,0 +1,124 @@
+package com.tiket.tix.common.spring.retrofit.hedging;
+
+import com.tiket.tix.common.spring.retrofit.retry.RetryBudget;
+import io.reactivex.schedulers.Schedulers;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Test for discarding response of losing attempt by {@link HedgingCall}.
+ *
+ * @author zakyalvan
+ */
+public class HedgingCallTests {
+    private final List<Callback<ResponseBody>> attempts = new CopyOnWriteArrayList<>();
+
+    private final HedgingCall<ResponseBody> hedgingCall = new HedgingCall<>(new StubCall(attempts),
+            new HedgingPolicy(0, 0, 0, new RetryBudget(100, 10), Schedulers.trampoline()));
+
+    @Test
+    public void givenLosingResponseAfterWinner_whenCompleted_thenLoserBodyMustBeClosed() {
+        AtomicBoolean loserClosed = new AtomicBoolean();
+        startRace();
+
+        attempts.get(0).onResponse(null, Response.success(trackedBody(new AtomicBoolean())));
+        attempts.get(1).onResponse(null, Response.success(trackedBody(loserClosed)));
+
+        assertThat(loserClosed.get(), is(true));
+    }
+
+    @Test
+    public void givenLosingErrorResponseAfterWinner_whenCompleted_thenLoserErrorBodyMustBeClosed() {
+        AtomicBoolean loserClosed = new AtomicBoolean();
+        startRace();
+
+        attempts.get(0).onResponse(null, Response.success(trackedBody(new AtomicBoolean())));
+        attempts.get(1).onResponse(null, Response.error(503, trackedBody(loserClosed)));
+
+        assertThat(loserClosed.get(), is(true));
+    }
+
+    private void startRace() {
+        hedgingCall.enqueue(new Callback<ResponseBody>() {
+            @Override
+            public void onResponse(Call<ResponseBody> call, Response<ResponseBody> response) {
+            }
+
+            @Override
+            public void onFailure(Call<ResponseBody> call, Throwable t) {
+            }
+        });
+        assertThat(attempts, hasSize(2));
+    }
+
+    private static ResponseBody trackedBody(AtomicBoolean closed) {
+        return ResponseBody.create(null, -1, Okio.buffer(new ForwardingSource(new Buffer().writeUtf8("body")) {
+            @Override
+            public void close() throws IOException {
+                closed.set(true);
+                super.close();
+            }
+        }));
+    }
+
+    /**
+     * Call capturing callbacks of its clones, completed by the test.
+     */
+    private static final class StubCall implements Call<ResponseBody> {
+        private final List<Callback<ResponseBody>> attempts;
+
+        StubCall(List<Callback<ResponseBody>> attempts) {
+            this.attempts = attempts;
+        }
+
+        @Override
+        public Response<ResponseBody> execute() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void enqueue(Callback<ResponseBody> callback) {
+            attempts.add(callback);
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return false;
+        }
+
+        @Override
+        public void cancel() {
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return false;
+        }
+
+        @Override
+        public Call<ResponseBody> clone() {
+            return new StubCall(attempts);
+        }
+
+        @Override
+        public Request request() {
+            return new Request.Builder().url("http://localhost/").build();
+        }
+    }
+}
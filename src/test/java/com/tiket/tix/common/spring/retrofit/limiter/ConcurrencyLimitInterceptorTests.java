@@ -0,0 +1,136 @@
+package com.tiket.tix.common.spring.retrofit.limiter;
+
+import com.tiket.tix.common.spring.retrofit.support.MockHttpServerRule;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Test for limiting requests in flight by {@link ConcurrencyLimitInterceptor} and adjusting the limit by
+ * {@link LimitAlgorithm}s.
+ *
+ * @author zakyalvan
+ */
+public class ConcurrencyLimitInterceptorTests {
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Rule
+    public final MockHttpServerRule mockServer = new MockHttpServerRule();
+
+    @Test
+    public void givenLimitReached_whenSendRequest_thenMustBeRejectedImmediately() throws Exception {
+        ConcurrencyLimitInterceptor limiter = new ConcurrencyLimitInterceptor("flight", new AimdLimit(1, 1, 1, 0.9));
+        OkHttpClient client = new OkHttpClient.Builder().addInterceptor(limiter).build();
+        mockServer.enqueue(new MockResponse().setBody("slow").setHeadersDelay(300, TimeUnit.MILLISECONDS));
+
+        CompletableFuture<Integer> running = CompletableFuture.supplyAsync(() -> {
+            try (Response response = client.newCall(new Request.Builder().url(mockServer.url("/slow")).build()).execute()) {
+                return response.code();
+            }
+            catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        mockServer.takeRequest(1, TimeUnit.SECONDS);
+        assertThat(limiter.getInFlight(), is(1));
+
+        try {
+            client.newCall(new Request.Builder().url(mockServer.url("/fast")).build()).execute().close();
+            throw new AssertionError("Request above limit must be rejected");
+        }
+        catch (ConcurrencyLimitExceededException e) {
+            assertThat(limiter.getRejected(), is(1L));
+        }
+
+        assertThat(running.get(1, TimeUnit.SECONDS), is(200));
+        assertThat(limiter.getInFlight(), is(0));
+    }
+
+    @Test
+    public void givenAimd_whenDropped_thenLimitMustDecreaseMultiplicatively() {
+        AimdLimit limit = new AimdLimit(20, 1, 100, 0.5);
+
+        limit.onSample(10 * MILLIS, 15, false);
+        assertThat(limit.getLimit(), is(21));
+
+        limit.onSample(10 * MILLIS, 15, true);
+        assertThat(limit.getLimit(), is(10));
+
+        limit.onSample(10 * MILLIS, 2, false);
+        assertThat(limit.getLimit(), is(10));
+    }
+
+    @Test
+    public void givenVegas_whenLatencyRises_thenLimitMustShrink() {
+        VegasLimit limit = new VegasLimit(20, 1, 100);
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(10 * MILLIS, limit.getLimit(), false);
+        }
+        int grown = limit.getLimit();
+        assertThat(grown, greaterThan(20));
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(50 * MILLIS, limit.getLimit(), false);
+        }
+        assertThat(limit.getLimit(), lessThan(grown));
+    }
+
+    @Test
+    public void givenGradient2_whenLatencyRises_thenLimitMustShrink() {
+        Gradient2Limit limit = new Gradient2Limit(20, 1, 100, 0.2, 1.5);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(10 * MILLIS, limit.getLimit(), false);
+        }
+        int grown = limit.getLimit();
+        assertThat(grown, greaterThan(20));
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(100 * MILLIS, limit.getLimit(), false);
+        }
+        assertThat(limit.getLimit(), lessThan(grown));
+    }
+
+    @Test
+    public void givenVegas_whenFastDropFollowsNormalTraffic_thenLimitMustNotCollapse() {
+        VegasLimit limit = new VegasLimit(20, 1, 100);
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(10 * MILLIS, limit.getLimit(), false);
+        }
+        int grown = limit.getLimit();
+
+        limit.onSample(MILLIS / 10, limit.getLimit(), true);
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(10 * MILLIS, limit.getLimit(), false);
+        }
+        assertThat(limit.getLimit(), greaterThanOrEqualTo(grown));
+    }
+
+    @Test
+    public void givenGradient2_whenFastDropFollowsNormalTraffic_thenLimitMustNotCollapse() {
+        Gradient2Limit limit = new Gradient2Limit(20, 1, 100, 0.2, 1.0);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(10 * MILLIS, limit.getLimit(), false);
+        }
+        int grown = limit.getLimit();
+
+        for (int i = 0; i < 5; i++) {
+            limit.onSample(MILLIS / 10, limit.getLimit(), true);
+        }
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(10 * MILLIS, limit.getLimit(), false);
+        }
+        assertThat(limit.getLimit(), greaterThanOrEqualTo(grown));
+    }
+}
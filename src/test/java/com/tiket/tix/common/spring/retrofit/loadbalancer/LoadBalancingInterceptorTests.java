@@ -0,0 +1,108 @@
+package com.tiket.tix.common.spring.retrofit.loadbalancer;
+
+import com.tiket.tix.common.spring.retrofit.support.MockHttpServerRule;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Test for balancing requests among base urls by {@link LoadBalancingInterceptor}.
+ *
+ * @author zakyalvan
+ */
+public class LoadBalancingInterceptorTests {
+    @Rule
+    public final MockHttpServerRule firstServer = new MockHttpServerRule();
+
+    @Rule
+    public final MockHttpServerRule secondServer = new MockHttpServerRule();
+
+    @Test
+    public void givenRoundRobin_whenSendRequests_thenSpreadEvenlyWithRewrittenBasePath() throws Exception {
+        OkHttpClient client = createClient(new RoundRobinSelector(), 5);
+        for (int i = 0; i < 4; i++) {
+            firstServer.enqueue(new MockResponse().setBody("first"));
+            secondServer.enqueue(new MockResponse().setBody("second"));
+        }
+
+        for (int i = 0; i < 8; i++) {
+            execute(client, firstServer.url("/api/airports?code=CGK"));
+        }
+
+        assertThat(firstServer.getRequestCount(), is(4));
+        assertThat(secondServer.getRequestCount(), is(4));
+        assertThat(firstServer.takeRequest(1, TimeUnit.SECONDS).getPath(), equalTo("/api/airports?code=CGK"));
+        assertThat(secondServer.takeRequest(1, TimeUnit.SECONDS).getPath(), equalTo("/v2/airports?code=CGK"));
+    }
+
+    @Test
+    public void givenFailingEndpoint_whenFailuresReachThreshold_thenEndpointEjected() throws Exception {
+        OkHttpClient client = createClient(new RoundRobinSelector(), 2);
+        for (int i = 0; i < 2; i++) {
+            secondServer.enqueue(new MockResponse().setResponseCode(503));
+        }
+        for (int i = 0; i < 6; i++) {
+            firstServer.enqueue(new MockResponse().setBody("first"));
+        }
+
+        for (int i = 0; i < 8; i++) {
+            execute(client, firstServer.url("/api/airports"));
+        }
+
+        assertThat(secondServer.getRequestCount(), is(2));
+        assertThat(firstServer.getRequestCount(), is(6));
+    }
+
+    @Test
+    public void givenLeastOutstanding_whenSendRequests_thenAllServed() throws Exception {
+        OkHttpClient client = createClient(new LeastOutstandingSelector(), 5);
+        for (int i = 0; i < 4; i++) {
+            firstServer.enqueue(new MockResponse().setBody("first"));
+            secondServer.enqueue(new MockResponse().setBody("second"));
+        }
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(execute(client, firstServer.url("/api/airports")), is(200));
+        }
+        assertThat(firstServer.getRequestCount() + secondServer.getRequestCount(), is(4));
+    }
+
+    @Test
+    public void givenRequestOutsideBaseUrl_whenSendRequest_thenNotBalanced() throws Exception {
+        OkHttpClient client = createClient(new RoundRobinSelector(), 5);
+        for (int i = 0; i < 2; i++) {
+            firstServer.enqueue(new MockResponse().setBody("first"));
+        }
+
+        execute(client, firstServer.url("/health"));
+        execute(client, firstServer.url("/health"));
+
+        assertThat(firstServer.getRequestCount(), is(2));
+        assertThat(secondServer.getRequestCount(), is(0));
+    }
+
+    private OkHttpClient createClient(EndpointSelector selector, int failureThreshold) {
+        HttpUrl primaryUrl = firstServer.url("/api/");
+        LoadBalancingInterceptor interceptor = new LoadBalancingInterceptor(primaryUrl,
+                Arrays.asList(primaryUrl, secondServer.url("/v2/")), selector, failureThreshold, 60_000, 10_000);
+        return new OkHttpClient.Builder().addInterceptor(interceptor).build();
+    }
+
+    private static int execute(OkHttpClient client, HttpUrl url) throws IOException {
+        try (Response response = client.newCall(new Request.Builder().url(url).build()).execute()) {
+            return response.code();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.tiket.tix.common.spring.retrofit.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.tiket.tix.common.spring.retrofit.support.MockHttpServerRule;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Test for logging http exchanges by {@link ExchangeLoggingInterceptor}.
+ *
+ * @author zakyalvan
+ */
+public class ExchangeLoggingInterceptorTests {
+    private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(ExchangeLoggingInterceptorTests.class);
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @Rule
+    public final MockHttpServerRule mockServer = new MockHttpServerRule();
+
+    @Before
+    public void setUp() throws Exception {
+        appender.start();
+        logger.addAppender(appender);
+        logger.setLevel(Level.DEBUG);
+
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    public void givenExchange_whenDebugEnabled_thenMustBeLoggedAsSingleRedactedEvent() throws Exception {
+        OkHttpClient client = createClient(1, 1_024);
+        mockServer.enqueue(new MockResponse().setHeader("Content-Type", "application/json")
+                .setBody("{\"status\":\"ISSUED\"}"));
+
+        Request request = new Request.Builder().url(mockServer.url("/bookings"))
+                .header("Authorization", "Bearer secret")
+                .post(RequestBody.create(JSON, "{\"code\":\"B-1\"}"))
+                .build();
+        try (Response response = client.newCall(request).execute()) {
+            assertThat(response.body().string(), equalTo("{\"status\":\"ISSUED\"}"));
+        }
+
+        assertThat(appender.list, hasSize(1));
+        String event = appender.list.get(0).getFormattedMessage();
+        assertThat(event, containsString("method=POST"));
+        assertThat(event, containsString("status=200"));
+        assertThat(event, containsString("Authorization: ***"));
+        assertThat(event, not(containsString("secret")));
+        assertThat(event, containsString("request.body=\"{\"code\":\"B-1\"}\""));
+        assertThat(event, containsString("response.body=\"{\"status\":\"ISSUED\"}\""));
+    }
+
+    @Test
+    public void givenLargeResponse_whenLogged_thenBodyMustBeTruncatedButFullyReadable() throws Exception {
+        OkHttpClient client = createClient(1, 8);
+        String payload = String.join("", Collections.nCopies(100, "0123456789"));
+        mockServer.enqueue(new MockResponse().setHeader("Content-Type", "text/plain").setBody(payload));
+
+        try (Response response = client.newCall(new Request.Builder().url(mockServer.url("/bookings")).build()).execute()) {
+            assertThat(response.body().string(), equalTo(payload));
+        }
+
+        String event = appender.list.get(0).getFormattedMessage();
+        assertThat(event, containsString("response.body=\"01234567...\" response.body.truncated=true"));
+    }
+
+    @Test
+    public void givenDebugDisabled_whenExecuted_thenNothingMustBeLogged() throws Exception {
+        logger.setLevel(Level.INFO);
+        OkHttpClient client = createClient(1, 1_024);
+        mockServer.enqueue(new MockResponse().setBody("pong"));
+
+        try (Response response = client.newCall(new Request.Builder().url(mockServer.url("/ping")).build()).execute()) {
+            assertThat(response.body().string(), equalTo("pong"));
+        }
+
+        assertThat(appender.list, hasSize(0));
+    }
+
+    @Test
+    public void givenZeroSampleRate_whenExecuted_thenNothingMustBeLogged() throws Exception {
+        OkHttpClient client = createClient(0, 1_024);
+        mockServer.enqueue(new MockResponse().setBody("pong"));
+
+        client.newCall(new Request.Builder().url(mockServer.url("/ping")).build()).execute().close();
+
+        assertThat(appender.list, hasSize(0));
+    }
+
+    private OkHttpClient createClient(double sampleRate, long maxBodySize) {
+        return new OkHttpClient.Builder()
+                .addInterceptor(new ExchangeLoggingInterceptor(logger, sampleRate, maxBodySize,
+                        Arrays.asList("authorization", "cookie")))
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.tiket.tix.common.spring.retrofit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+
+import java.io.IOException;
+import java.net.ConnectException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Test for latency recording of {@link MetricsInterceptor}.
+ *
+ * @author zakyalvan
+ */
+public class MetricsInterceptorTests {
+    private MeterRegistry meterRegistry;
+
+    private int responseStatus;
+
+    private IOException failure;
+
+    private PingService pingService;
+
+    @Before
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        responseStatus = 200;
+        failure = null;
+
+        OkHttpClient httpClient = new OkHttpClient.Builder()
+                .addInterceptor(new MetricsInterceptor(meterRegistry, "sample"))
+                .addInterceptor(chain -> {
+                    if (failure != null) {
+                        throw failure;
+                    }
+                    return new Response.Builder()
+                            .request(chain.request())
+                            .protocol(Protocol.HTTP_1_1)
+                            .code(responseStatus)
+                            .message("Sample")
+                            .body(ResponseBody.create(MediaType.parse("text/plain"), "pong"))
+                            .build();
+                })
+                .build();
+
+        pingService = new Retrofit.Builder()
+                .baseUrl("http://localhost/")
+                .client(httpClient)
+                .build()
+                .create(PingService.class);
+    }
+
+    @Test
+    public void givenSuccessResponse_whenCalled_thenMustRecordTimerTaggedByMethodAndStatus() throws Exception {
+        pingService.ping().execute().body().close();
+        pingService.ping().execute().body().close();
+        responseStatus = 503;
+        pingService.ping().execute().errorBody().close();
+
+        assertThat(timerCount("200", MetricsInterceptor.NONE), equalTo(2L));
+        assertThat(timerCount("503", MetricsInterceptor.NONE), equalTo(1L));
+    }
+
+    @Test
+    public void givenIoFailure_whenCalled_thenMustRecordTimerTaggedByException() {
+        failure = new ConnectException("Connection refused");
+        try {
+            pingService.ping().execute();
+        }
+        catch (IOException e) {
+            // Expected.
+        }
+
+        assertThat(timerCount(MetricsInterceptor.CLIENT_ERROR, "ConnectException"), equalTo(1L));
+    }
+
+    private long timerCount(String status, String exception) {
+        return meterRegistry.get(MetricsInterceptor.REQUESTS_METRIC)
+                .tags("retrofit", "sample", "service", "PingService", "method", "ping")
+                .tags("status", status, "exception", exception)
+                .timer()
+                .count();
+    }
+
+    interface PingService {
+        @GET("ping")
+        Call<ResponseBody> ping();
+    }
+}
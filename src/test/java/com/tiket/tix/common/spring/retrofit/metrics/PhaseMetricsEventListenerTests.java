@@ -0,0 +1,71 @@
+package com.tiket.tix.common.spring.retrofit.metrics;
+
+import com.tiket.tix.common.spring.retrofit.support.MockHttpServerRule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Test for phase timing and connection reuse recorded by {@link PhaseMetricsEventListener}.
+ *
+ * @author zakyalvan
+ */
+public class PhaseMetricsEventListenerTests {
+    @Rule
+    public final MockHttpServerRule mockServer = new MockHttpServerRule();
+
+    private MeterRegistry meterRegistry;
+
+    private OkHttpClient httpClient;
+
+    @Before
+    public void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        httpClient = new OkHttpClient.Builder()
+                .eventListenerFactory(new PhaseMetricsEventListener.Factory(meterRegistry, "sample"))
+                .build();
+    }
+
+    @Test
+    public void givenSequentialCalls_whenExecuted_thenMustRecordPhasesAndReuseConnection() throws Exception {
+        mockServer.enqueue(new MockResponse().setBody("first"));
+        mockServer.enqueue(new MockResponse().setBody("second"));
+
+        for (int i = 0; i < 2; i++) {
+            try (Response response = httpClient.newCall(new Request.Builder().url(mockServer.url("/ping")).build()).execute()) {
+                response.body().string();
+            }
+        }
+
+        assertThat(phaseCount("dns"), equalTo(1L));
+        assertThat(phaseCount("connect"), equalTo(1L));
+        assertThat(phaseCount("tls"), equalTo(0L));
+        assertThat(phaseCount("ttfb"), equalTo(2L));
+        assertThat(phaseCount("body"), equalTo(2L));
+        assertThat(acquiredCount(false), equalTo(1.0));
+        assertThat(acquiredCount(true), equalTo(1.0));
+    }
+
+    private long phaseCount(String phase) {
+        return meterRegistry.get(PhaseMetricsEventListener.PHASES_METRIC)
+                .tags("retrofit", "sample", "phase", phase)
+                .timer()
+                .count();
+    }
+
+    private double acquiredCount(boolean reused) {
+        return meterRegistry.get(PhaseMetricsEventListener.ACQUIRED_CONNECTIONS_METRIC)
+                .tags("retrofit", "sample", "reused", String.valueOf(reused))
+                .counter()
+                .count();
+    }
+}
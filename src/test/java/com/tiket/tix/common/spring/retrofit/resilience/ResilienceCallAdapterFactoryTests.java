@@ -0,0 +1,161 @@
+package com.tiket.tix.common.spring.retrofit.resilience;
+
+import com.tiket.tix.common.spring.retrofit.annotation.Resilience;
+import com.tiket.tix.common.spring.retrofit.support.MockHttpServerRule;
+import io.reactivex.Single;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.Response;
+import retrofit2.http.GET;
+import retrofit2.http.Path;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Test for guarding calls with circuit breaker and bulkhead by {@link ResilienceCallAdapterFactory}.
+ *
+ * @author zakyalvan
+ */
+public class ResilienceCallAdapterFactoryTests {
+    @Rule
+    public final MockHttpServerRule mockServer = new MockHttpServerRule();
+
+    private ResilienceCallAdapterFactory factory;
+
+    private FlightService flightService;
+
+    @Before
+    public void setUp() throws Exception {
+        ResilienceSettings settings = new ResilienceSettings();
+        settings.setSlidingWindowSize(4);
+        settings.setMinimumNumberOfCalls(4);
+        settings.setWaitDurationInOpenState(200);
+        settings.setPermittedCallsInHalfOpenState(1);
+        settings.setMaxConcurrentCalls(1);
+
+        factory = new ResilienceCallAdapterFactory("flight", settings, true);
+        flightService = mockServer.retrofitBuilder(factory)
+                .build()
+                .create(FlightService.class);
+    }
+
+    @Test
+    public void givenFailureRateReached_whenCalled_thenMustFailFastUntilProbeSucceeds() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            mockServer.enqueue(new MockResponse().setResponseCode(503));
+        }
+        for (int i = 0; i < 4; i++) {
+            assertThat(flightService.flight("GA-1").execute().code(), is(503));
+        }
+        assertThat(factory.getCircuitBreaker().getState(), is(CircuitBreaker.State.OPEN));
+
+        Throwable error = flightService.flightSingle("GA-1").test().await().errors().get(0);
+        assertThat(error, instanceOf(CallNotPermittedException.class));
+        assertThat(mockServer.getRequestCount(), is(4));
+
+        Thread.sleep(300);
+        mockServer.enqueue(new MockResponse().setBody("\"GA-1\""));
+        assertThat(flightService.flight("GA-1").execute().body(), equalTo("GA-1"));
+        assertThat(factory.getCircuitBreaker().getState(), is(CircuitBreaker.State.CLOSED));
+    }
+
+    @Test
+    public void givenMaxConcurrentCallsReached_whenCalled_thenMustBeRejected() throws Exception {
+        mockServer.enqueue(new MockResponse().setBody("\"GA-1\"").setBodyDelay(300, TimeUnit.MILLISECONDS));
+
+        CompletableFuture<Response<String>> running = CompletableFuture.supplyAsync(() -> {
+            try {
+                return flightService.flight("GA-1").execute();
+            }
+            catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(mockServer.takeRequest(1, TimeUnit.SECONDS).getPath(), equalTo("/flights/GA-1"));
+
+        Throwable error = flightService.flightSingle("GA-2").test().await().errors().get(0);
+        assertThat(error, instanceOf(BulkheadFullException.class));
+
+        assertThat(running.get(1, TimeUnit.SECONDS).body(), equalTo("GA-1"));
+        assertThat(factory.getBulkhead().getAvailableConcurrentCalls(), is(1));
+    }
+
+    @Test
+    public void givenExcludedMethod_whenCircuitOpen_thenMustStillBeCalled() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            mockServer.enqueue(new MockResponse().setResponseCode(500));
+            flightService.flight("GA-1").execute();
+        }
+        assertThat(factory.getCircuitBreaker().getState(), is(CircuitBreaker.State.OPEN));
+
+        mockServer.enqueue(new MockResponse().setBody("\"UP\""));
+        assertThat(flightService.health().execute().body(), equalTo("UP"));
+    }
+
+    @Test
+    public void givenOpenCircuit_whenCalled_thenCallFactoryMustNotBeTouched() throws Exception {
+        OkHttpClient client = new OkHttpClient();
+        AtomicInteger newCalls = new AtomicInteger();
+        FlightService countedService = mockServer.retrofitBuilder(factory)
+                .callFactory(request -> {
+                    newCalls.incrementAndGet();
+                    return client.newCall(request);
+                })
+                .build()
+                .create(FlightService.class);
+        for (int i = 0; i < 4; i++) {
+            mockServer.enqueue(new MockResponse().setResponseCode(500));
+            countedService.flight("GA-1").execute();
+        }
+        assertThat(factory.getCircuitBreaker().getState(), is(CircuitBreaker.State.OPEN));
+
+        Throwable error = countedService.flightSingle("GA-1").test().await().errors().get(0);
+
+        assertThat(error, instanceOf(CallNotPermittedException.class));
+        assertThat(newCalls.get(), is(4));
+    }
+
+    @Test
+    public void givenZeroMaxConcurrentCalls_whenCreatingService_thenMustBeRejectedNamingMethod() {
+        try {
+            mockServer.retrofitBuilder(factory)
+                    .validateEagerly(true)
+                    .build()
+                    .create(InvalidFlightService.class);
+            throw new AssertionError("Zero maximum concurrent calls must be rejected");
+        }
+        catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), containsString("InvalidFlightService.flight"));
+        }
+    }
+
+    interface FlightService {
+        @GET("/flights/{code}")
+        Call<String> flight(@Path("code") String code);
+
+        @GET("/flights/{code}")
+        Single<String> flightSingle(@Path("code") String code);
+
+        @Resilience(false)
+        @GET("/health")
+        Call<String> health();
+    }
+
+    interface InvalidFlightService {
+        @Resilience(maxConcurrentCalls = 0)
+        @GET("/flights/{code}")
+        Call<String> flight(@Path("code") String code);
+    }
+}
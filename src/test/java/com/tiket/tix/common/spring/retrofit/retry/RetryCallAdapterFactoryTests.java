@@ -0,0 +1,122 @@
+package com.tiket.tix.common.spring.retrofit.retry;
+
+import com.tiket.tix.common.spring.retrofit.support.MockHttpServerRule;
+import io.reactivex.Single;
+import io.reactivex.schedulers.Schedulers;
+import okhttp3.mockwebserver.MockResponse;
+import org.junit.Rule;
+import org.junit.Test;
+import retrofit2.HttpException;
+import retrofit2.Response;
+import retrofit2.http.Body;
+import retrofit2.http.GET;
+import retrofit2.http.POST;
+import retrofit2.http.Path;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Test for retrying failed calls by {@link RetryCallAdapterFactory}.
+ *
+ * @author zakyalvan
+ */
+public class RetryCallAdapterFactoryTests {
+    @Rule
+    public final MockHttpServerRule mockServer = new MockHttpServerRule();
+
+    @Test
+    public void givenRetryableStatuses_whenSubscribed_thenMustRetryUntilSuccess() throws Exception {
+        BookingService bookingService = createService(new RetryBudget(20, 10));
+        mockServer.enqueue(new MockResponse().setResponseCode(503));
+        mockServer.enqueue(new MockResponse().setResponseCode(502));
+        mockServer.enqueue(new MockResponse().setBody("\"ISSUED\""));
+
+        String status = bookingService.status("B-1").blockingGet();
+
+        assertThat(status, equalTo("ISSUED"));
+        assertThat(mockServer.getRequestCount(), is(3));
+    }
+
+    @Test
+    public void givenAttemptsExhausted_whenSubscribed_thenMustEmitLastResponse() throws Exception {
+        BookingService bookingService = createService(new RetryBudget(20, 10));
+        for (int i = 0; i < 3; i++) {
+            mockServer.enqueue(new MockResponse().setResponseCode(503));
+        }
+
+        Response<String> response = bookingService.statusResponse("B-1").blockingGet();
+        assertThat(response.code(), is(503));
+        assertThat(mockServer.getRequestCount(), is(3));
+
+        mockServer.enqueue(new MockResponse().setResponseCode(400));
+        Throwable error = bookingService.status("B-1").test().await().errors().get(0);
+        assertThat(error, instanceOf(HttpException.class));
+        assertThat(mockServer.getRequestCount(), is(4));
+    }
+
+    @Test
+    public void givenCompletableFuture_whenRetryableFailure_thenMustRetryAsynchronously() throws Exception {
+        BookingService bookingService = createService(new RetryBudget(20, 10));
+        mockServer.enqueue(new MockResponse().setResponseCode(504));
+        mockServer.enqueue(new MockResponse().setBody("\"ISSUED\""));
+
+        CompletableFuture<String> status = bookingService.statusFuture("B-1");
+
+        assertThat(status.get(1, TimeUnit.SECONDS), equalTo("ISSUED"));
+        assertThat(mockServer.getRequestCount(), is(2));
+    }
+
+    @Test
+    public void givenNonIdempotentMethod_whenFailed_thenMustNotBeRetried() throws Exception {
+        BookingService bookingService = createService(new RetryBudget(20, 10));
+        mockServer.enqueue(new MockResponse().setResponseCode(503));
+
+        Throwable error = bookingService.book("B-1").test().await().errors().get(0);
+
+        assertThat(error, instanceOf(HttpException.class));
+        assertThat(mockServer.getRequestCount(), is(1));
+    }
+
+    @Test
+    public void givenBudgetExhausted_whenFailed_thenMustNotBeRetried() throws Exception {
+        BookingService bookingService = createService(new RetryBudget(0, 1));
+        for (int i = 0; i < 4; i++) {
+            mockServer.enqueue(new MockResponse().setResponseCode(503));
+        }
+
+        assertThat(bookingService.statusResponse("B-1").blockingGet().code(), is(503));
+        assertThat(bookingService.statusResponse("B-2").blockingGet().code(), is(503));
+
+        assertThat(mockServer.getRequestCount(), is(3));
+    }
+
+    private BookingService createService(RetryBudget budget) {
+        RetrySettings settings = new RetrySettings();
+        settings.setInitialBackoff(10);
+        settings.setMaxBackoff(50);
+
+        return mockServer.retrofitBuilder(new RetryCallAdapterFactory(settings, budget, Schedulers.io(), true))
+                .build()
+                .create(BookingService.class);
+    }
+
+    interface BookingService {
+        @GET("/bookings/{code}/status")
+        Single<String> status(@Path("code") String code);
+
+        @GET("/bookings/{code}/status")
+        Single<Response<String>> statusResponse(@Path("code") String code);
+
+        @GET("/bookings/{code}/status")
+        CompletableFuture<String> statusFuture(@Path("code") String code);
+
+        @POST("/bookings")
+        Single<String> book(@Body String code);
+    }
+}
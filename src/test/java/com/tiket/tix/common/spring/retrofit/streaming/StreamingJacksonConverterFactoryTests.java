@@ -0,0 +1,139 @@
+package com.tiket.tix.common.spring.retrofit.streaming;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tiket.tix.common.spring.retrofit.support.MockHttpServerRule;
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+import io.reactivex.subscribers.TestSubscriber;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.HttpException;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava2.RxJava2CallAdapterFactory;
+import retrofit2.http.Body;
+import retrofit2.http.GET;
+import retrofit2.http.POST;
+import retrofit2.http.Streaming;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Test for converting json bodies by {@link StreamingJacksonConverterFactory}, including streaming json array elements
+ * by {@link StreamingCallAdapterFactory}.
+ *
+ * @author zakyalvan
+ */
+public class StreamingJacksonConverterFactoryTests {
+    @Rule
+    public final MockHttpServerRule mockServer = new MockHttpServerRule();
+
+    private BookingService bookingService;
+
+    @Before
+    public void setUp() throws Exception {
+        bookingService = new Retrofit.Builder()
+                .baseUrl(mockServer.url("/"))
+                .addCallAdapterFactory(new StreamingCallAdapterFactory(null))
+                .addCallAdapterFactory(RxJava2CallAdapterFactory.create())
+                .addConverterFactory(new StreamingJacksonConverterFactory(new ObjectMapper()))
+                .build()
+                .create(BookingService.class);
+    }
+
+    @Test
+    public void givenObjectBodies_whenSendRequest_thenMustBeWrittenAndRead() throws Exception {
+        mockServer.enqueue(new MockResponse().setBody("{\"code\":\"B-1\",\"status\":\"ISSUED\"}"));
+
+        Booking booking = bookingService.book(new Booking("B-1", "NEW")).blockingGet();
+
+        assertThat(booking.code, equalTo("B-1"));
+        assertThat(booking.status, equalTo("ISSUED"));
+        assertThat(mockServer.takeRequest(1, TimeUnit.SECONDS).getBody().readUtf8(),
+                equalTo("{\"code\":\"B-1\",\"status\":\"NEW\"}"));
+    }
+
+    @Test
+    public void givenIteratorBody_whenIterated_thenElementsMustBeReadOneByOne() throws Exception {
+        mockServer.enqueue(new MockResponse().setBody("[{\"code\":\"B-1\"},{\"code\":\"B-2\"},{\"code\":\"B-3\"}]"));
+
+        Iterator<Booking> bookings = bookingService.iterate().execute().body();
+
+        assertThat(bookings, instanceOf(Closeable.class));
+        assertThat(bookings.next().code, equalTo("B-1"));
+        assertThat(bookings.next().code, equalTo("B-2"));
+        assertThat(bookings.next().code, equalTo("B-3"));
+        assertThat(bookings.hasNext(), is(false));
+    }
+
+    @Test
+    public void givenStreamingFlowable_whenSubscribed_thenMustEmitElementsAsRequested() throws Exception {
+        mockServer.enqueue(new MockResponse().setBody("[{\"code\":\"B-1\"},{\"code\":\"B-2\"},{\"code\":\"B-3\"}]"));
+
+        TestSubscriber<Booking> subscriber = bookingService.stream().test(2);
+
+        subscriber.assertValueCount(2).assertNotComplete();
+        subscriber.requestMore(2).assertValueCount(3).assertComplete();
+        assertThat(subscriber.values().get(2).code, equalTo("B-3"));
+    }
+
+    @Test
+    public void givenFailedResponse_whenStreamed_thenMustEmitHttpException() throws Exception {
+        mockServer.enqueue(new MockResponse().setResponseCode(503));
+
+        TestSubscriber<Booking> subscriber = bookingService.stream().test();
+
+        subscriber.assertError(HttpException.class);
+        assertThat(((HttpException) subscriber.errors().get(0)).code(), is(503));
+    }
+
+    @Test
+    public void givenStreamingFlowableOfResponseBody_whenSubscribed_thenMustEmitRawBody() throws Exception {
+        mockServer.enqueue(new MockResponse().setBody("[{\"code\":\"B-1\"}]"));
+
+        // Read within the flow, taking the first body disposes the streaming call.
+        String body = bookingService.download().map(ResponseBody::string).blockingFirst();
+
+        assertThat(body, equalTo("[{\"code\":\"B-1\"}]"));
+    }
+
+    interface BookingService {
+        @POST("/bookings")
+        Single<Booking> book(@Body Booking booking);
+
+        @GET("/bookings")
+        Call<Iterator<Booking>> iterate();
+
+        @Streaming
+        @GET("/bookings")
+        Flowable<Booking> stream();
+
+        @Streaming
+        @GET("/bookings")
+        Flowable<ResponseBody> download();
+    }
+
+    public static class Booking {
+        public String code;
+
+        public String status;
+
+        public Booking() {
+        }
+
+        Booking(String code, String status) {
+            this.code = code;
+            this.status = status;
+        }
+    }
+}
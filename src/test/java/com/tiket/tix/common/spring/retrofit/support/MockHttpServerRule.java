@@ -1,175 +1,138 @@
 package com.tiket.tix.common.spring.retrofit.support;
 
-import io.fabric8.mockwebserver.DefaultMockServer;
-import io.fabric8.mockwebserver.dsl.MockServerExpectation;
-import lombok.Builder;
-import lombok.Data;
-import lombok.experimental.Accessors;
-import org.junit.rules.TestRule;
-import org.junit.runner.Description;
-import org.junit.runners.model.Statement;
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.rules.ExternalResource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.util.Assert;
-import org.springframework.util.ObjectUtils;
+import retrofit2.CallAdapter;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava2.RxJava2CallAdapterFactory;
+import retrofit2.converter.jackson.JacksonConverterFactory;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
- * Simple test rule for starting and stopping mock http/web server(s) for testing purpose.
+ * Simple test rule for starting okhttp {@link MockWebServer} before each test and shutting it down after, with
+ * shortcut for creating {@link Retrofit} calling the server.
  *
  * @author zakyalvan
  */
-public class MockHttpServerRule implements TestRule {
-    public static final String DEFAULT_SERVER_NAME = "default";
+public class MockHttpServerRule extends ExternalResource {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MockHttpServerRule.class);
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(MockServerAdapter.class);
+    private final MockWebServer mockServer = new MockWebServer();
 
-    private final MockServerAdapter defaultMock;
+    private final int portNumber;
 
-    private final Map<String, MockServerAdapter> mockServers = new HashMap<>();
-
-    public MockHttpServerRule(Consumer<ServerAddress>... addresses) {
-        if(ObjectUtils.isEmpty(addresses)) {
-            LOGGER.trace("Create default http mock server, use random chosen port");
-            defaultMock = MockServerAdapter.builder()
-                    .mockServer(new DefaultMockServer())
-                    .boundPort(0)
-                    .build();
-
-            mockServers.put(DEFAULT_SERVER_NAME, defaultMock);
-        }
-        else {
-            for(Consumer<ServerAddress> customizer : addresses) {
-                ServerAddress address = new ServerAddress();
-                customizer.accept(address);
-                mockServers.put(address.identifier(), MockServerAdapter.builder()
-                        .mockServer(new DefaultMockServer())
-                        .boundPort(address.portNumber())
-                        .build());
-            }
-
-            if(!mockServers.containsKey(DEFAULT_SERVER_NAME)) {
-                Consumer<ServerAddress> defaultCustomizer = addresses[0];
-                ServerAddress defaultAddress = new ServerAddress();
-                defaultCustomizer.accept(defaultAddress);
-                defaultMock = mockServers.get(defaultAddress.identifier());
-            }
-            else {
-                defaultMock = mockServers.get(DEFAULT_SERVER_NAME);
-            }
-        }
+    /**
+     * Create rule of server bound to random chosen port.
+     */
+    public MockHttpServerRule() {
+        this(0);
     }
 
-    @Override
-    public Statement apply(Statement base, Description description) {
-        return new Statement() {
-            @Override
-            public void evaluate() throws Throwable {
-                try {
-                    mockServers.forEach((port, adapter) -> adapter.start());
-                    base.evaluate();
-                }
-                finally {
-                    mockServers.forEach((port, adapter) -> adapter.shutdown());
-                }
-            }
-        };
+    /**
+     * @param portNumber zero to use random chosen port
+     */
+    public MockHttpServerRule(int portNumber) {
+        this(portNumber, server -> {});
     }
 
     /**
-     * Retrieve default mock server. Default if named {@link #DEFAULT_SERVER_NAME}, or the first one defined.
-     *
-     * @return
+     * @param customizer customize the server before started, e.g. its protocols
      */
-    public MockServerAdapter mockServer() {
-        return defaultMock;
+    public MockHttpServerRule(Consumer<MockWebServer> customizer) {
+        this(0, customizer);
     }
 
     /**
-     * Retrieve mock server bound to given port.
-     *
-     * @param identifier
-     * @return
+     * @param portNumber zero to use random chosen port
+     * @param customizer customize the server before started, e.g. its protocols
      */
-    public Optional<MockServerAdapter> mockServer(String identifier) {
-        if(mockServers.containsKey(identifier)) {
-            return Optional.of(mockServers.get(identifier));
-        }
+    public MockHttpServerRule(int portNumber, Consumer<MockWebServer> customizer) {
+        this.portNumber = portNumber;
+        customizer.accept(mockServer);
+    }
 
-        LOGGER.error("No mock http server found with key {}", identifier);
-        return Optional.empty();
+    @Override
+    protected void before() throws Throwable {
+        mockServer.start(portNumber);
     }
 
-    @Data
-    @Accessors(fluent = true, chain = true, prefix = "")
-    public static class ServerAddress {
-        private String identifier = "";
-        private String addressScheme = "http";
-        private String hostName = "localhost";
-        private int portNumber = 0;
-        private String basePath = "/";
-
-        public ServerAddress defaultServer() {
-            this.identifier = MockHttpServerRule.DEFAULT_SERVER_NAME;
-            return this;
+    @Override
+    protected void after() {
+        try {
+            mockServer.shutdown();
         }
-
-        public ServerAddress secureScheme(boolean secureScheme) {
-            if(secureScheme) {
-                this.addressScheme = "https";
-            }
-            else {
-                this.addressScheme = "http";
-            }
-            return this;
+        catch (IOException e) {
+            LOGGER.warn("Unable to shut down mock http server", e);
         }
     }
 
     /**
-     * Adapter for {@link DefaultMockServer}.
+     * Retrieve the server, for operations not exposed by this rule.
+     *
+     * @return
      */
-    public static class MockServerAdapter {
-        private DefaultMockServer mockServer;
-        private int boundPort;
-
-        private AtomicBoolean running = new AtomicBoolean(false);
-
-        @Builder
-        protected MockServerAdapter(DefaultMockServer mockServer, ServerAddress serverAddress, int boundPort) {
-            Assert.notNull(mockServer, "Mock server instance must be provided");
+    public MockWebServer mockServer() {
+        return mockServer;
+    }
 
-            this.mockServer = mockServer;
-            this.boundPort = boundPort;
-        }
+    public HttpUrl url(String path) {
+        return mockServer.url(path);
+    }
 
-        public void start() {
-            if(running.compareAndSet(false, true)) {
+    public void enqueue(MockResponse response) {
+        mockServer.enqueue(response);
+    }
 
+    /**
+     * Reply each request with response created by given responder, instead of enqueued ones.
+     *
+     * @param responder
+     */
+    public void dispatch(Function<RecordedRequest, MockResponse> responder) {
+        mockServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return responder.apply(request);
             }
+        });
+    }
 
-            if(boundPort > 0) {
-                mockServer.start(boundPort);
-            }
-            else {
-                mockServer.start();
-            }
-        }
+    public RecordedRequest takeRequest() throws InterruptedException {
+        return mockServer.takeRequest();
+    }
 
-        public void shutdown() {
-            mockServer.shutdown();
-        }
+    public RecordedRequest takeRequest(long timeout, TimeUnit unit) throws InterruptedException {
+        return mockServer.takeRequest(timeout, unit);
+    }
 
-        public String url(String path) {
-            return mockServer.url(path);
-        }
+    public int getRequestCount() {
+        return mockServer.getRequestCount();
+    }
 
-        public MockServerExpectation expect() {
-            return mockServer.expect();
+    /**
+     * Create retrofit builder calling the server, with given call adapter factories followed by rxjava 2 one, and
+     * jackson converter.
+     *
+     * @param callAdapterFactories
+     * @return
+     */
+    public Retrofit.Builder retrofitBuilder(CallAdapter.Factory... callAdapterFactories) {
+        Retrofit.Builder builder = new Retrofit.Builder().baseUrl(mockServer.url("/"));
+        for (CallAdapter.Factory callAdapterFactory : callAdapterFactories) {
+            builder.addCallAdapterFactory(callAdapterFactory);
         }
+        return builder
+                .addCallAdapterFactory(RxJava2CallAdapterFactory.create())
+                .addConverterFactory(JacksonConverterFactory.create());
     }
 }
@@ -0,0 +1,130 @@
+package com.tiket.tix.common.spring.retrofit.warmup;
+
+import com.tiket.tix.common.spring.retrofit.support.MockHttpServerRule;
+import io.reactivex.Single;
+import okhttp3.Dns;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import retrofit2.http.GET;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Test for warming up retrofit objects on startup by {@link RetrofitWarmUp}.
+ *
+ * @author zakyalvan
+ */
+public class RetrofitWarmUpTests {
+    @Rule
+    public final MockHttpServerRule mockServer = new MockHttpServerRule();
+
+    private List<String> lookups;
+
+    private OkHttpClient client;
+
+    private StaticListableBeanFactory beanFactory;
+
+    private RetrofitWarmUp retrofitWarmUp;
+
+    @Before
+    public void setUp() throws Exception {
+        lookups = new CopyOnWriteArrayList<>();
+        client = new OkHttpClient.Builder()
+                .dns(hostname -> {
+                    lookups.add(hostname);
+                    return Dns.SYSTEM.lookup(hostname);
+                })
+                .build();
+
+        beanFactory = new StaticListableBeanFactory();
+        retrofitWarmUp = new RetrofitWarmUp();
+        retrofitWarmUp.setBeanFactory(beanFactory);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        retrofitWarmUp.stop();
+    }
+
+    @Test
+    public void givenConnections_whenStarted_thenEachMustBeOpenedWithOwnConnection() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockServer.enqueue(new MockResponse());
+        }
+        WarmUpSettings settings = new WarmUpSettings();
+        settings.setConnections(3);
+        settings.setPath("health");
+        retrofitWarmUp.addTarget("booking", client, Collections.singletonList(mockServer.url("/api/")), settings);
+
+        retrofitWarmUp.start();
+
+        assertThat(mockServer.getRequestCount(), equalTo(3));
+        for (int i = 0; i < 3; i++) {
+            RecordedRequest request = mockServer.takeRequest();
+            assertThat(request.getMethod(), equalTo("HEAD"));
+            assertThat(request.getPath(), equalTo("/api/health"));
+            assertThat(request.getSequenceNumber(), equalTo(0));
+        }
+        assertThat(client.connectionPool().idleConnectionCount(), equalTo(3));
+        assertThat(lookups, hasItem(mockServer.mockServer().getHostName()));
+        assertThat(retrofitWarmUp.isRunning(), is(true));
+    }
+
+    @Test
+    public void givenWarmUpMethod_whenStarted_thenMustBeInvokedAfterConnectionsOpened() throws Exception {
+        mockServer.enqueue(new MockResponse());
+        mockServer.enqueue(new MockResponse().setBody("\"pong\""));
+        PingService pingService = mockServer.retrofitBuilder()
+                .callFactory(client)
+                .build()
+                .create(PingService.class);
+        beanFactory.addBean("pingService", pingService);
+        WarmUpSettings settings = new WarmUpSettings();
+        settings.setMethods(Collections.singletonList(PingService.class.getName() + "#ping"));
+        retrofitWarmUp.addTarget("ping", client, Collections.singletonList(mockServer.url("/")), settings);
+
+        retrofitWarmUp.start();
+
+        assertThat(mockServer.takeRequest(0, TimeUnit.SECONDS).getMethod(), equalTo("HEAD"));
+        RecordedRequest ping = mockServer.takeRequest(0, TimeUnit.SECONDS);
+        assertThat(ping.getPath(), equalTo("/ping"));
+        assertThat(ping.getSequenceNumber(), equalTo(1));
+    }
+
+    @Test
+    public void givenUnavailableServer_whenStarted_thenMustCompleteWithoutFailure() throws Exception {
+        HttpUrl baseUrl = mockServer.url("/");
+        mockServer.mockServer().shutdown();
+        WarmUpSettings settings = new WarmUpSettings();
+        settings.setConnections(2);
+        settings.setTimeout(5_000);
+        retrofitWarmUp.addTarget("unavailable", client, Collections.singletonList(baseUrl), settings);
+
+        long startTime = System.nanoTime();
+        retrofitWarmUp.start();
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), lessThan(5_000L));
+        assertThat(retrofitWarmUp.isRunning(), is(true));
+    }
+
+    public interface PingService {
+        @GET("ping")
+        Single<String> ping();
+    }
+}